@@ -3,12 +3,14 @@ package com.myblog;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 个人博客后端服务主启动类
  */
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class MyBlogServerApplication {
 
     public static void main(String[] args) {
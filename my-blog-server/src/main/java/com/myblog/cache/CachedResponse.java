@@ -0,0 +1,58 @@
+package com.myblog.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 预序列化的响应
+ * 保存UTF-8编码的JSON字节及可选的gzip预压缩版本，命中时直接写入输出流
+ *
+ * @param stamp 写入时的内容版本戳
+ * @param contentType 响应类型
+ * @param body 原始响应体
+ * @param gzip gzip压缩后的响应体，内容较小或压缩无收益时为null
+ * @param etag 基于内容校验和的ETag
+ * @param expiresAt 过期时间戳（毫秒）
+ * @param compressNanos 预压缩耗时（纳秒），每个内容版本只消耗一次
+ */
+record CachedResponse(long stamp, String contentType, byte[] body, byte[] gzip, String etag, long expiresAt,
+                      long compressNanos) {
+
+    static CachedResponse of(long stamp, String contentType, byte[] body, int gzipMinBytes, long ttlMillis) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        String etag = "\"" + Long.toHexString(stamp) + "-" + Long.toHexString(crc.getValue()) + "\"";
+        long start = System.nanoTime();
+        byte[] gzip = body.length >= gzipMinBytes ? compress(body) : null;
+        long compressNanos = gzip != null ? System.nanoTime() - start : 0;
+        if (gzip != null && gzip.length >= body.length) {
+            gzip = null;
+        }
+        return new CachedResponse(stamp, contentType, body, gzip, etag, System.currentTimeMillis() + ttlMillis,
+            compressNanos);
+    }
+
+    /**
+     * 占用的内存字节数（近似值）
+     */
+    long size() {
+        return body.length + (gzip != null ? gzip.length : 0) + 128L;
+    }
+
+    boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+
+    private static byte[] compress(byte[] body) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+}
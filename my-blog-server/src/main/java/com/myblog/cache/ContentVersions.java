@@ -0,0 +1,60 @@
+package com.myblog.cache;
+
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 内容版本计数器
+ * 每种内容类型维护一个单调递增的版本号，在相关写事务提交后递增，用于判断缓存的响应是否过期。
+ * 提交后才递增，保证不会有读到旧数据的请求以新版本号写入缓存。
+ */
+@Component
+public class ContentVersions {
+
+    private final Map<ContentType, AtomicLong> versions = new EnumMap<>(ContentType.class);
+
+    public ContentVersions() {
+        for (ContentType type : ContentType.values()) {
+            versions.put(type, new AtomicLong());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        versions.get(event.getType()).incrementAndGet();
+    }
+
+    /**
+     * 获取单个类型的版本号
+     */
+    public long version(ContentType type) {
+        return versions.get(type).get();
+    }
+
+    /**
+     * 计算一组类型的组合版本戳
+     * 各版本号只增不减，任一类型发生变更都会使组合版本戳增大
+     */
+    public long stamp(Collection<ContentType> types) {
+        long stamp = 0;
+        for (ContentType type : types) {
+            stamp += versions.get(type).get();
+        }
+        return stamp;
+    }
+
+    /**
+     * 使所有类型的版本号失效
+     */
+    public void bumpAll() {
+        versions.values().forEach(AtomicLong::incrementAndGet);
+    }
+}
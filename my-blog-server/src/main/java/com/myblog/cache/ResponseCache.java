@@ -0,0 +1,119 @@
+package com.myblog.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按内存预算淘汰的响应缓存
+ * 使用访问顺序的LinkedHashMap实现LRU，总字节数超出预算时淘汰最久未访问的条目
+ */
+public class ResponseCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stores = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong gzipHits = new AtomicLong();
+    private final AtomicLong rawBytesServed = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+    private final AtomicLong compressNanos = new AtomicLong();
+
+    public ResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 查找与当前版本戳一致且未过期的响应
+     * @param key 缓存键
+     * @param stamp 当前内容版本戳
+     * @return 命中的响应，未命中时为null
+     */
+    CachedResponse get(String key, long stamp) {
+        CachedResponse response;
+        synchronized (this) {
+            response = entries.get(key);
+            if (response != null && (response.stamp() != stamp || response.isExpired(System.currentTimeMillis()))) {
+                remove(key);
+                response = null;
+            }
+        }
+        (response != null ? hits : misses).incrementAndGet();
+        return response;
+    }
+
+    void put(String key, CachedResponse response) {
+        if (response.size() > maxBytes) {
+            return;
+        }
+        synchronized (this) {
+            remove(key);
+            entries.put(key, response);
+            totalBytes += response.size();
+            Iterator<Map.Entry<String, CachedResponse>> iterator = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && iterator.hasNext()) {
+                totalBytes -= iterator.next().getValue().size();
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        stores.incrementAndGet();
+        compressNanos.addAndGet(response.compressNanos());
+    }
+
+    /**
+     * 记录一次命中实际写出的字节数，用于统计压缩节省的流量
+     */
+    void recordServed(CachedResponse response, boolean gzipped) {
+        rawBytesServed.addAndGet(response.body().length);
+        bytesServed.addAndGet(gzipped ? response.gzip().length : response.body().length);
+        if (gzipped) {
+            gzipHits.incrementAndGet();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    /**
+     * 获取缓存统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (this) {
+            stats.put("entries", entries.size());
+            stats.put("bytes", totalBytes);
+        }
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("stores", stores.get());
+        stats.put("evictions", evictions.get());
+        long hitCount = hits.get();
+        long raw = rawBytesServed.get();
+        long served = bytesServed.get();
+        stats.put("gzipHits", gzipHits.get());
+        stats.put("rawBytesServed", raw);
+        stats.put("bytesServed", served);
+        stats.put("bytesSaved", raw - served);
+        stats.put("compressionRatio", raw == 0 ? 1.0 : (double) served / raw);
+        stats.put("compressMicrosTotal", compressNanos.get() / 1000);
+        // 预压缩的总CPU耗时均摊到每次命中
+        stats.put("compressMicrosPerHit", hitCount == 0 ? 0 : compressNanos.get() / hitCount / 1000.0);
+        return stats;
+    }
+
+    private void remove(String key) {
+        CachedResponse previous = entries.remove(key);
+        if (previous != null) {
+            totalBytes -= previous.size();
+        }
+    }
+}
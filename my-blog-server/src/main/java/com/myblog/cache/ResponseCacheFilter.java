@@ -0,0 +1,214 @@
+package com.myblog.cache;
+
+import com.myblog.event.ContentType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 公开GET接口的响应缓存过滤器
+ * 缓存键由请求路径、排序后的参数组成，条目记录写入时相关内容类型的版本戳，版本变化后自动失效。
+ * 命中时直接将预序列化（及预压缩）的字节写入输出流，不经过控制器和Jackson序列化。
+ * 过滤器位于Spring Security之后，鉴权规则对缓存命中同样生效。
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Set<ContentType> ARTICLE_REGIONS = EnumSet.of(ContentType.ARTICLE, ContentType.CATEGORY, ContentType.TAG);
+
+    /** 可缓存的接口及其依赖的内容类型 */
+    private static final List<Route> ROUTES = List.of(
+        new Route("/articles/slug/*", ARTICLE_REGIONS),
+        new Route("/articles/published", ARTICLE_REGIONS),
+        new Route("/articles/category/*", ARTICLE_REGIONS),
+        new Route("/articles/tag/*", ARTICLE_REGIONS),
+        new Route("/articles/pinned", ARTICLE_REGIONS),
+        new Route("/articles/popular", ARTICLE_REGIONS),
+        new Route("/archives", ARTICLE_REGIONS),
+        new Route("/archives/*/*", ARTICLE_REGIONS),
+        new Route("/categories/all", EnumSet.of(ContentType.CATEGORY, ContentType.ARTICLE)),
+        new Route("/categories/slug/*", EnumSet.of(ContentType.CATEGORY, ContentType.ARTICLE)),
+        new Route("/categories/with-articles", EnumSet.of(ContentType.CATEGORY, ContentType.ARTICLE)),
+        new Route("/tags/all", EnumSet.of(ContentType.TAG, ContentType.ARTICLE)),
+        new Route("/tags/slug/*", EnumSet.of(ContentType.TAG, ContentType.ARTICLE)),
+        new Route("/tags/with-articles", EnumSet.of(ContentType.TAG, ContentType.ARTICLE)),
+        new Route("/tags/popular", EnumSet.of(ContentType.TAG, ContentType.ARTICLE)),
+        new Route("/comments/article/*", EnumSet.of(ContentType.COMMENT)),
+        new Route("/comments/article/*/tree", EnumSet.of(ContentType.COMMENT)),
+        new Route("/friend-links/approved", EnumSet.of(ContentType.FRIEND_LINK)),
+        new Route("/guestbook/approved", EnumSet.of(ContentType.GUESTBOOK_MESSAGE)),
+        new Route("/system-settings/public", EnumSet.of(ContentType.SYSTEM_SETTING)),
+        new Route("/api/public/stats", EnumSet.complementOf(EnumSet.of(ContentType.SYSTEM_SETTING)))
+    );
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ResponseCache cache;
+    private final ContentVersions versions;
+    private final int maxEntryBytes;
+    private final int gzipMinBytes;
+    private final long ttlMillis;
+
+    public ResponseCacheFilter(ResponseCache cache, ContentVersions versions,
+                               int maxEntryBytes, int gzipMinBytes, long ttlMillis) {
+        this.cache = cache;
+        this.versions = versions;
+        this.maxEntryBytes = maxEntryBytes;
+        this.gzipMinBytes = gzipMinBytes;
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || findRoute(pathOf(request)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = pathOf(request);
+        Route route = findRoute(path);
+        String key = cacheKey(path, request.getParameterMap());
+        long stamp = versions.stamp(route.regions());
+
+        CachedResponse cached = cache.get(key, stamp);
+        if (cached != null) {
+            writeCached(request, response, cached);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(request, wrapper);
+            completed = true;
+        } finally {
+            if (!request.isAsyncStarted()) {
+                if (completed) {
+                    store(key, stamp, wrapper);
+                }
+                wrapper.setHeader("X-Cache", "MISS");
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void store(String key, long stamp, ContentCachingResponseWrapper wrapper) {
+        String contentType = wrapper.getContentType();
+        int size = wrapper.getContentSize();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || size == 0 || size > maxEntryBytes
+            || contentType == null || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+            || wrapper.getHeader(HttpHeaders.SET_COOKIE) != null) {
+            return;
+        }
+        cache.put(key, CachedResponse.of(stamp, contentType, wrapper.getContentAsByteArray(), gzipMinBytes, ttlMillis));
+    }
+
+    private void writeCached(HttpServletRequest request, HttpServletResponse response, CachedResponse cached)
+            throws IOException {
+        response.setHeader("X-Cache", "HIT");
+        response.setHeader(HttpHeaders.ETAG, cached.etag());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (cached.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(cached.contentType());
+        byte[] body = cached.body();
+        boolean gzipped = cached.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (gzipped) {
+            // 已设置Content-Encoding的响应不会被容器再次压缩
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = cached.gzip();
+        }
+        cache.recordServed(cached, gzipped);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * 解析Accept-Encoding的全部条目，q=0表示拒绝。
+     * 显式的gzip条目优先于通配符*，例如"*, gzip;q=0"不接受gzip
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double wildcard = -1;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            String coding = parts[0].trim();
+            if ("gzip".equalsIgnoreCase(coding)) {
+                gzip = Math.max(gzip, quality(parts));
+            } else if ("*".equals(coding)) {
+                wildcard = Math.max(wildcard, quality(parts));
+            }
+        }
+        return gzip >= 0 ? gzip > 0 : wildcard > 0;
+    }
+
+    /**
+     * 读取条目的q值，缺省为1，无法解析时按拒绝处理
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String[] param = parts[i].split("=", 2);
+            if (param.length == 2 && "q".equalsIgnoreCase(param[0].trim())) {
+                try {
+                    double q = Double.parseDouble(param[1].trim());
+                    return q >= 0 && q <= 1 ? q : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private Route findRoute(String path) {
+        for (Route route : ROUTES) {
+            if (pathMatcher.match(route.pattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String cacheKey(String path, Map<String, String[]> parameters) {
+        if (parameters.isEmpty()) {
+            return path;
+        }
+        StringBuilder key = new StringBuilder(path).append('?');
+        new TreeMap<>(parameters).forEach((name, values) -> {
+            for (String value : values) {
+                key.append(URLEncoder.encode(name, StandardCharsets.UTF_8)).append('=')
+                    .append(URLEncoder.encode(value, StandardCharsets.UTF_8)).append('&');
+            }
+        });
+        return key.toString();
+    }
+
+    /**
+     * 可缓存的路径及其依赖的内容类型
+     */
+    private record Route(String pattern, Set<ContentType> regions) {
+    }
+}
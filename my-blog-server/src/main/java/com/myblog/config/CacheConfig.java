@@ -0,0 +1,57 @@
+package com.myblog.config;
+
+import com.myblog.cache.ContentVersions;
+import com.myblog.cache.ResponseCache;
+import com.myblog.cache.ResponseCacheFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 缓存配置类
+ * 使用进程内缓存保存热点查询结果
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** 文章评论树缓存，key为文章ID */
+    public static final String COMMENT_TREE_CACHE = "commentTree";
+
+    @Bean
+    public CacheManager cacheManager() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(COMMENT_TREE_CACHE);
+        // 构造时声明缓存名称后不再动态创建缓存，且不缓存null值
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+
+    @Bean
+    public ResponseCache responseCache(@Value("${blog.response-cache.max-bytes:33554432}") long maxBytes) {
+        return new ResponseCache(maxBytes);
+    }
+
+    /**
+     * 注册响应缓存过滤器，顺序位于Spring Security之后
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "blog.response-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(
+            ResponseCache responseCache,
+            ContentVersions contentVersions,
+            @Value("${blog.response-cache.max-entry-bytes:1048576}") int maxEntryBytes,
+            @Value("${blog.response-cache.gzip-min-bytes:1024}") int gzipMinBytes,
+            @Value("${blog.response-cache.ttl-seconds:60}") long ttlSeconds) {
+        ResponseCacheFilter filter = new ResponseCacheFilter(responseCache, contentVersions,
+            maxEntryBytes, gzipMinBytes, ttlSeconds * 1000);
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,88 @@
+package com.myblog.config;
+
+import com.myblog.datasource.DataSourceRole;
+import com.myblog.datasource.ReadWriteRoutingDataSource;
+import com.myblog.datasource.ReadYourWritesTracker;
+import com.myblog.datasource.ReplicaHealthMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 读写分离数据源配置
+ * 开启blog.datasource.replica.enabled后，主库沿用spring.datasource配置，从库使用blog.datasource.replica配置，
+ * @Transactional(readOnly = true) 的方法自动路由到从库，其余操作路由到主库。
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "blog.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadWriteDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary-pool");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("blog.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${blog.datasource.replica.url}") String url,
+                                              @Value("${blog.datasource.replica.username:${spring.datasource.username}}") String username,
+                                              @Value("${blog.datasource.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        dataSource.setPoolName("replica-pool");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                     @Value("${blog.datasource.replica.lag-check:true}") boolean lagCheck,
+                                                     @Value("${blog.datasource.replica.max-lag-seconds:5}") long maxLagSeconds) {
+        ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(replicaDataSource, lagCheck, maxLagSeconds);
+        monitor.check();
+        return monitor;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                        ReplicaHealthMonitor replicaHealthMonitor,
+                                                        @Value("${blog.datasource.replica.sticky-ms:5000}") long stickyMs) {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(stickyMs, replicaHealthMonitor::getLagMillis);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaHealthMonitor, tracker);
+        routing.setTargetDataSources(Map.of(
+            DataSourceRole.PRIMARY, primaryDataSource,
+            DataSourceRole.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        return routing;
+    }
+
+    /**
+     * 对外暴露的数据源，延迟获取物理连接，保证路由时事务的只读标记已经确定
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("routingDataSource") DataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -1,6 +1,7 @@
 package com.myblog.config;
 
 import com.myblog.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -50,6 +51,8 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // SSE等异步请求完成时的再次分派已在首次请求时完成鉴权
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/swagger-ui/**").permitAll()
                 .requestMatchers("/api-docs/**").permitAll()
@@ -58,9 +61,15 @@ public class SecurityConfig {
                 .requestMatchers("/articles/search").permitAll()
                 .requestMatchers("/articles/pinned").permitAll()
                 .requestMatchers("/articles/popular").permitAll()
+                .requestMatchers("/articles/*/related").permitAll()
                 .requestMatchers("/categories/with-articles").permitAll()
                 .requestMatchers("/tags/with-articles").permitAll()
                 .requestMatchers("/tags/popular").permitAll()
+                .requestMatchers("/comments/article/*/tree").permitAll()
+                .requestMatchers("/live/articles/**").permitAll()
+                .requestMatchers("/archives/**").permitAll()
+                .requestMatchers("/sitemap.xml", "/sitemap-*.xml", "/rss.xml", "/atom.xml").permitAll()
+                .requestMatchers("/api/public/**").permitAll()
                 .requestMatchers("/images/**").permitAll()
                 .requestMatchers("/api/images/**").permitAll()
                 .anyRequest().authenticated()
@@ -74,7 +83,7 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOriginPatterns(List.of("*"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
         configuration.setAllowCredentials(true);
         
@@ -0,0 +1,54 @@
+package com.myblog.config;
+
+import com.myblog.datasource.ConnectionBulkheadDataSource;
+import com.myblog.diagnostics.VirtualThreadPinningMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 虚拟线程模式配置
+ * 开启spring.threads.virtual.enabled后，Tomcat请求处理、applicationTaskExecutor和@Scheduled调度均运行在虚拟线程上，
+ * 本配置额外提供连接舱壁和固定监控，防止无上限的并发压垮连接池并及时发现固定载体线程的代码。
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "blog.virtual-threads.pinning-monitor", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${blog.virtual-threads.pinning-monitor.threshold-ms:20}") long thresholdMs) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMs));
+    }
+
+    /**
+     * 用连接舱壁包装各个连接池，许可数默认与连接池最大连接数一致
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "blog.virtual-threads.bulkhead", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor connectionBulkheadPostProcessor(
+            @Value("${blog.virtual-threads.bulkhead.permits:0}") int permits,
+            @Value("${blog.virtual-threads.bulkhead.max-waiting:1000}") int maxWaiting,
+            @Value("${blog.virtual-threads.bulkhead.acquire-timeout-ms:3000}") long acquireTimeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // 只包装实际的连接池，读写分离时主库和从库各自拥有独立的舱壁
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                int size = permits > 0 ? permits : hikari.getMaximumPoolSize();
+                log.info("数据源 {} 启用连接舱壁，许可数 {}，最大排队数 {}", beanName, size, maxWaiting);
+                return new ConnectionBulkheadDataSource(hikari, size, maxWaiting, acquireTimeoutMs);
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.myblog.controller;
+
+import com.myblog.dto.ApiResponse;
+import com.myblog.dto.ArchiveYearDTO;
+import com.myblog.dto.ArticleDTO;
+import com.myblog.dto.PageResponse;
+import com.myblog.service.ArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 文章归档控制器
+ */
+@RestController
+@RequestMapping("/archives")
+@RequiredArgsConstructor
+@Tag(name = "文章归档", description = "按年月浏览已发布文章")
+public class ArchiveController {
+
+    private final ArchiveService archiveService;
+
+    @GetMapping
+    @Operation(summary = "获取归档时间线", description = "按年、月汇总已发布文章数量")
+    public ApiResponse<List<ArchiveYearDTO>> getArchiveTree() {
+        return ApiResponse.success(archiveService.getArchiveTree());
+    }
+
+    @GetMapping("/{year}/{month}")
+    @Operation(summary = "获取月份文章", description = "分页获取指定月份的已发布文章，按发布时间倒序")
+    public ApiResponse<PageResponse<ArticleDTO>> getMonthArticles(
+            @PathVariable int year,
+            @PathVariable int month,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ApiResponse.success(archiveService.getMonthArticles(year, month, PageRequest.of(page, size)));
+    }
+}
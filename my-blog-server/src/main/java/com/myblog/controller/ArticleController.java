@@ -3,7 +3,10 @@ package com.myblog.controller;
 import com.myblog.dto.ArticleDTO;
 import com.myblog.dto.ApiResponse;
 import com.myblog.dto.PageResponse;
+import com.myblog.event.ContentType;
 import com.myblog.service.ArticleService;
+import com.myblog.service.related.RelatedArticleService;
+import com.myblog.service.slug.SlugService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -11,8 +14,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -32,6 +41,12 @@ public class ArticleController {
     /** 文章服务实例 */
     private final ArticleService articleService;
 
+    /** 相关文章服务实例 */
+    private final RelatedArticleService relatedArticleService;
+
+    /** 别名解析服务实例 */
+    private final SlugService slugService;
+
     /**
      * 创建新文章
      * @param articleDTO 文章数据传输对象
@@ -77,10 +92,17 @@ public class ArticleController {
     }
 
     @GetMapping("/slug/{slug}")
-    @Operation(summary = "根据slug获取文章", description = "根据slug获取文章详情")
-    public ApiResponse<ArticleDTO> getArticleBySlug(@PathVariable String slug) {
+    @Operation(summary = "根据slug获取文章", description = "根据slug获取文章详情，旧别名返回301重定向到当前别名")
+    public ResponseEntity<ApiResponse<ArticleDTO>> getArticleBySlug(@PathVariable String slug) {
+        String target = slugService.redirectTarget(ContentType.ARTICLE, slug);
+        if (target != null) {
+            return ResponseEntity.status(HttpStatus.MOVED_PERMANENTLY)
+                .header(HttpHeaders.LOCATION, ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/articles/slug/{slug}").buildAndExpand(target).encode().toUriString())
+                .build();
+        }
         ArticleDTO result = articleService.getArticleBySlug(slug);
-        return ApiResponse.success(result);
+        return ResponseEntity.ok(ApiResponse.success(result));
     }
 
     @GetMapping
@@ -165,6 +187,13 @@ public class ArticleController {
         return ApiResponse.success(result);
     }
 
+    @GetMapping("/{id}/related")
+    @Operation(summary = "获取相关文章", description = "按标签和正文相似度获取预先计算的相关文章")
+    public ApiResponse<List<ArticleDTO>> getRelatedArticles(@PathVariable Long id,
+                                                            @RequestParam(defaultValue = "5") int size) {
+        return ApiResponse.success(relatedArticleService.getRelatedArticles(id, size));
+    }
+
     @PostMapping("/{id}/view")
     @Operation(summary = "增加浏览量", description = "增加文章浏览量")
     public ApiResponse<Void> incrementViewCount(@PathVariable Long id) {
@@ -193,6 +222,22 @@ public class ArticleController {
         return ApiResponse.success("文章取消发布成功", result);
     }
 
+    @PostMapping("/{id}/schedule")
+    @Operation(summary = "定时发布文章", description = "设置计划发布时间，到期后自动发布")
+    public ApiResponse<ArticleDTO> scheduleArticle(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime scheduledAt) {
+        ArticleDTO result = articleService.scheduleArticle(id, scheduledAt);
+        return ApiResponse.success("定时发布设置成功", result);
+    }
+
+    @DeleteMapping("/{id}/schedule")
+    @Operation(summary = "取消定时发布", description = "取消文章的定时发布计划")
+    public ApiResponse<ArticleDTO> cancelSchedule(@PathVariable Long id) {
+        ArticleDTO result = articleService.cancelSchedule(id);
+        return ApiResponse.success("定时发布已取消", result);
+    }
+
     @PostMapping("/{id}/pin")
     @Operation(summary = "置顶文章", description = "置顶文章")
     public ApiResponse<ArticleDTO> pinArticle(@PathVariable Long id) {
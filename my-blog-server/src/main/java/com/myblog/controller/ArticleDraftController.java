@@ -0,0 +1,46 @@
+package com.myblog.controller;
+
+import com.myblog.dto.ApiResponse;
+import com.myblog.dto.ArticleDTO;
+import com.myblog.dto.ArticleDraftDTO;
+import com.myblog.service.draft.ArticleDraftService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 文章草稿控制器
+ */
+@RestController
+@RequestMapping("/articles/{id}/draft")
+@RequiredArgsConstructor
+@Tag(name = "文章草稿", description = "编辑器自动保存和草稿发布")
+public class ArticleDraftController {
+
+    private final ArticleDraftService draftService;
+
+    @PatchMapping
+    @Operation(summary = "自动保存草稿", description = "提交发生变化的字段，合并到草稿后返回草稿版本号")
+    public ApiResponse<Long> saveDraft(@PathVariable Long id, @RequestBody ArticleDraftDTO patch) {
+        return ApiResponse.success(draftService.patch(id, patch));
+    }
+
+    @GetMapping
+    @Operation(summary = "获取草稿", description = "获取文章当前的草稿，包含尚未写入数据库的修改")
+    public ApiResponse<ArticleDraftDTO> getDraft(@PathVariable Long id) {
+        return ApiResponse.success(draftService.getDraft(id));
+    }
+
+    @PostMapping("/publish")
+    @Operation(summary = "发布草稿", description = "把草稿写回文章并清空草稿")
+    public ApiResponse<ArticleDTO> publishDraft(@PathVariable Long id) {
+        return ApiResponse.success("草稿已发布", draftService.publish(id));
+    }
+}
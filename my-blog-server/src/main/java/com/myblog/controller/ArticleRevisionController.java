@@ -0,0 +1,67 @@
+package com.myblog.controller;
+
+import com.myblog.dto.ApiResponse;
+import com.myblog.dto.ArticleDTO;
+import com.myblog.dto.ArticleRevisionDTO;
+import com.myblog.dto.PageResponse;
+import com.myblog.service.ArticleService;
+import com.myblog.service.revision.ArticleRevisionService;
+import com.myblog.service.revision.DiffHunk;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章修订控制器
+ */
+@RestController
+@RequestMapping("/articles/{id}/revisions")
+@RequiredArgsConstructor
+@Tag(name = "文章修订", description = "文章历史版本的查看、比较和恢复")
+public class ArticleRevisionController {
+
+    private final ArticleRevisionService revisionService;
+    private final ArticleService articleService;
+
+    @GetMapping
+    @Operation(summary = "获取修订列表", description = "分页获取文章的修订，按修订号倒序，不含正文")
+    public ApiResponse<PageResponse<ArticleRevisionDTO>> getRevisions(@PathVariable Long id,
+                                                                      @RequestParam(defaultValue = "0") int page,
+                                                                      @RequestParam(defaultValue = "20") int size) {
+        return ApiResponse.success(revisionService.getRevisions(id, PageRequest.of(page, size)));
+    }
+
+    @GetMapping("/{revision}")
+    @Operation(summary = "获取修订", description = "获取指定修订的标题和正文")
+    public ApiResponse<ArticleRevisionDTO> getRevision(@PathVariable Long id, @PathVariable int revision) {
+        return ApiResponse.success(revisionService.getRevision(id, revision));
+    }
+
+    @GetMapping("/diff")
+    @Operation(summary = "比较修订", description = "按行比较两个修订的正文，返回统一格式的差异块")
+    public ApiResponse<List<DiffHunk>> diff(@PathVariable Long id, @RequestParam int from, @RequestParam int to) {
+        return ApiResponse.success(revisionService.diff(id, from, to));
+    }
+
+    @GetMapping("/storage")
+    @Operation(summary = "获取修订存储统计", description = "对比增量存储与完整保存每个版本的字节数")
+    public ApiResponse<Map<String, Object>> getStorageStats(@PathVariable Long id) {
+        return ApiResponse.success(revisionService.getStorageStats(id));
+    }
+
+    @PostMapping("/{revision}/restore")
+    @Operation(summary = "恢复修订", description = "将文章标题和正文恢复为指定修订")
+    public ApiResponse<ArticleDTO> restore(@PathVariable Long id, @PathVariable int revision) {
+        return ApiResponse.success("文章已恢复到修订 " + revision, articleService.restoreRevision(id, revision));
+    }
+}
@@ -0,0 +1,80 @@
+package com.myblog.controller;
+
+import com.myblog.dto.ApiResponse;
+import com.myblog.service.bulk.ArticleExportService;
+import com.myblog.service.bulk.ArticleImportService;
+import com.myblog.service.bulk.BulkFormat;
+import com.myblog.service.bulk.ImportReport;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+/**
+ * 文章批量导入导出控制器
+ */
+@RestController
+@RequestMapping("/articles/bulk")
+@RequiredArgsConstructor
+@Tag(name = "文章批量导入导出", description = "NDJSON或Markdown压缩包的流式导入导出")
+public class BulkArticleController {
+
+    private final ArticleImportService articleImportService;
+    private final ArticleExportService articleExportService;
+
+    /**
+     * 流式导入文章，请求体即为归档文件，例如 curl --data-binary @articles.ndjson.gz
+     * @param format 归档格式：ndjson或markdown
+     * @param job 任务ID，续传时传入上次报告中的jobId
+     * @return 导入报告
+     */
+    @PostMapping("/import")
+    @Operation(summary = "批量导入文章", description = "请求体为NDJSON（可gzip压缩）或Markdown压缩包，分块提交并支持断点续传")
+    public ApiResponse<ImportReport> importArticles(@RequestParam(defaultValue = "ndjson") String format,
+                                                    @RequestParam(required = false) String job,
+                                                    HttpServletRequest request) throws IOException {
+        try (InputStream in = request.getInputStream()) {
+            ImportReport report = articleImportService.importArticles(in, parseFormat(format), job);
+            return report.completed()
+                ? ApiResponse.success("导入完成", report)
+                : ApiResponse.error(500, "导入中断，可使用任务ID " + report.jobId() + " 续传", report);
+        }
+    }
+
+    /**
+     * 流式导出全部文章
+     * @param format 归档格式：ndjson或markdown
+     * @return 压缩后的归档文件
+     */
+    @GetMapping("/export")
+    @Operation(summary = "批量导出文章", description = "以流式游标导出全部文章为gzip压缩的NDJSON或Markdown压缩包")
+    public ResponseEntity<StreamingResponseBody> exportArticles(@RequestParam(defaultValue = "ndjson") String format) {
+        BulkFormat bulkFormat = parseFormat(format);
+        StreamingResponseBody body = out -> articleExportService.exportArticles(bulkFormat, out);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + bulkFormat.getFileName() + "\"")
+            .contentType(MediaType.parseMediaType(bulkFormat.getContentType()))
+            .body(body);
+    }
+
+    private BulkFormat parseFormat(String format) {
+        try {
+            return BulkFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("不支持的归档格式: " + format);
+        }
+    }
+}
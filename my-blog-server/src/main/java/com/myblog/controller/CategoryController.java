@@ -3,14 +3,20 @@ package com.myblog.controller;
 import com.myblog.dto.CategoryDTO;
 import com.myblog.dto.ApiResponse;
 import com.myblog.dto.PageResponse;
+import com.myblog.event.ContentType;
 import com.myblog.service.CategoryService;
+import com.myblog.service.slug.SlugService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
 
@@ -24,6 +30,7 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final SlugService slugService;
 
     @PostMapping
     @Operation(summary = "创建分类", description = "创建新的分类")
@@ -54,10 +61,17 @@ public class CategoryController {
     }
 
     @GetMapping("/slug/{slug}")
-    @Operation(summary = "根据slug获取分类", description = "根据slug获取分类详情")
-    public ApiResponse<CategoryDTO> getCategoryBySlug(@PathVariable String slug) {
+    @Operation(summary = "根据slug获取分类", description = "根据slug获取分类详情，旧别名返回301重定向到当前别名")
+    public ResponseEntity<ApiResponse<CategoryDTO>> getCategoryBySlug(@PathVariable String slug) {
+        String target = slugService.redirectTarget(ContentType.CATEGORY, slug);
+        if (target != null) {
+            return ResponseEntity.status(HttpStatus.MOVED_PERMANENTLY)
+                .header(HttpHeaders.LOCATION, ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/categories/slug/{slug}").buildAndExpand(target).encode().toUriString())
+                .build();
+        }
         CategoryDTO result = categoryService.getCategoryBySlug(slug);
-        return ApiResponse.success(result);
+        return ResponseEntity.ok(ApiResponse.success(result));
     }
 
     @GetMapping
@@ -2,6 +2,7 @@ package com.myblog.controller;
 
 import com.myblog.dto.CommentDTO;
 import com.myblog.dto.ApiResponse;
+import com.myblog.dto.BatchModerationRequest;
 import com.myblog.dto.PageResponse;
 import com.myblog.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -65,6 +66,17 @@ public class CommentController {
         return ApiResponse.success(result);
     }
 
+    @GetMapping("/article/{articleId}/tree")
+    @Operation(summary = "获取文章评论树", description = "一次性获取文章已审核评论的完整嵌套结构，可限制嵌套深度和每个节点的回复数")
+    public ApiResponse<List<CommentDTO>> getCommentTree(
+            @PathVariable Long articleId,
+            @RequestParam(required = false) Integer maxDepth,
+            @RequestParam(required = false) Integer maxChildren) {
+        
+        List<CommentDTO> result = commentService.getCommentTree(articleId, maxDepth, maxChildren);
+        return ApiResponse.success(result);
+    }
+
     @GetMapping("/pending")
     @Operation(summary = "获取待审核评论", description = "获取待审核的评论列表")
     public ApiResponse<PageResponse<CommentDTO>> getPendingComments(
@@ -76,6 +88,17 @@ public class CommentController {
         return ApiResponse.success(result);
     }
 
+    @GetMapping("/spam")
+    @Operation(summary = "获取垃圾评论", description = "获取被自动审核判定为垃圾内容的评论列表，审核通过即可恢复误判的评论")
+    public ApiResponse<PageResponse<CommentDTO>> getSpamComments(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        Pageable pageable = PageRequest.of(page, size);
+        PageResponse<CommentDTO> result = commentService.getSpamComments(pageable);
+        return ApiResponse.success(result);
+    }
+
     @PostMapping("/{id}/approve")
     @Operation(summary = "审核通过评论", description = "审核通过评论")
     public ApiResponse<CommentDTO> approveComment(@PathVariable Long id) {
@@ -90,6 +113,14 @@ public class CommentController {
         return ApiResponse.success("评论已拒绝", result);
     }
 
+    @PostMapping("/batch/{action}")
+    @Operation(summary = "批量审核评论", description = "按ID列表或筛选条件批量通过(approve)、拒绝(reject)或删除(delete)评论")
+    public ApiResponse<Integer> batchModerate(@PathVariable String action,
+                                              @RequestBody BatchModerationRequest request) {
+        int affected = commentService.batchModerateComments(BatchModerationRequest.Action.of(action), request);
+        return ApiResponse.success("批量处理完成", affected);
+    }
+
     @PostMapping("/{id}/like")
     @Operation(summary = "点赞评论", description = "增加评论点赞数")
     public ApiResponse<Void> incrementLikeCount(@PathVariable Long id) {
@@ -1,15 +1,35 @@
 package com.myblog.controller;
 
+import com.myblog.cache.ContentVersions;
+import com.myblog.cache.ResponseCache;
+import com.myblog.datasource.ConnectionBulkheadDataSource;
+import com.myblog.datasource.ReadWriteRoutingDataSource;
+import com.myblog.diagnostics.VirtualThreadPinningMonitor;
 import com.myblog.dto.ApiResponse;
 import com.myblog.dto.DashboardStats;
+import com.myblog.service.CounterService;
 import com.myblog.service.DashboardService;
+import com.myblog.service.draft.ArticleDraftService;
+import com.myblog.service.feed.FeedService;
+import com.myblog.service.markdown.ContentRenderService;
+import com.myblog.service.related.RelatedArticleService;
+import com.myblog.service.schedule.ScheduledPublishService;
+import com.myblog.service.slug.SlugService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * 仪表盘控制器
  * 提供管理端仪表盘数据统计接口
@@ -21,6 +41,21 @@ import org.springframework.web.bind.annotation.RestController;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final CounterService counterService;
+    private final ResponseCache responseCache;
+    private final ContentVersions contentVersions;
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+    private final DataSource dataSource;
+    private final ObjectProvider<ReadWriteRoutingDataSource> routingDataSource;
+    private final ContentRenderService contentRenderService;
+    private final ArticleDraftService draftService;
+    private final RelatedArticleService relatedArticleService;
+    private final SlugService slugService;
+    private final FeedService feedService;
+    private final ScheduledPublishService scheduledPublishService;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
 
     @GetMapping("/stats")
     @Operation(summary = "获取仪表盘统计数据", description = "获取文章、分类、标签、评论等统计数据")
@@ -29,6 +64,95 @@ public class DashboardController {
         return ApiResponse.success("获取统计数据成功", stats);
     }
 
+    @PostMapping("/counters/reconcile")
+    @Operation(summary = "对账冗余计数", description = "按实际数据修正文章评论数、分类文章数和标签文章数")
+    public ApiResponse<Map<String, Integer>> reconcileCounters() {
+        Map<String, Integer> result = counterService.reconcileAll();
+        return ApiResponse.success("计数对账完成", result);
+    }
+
+    @GetMapping("/response-cache")
+    @Operation(summary = "获取响应缓存统计", description = "获取公开接口响应缓存的条目数、内存占用和命中率")
+    public ApiResponse<Map<String, Object>> getResponseCacheStats() {
+        return ApiResponse.success(responseCache.getStats());
+    }
+
+    @PostMapping("/response-cache/clear")
+    @Operation(summary = "清空响应缓存", description = "清空公开接口响应缓存并使所有内容版本失效")
+    public ApiResponse<Void> clearResponseCache() {
+        contentVersions.bumpAll();
+        responseCache.clear();
+        return ApiResponse.success("响应缓存已清空", null);
+    }
+
+    @GetMapping("/virtual-threads")
+    @Operation(summary = "获取虚拟线程运行状态", description = "获取虚拟线程模式下的固定统计和数据库连接舱壁统计")
+    public ApiResponse<Map<String, Object>> getVirtualThreadStats() throws SQLException {
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        ConnectionBulkheadDataSource bulkhead = dataSource.isWrapperFor(ConnectionBulkheadDataSource.class)
+            ? dataSource.unwrap(ConnectionBulkheadDataSource.class) : null;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("virtualThreads", virtualThreadsEnabled);
+        stats.put("pinning", monitor != null ? monitor.getStats() : null);
+        stats.put("connectionBulkhead", bulkhead != null ? bulkhead.getStats() : null);
+        return ApiResponse.success(stats);
+    }
+
+    @GetMapping("/datasource-routing")
+    @Operation(summary = "获取读写分离路由统计", description = "获取主从路由次数、回退次数和从库复制延迟，未开启读写分离时返回空")
+    public ApiResponse<Map<String, Object>> getDataSourceRoutingStats() {
+        ReadWriteRoutingDataSource routing = routingDataSource.getIfAvailable();
+        return ApiResponse.success(routing != null ? routing.getStats() : null);
+    }
+
+    @GetMapping("/content-render")
+    @Operation(summary = "获取正文渲染统计", description = "获取当前渲染版本、渲染次数、平均耗时和后台补齐数量")
+    public ApiResponse<Map<String, Object>> getContentRenderStats() {
+        return ApiResponse.success(contentRenderService.getStats());
+    }
+
+    @PostMapping("/content-render/backfill")
+    @Operation(summary = "补齐正文渲染结果", description = "重新渲染渲染结果缺失或渲染版本过旧的文章")
+    public ApiResponse<Integer> backfillContentRender() {
+        return ApiResponse.success("渲染结果补齐完成", contentRenderService.backfill());
+    }
+
+    @GetMapping("/drafts")
+    @Operation(summary = "获取草稿自动保存统计", description = "获取自动保存次数、写库次数、合并次数和待写入的草稿数")
+    public ApiResponse<Map<String, Object>> getDraftStats() {
+        return ApiResponse.success(draftService.getStats());
+    }
+
+    @GetMapping("/related-articles")
+    @Operation(summary = "获取相关文章统计", description = "获取相关文章列表数量、重建耗时和平均候选数")
+    public ApiResponse<Map<String, Object>> getRelatedArticleStats() {
+        return ApiResponse.success(relatedArticleService.getStats());
+    }
+
+    @PostMapping("/related-articles/rebuild")
+    @Operation(summary = "重建相关文章", description = "重新计算全部已发布文章的相关文章列表")
+    public ApiResponse<Integer> rebuildRelatedArticles() {
+        return ApiResponse.success("相关文章重建完成", relatedArticleService.rebuild());
+    }
+
+    @GetMapping("/slugs")
+    @Operation(summary = "获取别名解析统计", description = "获取各类型别名数、旧别名数和解析命中、重定向次数")
+    public ApiResponse<Map<String, Object>> getSlugStats() {
+        return ApiResponse.success(slugService.getStats());
+    }
+
+    @GetMapping("/feeds")
+    @Operation(summary = "获取站点地图和订阅源统计", description = "获取收录文章数、站点地图分页数、生成次数和跳过的变更数")
+    public ApiResponse<Map<String, Object>> getFeedStats() {
+        return ApiResponse.success(feedService.getStats());
+    }
+
+    @GetMapping("/scheduled-publishing")
+    @Operation(summary = "获取定时发布统计", description = "获取待发布数量、最近的计划时间以及已发布、失效和失败次数")
+    public ApiResponse<Map<String, Object>> getScheduledPublishingStats() {
+        return ApiResponse.success(scheduledPublishService.getStats());
+    }
+
     @GetMapping("/recent-articles")
     @Operation(summary = "获取最近文章", description = "获取最近发布的文章列表")
     public ApiResponse<Object> getRecentArticles() {
@@ -0,0 +1,78 @@
+package com.myblog.controller;
+
+import com.myblog.dto.ApiResponse;
+import com.myblog.service.bulk.CursorExporter;
+import com.myblog.service.bulk.DataExportService;
+import com.myblog.service.bulk.RowFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 数据导出控制器
+ */
+@RestController
+@RequestMapping("/data-export")
+@RequiredArgsConstructor
+@Tag(name = "数据导出", description = "评论、留言和图片元数据的流式CSV/NDJSON导出")
+public class DataExportController {
+
+    private final DataExportService dataExportService;
+    private final CursorExporter cursorExporter;
+
+    @GetMapping("/comments")
+    @Operation(summary = "导出评论", description = "流式导出全部评论，format为csv或ndjson")
+    public ResponseEntity<StreamingResponseBody> exportComments(@RequestParam(defaultValue = "csv") String format) {
+        RowFormat rowFormat = parseFormat(format);
+        return download("comments", rowFormat, out -> dataExportService.exportComments(rowFormat, out));
+    }
+
+    @GetMapping("/guestbook")
+    @Operation(summary = "导出留言", description = "流式导出全部留言，format为csv或ndjson")
+    public ResponseEntity<StreamingResponseBody> exportGuestbook(@RequestParam(defaultValue = "csv") String format) {
+        RowFormat rowFormat = parseFormat(format);
+        return download("guestbook", rowFormat, out -> dataExportService.exportGuestbookMessages(rowFormat, out));
+    }
+
+    @GetMapping("/images")
+    @Operation(summary = "导出图片元数据", description = "流式导出未删除图片的元数据，format为csv或ndjson")
+    public ResponseEntity<StreamingResponseBody> exportImages(@RequestParam(defaultValue = "csv") String format) {
+        RowFormat rowFormat = parseFormat(format);
+        return download("images", rowFormat, out -> dataExportService.exportImages(rowFormat, out));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "获取导出统计", description = "进行中、已完成和因客户端断开而中止的导出次数")
+    public ApiResponse<Map<String, Object>> getStats() {
+        return ApiResponse.success(cursorExporter.getStats());
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(String name, RowFormat format, StreamingResponseBody body) {
+        String fileName = name + "-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + "." + format.getExtension();
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .body(body);
+    }
+
+    private RowFormat parseFormat(String format) {
+        try {
+            return RowFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("不支持的导出格式: " + format);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.myblog.controller;
+
+import com.myblog.dto.ApiResponse;
+import com.myblog.service.export.ExportReport;
+import com.myblog.service.export.StaticExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 静态导出控制器
+ */
+@RestController
+@RequestMapping("/export")
+@RequiredArgsConstructor
+@Tag(name = "静态导出", description = "已发布文章及索引页的静态预渲染")
+public class ExportController {
+
+    private final StaticExportService staticExportService;
+
+    @GetMapping("/status")
+    @Operation(summary = "获取导出状态", description = "获取静态导出配置和最近的构建报告")
+    public ApiResponse<Map<String, Object>> getStatus() {
+        return ApiResponse.success(staticExportService.getStatus());
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "全量重建", description = "重新生成全部静态产物并清理过期文件")
+    public ApiResponse<ExportReport> rebuildAll() {
+        return ApiResponse.success("全量重建完成", staticExportService.rebuildAll());
+    }
+
+    @PostMapping("/articles/{id}/rebuild")
+    @Operation(summary = "重建文章", description = "重新生成指定文章及其所属分类、标签、归档页")
+    public ApiResponse<ExportReport> rebuildArticle(@PathVariable Long id) {
+        return ApiResponse.success("文章重建完成", staticExportService.rebuildArticles(Set.of(id)));
+    }
+}
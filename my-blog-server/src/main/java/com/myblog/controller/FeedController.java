@@ -0,0 +1,70 @@
+package com.myblog.controller;
+
+import com.myblog.service.feed.FeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * 站点地图和订阅源控制器
+ * 返回预先生成的XML，支持If-None-Match和If-Modified-Since协商缓存
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "站点地图和订阅源", description = "sitemap.xml、RSS和Atom订阅源")
+public class FeedController {
+
+    private static final MediaType RSS = MediaType.parseMediaType("application/rss+xml;charset=UTF-8");
+    private static final MediaType ATOM = MediaType.parseMediaType("application/atom+xml;charset=UTF-8");
+    private static final MediaType XML = MediaType.parseMediaType("application/xml;charset=UTF-8");
+
+    private final FeedService feedService;
+
+    @GetMapping("/sitemap.xml")
+    @Operation(summary = "获取站点地图", description = "文章数超过单个站点地图的上限时返回站点地图索引")
+    public ResponseEntity<byte[]> getSitemap(WebRequest request) {
+        return respond(request, feedService.getSitemap(), XML);
+    }
+
+    @GetMapping("/sitemap-{page}.xml")
+    @Operation(summary = "获取站点地图分页", description = "站点地图索引中列出的分页，页码从1开始")
+    public ResponseEntity<byte[]> getSitemapPage(@PathVariable int page, WebRequest request) {
+        FeedService.Document document = feedService.getSitemapPage(page);
+        if (document == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return respond(request, document, XML);
+    }
+
+    @GetMapping("/rss.xml")
+    @Operation(summary = "获取RSS订阅源", description = "最近发布的文章")
+    public ResponseEntity<byte[]> getRss(WebRequest request) {
+        return respond(request, feedService.getRss(), RSS);
+    }
+
+    @GetMapping("/atom.xml")
+    @Operation(summary = "获取Atom订阅源", description = "最近发布的文章")
+    public ResponseEntity<byte[]> getAtom(WebRequest request) {
+        return respond(request, feedService.getAtom(), ATOM);
+    }
+
+    private ResponseEntity<byte[]> respond(WebRequest request, FeedService.Document document, MediaType contentType) {
+        // 命中时已设置304状态和ETag、Last-Modified响应头
+        if (request.checkNotModified(document.etag(), document.lastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .contentType(contentType)
+            .eTag(document.etag())
+            .lastModified(document.lastModified())
+            .cacheControl(CacheControl.noCache())
+            .body(document.body());
+    }
+}
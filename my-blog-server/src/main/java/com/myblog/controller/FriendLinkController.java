@@ -2,6 +2,7 @@ package com.myblog.controller;
 
 import com.myblog.dto.FriendLinkDTO;
 import com.myblog.dto.ApiResponse;
+import com.myblog.dto.BatchModerationRequest;
 import com.myblog.dto.PageResponse;
 import com.myblog.service.FriendLinkService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -99,6 +100,14 @@ public class FriendLinkController {
         return ApiResponse.success("友链已拒绝", result);
     }
 
+    @PostMapping("/batch/{action}")
+    @Operation(summary = "批量审核友链", description = "按ID列表或筛选条件批量通过(approve)、拒绝(reject)或删除(delete)友链")
+    public ApiResponse<Integer> batchModerate(@PathVariable String action,
+                                              @RequestBody BatchModerationRequest request) {
+        int affected = friendLinkService.batchModerateFriendLinks(BatchModerationRequest.Action.of(action), request);
+        return ApiResponse.success("批量处理完成", affected);
+    }
+
     @PostMapping("/{id}/click")
     @Operation(summary = "增加点击量", description = "增加友链点击量")
     public ApiResponse<Void> incrementClickCount(@PathVariable Long id) {
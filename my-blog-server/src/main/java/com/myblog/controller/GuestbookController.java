@@ -2,6 +2,7 @@ package com.myblog.controller;
 
 import com.myblog.dto.GuestbookMessageDTO;
 import com.myblog.dto.ApiResponse;
+import com.myblog.dto.BatchModerationRequest;
 import com.myblog.dto.PageResponse;
 import com.myblog.service.GuestbookService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -89,6 +90,17 @@ public class GuestbookController {
         return ApiResponse.success(result);
     }
 
+    @GetMapping("/spam")
+    @Operation(summary = "获取垃圾留言", description = "获取被自动审核判定为垃圾内容的留言列表，审核通过即可恢复误判的留言")
+    public ApiResponse<PageResponse<GuestbookMessageDTO>> getSpamMessages(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        Pageable pageable = PageRequest.of(page, size);
+        PageResponse<GuestbookMessageDTO> result = guestbookService.getSpamMessages(pageable);
+        return ApiResponse.success(result);
+    }
+
     @PostMapping("/{id}/approve")
     @Operation(summary = "审核通过留言", description = "审核通过留言")
     public ApiResponse<GuestbookMessageDTO> approveMessage(@PathVariable Long id) {
@@ -103,6 +115,14 @@ public class GuestbookController {
         return ApiResponse.success("留言已拒绝", result);
     }
 
+    @PostMapping("/batch/{action}")
+    @Operation(summary = "批量审核留言", description = "按ID列表或筛选条件批量通过(approve)、拒绝(reject)或删除(delete)留言")
+    public ApiResponse<Integer> batchModerate(@PathVariable String action,
+                                              @RequestBody BatchModerationRequest request) {
+        int affected = guestbookService.batchModerateMessages(BatchModerationRequest.Action.of(action), request);
+        return ApiResponse.success("批量处理完成", affected);
+    }
+
     @PostMapping("/{id}/like")
     @Operation(summary = "点赞留言", description = "增加留言点赞数")
     public ApiResponse<Void> incrementLikeCount(@PathVariable Long id) {
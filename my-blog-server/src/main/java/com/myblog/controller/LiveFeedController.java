@@ -0,0 +1,45 @@
+package com.myblog.controller;
+
+import com.myblog.dto.ApiResponse;
+import com.myblog.service.live.LiveFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+/**
+ * 实时推送控制器
+ */
+@RestController
+@RequestMapping("/live")
+@RequiredArgsConstructor
+@Tag(name = "实时推送", description = "评论和留言的SSE实时推送")
+public class LiveFeedController {
+
+    private final LiveFeedService liveFeedService;
+
+    @GetMapping(value = "/articles/{articleId}/comments", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "订阅文章评论", description = "通过SSE接收文章新增、删除的已审核评论，收到refresh事件时应重新拉取评论树")
+    public SseEmitter subscribeArticle(@PathVariable Long articleId) {
+        return liveFeedService.subscribeArticle(articleId);
+    }
+
+    @GetMapping(value = "/moderation", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "订阅审核动态", description = "通过SSE接收所有评论和留言的提交与审核变更，替代待审核列表轮询")
+    public SseEmitter subscribeModeration() {
+        return liveFeedService.subscribeModeration();
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "获取推送统计", description = "获取当前连接数、扇出次数、丢弃消息数和平均扇出耗时")
+    public ApiResponse<Map<String, Object>> getStats() {
+        return ApiResponse.success(liveFeedService.getStats());
+    }
+}
@@ -0,0 +1,30 @@
+package com.myblog.controller;
+
+import com.myblog.dto.ApiResponse;
+import com.myblog.service.moderation.ModerationPipeline;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 自动审核控制器
+ */
+@RestController
+@RequestMapping("/moderation")
+@RequiredArgsConstructor
+@Tag(name = "自动审核", description = "评论和留言自动审核流水线相关操作")
+public class ModerationController {
+
+    private final ModerationPipeline moderationPipeline;
+
+    @GetMapping("/stats")
+    @Operation(summary = "获取自动审核统计", description = "获取自动审核流水线的提交、丢弃、通过和拒绝数量")
+    public ApiResponse<Map<String, Object>> getStats() {
+        return ApiResponse.success(moderationPipeline.getStats());
+    }
+}
@@ -2,10 +2,16 @@ package com.myblog.controller;
 
 import com.myblog.dto.ApiResponse;
 import com.myblog.service.BlogStatsService;
+import com.myblog.service.BootstrapService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -22,6 +28,7 @@ import java.util.Map;
 public class PublicController {
 
     private final BlogStatsService blogStatsService;
+    private final BootstrapService bootstrapService;
 
     @GetMapping("/stats")
     @Operation(summary = "获取博客统计", description = "获取博客的公开统计数据")
@@ -29,4 +36,23 @@ public class PublicController {
         Map<String, Object> stats = blogStatsService.getPublicBlogStats();
         return ApiResponse.success("获取博客统计成功", stats);
     }
+
+    @GetMapping("/bootstrap")
+    @Operation(summary = "获取首页启动数据", description = "一次返回统计、置顶文章、热门文章、分类、标签、友链和公开设置，支持If-None-Match协商缓存")
+    public ResponseEntity<byte[]> getBootstrap(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        BootstrapService.Snapshot snapshot = bootstrapService.getSnapshot();
+        if (snapshot.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(snapshot.etag())
+            .cacheControl(CacheControl.noCache())
+            .header("X-Snapshot-Version", String.valueOf(snapshot.version()))
+            .body(snapshot.body());
+    }
 }
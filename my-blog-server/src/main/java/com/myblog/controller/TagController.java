@@ -3,14 +3,20 @@ package com.myblog.controller;
 import com.myblog.dto.TagDTO;
 import com.myblog.dto.ApiResponse;
 import com.myblog.dto.PageResponse;
+import com.myblog.event.ContentType;
 import com.myblog.service.TagService;
+import com.myblog.service.slug.SlugService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
 
@@ -24,6 +30,7 @@ import java.util.List;
 public class TagController {
 
     private final TagService tagService;
+    private final SlugService slugService;
 
     @PostMapping
     @Operation(summary = "创建标签", description = "创建新的标签")
@@ -54,10 +61,17 @@ public class TagController {
     }
 
     @GetMapping("/slug/{slug}")
-    @Operation(summary = "根据slug获取标签", description = "根据slug获取标签详情")
-    public ApiResponse<TagDTO> getTagBySlug(@PathVariable String slug) {
+    @Operation(summary = "根据slug获取标签", description = "根据slug获取标签详情，旧别名返回301重定向到当前别名")
+    public ResponseEntity<ApiResponse<TagDTO>> getTagBySlug(@PathVariable String slug) {
+        String target = slugService.redirectTarget(ContentType.TAG, slug);
+        if (target != null) {
+            return ResponseEntity.status(HttpStatus.MOVED_PERMANENTLY)
+                .header(HttpHeaders.LOCATION, ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/tags/slug/{slug}").buildAndExpand(target).encode().toUriString())
+                .build();
+        }
         TagDTO result = tagService.getTagBySlug(slug);
-        return ApiResponse.success(result);
+        return ResponseEntity.ok(ApiResponse.success(result));
     }
 
     @GetMapping
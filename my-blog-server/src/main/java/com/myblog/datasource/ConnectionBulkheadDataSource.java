@@ -0,0 +1,148 @@
+package com.myblog.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 数据库连接舱壁
+ * 虚拟线程模式下请求并发不再受线程池限制，大量虚拟线程同时争抢连接池会造成集中超时。
+ * 舱壁使用公平信号量将同时持有连接的线程数限制在许可数以内，按到达顺序排队，
+ * 排队数超过上限时立即失败，避免请求无限堆积。
+ */
+public class ConnectionBulkheadDataSource extends DelegatingDataSource {
+
+    private final int permits;
+    private final int maxWaiting;
+    private final long acquireTimeoutMs;
+    private final Semaphore semaphore;
+
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public ConnectionBulkheadDataSource(DataSource target, int permits, int maxWaiting, long acquireTimeoutMs) {
+        super(target);
+        this.permits = permits;
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.semaphore = new Semaphore(permits, true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return wrap(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return wrap(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 获取舱壁统计
+     */
+    public Map<String, Object> getStats() {
+        long acquiredCount = acquired.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("permits", permits);
+        stats.put("available", semaphore.availablePermits());
+        stats.put("waiting", semaphore.getQueueLength());
+        stats.put("maxWaiting", maxWaiting);
+        stats.put("acquired", acquiredCount);
+        stats.put("rejected", rejected.get());
+        stats.put("timedOut", timedOut.get());
+        stats.put("avgWaitMicros", acquiredCount == 0 ? 0 : waitNanos.get() / acquiredCount / 1000);
+        stats.put("maxWaitMicros", maxWaitNanos.get() / 1000);
+        return stats;
+    }
+
+    private void acquire() throws SQLException {
+        if (semaphore.getQueueLength() >= maxWaiting) {
+            rejected.incrementAndGet();
+            throw new SQLTransientConnectionException("数据库连接等待队列已满，请稍后重试");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timedOut.incrementAndGet();
+                throw new SQLTransientConnectionException("获取数据库连接超时（" + acquireTimeoutMs + " ms）");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("获取数据库连接被中断", e);
+        }
+        long waited = System.nanoTime() - start;
+        acquired.incrementAndGet();
+        waitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+
+    /**
+     * 包装连接，关闭时归还许可，重复关闭只归还一次
+     */
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class}, new ReleasingHandler(connection));
+    }
+
+    private class ReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Bulkhead[" + target + "]";
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            } finally {
+                if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                    semaphore.release();
+                }
+            }
+        }
+    }
+}
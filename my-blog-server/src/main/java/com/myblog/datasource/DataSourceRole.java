@@ -0,0 +1,11 @@
+package com.myblog.datasource;
+
+/**
+ * 数据源角色
+ */
+public enum DataSourceRole {
+    /** 主库，承担所有写操作 */
+    PRIMARY,
+    /** 从库，承担只读事务 */
+    REPLICA
+}
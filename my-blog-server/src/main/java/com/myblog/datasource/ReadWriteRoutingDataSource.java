@@ -0,0 +1,62 @@
+package com.myblog.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 读写分离路由数据源
+ * 只读事务路由到从库，其余操作路由到主库。需要包装在LazyConnectionDataSourceProxy中使用，
+ * 使连接在事务的只读标记设置之后、第一条语句执行时才真正获取。
+ * 从库不可用或当前用户处于写后粘滞窗口内时，只读事务回退到主库。
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaHealthMonitor replicaHealth;
+    private final ReadYourWritesTracker readYourWrites;
+
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong replicaReads = new AtomicLong();
+    private final AtomicLong unhealthyFallbacks = new AtomicLong();
+    private final AtomicLong stickyFallbacks = new AtomicLong();
+
+    public ReadWriteRoutingDataSource(ReplicaHealthMonitor replicaHealth, ReadYourWritesTracker readYourWrites) {
+        this.replicaHealth = replicaHealth;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                writes.incrementAndGet();
+                readYourWrites.recordWrite();
+            }
+            return DataSourceRole.PRIMARY;
+        }
+        if (!replicaHealth.isAvailable()) {
+            unhealthyFallbacks.incrementAndGet();
+            return DataSourceRole.PRIMARY;
+        }
+        if (readYourWrites.isSticky()) {
+            stickyFallbacks.incrementAndGet();
+            return DataSourceRole.PRIMARY;
+        }
+        replicaReads.incrementAndGet();
+        return DataSourceRole.REPLICA;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("writes", writes.get());
+        stats.put("replicaReads", replicaReads.get());
+        stats.put("unhealthyFallbacks", unhealthyFallbacks.get());
+        stats.put("stickyFallbacks", stickyFallbacks.get());
+        stats.put("stickyUsers", readYourWrites.size());
+        stats.put("replica", replicaHealth.getStats());
+        return stats;
+    }
+}
@@ -0,0 +1,71 @@
+package com.myblog.datasource;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 写后读一致性跟踪
+ * 记录已登录用户最近一次写事务的时间，在粘滞窗口内该用户的只读事务仍然路由到主库，
+ * 避免管理员保存后立即刷新列表时因从库延迟读到旧数据。窗口长度不小于当前观测到的复制延迟。
+ */
+public class ReadYourWritesTracker {
+
+    private final long stickyMs;
+    private final LongSupplier lagMillis;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    /**
+     * @param stickyMs 最短粘滞时间（毫秒）
+     * @param lagMillis 当前复制延迟（毫秒）
+     */
+    public ReadYourWritesTracker(long stickyMs, LongSupplier lagMillis) {
+        this.stickyMs = stickyMs;
+        this.lagMillis = lagMillis;
+    }
+
+    /**
+     * 记录当前用户发生写操作
+     */
+    public void recordWrite() {
+        String user = currentUser();
+        if (user != null) {
+            lastWrites.put(user, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 当前用户是否仍处于写后粘滞窗口内
+     */
+    public boolean isSticky() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(user);
+        if (lastWrite == null) {
+            return false;
+        }
+        long window = Math.max(stickyMs, lagMillis.getAsLong() + 1000);
+        if (System.currentTimeMillis() - lastWrite > window) {
+            lastWrites.remove(user, lastWrite);
+            return false;
+        }
+        return true;
+    }
+
+    public int size() {
+        return lastWrites.size();
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,110 @@
+package com.myblog.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 从库健康与复制延迟检测
+ * 定期查询从库的复制状态，延迟超过上限、复制中断或连接失败时标记为不可用，只读事务随即回退到主库。
+ * 未开启延迟检测时只校验连接可用性，便于本地使用两个独立实例测试。
+ */
+@Slf4j
+public class ReplicaHealthMonitor {
+
+    private static final String REPLICA_STATUS_SQL = "SHOW REPLICA STATUS";
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final DataSource replica;
+    private final boolean lagCheck;
+    private final long maxLagSeconds;
+
+    private volatile boolean available;
+    private volatile long lagSeconds;
+    private volatile String lastError;
+    private volatile long checkedAt;
+
+    public ReplicaHealthMonitor(DataSource replica, boolean lagCheck, long maxLagSeconds) {
+        this.replica = replica;
+        this.lagCheck = lagCheck;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public long getLagMillis() {
+        return lagSeconds * 1000;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.datasource.replica.check-interval-ms:2000}")
+    public void check() {
+        boolean healthy;
+        String error = null;
+        long lag = 0;
+        try (Connection connection = replica.getConnection()) {
+            if (lagCheck) {
+                Long measured = measureLag(connection);
+                if (measured == null) {
+                    healthy = false;
+                    error = "复制线程未运行";
+                } else {
+                    lag = measured;
+                    healthy = lag <= maxLagSeconds;
+                    if (!healthy) {
+                        error = "复制延迟 " + lag + " 秒，超过上限 " + maxLagSeconds + " 秒";
+                    }
+                }
+            } else {
+                healthy = connection.isValid(1);
+            }
+        } catch (SQLException e) {
+            healthy = false;
+            error = e.getMessage();
+        }
+        if (healthy != available) {
+            if (healthy) {
+                log.info("从库已恢复，只读事务重新路由到从库");
+            } else {
+                log.warn("从库不可用，只读事务回退到主库: {}", error);
+            }
+        }
+        lagSeconds = lag;
+        lastError = error;
+        checkedAt = System.currentTimeMillis();
+        available = healthy;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("available", available);
+        stats.put("lagSeconds", lagSeconds);
+        stats.put("maxLagSeconds", maxLagSeconds);
+        stats.put("lagCheck", lagCheck);
+        stats.put("lastError", lastError);
+        stats.put("checkedAt", checkedAt);
+        return stats;
+    }
+
+    /**
+     * 查询复制延迟，实例不是从库时视为无延迟，复制中断时返回null
+     */
+    private Long measureLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(REPLICA_STATUS_SQL)) {
+            if (!resultSet.next()) {
+                return 0L;
+            }
+            long lag = resultSet.getLong(LAG_COLUMN);
+            return resultSet.wasNull() ? null : lag;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.myblog.diagnostics;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 虚拟线程固定（pinning）监控
+ * 通过进程内JFR事件流订阅jdk.VirtualThreadPinned事件，虚拟线程在synchronized块或本地方法中阻塞
+ * 超过阈值时记录发生位置。每个位置首次出现时输出完整栈，之后只累计次数和耗时。
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+    private static final int TOP_SITES = 10;
+
+    private final Duration threshold;
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("虚拟线程固定监控已启动，阈值 {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * 获取固定统计，按累计耗时列出前几个发生位置
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("thresholdMillis", threshold.toMillis());
+        stats.put("events", events.get());
+        stats.put("totalMillis", totalNanos.get() / 1_000_000);
+        stats.put("maxMillis", maxNanos.get() / 1_000_000);
+        List<Map<String, Object>> top = sites.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, Site> entry) -> entry.getValue().nanos.sum()).reversed())
+            .limit(TOP_SITES)
+            .map(entry -> {
+                Map<String, Object> site = new LinkedHashMap<>();
+                site.put("site", entry.getKey());
+                site.put("count", entry.getValue().count.sum());
+                site.put("totalMillis", entry.getValue().nanos.sum() / 1_000_000);
+                return site;
+            })
+            .toList();
+        stats.put("sites", top);
+        return stats;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        long nanos = event.getDuration().toNanos();
+        events.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String key = siteOf(frames);
+        Site site = sites.computeIfAbsent(key, k -> new Site());
+        site.count.increment();
+        site.nanos.add(nanos);
+        if (site.count.sum() == 1) {
+            log.warn("虚拟线程被固定 {} ms，位置: {}\n{}", nanos / 1_000_000, key, format(frames));
+        } else if (log.isDebugEnabled()) {
+            log.debug("虚拟线程被固定 {} ms，位置: {}", nanos / 1_000_000, key);
+        }
+    }
+
+    /**
+     * 以栈中第一个项目代码帧作为发生位置，没有时使用栈顶帧，便于区分自有代码与驱动中的固定
+     */
+    private static String siteOf(List<RecordedFrame> frames) {
+        if (frames.isEmpty()) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith("com.myblog.")) {
+                return describe(frame);
+            }
+        }
+        return describe(frames.get(0));
+    }
+
+    private static String format(List<RecordedFrame> frames) {
+        StringBuilder builder = new StringBuilder();
+        frames.stream().limit(LOGGED_FRAMES).forEach(frame -> builder.append("\tat ").append(describe(frame)).append('\n'));
+        if (frames.size() > LOGGED_FRAMES) {
+            builder.append("\t... ").append(frames.size() - LOGGED_FRAMES).append(" more");
+        }
+        return builder.toString();
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static final class Site {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+}
@@ -0,0 +1,24 @@
+package com.myblog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 归档月份数据传输对象
+ * 用于归档时间线中按月展示文章数量
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveMonthDTO {
+
+    /** 归档年份 */
+    private int year;
+
+    /** 归档月份（1-12） */
+    private int month;
+
+    /** 该月已发布文章数量 */
+    private int count;
+}
@@ -0,0 +1,26 @@
+package com.myblog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 归档年份数据传输对象
+ * 用于归档时间线中按年汇总月份和文章数量
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveYearDTO {
+
+    /** 归档年份 */
+    private int year;
+
+    /** 该年已发布文章数量 */
+    private int count;
+
+    /** 该年有文章的月份，按月份倒序 */
+    private List<ArchiveMonthDTO> months;
+}
@@ -27,6 +27,18 @@ public class ArticleDTO {
     /** 文章完整内容 */
     private String content;
     
+    /** 正文渲染后的HTML，仅详情接口返回 */
+    private String contentHtml;
+    
+    /** 正文目录，仅详情接口返回 */
+    private List<TocEntryDTO> toc;
+    
+    /** 正文字数 */
+    private Integer wordCount;
+    
+    /** 预计阅读时长（分钟） */
+    private Integer readingMinutes;
+    
     /** 文章URL友好的标识符 */
     private String slug;
     
@@ -62,4 +74,7 @@ public class ArticleDTO {
     
     /** 文章发布时间 */
     private LocalDateTime publishedAt;
+
+    /** 计划发布时间 */
+    private LocalDateTime scheduledAt;
 }
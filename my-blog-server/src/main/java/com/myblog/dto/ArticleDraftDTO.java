@@ -0,0 +1,36 @@
+package com.myblog.dto;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * 文章草稿数据传输对象
+ * 自动保存时作为增量补丁提交，只包含发生变化的字段，为空的字段保持不变
+ */
+@Data
+public class ArticleDraftDTO {
+    
+    /** 所属文章ID */
+    private Long articleId;
+    
+    /** 草稿标题 */
+    private String title;
+    
+    /** 草稿摘要 */
+    private String summary;
+    
+    /** 草稿正文 */
+    private String content;
+    
+    /** 草稿封面图片URL */
+    private String coverImage;
+    
+    /** 草稿版本号 */
+    private Long version;
+    
+    /** 是否还有尚未写入数据库的修改 */
+    private Boolean pending;
+    
+    /** 最后修改时间 */
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,33 @@
+package com.myblog.dto;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * 文章修订数据传输对象
+ * 列表接口不含正文，查询单个修订时返回重建后的正文
+ */
+@Data
+public class ArticleRevisionDTO {
+    
+    /** 修订号 */
+    private Integer revision;
+    
+    /** 修订时的文章标题 */
+    private String title;
+    
+    /** 是否为关键帧 */
+    private Boolean isKeyframe;
+    
+    /** 正文字节数 */
+    private Integer contentLength;
+    
+    /** 实际存储字节数 */
+    private Integer storedBytes;
+    
+    /** 修订时的正文 */
+    private String content;
+    
+    /** 修订创建时间 */
+    private LocalDateTime createdAt;
+}
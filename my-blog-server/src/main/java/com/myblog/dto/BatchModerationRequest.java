@@ -0,0 +1,81 @@
+package com.myblog.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 批量审核请求数据传输对象
+ * 可直接指定ID列表，也可通过筛选条件选中目标；同时提供时以ID列表为准
+ * 
+ * @author MyBlog Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+public class BatchModerationRequest {
+    
+    /** 目标ID列表 */
+    private List<Long> ids;
+    
+    /** 筛选条件：所属文章ID（仅评论） */
+    private Long articleId;
+    
+    /** 筛选条件：提交者IP地址（评论和留言） */
+    private String ipAddress;
+    
+    /** 筛选条件：作者或申请者邮箱 */
+    private String email;
+    
+    /** 筛选条件：内容、名称或URL包含的关键词 */
+    private String keyword;
+    
+    /** 筛选条件：当前审核状态 */
+    private Boolean isApproved;
+    
+    /** 筛选条件：创建时间不早于 */
+    private LocalDateTime createdAfter;
+    
+    /** 筛选条件：创建时间早于 */
+    private LocalDateTime createdBefore;
+
+    /**
+     * 是否指定了ID列表
+     */
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    /**
+     * 是否指定了任一筛选条件
+     */
+    public boolean hasFilter() {
+        return articleId != null || ipAddress != null || email != null || keyword != null
+            || isApproved != null || createdAfter != null || createdBefore != null;
+    }
+
+    /**
+     * 批量审核动作
+     */
+    public enum Action {
+        /** 审核通过 */
+        APPROVE,
+        /** 审核拒绝 */
+        REJECT,
+        /** 删除 */
+        DELETE;
+
+        /**
+         * 解析路径中的动作名称，忽略大小写
+         */
+        public static Action of(String name) {
+            for (Action action : values()) {
+                if (action.name().equalsIgnoreCase(name)) {
+                    return action;
+                }
+            }
+            throw new RuntimeException("不支持的批量审核动作: " + name);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.myblog.dto;
 
 import lombok.Data;
+import org.springframework.beans.BeanUtils;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -38,6 +40,9 @@ public class CommentDTO {
     
     /** 评论是否已审核通过 */
     private Boolean isApproved;
+
+    /** 是否被自动审核判定为垃圾评论 */
+    private Boolean isSpam;
     
     /** 评论点赞次数 */
     private Integer likeCount;
@@ -56,4 +61,18 @@ public class CommentDTO {
     
     /** 评论的回复列表 */
     private List<CommentDTO> replies;
+    
+    /** 评论的直接回复总数（评论树按数量或深度裁剪时，可能大于replies的长度） */
+    private Integer replyCount;
+
+    /**
+     * 复制一份可以公开展示的评论，去掉邮箱、IP、浏览器信息等隐私字段和审核标记，不复制回复列表
+     * @param comment 完整的评论
+     * @return 公开评论
+     */
+    public static CommentDTO publicView(CommentDTO comment) {
+        CommentDTO result = new CommentDTO();
+        BeanUtils.copyProperties(comment, result, "email", "ipAddress", "userAgent", "isSpam", "replies");
+        return result;
+    }
 }
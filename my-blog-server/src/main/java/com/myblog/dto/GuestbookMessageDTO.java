@@ -36,6 +36,9 @@ public class GuestbookMessageDTO {
     /** 留言是否已审核通过 */
     private Boolean isApproved;
     
+    /** 是否被自动审核判定为垃圾留言 */
+    private Boolean isSpam;
+    
     /** 留言点赞次数 */
     private Integer likeCount;
     
@@ -0,0 +1,12 @@
+package com.myblog.dto;
+
+/**
+ * 文章目录条目
+ * 按标题在正文中的顺序排列，层级关系由客户端根据level构建
+ *
+ * @param level 标题级别，1-6
+ * @param id 标题锚点，与渲染后HTML中标题的id一致
+ * @param text 标题纯文本
+ */
+public record TocEntryDTO(int level, String id, String text) {
+}
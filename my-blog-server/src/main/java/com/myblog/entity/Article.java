@@ -19,7 +19,18 @@ import java.util.List;
  * @since 2024-01-01
  */
 @Entity
-@Table(name = "articles")
+@Table(name = "articles", indexes = {
+    @Index(name = "uk_articles_slug", columnList = "slug", unique = true),
+    @Index(name = "idx_articles_published_published_at", columnList = "is_published, published_at"),
+    @Index(name = "idx_articles_published_created_at", columnList = "is_published, created_at"),
+    @Index(name = "idx_articles_published_view_count", columnList = "is_published, view_count"),
+    @Index(name = "idx_articles_category_published", columnList = "category_id, is_published, published_at"),
+    @Index(name = "idx_articles_pinned_published", columnList = "is_pinned, is_published, created_at"),
+    @Index(name = "idx_articles_created_at", columnList = "created_at"),
+    @Index(name = "idx_articles_title", columnList = "title"),
+    @Index(name = "idx_articles_render_version", columnList = "render_version"),
+    @Index(name = "idx_articles_scheduled_at", columnList = "scheduled_at")
+})
 @Data
 @EqualsAndHashCode(callSuper = false)
 @EntityListeners(AuditingEntityListener.class)
@@ -42,6 +53,26 @@ public class Article {
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    /** 正文渲染后的HTML，已按白名单过滤，使用MEDIUMTEXT类型存储 */
+    @Column(name = "content_html", columnDefinition = "MEDIUMTEXT")
+    private String contentHtml;
+
+    /** 正文目录，JSON数组 */
+    @Column(name = "content_toc", columnDefinition = "TEXT")
+    private String tocJson;
+
+    /** 正文字数，中日韩字符按字计数，其他文字按单词计数 */
+    @Column(name = "word_count")
+    private Integer wordCount;
+
+    /** 预计阅读时长（分钟） */
+    @Column(name = "reading_minutes")
+    private Integer readingMinutes;
+
+    /** 渲染结果对应的渲染规则版本，为空或低于当前版本时需要重新渲染 */
+    @Column(name = "render_version")
+    private Integer renderVersion;
+
     /** 文章URL友好的标识符，最大长度100字符 */
     @Column(length = 100)
     private String slug;
@@ -58,16 +89,16 @@ public class Article {
     @Column(name = "is_pinned")
     private Boolean isPinned = false;
 
-    /** 文章浏览次数，默认0 */
-    @Column(name = "view_count")
+    /** 文章浏览次数，默认0；只通过原子SQL更新，保存实体时不写回，避免覆盖并发增加的计数 */
+    @Column(name = "view_count", updatable = false)
     private Integer viewCount = 0;
 
-    /** 文章点赞次数，默认0 */
-    @Column(name = "like_count")
+    /** 文章点赞次数，默认0；只通过原子SQL更新 */
+    @Column(name = "like_count", updatable = false)
     private Integer likeCount = 0;
 
-    /** 文章评论数量，默认0 */
-    @Column(name = "comment_count")
+    /** 文章评论数量，默认0；只通过原子SQL更新 */
+    @Column(name = "comment_count", updatable = false)
     private Integer commentCount = 0;
 
     /** 文章所属分类，多对一关系，懒加载 */
@@ -80,7 +111,8 @@ public class Article {
     @JoinTable(
         name = "article_tags",
         joinColumns = @JoinColumn(name = "article_id"),
-        inverseJoinColumns = @JoinColumn(name = "tag_id")
+        inverseJoinColumns = @JoinColumn(name = "tag_id"),
+        indexes = @Index(name = "idx_article_tags_tag", columnList = "tag_id, article_id")
     )
     private List<Tag> tags;
 
@@ -97,4 +129,8 @@ public class Article {
     /** 文章发布时间 */
     @Column(name = "published_at")
     private LocalDateTime publishedAt;
+
+    /** 计划发布时间，未设置定时发布或已发布时为空 */
+    @Column(name = "scheduled_at")
+    private LocalDateTime scheduledAt;
 }
@@ -0,0 +1,47 @@
+package com.myblog.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章草稿实体类
+ * 编辑器自动保存的内容，与文章本身分开存放，发布草稿时才写回文章
+ */
+@Entity
+@Table(name = "article_drafts")
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class ArticleDraft {
+
+    /** 所属文章ID，每篇文章最多一份草稿 */
+    @Id
+    @Column(name = "article_id")
+    private Long articleId;
+
+    /** 草稿标题，为空表示未修改 */
+    @Column(length = 200)
+    private String title;
+
+    /** 草稿摘要，为空表示未修改 */
+    @Column(length = 500)
+    private String summary;
+
+    /** 草稿正文，为空表示未修改 */
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    /** 草稿封面图片URL，为空表示未修改 */
+    @Column(name = "cover_image", length = 500)
+    private String coverImage;
+
+    /** 草稿版本号，每次自动保存递增 */
+    @Column(nullable = false)
+    private Long version;
+
+    /** 最后写入时间 */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
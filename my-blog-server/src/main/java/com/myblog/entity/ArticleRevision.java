@@ -0,0 +1,67 @@
+package com.myblog.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章修订实体类
+ * 每次保存文章生成一条修订，正文以关键帧（完整压缩）或相对上一修订的压缩增量存储
+ */
+@Entity
+@Table(name = "article_revisions", indexes = {
+    @Index(name = "uk_article_revisions_article_revision", columnList = "article_id, revision", unique = true)
+})
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class ArticleRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 所属文章ID */
+    @Column(name = "article_id", nullable = false)
+    private Long articleId;
+
+    /** 修订号，同一文章内从1开始递增 */
+    @Column(name = "revision", nullable = false)
+    private Integer revision;
+
+    /** 是否为关键帧 */
+    @Column(name = "is_keyframe", nullable = false)
+    private Boolean isKeyframe;
+
+    /** 重建该修订时的起始关键帧修订号，关键帧指向自身 */
+    @Column(name = "keyframe_revision", nullable = false)
+    private Integer keyframeRevision;
+
+    /** 修订时的文章标题 */
+    @Column(name = "title", length = 200)
+    private String title;
+
+    /** 压缩后的正文或增量 */
+    @Lob
+    @Column(name = "payload", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] payload;
+
+    /** 正文UTF-8字节数 */
+    @Column(name = "content_length", nullable = false)
+    private Integer contentLength;
+
+    /** 压缩后的存储字节数 */
+    @Column(name = "stored_bytes", nullable = false)
+    private Integer storedBytes;
+
+    /** 正文SHA-256，用于校验重建结果和判断正文是否变化 */
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    /** 修订创建时间 */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
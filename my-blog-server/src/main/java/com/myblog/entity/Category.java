@@ -19,7 +19,11 @@ import java.util.List;
  * @since 2024-01-01
  */
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+    @Index(name = "idx_categories_slug", columnList = "slug"),
+    @Index(name = "idx_categories_name", columnList = "name"),
+    @Index(name = "idx_categories_article_count", columnList = "article_count")
+})
 @Data
 @EqualsAndHashCode(callSuper = false)
 @EntityListeners(AuditingEntityListener.class)
@@ -46,8 +50,8 @@ public class Category {
     @Column(length = 7)
     private String color;
 
-    /** 该分类下的文章数量，默认0 */
-    @Column(name = "article_count")
+    /** 该分类下的文章数量，默认0；只通过原子SQL更新，保存实体时不写回 */
+    @Column(name = "article_count", updatable = false)
     private Integer articleCount = 0;
 
     /** 该分类下的文章列表，一对多关系，懒加载 */
@@ -18,7 +18,15 @@ import java.time.LocalDateTime;
  * @since 2024-01-01
  */
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+    @Index(name = "idx_comments_article_approved_created", columnList = "article_id, is_approved, created_at"),
+    @Index(name = "idx_comments_parent_created", columnList = "parent_id, created_at"),
+    @Index(name = "idx_comments_approved_created", columnList = "is_approved, created_at"),
+    @Index(name = "idx_comments_spam_approved_created", columnList = "is_spam, is_approved, created_at"),
+    @Index(name = "idx_comments_created_at", columnList = "created_at"),
+    @Index(name = "idx_comments_ip_address", columnList = "ip_address"),
+    @Index(name = "idx_comments_email", columnList = "email")
+})
 @Data
 @EqualsAndHashCode(callSuper = false)
 @EntityListeners(AuditingEntityListener.class)
@@ -57,6 +65,10 @@ public class Comment {
     @Column(name = "is_approved")
     private Boolean isApproved = false;
 
+    /** 是否被自动审核判定为垃圾评论，判定后不再出现在待审核队列中，审核通过时清除，默认false */
+    @Column(name = "is_spam", nullable = false)
+    private Boolean isSpam = false;
+
     /** 评论点赞次数，默认0 */
     @Column(name = "like_count")
     private Integer likeCount = 0;
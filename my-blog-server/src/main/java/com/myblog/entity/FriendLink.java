@@ -18,7 +18,12 @@ import java.time.LocalDateTime;
  * @since 2024-01-01
  */
 @Entity
-@Table(name = "friend_links")
+@Table(name = "friend_links", indexes = {
+    @Index(name = "idx_friend_links_approved_sort", columnList = "is_approved, sort_order"),
+    @Index(name = "idx_friend_links_approved_created", columnList = "is_approved, created_at"),
+    @Index(name = "idx_friend_links_created_at", columnList = "created_at"),
+    @Index(name = "idx_friend_links_email", columnList = "email")
+})
 @Data
 @EqualsAndHashCode(callSuper = false)
 @EntityListeners(AuditingEntityListener.class)
@@ -18,7 +18,14 @@ import java.time.LocalDateTime;
  * @since 2024-01-01
  */
 @Entity
-@Table(name = "guestbook_messages")
+@Table(name = "guestbook_messages", indexes = {
+    @Index(name = "idx_guestbook_approved_created", columnList = "is_approved, created_at"),
+    @Index(name = "idx_guestbook_spam_approved_created", columnList = "is_spam, is_approved, created_at"),
+    @Index(name = "idx_guestbook_parent_created", columnList = "parent_id, created_at"),
+    @Index(name = "idx_guestbook_created_at", columnList = "created_at"),
+    @Index(name = "idx_guestbook_ip_address", columnList = "ip_address"),
+    @Index(name = "idx_guestbook_email", columnList = "email")
+})
 @Data
 @EqualsAndHashCode(callSuper = false)
 @EntityListeners(AuditingEntityListener.class)
@@ -53,6 +60,10 @@ public class GuestbookMessage {
     @Column(name = "is_approved")
     private Boolean isApproved = false;
 
+    /** 是否被自动审核判定为垃圾留言，判定后不再出现在待审核队列中，审核通过时清除，默认false */
+    @Column(name = "is_spam", nullable = false)
+    private Boolean isSpam = false;
+
     /** 留言点赞次数，默认0 */
     @Column(name = "like_count")
     private Integer likeCount = 0;
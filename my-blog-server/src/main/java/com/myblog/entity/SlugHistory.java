@@ -0,0 +1,45 @@
+package com.myblog.entity;
+
+import com.myblog.event.ContentType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 别名历史实体类
+ * 文章、分类、标签修改别名后保留旧别名，访问旧别名时永久重定向到当前别名
+ */
+@Entity
+@Table(name = "slug_history", indexes = {
+    @Index(name = "uk_slug_history_type_slug", columnList = "content_type, old_slug", unique = true),
+    @Index(name = "idx_slug_history_type_target", columnList = "content_type, target_id")
+})
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class SlugHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 内容类型：ARTICLE、CATEGORY或TAG */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "content_type", nullable = false, length = 20)
+    private ContentType contentType;
+
+    /** 旧别名 */
+    @Column(name = "old_slug", nullable = false, length = 200)
+    private String oldSlug;
+
+    /** 旧别名指向的内容ID */
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    /** 记录时间 */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -19,7 +19,11 @@ import java.util.List;
  * @since 2024-01-01
  */
 @Entity
-@Table(name = "tags")
+@Table(name = "tags", indexes = {
+    @Index(name = "idx_tags_slug", columnList = "slug"),
+    @Index(name = "idx_tags_name", columnList = "name"),
+    @Index(name = "idx_tags_article_count", columnList = "article_count")
+})
 @Data
 @EqualsAndHashCode(callSuper = false)
 @EntityListeners(AuditingEntityListener.class)
@@ -42,8 +46,8 @@ public class Tag {
     @Column(length = 7)
     private String color;
 
-    /** 使用该标签的文章数量，默认0 */
-    @Column(name = "article_count")
+    /** 使用该标签的文章数量，默认0；只通过原子SQL更新，保存实体时不写回 */
+    @Column(name = "article_count", updatable = false)
     private Integer articleCount = 0;
 
     /** 使用该标签的文章列表，多对多关系，懒加载 */
@@ -0,0 +1,28 @@
+package com.myblog.event;
+
+/**
+ * 内容变更动作枚举
+ */
+public enum ChangeAction {
+
+    /** 新建 */
+    CREATED,
+
+    /** 修改 */
+    UPDATED,
+
+    /** 删除 */
+    DELETED,
+
+    /** 审核通过 */
+    APPROVED,
+
+    /** 审核拒绝 */
+    REJECTED,
+
+    /** 发布 */
+    PUBLISHED,
+
+    /** 取消发布 */
+    UNPUBLISHED
+}
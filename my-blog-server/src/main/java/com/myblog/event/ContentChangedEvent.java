@@ -0,0 +1,61 @@
+package com.myblog.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 内容变更事件
+ * 由各业务服务在写操作后发布，供缓存、实时推送、审核等组件在事务提交后订阅处理
+ *
+ * @author MyBlog Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Getter
+@ToString
+public class ContentChangedEvent {
+
+    /** 变更的内容类型 */
+    private final ContentType type;
+
+    /** 变更动作 */
+    private final ChangeAction action;
+
+    /** 变更的实体ID，批量变更时为null */
+    private final Long id;
+
+    /** 所属文章ID，仅评论和文章相关事件有值 */
+    private final Long articleId;
+
+    /** 变更后的数据（通常为DTO），可为null */
+    private final Object payload;
+
+    public ContentChangedEvent(ContentType type, ChangeAction action, Long id, Long articleId, Object payload) {
+        this.type = type;
+        this.action = action;
+        this.id = id;
+        this.articleId = articleId;
+        this.payload = payload;
+    }
+
+    /**
+     * 创建单个实体的变更事件
+     */
+    public static ContentChangedEvent of(ContentType type, ChangeAction action, Long id, Object payload) {
+        return new ContentChangedEvent(type, action, id, null, payload);
+    }
+
+    /**
+     * 创建批量变更事件，订阅方应将其视为该类型内容整体失效
+     */
+    public static ContentChangedEvent bulk(ContentType type, ChangeAction action) {
+        return new ContentChangedEvent(type, action, null, null, null);
+    }
+
+    /**
+     * 是否为批量变更
+     */
+    public boolean isBulk() {
+        return id == null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.myblog.event;
+
+/**
+ * 内容类型枚举
+ * 用于标识内容变更事件所涉及的业务实体
+ */
+public enum ContentType {
+
+    /** 文章 */
+    ARTICLE,
+
+    /** 分类 */
+    CATEGORY,
+
+    /** 标签 */
+    TAG,
+
+    /** 评论 */
+    COMMENT,
+
+    /** 留言 */
+    GUESTBOOK_MESSAGE,
+
+    /** 友链 */
+    FRIEND_LINK,
+
+    /** 系统设置 */
+    SYSTEM_SETTING
+}
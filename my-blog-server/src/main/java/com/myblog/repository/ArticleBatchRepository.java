@@ -0,0 +1,98 @@
+package com.myblog.repository;
+
+import com.myblog.entity.Article;
+import com.myblog.util.BatchUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章批量写入
+ * 文章主键使用IDENTITY生成，Hibernate无法对其插入语句做JDBC批处理，
+ * 大批量导入时直接使用JDBC批处理，配合rewriteBatchedStatements合并为多值INSERT
+ */
+@Repository
+@RequiredArgsConstructor
+public class ArticleBatchRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO articles (title, summary, content, slug, cover_image, is_published, is_pinned, " +
+        "view_count, like_count, comment_count, category_id, created_at, updated_at, published_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 分块批量插入文章，不回填主键，标签关联需由调用方按slug另行写入
+     * @param articles 待插入的文章
+     * @return 插入的行数
+     */
+    public int batchInsert(List<Article> articles) {
+        LocalDateTime now = LocalDateTime.now();
+        int inserted = 0;
+        for (List<Article> chunk : BatchUtils.partition(articles, BatchUtils.DEFAULT_CHUNK_SIZE)) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(), (ps, article) -> {
+                ps.setString(1, article.getTitle());
+                ps.setString(2, article.getSummary());
+                ps.setString(3, article.getContent());
+                ps.setString(4, article.getSlug());
+                ps.setString(5, article.getCoverImage());
+                ps.setBoolean(6, Boolean.TRUE.equals(article.getIsPublished()));
+                ps.setBoolean(7, Boolean.TRUE.equals(article.getIsPinned()));
+                ps.setInt(8, article.getViewCount() != null ? article.getViewCount() : 0);
+                ps.setInt(9, article.getLikeCount() != null ? article.getLikeCount() : 0);
+                ps.setInt(10, article.getCommentCount() != null ? article.getCommentCount() : 0);
+                ps.setObject(11, article.getCategory() != null ? article.getCategory().getId() : null);
+                ps.setTimestamp(12, Timestamp.valueOf(article.getCreatedAt() != null ? article.getCreatedAt() : now));
+                ps.setTimestamp(13, Timestamp.valueOf(article.getUpdatedAt() != null ? article.getUpdatedAt() : now));
+                ps.setTimestamp(14, article.getPublishedAt() != null ? Timestamp.valueOf(article.getPublishedAt()) : null);
+            });
+            inserted += chunk.size();
+        }
+        return inserted;
+    }
+
+    /**
+     * 按slug批量查询文章ID，用于批量插入后回查主键和导入去重
+     * @param slugs slug集合
+     * @return slug到文章ID的映射，不存在的slug不包含在内
+     */
+    public Map<String, Long> findIdsBySlugs(Collection<String> slugs) {
+        Map<String, Long> ids = new HashMap<>();
+        for (List<String> chunk : BatchUtils.partition(slugs, BatchUtils.DEFAULT_CHUNK_SIZE)) {
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query("SELECT id, slug FROM articles WHERE slug IN (" + placeholders + ")",
+                rs -> {
+                    ids.put(rs.getString("slug"), rs.getLong("id"));
+                }, chunk.toArray());
+        }
+        return ids;
+    }
+
+    /**
+     * 批量写入文章标签关联
+     * @param tagIdsByArticle 文章ID到标签ID集合的映射
+     * @return 插入的行数
+     */
+    public int batchInsertArticleTags(Map<Long, ? extends Collection<Long>> tagIdsByArticle) {
+        List<long[]> pairs = new ArrayList<>();
+        tagIdsByArticle.forEach((articleId, tagIds) -> tagIds.forEach(tagId -> pairs.add(new long[]{articleId, tagId})));
+        for (List<long[]> chunk : BatchUtils.partition(pairs, BatchUtils.DEFAULT_CHUNK_SIZE)) {
+            jdbcTemplate.batchUpdate("INSERT INTO article_tags (article_id, tag_id) VALUES (?, ?)", chunk, chunk.size(),
+                (ps, pair) -> {
+                    ps.setLong(1, pair[0]);
+                    ps.setLong(2, pair[1]);
+                });
+        }
+        return pairs.size();
+    }
+}
@@ -0,0 +1,35 @@
+package com.myblog.repository;
+
+import com.myblog.entity.ArticleDraft;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章草稿数据访问层
+ */
+@Repository
+public interface ArticleDraftRepository extends JpaRepository<ArticleDraft, Long> {
+
+    /**
+     * 写入草稿，已存在时仅当版本更新才覆盖，避免崩溃恢复或乱序刷新写回旧版本
+     * version需最后赋值，前面的条件判断使用的是旧版本号
+     */
+    @Modifying
+    @Query(value = "INSERT INTO article_drafts (article_id, title, summary, content, cover_image, version, updated_at) " +
+                   "VALUES (:articleId, :title, :summary, :content, :coverImage, :version, :updatedAt) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "title = IF(VALUES(version) > version, VALUES(title), title), " +
+                   "summary = IF(VALUES(version) > version, VALUES(summary), summary), " +
+                   "content = IF(VALUES(version) > version, VALUES(content), content), " +
+                   "cover_image = IF(VALUES(version) > version, VALUES(cover_image), cover_image), " +
+                   "updated_at = IF(VALUES(version) > version, VALUES(updated_at), updated_at), " +
+                   "version = GREATEST(version, VALUES(version))", nativeQuery = true)
+    int upsert(@Param("articleId") Long articleId, @Param("title") String title, @Param("summary") String summary,
+               @Param("content") String content, @Param("coverImage") String coverImage,
+               @Param("version") long version, @Param("updatedAt") LocalDateTime updatedAt);
+}
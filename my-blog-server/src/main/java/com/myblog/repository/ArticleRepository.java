@@ -1,16 +1,23 @@
 package com.myblog.repository;
 
 import com.myblog.entity.Article;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 文章数据访问层
@@ -28,6 +35,19 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
      */
     Optional<Article> findBySlug(String slug);
 
+    /**
+     * 查找使用指定slug的文章ID，用于写入前检测冲突
+     */
+    @Query("SELECT a.id FROM Article a WHERE a.slug = :slug")
+    List<Long> findIdsBySlug(@Param("slug") String slug);
+
+    /**
+     * 查找所有已发布文章的ID和slug，用于构建别名索引
+     * @return 每行依次为id、slug
+     */
+    @Query("SELECT a.id, a.slug FROM Article a WHERE a.isPublished = true AND a.slug IS NOT NULL")
+    List<Object[]> findPublishedSlugs();
+
     /**
      * 查找已发布的文章
      */
@@ -67,9 +87,53 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
 
     /**
      * 根据年份和月份查找文章
+     * 转换为发布时间的左闭右开区间，可以使用(is_published, published_at)索引
+     */
+    default List<Article> findByYearAndMonth(int year, int month) {
+        LocalDateTime start = YearMonth.of(year, month).atDay(1).atStartOfDay();
+        return findPublishedBetween(start, start.plusMonths(1));
+    }
+
+    /**
+     * 查找发布时间在区间内的已发布文章
      */
-    @Query("SELECT a FROM Article a WHERE YEAR(a.publishedAt) = :year AND MONTH(a.publishedAt) = :month AND a.isPublished = true ORDER BY a.publishedAt DESC")
-    List<Article> findByYearAndMonth(@Param("year") int year, @Param("month") int month);
+    @Query("SELECT a FROM Article a WHERE a.isPublished = true AND a.publishedAt >= :start AND a.publishedAt < :end ORDER BY a.publishedAt DESC")
+    List<Article> findPublishedBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * 查找所有已发布文章的ID和时间，用于构建归档索引
+     * @return 每行依次为id、publishedAt、createdAt
+     */
+    @Query("SELECT a.id, a.publishedAt, a.createdAt FROM Article a WHERE a.isPublished = true")
+    List<Object[]> findPublishedTimeline();
+
+    /**
+     * 按主键顺序分批查找已发布文章的标题和正文，用于计算相关文章
+     * @return 每行依次为id、title、content
+     */
+    @Query("SELECT a.id, a.title, a.content FROM Article a WHERE a.isPublished = true AND a.id > :afterId ORDER BY a.id")
+    List<Object[]> findRelatedSource(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * 查找指定已发布文章的标题和正文
+     * @return 每行依次为id、title、content
+     */
+    @Query("SELECT a.id, a.title, a.content FROM Article a WHERE a.isPublished = true AND a.id IN :ids")
+    List<Object[]> findRelatedSourceByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 查找已发布文章与标签的对应关系
+     * @return 每行依次为文章id、标签id
+     */
+    @Query("SELECT a.id, t.id FROM Article a JOIN a.tags t WHERE a.isPublished = true")
+    List<Object[]> findPublishedTagPairs();
+
+    /**
+     * 查找指定已发布文章与标签的对应关系
+     * @return 每行依次为文章id、标签id
+     */
+    @Query("SELECT a.id, t.id FROM Article a JOIN a.tags t WHERE a.isPublished = true AND a.id IN :ids")
+    List<Object[]> findPublishedTagPairsByIds(@Param("ids") Collection<Long> ids);
 
     /**
      * 统计已发布文章数量
@@ -97,4 +161,97 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
      * 统计指定时间范围内的文章数量
      */
     long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 原子增加文章浏览次数
+     */
+    @Modifying
+    @Query("UPDATE Article a SET a.viewCount = COALESCE(a.viewCount, 0) + 1 WHERE a.id = :id")
+    int incrementViewCount(@Param("id") Long id);
+
+    /**
+     * 原子增加文章点赞次数
+     */
+    @Modifying
+    @Query("UPDATE Article a SET a.likeCount = COALESCE(a.likeCount, 0) + 1 WHERE a.id = :id")
+    int incrementLikeCount(@Param("id") Long id);
+
+    /**
+     * 原子调整文章评论数，结果不小于0
+     */
+    @Modifying
+    @Query("UPDATE Article a SET a.commentCount = CASE WHEN COALESCE(a.commentCount, 0) + :delta < 0 THEN 0 " +
+           "ELSE COALESCE(a.commentCount, 0) + :delta END WHERE a.id = :id")
+    int adjustCommentCount(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * 按已审核评论重新统计指定文章的评论数
+     */
+    @Modifying
+    @Query(value = "UPDATE articles a SET a.comment_count = " +
+                   "(SELECT COUNT(*) FROM comments c WHERE c.article_id = a.id AND c.is_approved = TRUE) " +
+                   "WHERE a.id IN (:ids)", nativeQuery = true)
+    int recountCommentCount(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 修正所有评论数与实际已审核评论数不一致的文章
+     */
+    @Modifying
+    @Query(value = "UPDATE articles a SET a.comment_count = " +
+                   "(SELECT COUNT(*) FROM comments c WHERE c.article_id = a.id AND c.is_approved = TRUE) " +
+                   "WHERE COALESCE(a.comment_count, -1) <> " +
+                   "(SELECT COUNT(*) FROM comments c WHERE c.article_id = a.id AND c.is_approved = TRUE)", nativeQuery = true)
+    int reconcileCommentCounts();
+
+    /**
+     * 按主键顺序查找渲染结果缺失或渲染版本过旧的文章
+     * @return 每行依次为id、content
+     */
+    @Query("SELECT a.id, a.content FROM Article a WHERE (a.renderVersion IS NULL OR a.renderVersion < :version) " +
+           "AND a.id > :afterId ORDER BY a.id")
+    List<Object[]> findRenderBacklog(@Param("version") int version, @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * 查找设置了定时发布且尚未发布的文章，用于启动时加载定时发布队列
+     * @return 每行依次为id、scheduledAt
+     */
+    @Query("SELECT a.id, a.scheduledAt FROM Article a WHERE a.scheduledAt IS NOT NULL AND a.isPublished = false")
+    List<Object[]> findPendingSchedules();
+
+    /**
+     * 写入文章正文的渲染结果，不经过实体保存，避免刷新更新时间。
+     * 只覆盖渲染版本更旧的结果：补齐读取正文之后文章被编辑并按当前版本渲染时，不会被旧正文的渲染结果覆盖
+     * @return 更新的行数，已是当前版本时为0
+     */
+    @Modifying
+    @Query("UPDATE Article a SET a.contentHtml = :html, a.tocJson = :toc, a.wordCount = :wordCount, " +
+           "a.readingMinutes = :readingMinutes, a.renderVersion = :version " +
+           "WHERE a.id = :id AND (a.renderVersion IS NULL OR a.renderVersion < :version)")
+    int updateRendered(@Param("id") Long id, @Param("html") String html, @Param("toc") String toc,
+                       @Param("wordCount") int wordCount, @Param("readingMinutes") int readingMinutes,
+                       @Param("version") int version);
+
+    /**
+     * 按主键顺序流式读取全部文章及其分类、标签，供批量导出使用
+     * 调用方需在事务内消费，并在处理后detach实体
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingHints.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Article a LEFT JOIN FETCH a.category LEFT JOIN FETCH a.tags ORDER BY a.id")
+    Stream<Article> streamAllForExport();
+
+    /**
+     * 按发布时间倒序流式读取已发布文章的站点地图和订阅源字段，不加载正文
+     * 调用方需在事务内消费
+     * @return 每行依次为id、slug、title、summary、publishedAt、updatedAt
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingHints.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.id, a.slug, a.title, a.summary, a.publishedAt, a.updatedAt FROM Article a " +
+           "WHERE a.isPublished = true AND a.slug IS NOT NULL ORDER BY a.publishedAt DESC, a.id DESC")
+    Stream<Object[]> streamPublishedForFeed();
 }
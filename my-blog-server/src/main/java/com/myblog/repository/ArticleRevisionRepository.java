@@ -0,0 +1,56 @@
+package com.myblog.repository;
+
+import com.myblog.entity.ArticleRevision;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 文章修订数据访问层
+ */
+@Repository
+public interface ArticleRevisionRepository extends JpaRepository<ArticleRevision, Long> {
+
+    /**
+     * 查找文章的最新修订
+     */
+    Optional<ArticleRevision> findTopByArticleIdOrderByRevisionDesc(Long articleId);
+
+    /**
+     * 查找文章的指定修订
+     */
+    Optional<ArticleRevision> findByArticleIdAndRevision(Long articleId, Integer revision);
+
+    /**
+     * 查找重建修订所需的修订链：从关键帧到目标修订，按修订号升序
+     */
+    List<ArticleRevision> findByArticleIdAndRevisionBetweenOrderByRevisionAsc(Long articleId, Integer from, Integer to);
+
+    /**
+     * 分页查找文章的修订，按修订号倒序
+     */
+    Page<ArticleRevision> findByArticleIdOrderByRevisionDesc(Long articleId, Pageable pageable);
+
+    /**
+     * 统计文章修订的存储占用
+     * @return 依次为修订数、关键帧数、实际存储字节数、完整保存每个版本所需字节数
+     */
+    @Query("SELECT COUNT(r), COALESCE(SUM(CASE WHEN r.isKeyframe = true THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(r.storedBytes), 0), COALESCE(SUM(r.contentLength), 0) " +
+           "FROM ArticleRevision r WHERE r.articleId = :articleId")
+    List<Object[]> summarizeStorage(@Param("articleId") Long articleId);
+
+    /**
+     * 删除文章的全部修订
+     */
+    @Modifying
+    @Query("DELETE FROM ArticleRevision r WHERE r.articleId = :articleId")
+    int deleteByArticleId(@Param("articleId") Long articleId);
+}
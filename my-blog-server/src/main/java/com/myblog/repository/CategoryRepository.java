@@ -2,9 +2,12 @@ package com.myblog.repository;
 
 import com.myblog.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +27,19 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      */
     Optional<Category> findBySlug(String slug);
 
+    /**
+     * 查找使用指定slug的分类ID，用于写入前检测冲突
+     */
+    @Query("SELECT c.id FROM Category c WHERE c.slug = :slug")
+    List<Long> findIdsBySlug(@Param("slug") String slug);
+
+    /**
+     * 查找所有分类的ID和slug，用于构建别名索引
+     * @return 每行依次为id、slug
+     */
+    @Query("SELECT c.id, c.slug FROM Category c WHERE c.slug IS NOT NULL")
+    List<Object[]> findAllSlugs();
+
     /**
      * 查找有文章的分类
      */
@@ -34,4 +50,22 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * 统计分类数量
      */
     long count();
+
+    /**
+     * 原子调整一批分类的文章数，结果不小于0
+     */
+    @Modifying
+    @Query("UPDATE Category c SET c.articleCount = CASE WHEN COALESCE(c.articleCount, 0) + :delta < 0 THEN 0 " +
+           "ELSE COALESCE(c.articleCount, 0) + :delta END WHERE c.id IN :ids")
+    int adjustArticleCount(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+
+    /**
+     * 修正所有文章数与实际已发布文章数不一致的分类
+     */
+    @Modifying
+    @Query(value = "UPDATE categories c SET c.article_count = " +
+                   "(SELECT COUNT(*) FROM articles a WHERE a.category_id = c.id AND a.is_published = TRUE) " +
+                   "WHERE COALESCE(c.article_count, -1) <> " +
+                   "(SELECT COUNT(*) FROM articles a WHERE a.category_id = c.id AND a.is_published = TRUE)", nativeQuery = true)
+    int reconcileArticleCounts();
 }
@@ -1,15 +1,21 @@
 package com.myblog.repository;
 
 import com.myblog.entity.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 评论数据访问层
@@ -33,9 +39,19 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByParentIdOrderByCreatedAtAsc(Long parentId);
 
     /**
-     * 查找待审核的评论
+     * 查找文章下所有已审核评论（用于一次性组装评论树）
      */
-    Page<Comment> findByIsApprovedFalseOrderByCreatedAtDesc(Pageable pageable);
+    List<Comment> findByArticleIdAndIsApprovedTrueOrderByCreatedAtAsc(Long articleId);
+
+    /**
+     * 查找待审核的评论，不含已判定为垃圾内容的评论
+     */
+    Page<Comment> findByIsSpamFalseAndIsApprovedFalseOrderByCreatedAtDesc(Pageable pageable);
+
+    /**
+     * 查找被自动审核判定为垃圾内容的评论
+     */
+    Page<Comment> findByIsSpamTrueAndIsApprovedFalseOrderByCreatedAtDesc(Pageable pageable);
 
     /**
      * 统计文章评论数
@@ -45,15 +61,80 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     /**
      * 统计待审核评论数
      */
-    long countByIsApprovedFalse();
+    long countByIsSpamFalseAndIsApprovedFalse();
 
     /**
      * 统计已审核评论数
      */
     long countByIsApproved(Boolean isApproved);
 
+    /**
+     * 该邮箱是否有已审核通过的评论
+     */
+    boolean existsByEmailAndIsApprovedTrue(String email);
+
     /**
      * 统计指定时间范围内的评论数量
      */
     long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 查找一批评论所属的文章ID
+     */
+    @Query("SELECT DISTINCT c.articleId FROM Comment c WHERE c.id IN :ids")
+    List<Long> findArticleIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 批量修改评论审核状态，只更新状态实际发生变化的行。审核通过时同时清除垃圾内容标记
+     */
+    @Modifying
+    @Query("UPDATE Comment c SET c.isApproved = :approved, " +
+           "c.isSpam = CASE WHEN :approved = true THEN false ELSE c.isSpam END, c.updatedAt = :now " +
+           "WHERE c.id IN :ids AND (c.isApproved IS NULL OR c.isApproved <> :approved)")
+    int updateApprovalByIdIn(@Param("ids") Collection<Long> ids, @Param("approved") boolean approved,
+                             @Param("now") LocalDateTime now);
+
+    /**
+     * 批量标记垃圾评论，跳过期间已被人工审核通过的评论
+     * @return 实际标记的行数
+     */
+    @Modifying
+    @Query("UPDATE Comment c SET c.isSpam = true, c.updatedAt = :now " +
+           "WHERE c.id IN :ids AND c.isSpam = false AND (c.isApproved IS NULL OR c.isApproved = false)")
+    int markSpamByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * 批量删除评论
+     */
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按筛选条件查找评论ID，条件为null时不参与过滤
+     */
+    @Query("SELECT c.id FROM Comment c WHERE (:articleId IS NULL OR c.articleId = :articleId) " +
+           "AND (:ipAddress IS NULL OR c.ipAddress = :ipAddress) " +
+           "AND (:email IS NULL OR c.email = :email) " +
+           "AND (:keyword IS NULL OR c.content LIKE CONCAT('%', :keyword, '%')) " +
+           "AND (:isApproved IS NULL OR c.isApproved = :isApproved) " +
+           "AND (:createdAfter IS NULL OR c.createdAt >= :createdAfter) " +
+           "AND (:createdBefore IS NULL OR c.createdAt < :createdBefore)")
+    List<Long> findIdsByFilter(@Param("articleId") Long articleId,
+                               @Param("ipAddress") String ipAddress,
+                               @Param("email") String email,
+                               @Param("keyword") String keyword,
+                               @Param("isApproved") Boolean isApproved,
+                               @Param("createdAfter") LocalDateTime createdAfter,
+                               @Param("createdBefore") LocalDateTime createdBefore);
+
+    /**
+     * 按主键顺序流式读取全部评论，供数据导出使用
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingHints.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Comment c ORDER BY c.id")
+    Stream<Comment> streamAllForExport();
 }
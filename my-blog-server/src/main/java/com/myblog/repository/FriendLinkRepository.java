@@ -4,10 +4,13 @@ import com.myblog.entity.FriendLink;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -40,4 +43,34 @@ public interface FriendLinkRepository extends JpaRepository<FriendLink, Long> {
      * 统计指定时间范围内的友链数量
      */
     long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 按筛选条件查找友链ID，条件为null时不参与过滤
+     */
+    @Query("SELECT f.id FROM FriendLink f WHERE (:email IS NULL OR f.email = :email) " +
+           "AND (:keyword IS NULL OR f.name LIKE CONCAT('%', :keyword, '%') OR f.url LIKE CONCAT('%', :keyword, '%')) " +
+           "AND (:isApproved IS NULL OR f.isApproved = :isApproved) " +
+           "AND (:createdAfter IS NULL OR f.createdAt >= :createdAfter) " +
+           "AND (:createdBefore IS NULL OR f.createdAt < :createdBefore)")
+    List<Long> findIdsByFilter(@Param("email") String email,
+                               @Param("keyword") String keyword,
+                               @Param("isApproved") Boolean isApproved,
+                               @Param("createdAfter") LocalDateTime createdAfter,
+                               @Param("createdBefore") LocalDateTime createdBefore);
+
+    /**
+     * 批量修改友链审核状态，只更新状态实际发生变化的行
+     */
+    @Modifying
+    @Query("UPDATE FriendLink f SET f.isApproved = :approved, f.updatedAt = :now " +
+           "WHERE f.id IN :ids AND (f.isApproved IS NULL OR f.isApproved <> :approved)")
+    int updateApprovalByIdIn(@Param("ids") Collection<Long> ids, @Param("approved") boolean approved,
+                             @Param("now") LocalDateTime now);
+
+    /**
+     * 批量删除友链
+     */
+    @Modifying
+    @Query("DELETE FROM FriendLink f WHERE f.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
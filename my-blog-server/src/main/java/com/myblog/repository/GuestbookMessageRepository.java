@@ -1,14 +1,21 @@
 package com.myblog.repository;
 
 import com.myblog.entity.GuestbookMessage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 留言板数据访问层
@@ -22,9 +29,14 @@ public interface GuestbookMessageRepository extends JpaRepository<GuestbookMessa
     Page<GuestbookMessage> findByIsApprovedTrueOrderByCreatedAtDesc(Pageable pageable);
 
     /**
-     * 查找待审核的留言
+     * 查找待审核的留言，不含已判定为垃圾内容的留言
      */
-    Page<GuestbookMessage> findByIsApprovedFalseOrderByCreatedAtDesc(Pageable pageable);
+    Page<GuestbookMessage> findByIsSpamFalseAndIsApprovedFalseOrderByCreatedAtDesc(Pageable pageable);
+
+    /**
+     * 查找被自动审核判定为垃圾内容的留言
+     */
+    Page<GuestbookMessage> findByIsSpamTrueAndIsApprovedFalseOrderByCreatedAtDesc(Pageable pageable);
 
     /**
      * 根据父留言ID查找子留言
@@ -39,15 +51,72 @@ public interface GuestbookMessageRepository extends JpaRepository<GuestbookMessa
     /**
      * 统计待审核留言数
      */
-    long countByIsApprovedFalse();
+    long countByIsSpamFalseAndIsApprovedFalse();
 
     /**
      * 统计已审核留言数
      */
     long countByIsApproved(Boolean isApproved);
 
+    /**
+     * 该邮箱是否有已审核通过的留言
+     */
+    boolean existsByEmailAndIsApprovedTrue(String email);
+
     /**
      * 统计指定时间范围内的留言数量
      */
     long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 批量修改留言审核状态，只更新状态实际发生变化的行。审核通过时同时清除垃圾内容标记
+     */
+    @Modifying
+    @Query("UPDATE GuestbookMessage m SET m.isApproved = :approved, " +
+           "m.isSpam = CASE WHEN :approved = true THEN false ELSE m.isSpam END, m.updatedAt = :now " +
+           "WHERE m.id IN :ids AND (m.isApproved IS NULL OR m.isApproved <> :approved)")
+    int updateApprovalByIdIn(@Param("ids") Collection<Long> ids, @Param("approved") boolean approved,
+                             @Param("now") LocalDateTime now);
+
+    /**
+     * 批量标记垃圾留言，跳过期间已被人工审核通过的留言
+     * @return 实际标记的行数
+     */
+    @Modifying
+    @Query("UPDATE GuestbookMessage m SET m.isSpam = true, m.updatedAt = :now " +
+           "WHERE m.id IN :ids AND m.isSpam = false AND (m.isApproved IS NULL OR m.isApproved = false)")
+    int markSpamByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * 批量删除留言
+     */
+    @Modifying
+    @Query("DELETE FROM GuestbookMessage m WHERE m.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按筛选条件查找留言ID，条件为null时不参与过滤
+     */
+    @Query("SELECT m.id FROM GuestbookMessage m WHERE (:ipAddress IS NULL OR m.ipAddress = :ipAddress) " +
+           "AND (:email IS NULL OR m.email = :email) " +
+           "AND (:keyword IS NULL OR m.content LIKE CONCAT('%', :keyword, '%')) " +
+           "AND (:isApproved IS NULL OR m.isApproved = :isApproved) " +
+           "AND (:createdAfter IS NULL OR m.createdAt >= :createdAfter) " +
+           "AND (:createdBefore IS NULL OR m.createdAt < :createdBefore)")
+    List<Long> findIdsByFilter(@Param("ipAddress") String ipAddress,
+                               @Param("email") String email,
+                               @Param("keyword") String keyword,
+                               @Param("isApproved") Boolean isApproved,
+                               @Param("createdAfter") LocalDateTime createdAfter,
+                               @Param("createdBefore") LocalDateTime createdBefore);
+
+    /**
+     * 按主键顺序流式读取全部留言，供数据导出使用
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingHints.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT g FROM GuestbookMessage g ORDER BY g.id")
+    Stream<GuestbookMessage> streamAllForExport();
 }
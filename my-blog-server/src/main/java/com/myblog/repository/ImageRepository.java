@@ -1,16 +1,20 @@
 package com.myblog.repository;
 
 import com.myblog.entity.Image;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 图片数据访问层
@@ -100,4 +104,14 @@ public interface ImageRepository extends JpaRepository<Image, Long> {
      */
     @Query("SELECT i FROM Image i WHERE i.isDeleted = false AND i.fileSize > :minSize")
     Page<Image> findLargeFiles(@Param("minSize") long minSize, Pageable pageable);
+
+    /**
+     * 按主键顺序流式读取未删除的图片元数据，供数据导出使用
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingHints.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM Image i WHERE i.isDeleted = false ORDER BY i.id")
+    Stream<Image> streamAllForExport();
 }
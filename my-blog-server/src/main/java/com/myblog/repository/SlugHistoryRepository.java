@@ -0,0 +1,37 @@
+package com.myblog.repository;
+
+import com.myblog.entity.SlugHistory;
+import com.myblog.event.ContentType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 别名历史数据访问层
+ */
+@Repository
+public interface SlugHistoryRepository extends JpaRepository<SlugHistory, Long> {
+
+    /**
+     * 查找指向指定内容的旧别名，用于增量更新重定向表
+     */
+    List<SlugHistory> findByContentTypeAndTargetId(ContentType contentType, Long targetId);
+
+    /**
+     * 删除旧别名，别名被重新使用时调用
+     */
+    @Modifying
+    @Query("DELETE FROM SlugHistory h WHERE h.contentType = :type AND h.oldSlug = :slug")
+    int deleteBySlug(@Param("type") ContentType type, @Param("slug") String slug);
+
+    /**
+     * 删除指向指定内容的全部旧别名，内容删除时调用
+     */
+    @Modifying
+    @Query("DELETE FROM SlugHistory h WHERE h.contentType = :type AND h.targetId = :targetId")
+    int deleteByTarget(@Param("type") ContentType type, @Param("targetId") Long targetId);
+}
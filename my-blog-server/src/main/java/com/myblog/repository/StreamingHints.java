@@ -0,0 +1,16 @@
+package com.myblog.repository;
+
+/**
+ * 流式查询提示常量
+ */
+public final class StreamingHints {
+
+    /**
+     * MySQL驱动在fetchSize为Integer.MIN_VALUE时逐行从网络读取结果集，而不是一次性载入内存。
+     * 结果集未读完前同一连接不能执行其他语句，调用方需在事务内尽快消费
+     */
+    public static final String FETCH_SIZE = "" + Integer.MIN_VALUE;
+
+    private StreamingHints() {
+    }
+}
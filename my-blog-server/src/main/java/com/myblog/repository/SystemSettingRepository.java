@@ -3,8 +3,10 @@ package com.myblog.repository;
 import com.myblog.entity.SystemSetting;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +30,10 @@ public interface SystemSettingRepository extends JpaRepository<SystemSetting, Lo
      * 根据设置类型查找
      */
     List<SystemSetting> findBySettingType(String settingType);
+
+    /**
+     * 一次性查找ID或键名命中的设置，用于批量保存
+     */
+    @Query("SELECT s FROM SystemSetting s WHERE s.id IN :ids OR s.key IN :keys")
+    List<SystemSetting> findByIdInOrKeyIn(@Param("ids") Collection<Long> ids, @Param("keys") Collection<String> keys);
 }
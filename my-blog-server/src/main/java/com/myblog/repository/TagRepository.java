@@ -2,9 +2,12 @@ package com.myblog.repository;
 
 import com.myblog.entity.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +27,19 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
      */
     Optional<Tag> findBySlug(String slug);
 
+    /**
+     * 查找使用指定slug的标签ID，用于写入前检测冲突
+     */
+    @Query("SELECT t.id FROM Tag t WHERE t.slug = :slug")
+    List<Long> findIdsBySlug(@Param("slug") String slug);
+
+    /**
+     * 查找所有标签的ID和slug，用于构建别名索引
+     * @return 每行依次为id、slug
+     */
+    @Query("SELECT t.id, t.slug FROM Tag t WHERE t.slug IS NOT NULL")
+    List<Object[]> findAllSlugs();
+
     /**
      * 查找有文章的标签
      */
@@ -40,4 +56,22 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
      * 统计标签数量
      */
     long count();
+
+    /**
+     * 原子调整一批标签的文章数，结果不小于0
+     */
+    @Modifying
+    @Query("UPDATE Tag t SET t.articleCount = CASE WHEN COALESCE(t.articleCount, 0) + :delta < 0 THEN 0 " +
+           "ELSE COALESCE(t.articleCount, 0) + :delta END WHERE t.id IN :ids")
+    int adjustArticleCount(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+
+    /**
+     * 修正所有文章数与实际已发布文章数不一致的标签
+     */
+    @Modifying
+    @Query(value = "UPDATE tags t SET t.article_count = " +
+                   "(SELECT COUNT(*) FROM article_tags at JOIN articles a ON a.id = at.article_id WHERE at.tag_id = t.id AND a.is_published = TRUE) " +
+                   "WHERE COALESCE(t.article_count, -1) <> " +
+                   "(SELECT COUNT(*) FROM article_tags at JOIN articles a ON a.id = at.article_id WHERE at.tag_id = t.id AND a.is_published = TRUE)", nativeQuery = true)
+    int reconcileArticleCounts();
 }
@@ -0,0 +1,247 @@
+package com.myblog.service;
+
+import com.myblog.dto.ArchiveMonthDTO;
+import com.myblog.dto.ArchiveYearDTO;
+import com.myblog.dto.ArticleDTO;
+import com.myblog.dto.PageResponse;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
+import com.myblog.repository.ArticleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 文章归档服务
+ * 在内存中维护 年月 -> 文章ID 的归档索引，文章发布、取消发布、删除提交后增量更新，
+ * 归档树和按月分页都直接由索引提供，只有当页文章需要按主键回表查询。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArchiveService {
+
+    /** 同一月份内按时间倒序，时间相同按ID倒序 */
+    private static final Comparator<ArchiveEntry> ENTRY_ORDER =
+        Comparator.comparing(ArchiveEntry::time).thenComparingLong(ArchiveEntry::id).reversed();
+
+    private final ArticleRepository articleRepository;
+    private final ArticleService articleService;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<YearMonth, NavigableSet<ArchiveEntry>> months = new TreeMap<>(Comparator.reverseOrder());
+    private final Map<Long, ArchiveEntry> entries = new HashMap<>();
+    /** 进行中的重建各自记录期间收到的变更（值为null表示移出），替换索引后重放，避免被重建前读取的快照覆盖 */
+    private final Set<Map<Long, ArchiveEntry>> reloadBuffers = Collections.newSetFromMap(new IdentityHashMap<>());
+    private volatile boolean loaded;
+    /** 归档树缓存，持有写锁修改索引时置空，持有读锁重建后发布 */
+    private volatile List<ArchiveYearDTO> tree;
+
+    /**
+     * 获取归档树：年份 -> 月份 -> 文章数量，均按时间倒序
+     * @return 归档树
+     */
+    public List<ArchiveYearDTO> getArchiveTree() {
+        ensureLoaded();
+        List<ArchiveYearDTO> current = tree;
+        if (current == null) {
+            lock.readLock().lock();
+            try {
+                // 持有读锁时发布：写锁置空缓存只能发生在发布之前或之后，过期的树不会覆盖置空
+                current = buildTree();
+                tree = current;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 分页获取指定月份的已发布文章
+     * @param year 年份
+     * @param month 月份（1-12）
+     * @param pageable 分页参数，排序固定为发布时间倒序
+     * @return 文章分页数据，不含正文
+     */
+    public PageResponse<ArticleDTO> getMonthArticles(int year, int month, Pageable pageable) {
+        if (month < 1 || month > 12) {
+            throw new RuntimeException("月份必须在1到12之间");
+        }
+        ensureLoaded();
+        List<Long> ids;
+        int total;
+        lock.readLock().lock();
+        try {
+            NavigableSet<ArchiveEntry> monthEntries = months.get(YearMonth.of(year, month));
+            total = monthEntries == null ? 0 : monthEntries.size();
+            ids = monthEntries == null ? List.of() : monthEntries.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(ArchiveEntry::id)
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<ArticleDTO> content = ids.isEmpty() ? List.of() : articleService.getPublishedArticlesByIds(ids);
+        return new PageResponse<>(new PageImpl<>(content, pageable, total));
+    }
+
+    /**
+     * 文章变更提交后增量维护索引，批量变更时整体重建
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getType() != ContentType.ARTICLE) {
+            return;
+        }
+        if (event.isBulk()) {
+            reload();
+            return;
+        }
+        ArchiveEntry entry = event.getAction() != ChangeAction.DELETED && event.getPayload() instanceof ArticleDTO article
+            && Boolean.TRUE.equals(article.getIsPublished())
+            ? new ArchiveEntry(article.getId(), timeOf(article.getPublishedAt(), article.getCreatedAt())) : null;
+        lock.writeLock().lock();
+        try {
+            reloadBuffers.forEach(buffer -> buffer.put(event.getId(), entry));
+            if (loaded) {
+                replace(event.getId(), entry);
+                tree = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * 定期按数据库重建索引，修正漏掉的事件
+     */
+    @Scheduled(initialDelayString = "${blog.archive.reconcile-ms:3600000}",
+               fixedDelayString = "${blog.archive.reconcile-ms:3600000}")
+    public void reload() {
+        Map<Long, ArchiveEntry> buffer = new LinkedHashMap<>();
+        lock.writeLock().lock();
+        try {
+            reloadBuffers.add(buffer);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<ArchiveEntry> loadedEntries = null;
+        try {
+            loadedEntries = loadTimeline();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                reloadBuffers.remove(buffer);
+                if (loadedEntries != null) {
+                    months.clear();
+                    entries.clear();
+                    loadedEntries.forEach(this::add);
+                    buffer.forEach(this::replace);
+                    tree = null;
+                    loaded = true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.debug("归档索引已重建，共 {} 篇文章", loadedEntries.size());
+    }
+
+    private List<ArchiveEntry> loadTimeline() {
+        List<ArchiveEntry> loadedEntries = new ArrayList<>();
+        for (Object[] row : articleRepository.findPublishedTimeline()) {
+            loadedEntries.add(new ArchiveEntry((Long) row[0], timeOf((LocalDateTime) row[1], (LocalDateTime) row[2])));
+        }
+        return loadedEntries;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            reload();
+        }
+    }
+
+    private void replace(Long id, ArchiveEntry entry) {
+        remove(id);
+        if (entry != null) {
+            add(entry);
+        }
+    }
+
+    private void add(ArchiveEntry entry) {
+        entries.put(entry.id(), entry);
+        months.computeIfAbsent(YearMonth.from(entry.time()), key -> new TreeSet<>(ENTRY_ORDER)).add(entry);
+    }
+
+    private void remove(Long id) {
+        ArchiveEntry previous = entries.remove(id);
+        if (previous == null) {
+            return;
+        }
+        YearMonth key = YearMonth.from(previous.time());
+        NavigableSet<ArchiveEntry> monthEntries = months.get(key);
+        if (monthEntries != null) {
+            monthEntries.remove(previous);
+            if (monthEntries.isEmpty()) {
+                months.remove(key);
+            }
+        }
+    }
+
+    private List<ArchiveYearDTO> buildTree() {
+        List<ArchiveYearDTO> years = new ArrayList<>();
+        ArchiveYearDTO currentYear = null;
+        for (Map.Entry<YearMonth, NavigableSet<ArchiveEntry>> entry : months.entrySet()) {
+            YearMonth yearMonth = entry.getKey();
+            int count = entry.getValue().size();
+            if (currentYear == null || currentYear.getYear() != yearMonth.getYear()) {
+                currentYear = new ArchiveYearDTO(yearMonth.getYear(), 0, new ArrayList<>());
+                years.add(currentYear);
+            }
+            currentYear.setCount(currentYear.getCount() + count);
+            currentYear.getMonths().add(new ArchiveMonthDTO(yearMonth.getYear(), yearMonth.getMonthValue(), count));
+        }
+        return List.copyOf(years);
+    }
+
+    /**
+     * 未记录发布时间的文章按创建时间归档，与前端时间线的展示规则一致
+     */
+    private static LocalDateTime timeOf(LocalDateTime publishedAt, LocalDateTime createdAt) {
+        return publishedAt != null ? publishedAt : createdAt;
+    }
+
+    private record ArchiveEntry(long id, LocalDateTime time) {
+    }
+}
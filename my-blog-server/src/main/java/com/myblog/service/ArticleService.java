@@ -6,6 +6,7 @@ import com.myblog.entity.Article;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -66,6 +67,13 @@ public interface ArticleService {
      * @return 分页已发布文章列表
      */
     PageResponse<ArticleDTO> getPublishedArticles(Pageable pageable);
+
+    /**
+     * 分页获取已发布文章详情，包含渲染后的HTML和目录，用于静态导出
+     * @param pageable 分页参数
+     * @return 分页已发布文章详情
+     */
+    PageResponse<ArticleDTO> getPublishedArticleDetails(Pageable pageable);
     
     /**
      * 根据分类获取文章列表
@@ -96,6 +104,13 @@ public interface ArticleService {
      * @return 置顶文章列表
      */
     List<ArticleDTO> getPinnedArticles();
+
+    /**
+     * 根据ID列表获取已发布文章，按传入顺序返回，不含正文
+     * @param ids 文章ID列表
+     * @return 文章列表
+     */
+    List<ArticleDTO> getPublishedArticlesByIds(List<Long> ids);
     
     /**
      * 获取热门文章列表（按浏览量排序）
@@ -129,6 +144,29 @@ public interface ArticleService {
      * @return 取消发布后的文章信息
      */
     ArticleDTO unpublishArticle(Long id);
+
+    /**
+     * 设置定时发布，到期后自动发布
+     * @param id 文章ID
+     * @param scheduledAt 计划发布时间，精确到秒，需晚于当前时间
+     * @return 设置后的文章信息
+     */
+    ArticleDTO scheduleArticle(Long id, LocalDateTime scheduledAt);
+
+    /**
+     * 取消定时发布
+     * @param id 文章ID
+     * @return 取消后的文章信息
+     */
+    ArticleDTO cancelSchedule(Long id);
+
+    /**
+     * 定时发布到期时发布文章，与手动发布走同一流程
+     * @param id 文章ID
+     * @param scheduledAt 到期的计划发布时间，与文章当前的计划不一致时视为已取消或已修改
+     * @return 发布后的文章信息，计划已取消、已修改或文章已发布时返回null
+     */
+    ArticleDTO publishScheduledArticle(Long id, LocalDateTime scheduledAt);
     
     /**
      * 置顶文章
@@ -143,4 +181,12 @@ public interface ArticleService {
      * @return 取消置顶后的文章信息
      */
     ArticleDTO unpinArticle(Long id);
+    
+    /**
+     * 将文章标题和正文恢复为指定修订，恢复本身记录为一条新修订
+     * @param id 文章ID
+     * @param revision 修订号
+     * @return 恢复后的文章信息
+     */
+    ArticleDTO restoreRevision(Long id, int revision);
 }
@@ -3,6 +3,7 @@ package com.myblog.service;
 import com.myblog.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -26,6 +27,7 @@ public class BlogStatsService {
      * 获取公共博客统计
      * @return 博客统计数据
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getPublicBlogStats() {
         Map<String, Object> stats = new HashMap<>();
         
@@ -0,0 +1,238 @@
+package com.myblog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myblog.dto.ApiResponse;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
+import com.myblog.service.settings.SettingChangeListener;
+import com.myblog.service.settings.SettingsSnapshot;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 首页启动数据服务
+ * 将首页首屏所需的统计、置顶文章、热门文章、分类、标签、友链和公开设置聚合为一份预序列化的快照，
+ * 各部分在虚拟线程上并发查询。相关内容变更后在后台防抖重建，重建期间继续返回旧快照。
+ */
+@Slf4j
+@Service
+public class BootstrapService implements SettingChangeListener {
+
+    /** 影响首页数据的内容类型 */
+    private static final Set<ContentType> WATCHED_TYPES = Set.of(ContentType.ARTICLE, ContentType.CATEGORY,
+        ContentType.TAG, ContentType.FRIEND_LINK, ContentType.COMMENT, ContentType.GUESTBOOK_MESSAGE);
+
+    private final BlogStatsService blogStatsService;
+    private final ArticleService articleService;
+    private final CategoryService categoryService;
+    private final TagService tagService;
+    private final FriendLinkService friendLinkService;
+    private final SystemSettingService systemSettingService;
+    private final ObjectMapper objectMapper;
+    private final int popularSize;
+    private final long debounceMs;
+    private final long maxAgeMs;
+
+    private final ExecutorService queryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService rebuildScheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("bootstrap-rebuild").daemon().factory());
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final AtomicLong versions = new AtomicLong();
+    /** 重建时等待并发查询完成，使用显式锁避免虚拟线程在synchronized中固定载体线程 */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public BootstrapService(BlogStatsService blogStatsService,
+                            ArticleService articleService,
+                            CategoryService categoryService,
+                            TagService tagService,
+                            FriendLinkService friendLinkService,
+                            SystemSettingService systemSettingService,
+                            ObjectMapper objectMapper,
+                            @Value("${blog.bootstrap.popular-size:6}") int popularSize,
+                            @Value("${blog.bootstrap.debounce-ms:500}") long debounceMs,
+                            @Value("${blog.bootstrap.max-age-ms:60000}") long maxAgeMs) {
+        this.blogStatsService = blogStatsService;
+        this.articleService = articleService;
+        this.categoryService = categoryService;
+        this.tagService = tagService;
+        this.friendLinkService = friendLinkService;
+        this.systemSettingService = systemSettingService;
+        this.objectMapper = objectMapper;
+        this.popularSize = popularSize;
+        this.debounceMs = debounceMs;
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    /**
+     * 获取当前快照，尚未构建时同步构建
+     * @return 首页数据快照
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = rebuild();
+        }
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild();
+    }
+
+    /**
+     * 相关内容变更提交后安排重建
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (WATCHED_TYPES.contains(event.getType())) {
+            requestRebuild();
+        }
+    }
+
+    @Override
+    public void onSettingsChanged(SettingsSnapshot previous, SettingsSnapshot current, Set<String> changedKeys) {
+        requestRebuild();
+    }
+
+    /**
+     * 浏览量、点赞数等高频计数不发布变更事件，按最大时效定期刷新
+     */
+    @Scheduled(fixedDelayString = "${blog.bootstrap.max-age-ms:60000}")
+    public void refreshIfStale() {
+        Snapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.builtAt() >= maxAgeMs) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * 安排一次后台重建，防抖时间内的多次变更只触发一次
+     */
+    public void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuildScheduler.schedule(() -> {
+                rebuildPending.set(false);
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    log.error("首页数据快照重建失败，继续使用旧快照", e);
+                }
+            }, debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Snapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            return doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot doRebuild() {
+        long start = System.nanoTime();
+        CompletableFuture<Object> stats = query(blogStatsService::getPublicBlogStats);
+        CompletableFuture<Object> pinned = query(articleService::getPinnedArticles);
+        CompletableFuture<Object> popular = query(() ->
+            articleService.getPopularArticles(PageRequest.of(0, popularSize)).getContent());
+        CompletableFuture<Object> categories = query(categoryService::getCategoriesWithArticles);
+        CompletableFuture<Object> tags = query(tagService::getPopularTags);
+        CompletableFuture<Object> friendLinks = query(friendLinkService::getApprovedFriendLinks);
+        CompletableFuture<Object> settings = query(systemSettingService::getPublicSettings);
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        try {
+            data.put("stats", stats.get());
+            data.put("pinnedArticles", pinned.get());
+            data.put("popularArticles", popular.get());
+            data.put("categories", categories.get());
+            data.put("tags", tags.get());
+            data.put("friendLinks", friendLinks.get());
+            data.put("settings", settings.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("首页数据构建被中断", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("首页数据构建失败", e.getCause());
+        }
+
+        byte[] body;
+        String etag;
+        try {
+            body = objectMapper.writeValueAsBytes(ApiResponse.success(data));
+            // 响应体含时间戳，ETag只按数据内容计算
+            etag = "\"" + digest(objectMapper.writeValueAsBytes(data)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("首页数据序列化失败", e);
+        }
+        Snapshot previous = snapshot;
+        if (previous != null && previous.etag().equals(etag)) {
+            // 内容未变化时只刷新构建时间，保留版本号和ETag
+            snapshot = new Snapshot(previous.version(), previous.body(), etag, System.currentTimeMillis());
+        } else {
+            snapshot = new Snapshot(versions.incrementAndGet(), body, etag, System.currentTimeMillis());
+            log.debug("首页数据快照已重建，版本 {}，{} 字节，耗时 {} ms", snapshot.version(), body.length,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return snapshot;
+    }
+
+    private CompletableFuture<Object> query(Supplier<?> supplier) {
+        return CompletableFuture.supplyAsync(supplier::get, queryExecutor);
+    }
+
+    private String digest(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildScheduler.shutdownNow();
+        queryExecutor.shutdownNow();
+    }
+
+    /**
+     * 预序列化的首页数据快照
+     * @param version 内容版本号，内容变化时递增
+     * @param body 序列化后的响应体
+     * @param etag 基于内容摘要的强ETag
+     * @param builtAt 构建时间戳（毫秒）
+     */
+    public record Snapshot(long version, byte[] body, String etag, long builtAt) {
+    }
+}
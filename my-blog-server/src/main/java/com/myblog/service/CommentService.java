@@ -1,9 +1,11 @@
 package com.myblog.service;
 
+import com.myblog.dto.BatchModerationRequest;
 import com.myblog.dto.CommentDTO;
 import com.myblog.dto.PageResponse;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -53,12 +55,19 @@ public interface CommentService {
     PageResponse<CommentDTO> getCommentsByArticleId(Long articleId, Pageable pageable);
     
     /**
-     * 获取待审核的评论列表
+     * 获取待审核的评论列表，不含已判定为垃圾内容的评论
      * @param pageable 分页参数
      * @return 分页待审核评论列表
      */
     PageResponse<CommentDTO> getPendingComments(Pageable pageable);
     
+    /**
+     * 获取被自动审核判定为垃圾内容的评论列表，供管理员复查误判
+     * @param pageable 分页参数
+     * @return 分页垃圾评论列表
+     */
+    PageResponse<CommentDTO> getSpamComments(Pageable pageable);
+    
     /**
      * 审核通过评论
      * @param id 评论ID
@@ -85,4 +94,49 @@ public interface CommentService {
      * @return 回复列表
      */
     List<CommentDTO> getCommentReplies(Long parentId);
+
+    /**
+     * 获取文章的完整评论树（仅包含已审核评论，不含邮箱、IP等隐私字段）
+     * @param articleId 文章ID
+     * @param maxDepth 最大嵌套深度，为空表示不限制（顶级评论深度为1）
+     * @param maxChildren 每个节点最多返回的回复数，为空表示不限制
+     * @return 顶级评论列表，回复嵌套在replies中
+     */
+    List<CommentDTO> getCommentTree(Long articleId, Integer maxDepth, Integer maxChildren);
+    
+    /**
+     * 批量审核通过评论
+     * @param ids 评论ID集合
+     * @return 实际状态发生变化的评论数
+     */
+    int approveComments(Collection<Long> ids);
+    
+    /**
+     * 批量拒绝评论
+     * @param ids 评论ID集合
+     * @return 实际状态发生变化的评论数
+     */
+    int rejectComments(Collection<Long> ids);
+    
+    /**
+     * 批量标记垃圾评论，已审核通过的评论不受影响
+     * @param ids 评论ID集合
+     * @return 实际标记的评论数
+     */
+    int markCommentsSpam(Collection<Long> ids);
+    
+    /**
+     * 批量删除评论
+     * @param ids 评论ID集合
+     * @return 删除的评论数
+     */
+    int deleteComments(Collection<Long> ids);
+    
+    /**
+     * 按ID列表或筛选条件批量审核评论
+     * @param action 审核动作
+     * @param request 批量审核请求
+     * @return 受影响的评论数
+     */
+    int batchModerateComments(BatchModerationRequest.Action action, BatchModerationRequest request);
 }
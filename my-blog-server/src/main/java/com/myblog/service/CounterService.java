@@ -0,0 +1,136 @@
+package com.myblog.service;
+
+import com.myblog.entity.Article;
+import com.myblog.entity.Tag;
+import com.myblog.repository.ArticleRepository;
+import com.myblog.repository.CategoryRepository;
+import com.myblog.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 冗余计数维护服务
+ * 负责维护文章评论数、分类文章数和标签文章数，所有调整均通过SQL原子自增完成，
+ * 并由定时对账任务批量修正可能出现的偏差
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CounterService {
+
+    private final ArticleRepository articleRepository;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+
+    /**
+     * 调整文章评论数，需在调用方事务中执行
+     * @param articleId 文章ID
+     * @param delta 变化量
+     */
+    @Transactional
+    public void adjustCommentCount(Long articleId, int delta) {
+        if (articleId == null || delta == 0) {
+            return;
+        }
+        articleRepository.adjustCommentCount(articleId, delta);
+    }
+
+    /**
+     * 按已审核评论重新统计一批文章的评论数
+     * 适用于级联删除等无法精确计算变化量的场景
+     * @param articleIds 文章ID集合
+     */
+    @Transactional
+    public void recountCommentCounts(Collection<Long> articleIds) {
+        Set<Long> ids = articleIds.stream().filter(id -> id != null).collect(Collectors.toSet());
+        if (!ids.isEmpty()) {
+            articleRepository.recountCommentCount(ids);
+        }
+    }
+
+    /**
+     * 根据文章变更前后的计数状态，调整分类和标签的文章数
+     * @param before 变更前状态
+     * @param after 变更后状态
+     */
+    @Transactional
+    public void applyArticleChange(ArticleCounterState before, ArticleCounterState after) {
+        Map<Long, Integer> categoryDeltas = new HashMap<>();
+        Map<Long, Integer> tagDeltas = new HashMap<>();
+        collectDeltas(before, -1, categoryDeltas, tagDeltas);
+        collectDeltas(after, 1, categoryDeltas, tagDeltas);
+
+        groupByDelta(categoryDeltas).forEach((delta, ids) -> categoryRepository.adjustArticleCount(ids, delta));
+        groupByDelta(tagDeltas).forEach((delta, ids) -> tagRepository.adjustArticleCount(ids, delta));
+    }
+
+    /**
+     * 对账任务：以实际数据为准批量修正所有冗余计数
+     * @return 各计数被修正的行数
+     */
+    @Transactional
+    @Scheduled(cron = "${blog.counter.reconcile-cron:0 30 3 * * *}")
+    public Map<String, Integer> reconcileAll() {
+        Map<String, Integer> result = new HashMap<>();
+        result.put("articleCommentCount", articleRepository.reconcileCommentCounts());
+        result.put("categoryArticleCount", categoryRepository.reconcileArticleCounts());
+        result.put("tagArticleCount", tagRepository.reconcileArticleCounts());
+        log.info("冗余计数对账完成: {}", result);
+        return result;
+    }
+
+    private void collectDeltas(ArticleCounterState state, int sign,
+                               Map<Long, Integer> categoryDeltas, Map<Long, Integer> tagDeltas) {
+        if (!state.published()) {
+            return;
+        }
+        if (state.categoryId() != null) {
+            categoryDeltas.merge(state.categoryId(), sign, Integer::sum);
+        }
+        state.tagIds().forEach(tagId -> tagDeltas.merge(tagId, sign, Integer::sum));
+    }
+
+    private Map<Integer, List<Long>> groupByDelta(Map<Long, Integer> deltas) {
+        return deltas.entrySet().stream()
+            .filter(entry -> entry.getValue() != 0)
+            .collect(Collectors.groupingBy(Map.Entry::getValue,
+                Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+    }
+
+    /**
+     * 文章对分类和标签计数产生影响的状态
+     * @param published 是否已发布
+     * @param categoryId 分类ID
+     * @param tagIds 标签ID集合
+     */
+    public record ArticleCounterState(boolean published, Long categoryId, Set<Long> tagIds) {
+
+        /** 不计入任何计数的状态，用于新建前和删除后 */
+        public static final ArticleCounterState NONE = new ArticleCounterState(false, null, Set.of());
+
+        /**
+         * 从文章实体中提取计数状态
+         * @param article 文章实体
+         * @return 计数状态
+         */
+        public static ArticleCounterState of(Article article) {
+            Set<Long> tagIds = new HashSet<>();
+            if (article.getTags() != null) {
+                article.getTags().stream().map(Tag::getId).forEach(tagIds::add);
+            }
+            Long categoryId = article.getCategory() != null ? article.getCategory().getId() : null;
+            return new ArticleCounterState(Boolean.TRUE.equals(article.getIsPublished()), categoryId, tagIds);
+        }
+    }
+}
@@ -50,7 +50,7 @@ public class DashboardService {
         // 评论统计
         stats.setTotalComments(commentRepository.count());
         stats.setApprovedComments(commentRepository.countByIsApproved(true));
-        stats.setPendingComments(commentRepository.countByIsApproved(false));
+        stats.setPendingComments(commentRepository.countByIsSpamFalseAndIsApprovedFalse());
         
         // 友链统计
         stats.setTotalFriendLinks(friendLinkRepository.count());
@@ -60,7 +60,7 @@ public class DashboardService {
         // 留言板统计
         stats.setTotalGuestbookMessages(guestbookMessageRepository.count());
         stats.setApprovedGuestbookMessages(guestbookMessageRepository.countByIsApproved(true));
-        stats.setPendingGuestbookMessages(guestbookMessageRepository.countByIsApproved(false));
+        stats.setPendingGuestbookMessages(guestbookMessageRepository.countByIsSpamFalseAndIsApprovedFalse());
         
         // 用户统计
         stats.setTotalUsers(userRepository.count());
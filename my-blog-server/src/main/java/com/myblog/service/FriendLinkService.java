@@ -1,5 +1,6 @@
 package com.myblog.service;
 
+import com.myblog.dto.BatchModerationRequest;
 import com.myblog.dto.FriendLinkDTO;
 import com.myblog.dto.PageResponse;
 import org.springframework.data.domain.Pageable;
@@ -83,4 +84,12 @@ public interface FriendLinkService {
      * @param id 友链ID
      */
     void incrementClickCount(Long id);
+    
+    /**
+     * 按ID列表或筛选条件批量审核友链
+     * @param action 审核动作
+     * @param request 批量审核请求
+     * @return 受影响的友链数
+     */
+    int batchModerateFriendLinks(BatchModerationRequest.Action action, BatchModerationRequest request);
 }
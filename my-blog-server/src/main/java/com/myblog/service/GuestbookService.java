@@ -1,9 +1,11 @@
 package com.myblog.service;
 
+import com.myblog.dto.BatchModerationRequest;
 import com.myblog.dto.GuestbookMessageDTO;
 import com.myblog.dto.PageResponse;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -59,12 +61,19 @@ public interface GuestbookService {
     PageResponse<GuestbookMessageDTO> getApprovedMessages(Pageable pageable);
     
     /**
-     * 获取待审核的留言列表
+     * 获取待审核的留言列表，不含已判定为垃圾内容的留言
      * @param pageable 分页参数
      * @return 分页待审核留言列表
      */
     PageResponse<GuestbookMessageDTO> getPendingMessages(Pageable pageable);
     
+    /**
+     * 获取被自动审核判定为垃圾内容的留言列表，供管理员复查误判
+     * @param pageable 分页参数
+     * @return 分页垃圾留言列表
+     */
+    PageResponse<GuestbookMessageDTO> getSpamMessages(Pageable pageable);
+    
     /**
      * 审核通过留言
      * @param id 留言ID
@@ -91,4 +100,40 @@ public interface GuestbookService {
      * @return 回复列表
      */
     List<GuestbookMessageDTO> getMessageReplies(Long parentId);
+    
+    /**
+     * 批量审核通过留言
+     * @param ids 留言ID集合
+     * @return 实际状态发生变化的留言数
+     */
+    int approveMessages(Collection<Long> ids);
+    
+    /**
+     * 批量拒绝留言
+     * @param ids 留言ID集合
+     * @return 实际状态发生变化的留言数
+     */
+    int rejectMessages(Collection<Long> ids);
+    
+    /**
+     * 批量标记垃圾留言，已审核通过的留言不受影响
+     * @param ids 留言ID集合
+     * @return 实际标记的留言数
+     */
+    int markMessagesSpam(Collection<Long> ids);
+    
+    /**
+     * 批量删除留言
+     * @param ids 留言ID集合
+     * @return 删除的留言数
+     */
+    int deleteMessages(Collection<Long> ids);
+    
+    /**
+     * 按ID列表或筛选条件批量审核留言
+     * @param action 审核动作
+     * @param request 批量审核请求
+     * @return 受影响的留言数
+     */
+    int batchModerateMessages(BatchModerationRequest.Action action, BatchModerationRequest request);
 }
@@ -1,6 +1,7 @@
 package com.myblog.service;
 
 import com.myblog.dto.SystemSettingDTO;
+import com.myblog.service.settings.SettingsSnapshot;
 
 import java.util.List;
 
@@ -81,4 +82,38 @@ public interface SystemSettingService {
      * @return 设置值或默认值
      */
     String getSettingValue(String key, String defaultValue);
+    
+    /**
+     * 根据键名获取整数设置值，不存在或无法解析时返回默认值
+     * @param key 设置键名
+     * @param defaultValue 默认值
+     * @return 设置值或默认值
+     */
+    long getLongValue(String key, long defaultValue);
+    
+    /**
+     * 根据键名获取布尔设置值，不存在或无法解析时返回默认值
+     * @param key 设置键名
+     * @param defaultValue 默认值
+     * @return 设置值或默认值
+     */
+    boolean getBooleanValue(String key, boolean defaultValue);
+    
+    /**
+     * 根据键名获取逗号分隔的列表设置值
+     * @param key 设置键名
+     * @return 设置值列表，不存在时为空列表
+     */
+    List<String> getListValue(String key);
+    
+    /**
+     * 获取当前系统设置快照
+     * @return 不可变的设置快照
+     */
+    SettingsSnapshot getSnapshot();
+    
+    /**
+     * 从数据库重新加载设置快照，用于多实例部署时同步其他节点的修改
+     */
+    void refreshSnapshot();
 }
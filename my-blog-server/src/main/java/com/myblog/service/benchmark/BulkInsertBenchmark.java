@@ -0,0 +1,137 @@
+package com.myblog.service.benchmark;
+
+import com.myblog.entity.Article;
+import com.myblog.entity.Category;
+import com.myblog.repository.ArticleBatchRepository;
+import com.myblog.repository.ArticleRepository;
+import com.myblog.repository.CategoryRepository;
+import com.myblog.util.BatchUtils;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量写入基准
+ * 启动完成后分别以JPA逐条保存和JDBC批处理两种方式写入不同规模的文章，输出耗时和吞吐量，
+ * 用于验证生产持久化配置（批处理、rewriteBatchedStatements、预编译语句缓存）的效果。
+ * 每轮写入都在事务中执行后回滚，不会留下测试数据。
+ */
+@Slf4j
+@Component
+@Order(100)
+@ConditionalOnProperty(prefix = "blog.benchmark.bulk-insert", name = "enabled", havingValue = "true")
+public class BulkInsertBenchmark implements ApplicationRunner {
+
+    /** 模拟文章正文的大小 */
+    private static final int CONTENT_LENGTH = 4000;
+
+    private final ArticleRepository articleRepository;
+    private final ArticleBatchRepository articleBatchRepository;
+    private final CategoryRepository categoryRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final List<Integer> sizes;
+    private final int rounds;
+
+    public BulkInsertBenchmark(ArticleRepository articleRepository,
+                               ArticleBatchRepository articleBatchRepository,
+                               CategoryRepository categoryRepository,
+                               EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${blog.benchmark.bulk-insert.sizes:20,10000}") List<Integer> sizes,
+                               @Value("${blog.benchmark.bulk-insert.rounds:3}") int rounds) {
+        this.articleRepository = articleRepository;
+        this.articleBatchRepository = articleBatchRepository;
+        this.categoryRepository = categoryRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sizes = sizes;
+        this.rounds = rounds;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Category category = categoryRepository.findAll().stream().findFirst().orElse(null);
+        StringBuilder report = new StringBuilder("\n| 规模 | 方式 | 平均耗时(ms) | 吞吐量(行/s) |\n| --- | --- | --- | --- |\n");
+        for (int size : sizes) {
+            List<Article> template = generate(size, category);
+            appendResult(report, size, "jpa-saveAll", measure(() -> jpaInsert(template)));
+            appendResult(report, size, "jdbc-batch", measure(() -> articleBatchRepository.batchInsert(template)));
+        }
+        log.info("批量写入基准完成（每项 {} 轮，已回滚）:{}", rounds, report);
+    }
+
+    private void jpaInsert(List<Article> template) {
+        for (List<Article> chunk : BatchUtils.partition(template, BatchUtils.DEFAULT_CHUNK_SIZE)) {
+            articleRepository.saveAll(chunk.stream().map(this::copy).toList());
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    /**
+     * 多轮执行取平均值，首轮作为预热不计入
+     */
+    private long measure(Runnable insert) {
+        long total = 0;
+        for (int round = 0; round <= rounds; round++) {
+            long start = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> {
+                insert.run();
+                status.setRollbackOnly();
+            });
+            if (round > 0) {
+                total += System.nanoTime() - start;
+            }
+        }
+        return total / Math.max(1, rounds);
+    }
+
+    private void appendResult(StringBuilder report, int size, String strategy, long nanos) {
+        double millis = nanos / 1_000_000.0;
+        report.append(String.format("| %d | %s | %.1f | %.0f |%n", size, strategy, millis, size / (millis / 1000)));
+    }
+
+    private List<Article> generate(int size, Category category) {
+        String content = "基准测试正文。".repeat(CONTENT_LENGTH / 7);
+        LocalDateTime now = LocalDateTime.now();
+        List<Article> articles = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Article article = new Article();
+            article.setTitle("基准测试文章 " + i);
+            article.setSummary("基准测试摘要 " + i);
+            article.setContent(content);
+            article.setSlug("benchmark-" + i);
+            article.setIsPublished(true);
+            article.setCategory(category);
+            article.setCreatedAt(now);
+            article.setUpdatedAt(now);
+            article.setPublishedAt(now);
+            articles.add(article);
+        }
+        return articles;
+    }
+
+    private Article copy(Article source) {
+        Article article = new Article();
+        article.setTitle(source.getTitle());
+        article.setSummary(source.getSummary());
+        article.setContent(source.getContent());
+        article.setSlug(source.getSlug());
+        article.setIsPublished(source.getIsPublished());
+        article.setCategory(source.getCategory());
+        article.setPublishedAt(source.getPublishedAt());
+        return article;
+    }
+}
@@ -0,0 +1,106 @@
+package com.myblog.service.benchmark;
+
+import com.myblog.service.markdown.MarkdownRenderer;
+import com.myblog.service.markdown.RenderedContent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Markdown渲染基准
+ * 启动完成后生成不同大小、包含大量代码块、表格和列表的长文，预热后多次渲染，
+ * 输出单次渲染的平均耗时、p50/p99和吞吐量，用于评估渲染规则调整对更新文章和后台补齐的影响。
+ */
+@Slf4j
+@Component
+@Order(100)
+@ConditionalOnProperty(prefix = "blog.benchmark.markdown", name = "enabled", havingValue = "true")
+public class MarkdownRenderBenchmark implements ApplicationRunner {
+
+    private final MarkdownRenderer renderer;
+    private final List<Integer> sizesKb;
+    private final int warmup;
+    private final int iterations;
+
+    public MarkdownRenderBenchmark(MarkdownRenderer renderer,
+                                   @Value("${blog.benchmark.markdown.sizes-kb:16,256,1024}") List<Integer> sizesKb,
+                                   @Value("${blog.benchmark.markdown.warmup:20}") int warmup,
+                                   @Value("${blog.benchmark.markdown.iterations:50}") int iterations) {
+        this.renderer = renderer;
+        this.sizesKb = sizesKb;
+        this.warmup = warmup;
+        this.iterations = Math.max(1, iterations);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        StringBuilder report = new StringBuilder(
+            "\n| 大小(KB) | 代码块 | 平均(ms) | p50(ms) | p99(ms) | 吞吐量(MB/s) |\n| --- | --- | --- | --- | --- | --- |\n");
+        for (int sizeKb : sizesKb) {
+            Sample sample = generate(sizeKb * 1024);
+            for (int i = 0; i < warmup; i++) {
+                renderer.render(sample.markdown());
+            }
+            long[] nanos = new long[iterations];
+            int sink = 0;
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                RenderedContent content = renderer.render(sample.markdown());
+                nanos[i] = System.nanoTime() - start;
+                sink += content.html().length();
+            }
+            Arrays.sort(nanos);
+            double avgMs = Arrays.stream(nanos).average().orElse(0) / 1_000_000;
+            double mb = sample.markdown().getBytes(StandardCharsets.UTF_8).length / 1024.0 / 1024.0;
+            report.append(String.format("| %d | %d | %.2f | %.2f | %.2f | %.1f |%n", sizeKb, sample.codeBlocks(),
+                avgMs, percentile(nanos, 50), percentile(nanos, 99), avgMs == 0 ? 0 : mb / (avgMs / 1000)));
+            log.debug("渲染输出总长度 {}", sink);
+        }
+        log.info("Markdown渲染基准完成（预热 {} 次，测量 {} 次）:{}", warmup, iterations, report);
+    }
+
+    private static double percentile(long[] sorted, int p) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * p / 100)] / 1_000_000.0;
+    }
+
+    /**
+     * 生成指定大小的文章：每节包含标题、中英文段落、列表、表格和两个代码块
+     */
+    private static Sample generate(int targetBytes) {
+        StringBuilder markdown = new StringBuilder(targetBytes + 4096);
+        int section = 0;
+        int codeBlocks = 0;
+        while (markdown.length() < targetBytes) {
+            section++;
+            markdown.append("## 第").append(section).append("节 Spring Boot `@Transactional` 的传播行为\n\n")
+                .append("在**事务边界**内调用另一个带有 `@Transactional` 注解的方法时，默认的 *REQUIRED* 传播行为会加入外层事务。")
+                .append("See the [reference docs](https://docs.spring.io/spring-framework/reference/data-access/transaction.html) ")
+                .append("for details about ~~nested~~ propagation, rollback rules and read-only hints.\n\n")
+                .append("- 第一项：`REQUIRES_NEW` 挂起外层事务\n- 第二项：`NESTED` 使用保存点\n  - 嵌套项 with **bold** text\n")
+                .append("- [x] 已完成的任务\n- [ ] 未完成的任务\n\n")
+                .append("| 传播行为 | 已有事务 | 无事务 |\n| :--- | :---: | ---: |\n")
+                .append("| REQUIRED | 加入 | 新建 |\n| REQUIRES_NEW | 挂起并新建 | 新建 |\n| SUPPORTS | 加入 | 非事务 |\n\n")
+                .append("```java\n@Service\npublic class OrderService {\n\n")
+                .append("    @Transactional(propagation = Propagation.REQUIRES_NEW)\n")
+                .append("    public void audit(Order order) {\n        if (order.getTotal() < 0 && order.getItems().size() > 0) {\n")
+                .append("            throw new IllegalArgumentException(\"<invalid> & \\\"total\\\"\");\n        }\n")
+                .append("        repository.save(order);\n    }\n}\n```\n\n")
+                .append("> 注意：同一个类内部的自调用不会经过代理，注解不会生效。\n\n")
+                .append("```sql\nSELECT a.id, a.title FROM articles a\nWHERE a.is_published = TRUE AND a.published_at >= ?\n")
+                .append("ORDER BY a.published_at DESC LIMIT 20;\n```\n\n");
+            codeBlocks += 2;
+        }
+        return new Sample(markdown.toString(), codeBlocks);
+    }
+
+    private record Sample(String markdown, int codeBlocks) {
+    }
+}
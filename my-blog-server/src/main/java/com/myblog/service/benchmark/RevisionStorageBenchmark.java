@@ -0,0 +1,144 @@
+package com.myblog.service.benchmark;
+
+import com.myblog.service.revision.DeltaCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 文章修订存储基准
+ * 生成约50KB的文章并模拟多次小幅编辑（改词、插入段落、删除段落），按修订服务的关键帧策略编码，
+ * 对比增量存储、完整副本和压缩后完整副本三种方式的存储量，并测量最长修订链的重建耗时。
+ * 只在内存中编码，不访问数据库。
+ */
+@Slf4j
+@Component
+@Order(100)
+@ConditionalOnProperty(prefix = "blog.benchmark.revision", name = "enabled", havingValue = "true")
+public class RevisionStorageBenchmark implements ApplicationRunner {
+
+    private static final String[] WORDS = {
+        "事务", "索引", "缓存", "连接池", "查询", "线程", "transaction", "index", "latency", "throughput",
+        "Spring", "Hibernate", "MySQL", "延迟", "吞吐量", "分页", "锁", "快照", "replica", "checkpoint"
+    };
+
+    private final int postBytes;
+    private final int edits;
+    private final int keyframeInterval;
+
+    public RevisionStorageBenchmark(@Value("${blog.benchmark.revision.post-bytes:51200}") int postBytes,
+                                    @Value("${blog.benchmark.revision.edits:200}") int edits,
+                                    @Value("${blog.revision.keyframe-interval:20}") int keyframeInterval) {
+        this.postBytes = postBytes;
+        this.edits = edits;
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Random random = new Random(42);
+        List<String> paragraphs = new ArrayList<>();
+        int size = 0;
+        while (size < postBytes) {
+            String paragraph = paragraph(random);
+            paragraphs.add(paragraph);
+            size += paragraph.getBytes(StandardCharsets.UTF_8).length + 2;
+        }
+
+        List<String> versions = new ArrayList<>(edits + 1);
+        versions.add(String.join("\n\n", paragraphs));
+        for (int i = 0; i < edits; i++) {
+            edit(paragraphs, random);
+            versions.add(String.join("\n\n", paragraphs));
+        }
+
+        long rawBytes = 0;
+        long deflatedBytes = 0;
+        long storedBytes = 0;
+        long keyframes = 0;
+        List<byte[]> payloads = new ArrayList<>(versions.size());
+        int keyframeRevision = 0;
+        for (int revision = 0; revision < versions.size(); revision++) {
+            String content = versions.get(revision);
+            byte[] full = DeltaCodec.encodeFull(content);
+            rawBytes += content.getBytes(StandardCharsets.UTF_8).length;
+            deflatedBytes += full.length;
+            byte[] payload;
+            if (revision == 0 || revision - keyframeRevision >= keyframeInterval) {
+                payload = full;
+                keyframeRevision = revision;
+                keyframes++;
+            } else {
+                payload = DeltaCodec.encodeDelta(versions.get(revision - 1), content);
+            }
+            payloads.add(payload);
+            storedBytes += payload.length;
+        }
+
+        // 关键帧之前的最后一个修订需要应用最多的增量
+        int worst = Math.min(versions.size() - 1, keyframeInterval - 1);
+        long start = System.nanoTime();
+        String rebuilt = DeltaCodec.decodeFull(payloads.get(0));
+        for (int revision = 1; revision <= worst; revision++) {
+            rebuilt = DeltaCodec.applyDelta(rebuilt, payloads.get(revision));
+        }
+        double rebuildMs = (System.nanoTime() - start) / 1_000_000.0;
+        if (!rebuilt.equals(versions.get(worst))) {
+            throw new IllegalStateException("修订重建结果不一致");
+        }
+
+        log.info("""
+            文章修订存储基准完成（正文约 {} KB，{} 次编辑，关键帧间隔 {}）:
+            | 方式 | 存储量(KB) | 相对完整副本 |
+            | --- | --- | --- |
+            | 完整副本 | {} | 100% |
+            | 压缩完整副本 | {} | {}% |
+            | 增量+关键帧({}个) | {} | {}% |
+            最长修订链（{} 个增量）重建耗时 {} ms""",
+            postBytes / 1024, edits, keyframeInterval,
+            rawBytes / 1024,
+            deflatedBytes / 1024, percent(deflatedBytes, rawBytes),
+            keyframes, storedBytes / 1024, percent(storedBytes, rawBytes),
+            worst, String.format("%.2f", rebuildMs));
+    }
+
+    private static String percent(long part, long whole) {
+        return String.format("%.2f", whole == 0 ? 0 : part * 100.0 / whole);
+    }
+
+    /**
+     * 模拟一次编辑：大部分是改词，其次是插入或删除段落
+     */
+    private static void edit(List<String> paragraphs, Random random) {
+        int index = random.nextInt(paragraphs.size());
+        int kind = random.nextInt(10);
+        if (kind < 7) {
+            String paragraph = paragraphs.get(index);
+            int position = random.nextInt(paragraph.length());
+            paragraphs.set(index, paragraph.substring(0, position) + WORDS[random.nextInt(WORDS.length)]
+                + paragraph.substring(position));
+        } else if (kind < 9) {
+            paragraphs.add(index, paragraph(random));
+        } else if (paragraphs.size() > 1) {
+            paragraphs.remove(index);
+        }
+    }
+
+    private static String paragraph(Random random) {
+        StringBuilder paragraph = new StringBuilder();
+        int words = 40 + random.nextInt(80);
+        for (int i = 0; i < words; i++) {
+            paragraph.append(WORDS[random.nextInt(WORDS.length)]).append(i % 12 == 11 ? "。" : " ");
+        }
+        return paragraph.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.myblog.service.bulk;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 归档流式读取器
+ * 每次只解析一条记录，内存占用与归档大小无关
+ */
+public interface ArticleArchiveReader extends Closeable {
+
+    /**
+     * 读取下一条记录
+     * @return 下一条记录，读取完毕时返回null
+     */
+    ArticleArchiveRecord next() throws IOException;
+
+    /**
+     * 按格式打开归档，NDJSON格式自动识别gzip压缩
+     */
+    static ArticleArchiveReader open(BulkFormat format, InputStream in, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonReader(objectMapper, maybeGunzip(in));
+            case MARKDOWN -> new MarkdownZipReader(new ZipInputStream(in, StandardCharsets.UTF_8));
+        };
+    }
+
+    private static InputStream maybeGunzip(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        boolean gzip = first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >> 8);
+        return gzip ? new GZIPInputStream(buffered, 64 * 1024) : buffered;
+    }
+
+    /**
+     * NDJSON读取器，每行一个JSON对象
+     */
+    final class NdjsonReader implements ArticleArchiveReader {
+
+        private final MappingIterator<ArticleArchiveRecord> iterator;
+
+        NdjsonReader(ObjectMapper objectMapper, InputStream in) throws IOException {
+            this.iterator = objectMapper.readerFor(ArticleArchiveRecord.class).readValues(in);
+        }
+
+        @Override
+        public ArticleArchiveRecord next() throws IOException {
+            return iterator.hasNextValue() ? iterator.nextValue() : null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            iterator.close();
+        }
+    }
+
+    /**
+     * Markdown压缩包读取器，逐个读取.md条目，忽略目录和其他文件
+     */
+    final class MarkdownZipReader implements ArticleArchiveReader {
+
+        private final ZipInputStream zip;
+
+        MarkdownZipReader(ZipInputStream zip) {
+            this.zip = zip;
+        }
+
+        @Override
+        public ArticleArchiveRecord next() throws IOException {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                if (!entry.isDirectory() && name.toLowerCase().endsWith(".md")) {
+                    String text = new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+                    return MarkdownFrontMatter.parse(text, name);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            zip.close();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.myblog.service.bulk;
+
+import com.myblog.entity.Article;
+import com.myblog.entity.Tag;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 归档中的单篇文章，导入和导出使用同一结构，分类和标签以名称表示
+ *
+ * @param title 标题
+ * @param slug URL标识符，为空时导入时按标题生成
+ * @param summary 摘要
+ * @param content 正文
+ * @param coverImage 封面图片URL
+ * @param category 分类名称
+ * @param tags 标签名称列表
+ * @param published 是否已发布
+ * @param pinned 是否置顶
+ * @param viewCount 浏览量
+ * @param likeCount 点赞数
+ * @param createdAt 创建时间
+ * @param publishedAt 发布时间
+ */
+public record ArticleArchiveRecord(String title, String slug, String summary, String content, String coverImage,
+                                   String category, List<String> tags, Boolean published, Boolean pinned,
+                                   Integer viewCount, Integer likeCount,
+                                   LocalDateTime createdAt, LocalDateTime publishedAt) {
+
+    /**
+     * 由文章实体生成归档记录，分类和标签需已加载
+     */
+    public static ArticleArchiveRecord of(Article article) {
+        List<String> tags = article.getTags() == null ? List.of()
+            : article.getTags().stream().map(Tag::getName).toList();
+        return new ArticleArchiveRecord(article.getTitle(), article.getSlug(), article.getSummary(),
+            article.getContent(), article.getCoverImage(),
+            article.getCategory() != null ? article.getCategory().getName() : null, tags,
+            article.getIsPublished(), article.getIsPinned(), article.getViewCount(), article.getLikeCount(),
+            article.getCreatedAt(), article.getPublishedAt());
+    }
+}
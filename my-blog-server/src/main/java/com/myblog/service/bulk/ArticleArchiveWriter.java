@@ -0,0 +1,87 @@
+package com.myblog.service.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 归档流式写入器
+ * 记录逐条压缩写入输出流，关闭时只结束压缩流，不关闭底层输出流
+ */
+public interface ArticleArchiveWriter extends Closeable {
+
+    /**
+     * 写入一条记录
+     */
+    void write(ArticleArchiveRecord record) throws IOException;
+
+    /**
+     * 按格式创建写入器
+     */
+    static ArticleArchiveWriter open(BulkFormat format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonWriter(objectMapper, new GZIPOutputStream(out, 64 * 1024));
+            case MARKDOWN -> new MarkdownZipWriter(new ZipOutputStream(out, StandardCharsets.UTF_8));
+        };
+    }
+
+    /**
+     * NDJSON写入器，整体gzip压缩
+     */
+    final class NdjsonWriter implements ArticleArchiveWriter {
+
+        private final ObjectMapper objectMapper;
+        private final GZIPOutputStream gzip;
+
+        NdjsonWriter(ObjectMapper objectMapper, GZIPOutputStream gzip) {
+            this.objectMapper = objectMapper;
+            this.gzip = gzip;
+        }
+
+        @Override
+        public void write(ArticleArchiveRecord record) throws IOException {
+            gzip.write(objectMapper.writeValueAsBytes(record));
+            gzip.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            gzip.finish();
+            gzip.flush();
+        }
+    }
+
+    /**
+     * Markdown压缩包写入器，每篇文章一个条目，以slug命名
+     */
+    final class MarkdownZipWriter implements ArticleArchiveWriter {
+
+        private final ZipOutputStream zip;
+        private int untitled;
+
+        MarkdownZipWriter(ZipOutputStream zip) {
+            this.zip = zip;
+        }
+
+        @Override
+        public void write(ArticleArchiveRecord record) throws IOException {
+            String slug = record.slug();
+            String name = slug == null || slug.isBlank() ? "untitled-" + (++untitled) : slug.replaceAll("[/\\\\]", "-");
+            zip.putNextEntry(new ZipEntry(name + ".md"));
+            zip.write(MarkdownFrontMatter.render(record).getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        @Override
+        public void close() throws IOException {
+            zip.finish();
+            zip.flush();
+        }
+    }
+}
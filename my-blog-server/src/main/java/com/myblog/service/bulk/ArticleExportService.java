@@ -0,0 +1,40 @@
+package com.myblog.service.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myblog.repository.ArticleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 文章批量导出服务
+ * 通过流式游标按主键顺序逐篇读取文章，转换后立即压缩写出，内存占用与文章总数无关。
+ * 导出结果可直接作为批量导入的输入。
+ */
+@Service
+@RequiredArgsConstructor
+public class ArticleExportService {
+
+    private final ArticleRepository articleRepository;
+    private final CursorExporter cursorExporter;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 导出全部文章，客户端断开时中止查询
+     * @param format 归档格式
+     * @param out 输出流，由调用方关闭
+     * @return 导出的文章数
+     */
+    public long exportArticles(BulkFormat format, OutputStream out) throws IOException {
+        try (ArticleArchiveWriter writer = ArticleArchiveWriter.open(format, out, objectMapper)) {
+            return cursorExporter.export("articles." + format.name().toLowerCase(),
+                articleRepository::streamAllForExport,
+                article -> writer.write(ArticleArchiveRecord.of(article)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
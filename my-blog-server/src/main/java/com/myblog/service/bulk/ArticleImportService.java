@@ -0,0 +1,380 @@
+package com.myblog.service.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myblog.entity.Article;
+import com.myblog.entity.Category;
+import com.myblog.entity.Tag;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
+import com.myblog.repository.ArticleBatchRepository;
+import com.myblog.repository.CategoryRepository;
+import com.myblog.repository.TagRepository;
+import com.myblog.service.CounterService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 文章批量导入服务
+ * 流式读取NDJSON或Markdown压缩包，按分块在独立事务中写入：分类和标签通过内存映射按名称或slug解析，
+ * 缺失时自动创建；文章通过JDBC批处理插入，再按slug回查主键批量写入标签关联。
+ * 每个分块提交后保存检查点，失败时已提交的分块保留，以相同任务ID重新上传即可续传。
+ * slug已存在的记录直接跳过，重复导入同一归档是幂等的。
+ */
+@Slf4j
+@Service
+public class ArticleImportService {
+
+    private static final int MAX_ERRORS = 50;
+    private static final int TITLE_MAX_LENGTH = 200;
+    private static final int SUMMARY_MAX_LENGTH = 500;
+    private static final int SLUG_MAX_LENGTH = 100;
+
+    private final ArticleBatchRepository articleBatchRepository;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final CounterService counterService;
+    private final ImportCheckpointStore checkpointStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    /** 同一时间只允许一个导入任务，导入期间阻塞在数据库IO上，使用显式锁避免固定虚拟线程的载体线程 */
+    private final ReentrantLock importLock = new ReentrantLock();
+
+    public ArticleImportService(ArticleBatchRepository articleBatchRepository,
+                                CategoryRepository categoryRepository,
+                                TagRepository tagRepository,
+                                CounterService counterService,
+                                ImportCheckpointStore checkpointStore,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${blog.bulk.chunk-size:500}") int chunkSize) {
+        this.articleBatchRepository = articleBatchRepository;
+        this.categoryRepository = categoryRepository;
+        this.tagRepository = tagRepository;
+        this.counterService = counterService;
+        this.checkpointStore = checkpointStore;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * 导入归档
+     * @param in 归档输入流，由调用方关闭
+     * @param format 归档格式
+     * @param jobId 任务ID，为空时生成新任务；存在未完成的检查点时从断点继续
+     * @return 导入报告
+     */
+    public ImportReport importArticles(InputStream in, BulkFormat format, String jobId) {
+        if (!importLock.tryLock()) {
+            throw new RuntimeException("已有导入任务正在执行，请稍后重试");
+        }
+        try {
+            String job = jobId == null || jobId.isBlank() ? UUID.randomUUID().toString().replace("-", "") : jobId;
+            ImportCheckpoint checkpoint = checkpointStore.load(job).orElseGet(() -> ImportCheckpoint.start(job, format));
+            if (checkpoint.format() != format) {
+                throw new RuntimeException("任务 " + job + " 的归档格式为 " + checkpoint.format() + "，与本次上传不一致");
+            }
+            return run(in, checkpoint);
+        } finally {
+            importLock.unlock();
+        }
+    }
+
+    private ImportReport run(InputStream in, ImportCheckpoint start) {
+        long startNanos = System.nanoTime();
+        ImportRun run = new ImportRun(start);
+        Lookups lookups = loadLookups();
+        boolean completed = false;
+        try (ArticleArchiveReader reader = ArticleArchiveReader.open(start.format(), in, objectMapper)) {
+            long position = 0;
+            List<ArticleArchiveRecord> chunk = new ArrayList<>(chunkSize);
+            ArticleArchiveRecord record;
+            while ((record = reader.next()) != null) {
+                if (position++ < start.position()) {
+                    continue;
+                }
+                run.read++;
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    commitChunk(chunk, lookups, run);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(chunk, lookups, run);
+            }
+            completed = true;
+            checkpointStore.delete(start.jobId());
+        } catch (IOException | RuntimeException e) {
+            log.error("批量导入中断，任务 {} 已提交 {} 条记录，可使用相同任务ID续传", start.jobId(), run.checkpoint.position(), e);
+            run.error("导入中断于第 " + (run.checkpoint.position() + 1) + " 条记录附近: " + e.getMessage());
+        } finally {
+            finish(run);
+        }
+
+        long totalMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("批量导入任务 {} {}: 读取 {}，插入 {}，跳过 {}，无效 {}，耗时 {} ms", start.jobId(),
+            completed ? "完成" : "中断", run.read, run.inserted, run.skipped, run.invalid, totalMillis);
+        return new ImportReport(start.jobId(), completed, start.position(), run.read, run.inserted, run.skipped,
+            run.invalid, run.createdCategories, run.createdTags, run.chunks, totalMillis, List.copyOf(run.errors));
+    }
+
+    /**
+     * 在独立事务中写入一个分块，提交后推进检查点
+     */
+    private void commitChunk(List<ArticleArchiveRecord> chunk, Lookups lookups, ImportRun run) {
+        long positionBefore = run.checkpoint.position();
+        ChunkResult result = transactionTemplate.execute(status -> writeChunk(chunk, positionBefore, lookups, run));
+        run.inserted += result.inserted();
+        run.skipped += result.skipped();
+        run.invalid += result.invalid();
+        run.chunks++;
+        run.checkpoint = run.checkpoint.advance(chunk.size(), result.inserted(), result.skipped(), result.invalid());
+        checkpointStore.save(run.checkpoint);
+    }
+
+    private ChunkResult writeChunk(List<ArticleArchiveRecord> chunk, long positionBefore, Lookups lookups, ImportRun run) {
+        int invalid = 0;
+        Map<String, ArticleArchiveRecord> bySlug = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            ArticleArchiveRecord record = chunk.get(i);
+            String problem = validate(record);
+            if (problem != null) {
+                invalid++;
+                run.error("第 " + (positionBefore + i + 1) + " 条记录无效: " + problem);
+                continue;
+            }
+            bySlug.putIfAbsent(slugOf(record), record);
+        }
+        int duplicatesInChunk = chunk.size() - invalid - bySlug.size();
+
+        Set<String> existing = articleBatchRepository.findIdsBySlugs(bySlug.keySet()).keySet();
+        bySlug.keySet().removeAll(existing);
+        if (bySlug.isEmpty()) {
+            return new ChunkResult(0, existing.size() + duplicatesInChunk, invalid);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Article> articles = new ArrayList<>(bySlug.size());
+        Map<String, Set<Long>> tagIdsBySlug = new HashMap<>();
+        bySlug.forEach((slug, record) -> {
+            articles.add(toArticle(record, slug, lookups, run, now));
+            Set<Long> tagIds = new LinkedHashSet<>();
+            if (record.tags() != null) {
+                record.tags().stream().filter(name -> name != null && !name.isBlank())
+                    .forEach(name -> tagIds.add(resolveTag(name.strip(), lookups, run).getId()));
+            }
+            if (!tagIds.isEmpty()) {
+                tagIdsBySlug.put(slug, tagIds);
+            }
+        });
+
+        int inserted = articleBatchRepository.batchInsert(articles);
+        if (!tagIdsBySlug.isEmpty()) {
+            Map<String, Long> ids = articleBatchRepository.findIdsBySlugs(tagIdsBySlug.keySet());
+            Map<Long, Set<Long>> tagIdsByArticle = new HashMap<>();
+            tagIdsBySlug.forEach((slug, tagIds) -> tagIdsByArticle.put(ids.get(slug), tagIds));
+            articleBatchRepository.batchInsertArticleTags(tagIdsByArticle);
+        }
+        return new ChunkResult(inserted, existing.size() + duplicatesInChunk, invalid);
+    }
+
+    /**
+     * 导入结束（完成或中断）后修正分类、标签文章数并通知缓存等订阅方
+     */
+    private void finish(ImportRun run) {
+        if (run.inserted == 0 && run.createdCategories == 0 && run.createdTags == 0) {
+            return;
+        }
+        counterService.reconcileAll();
+        if (run.createdCategories > 0) {
+            eventPublisher.publishEvent(ContentChangedEvent.bulk(ContentType.CATEGORY, ChangeAction.CREATED));
+        }
+        if (run.createdTags > 0) {
+            eventPublisher.publishEvent(ContentChangedEvent.bulk(ContentType.TAG, ChangeAction.CREATED));
+        }
+        if (run.inserted > 0) {
+            eventPublisher.publishEvent(ContentChangedEvent.bulk(ContentType.ARTICLE, ChangeAction.CREATED));
+        }
+    }
+
+    private Article toArticle(ArticleArchiveRecord record, String slug, Lookups lookups, ImportRun run, LocalDateTime now) {
+        Article article = new Article();
+        article.setTitle(record.title().strip());
+        article.setSlug(slug);
+        article.setSummary(truncate(record.summary(), SUMMARY_MAX_LENGTH));
+        article.setContent(record.content());
+        article.setCoverImage(record.coverImage());
+        article.setIsPublished(Boolean.TRUE.equals(record.published()));
+        article.setIsPinned(Boolean.TRUE.equals(record.pinned()));
+        article.setViewCount(record.viewCount() != null ? Math.max(0, record.viewCount()) : 0);
+        article.setLikeCount(record.likeCount() != null ? Math.max(0, record.likeCount()) : 0);
+        if (record.category() != null && !record.category().isBlank()) {
+            article.setCategory(resolveCategory(record.category().strip(), lookups, run));
+        }
+        LocalDateTime createdAt = record.createdAt() != null ? record.createdAt()
+            : record.publishedAt() != null ? record.publishedAt() : now;
+        article.setCreatedAt(createdAt);
+        article.setUpdatedAt(createdAt);
+        if (article.getIsPublished()) {
+            article.setPublishedAt(record.publishedAt() != null ? record.publishedAt() : createdAt);
+        }
+        return article;
+    }
+
+    private String validate(ArticleArchiveRecord record) {
+        if (record.title() == null || record.title().isBlank()) {
+            return "标题不能为空";
+        }
+        if (record.title().strip().length() > TITLE_MAX_LENGTH) {
+            return "标题长度超过" + TITLE_MAX_LENGTH + "个字符";
+        }
+        if (record.slug() != null && record.slug().strip().length() > SLUG_MAX_LENGTH) {
+            return "slug长度超过" + SLUG_MAX_LENGTH + "个字符";
+        }
+        return null;
+    }
+
+    /**
+     * 加载全部分类和标签，按小写名称和slug建立映射
+     */
+    private Lookups loadLookups() {
+        Lookups lookups = new Lookups();
+        for (Category category : categoryRepository.findAll()) {
+            lookups.categories.put(key(category.getName()), category);
+            if (category.getSlug() != null) {
+                lookups.categories.putIfAbsent(key(category.getSlug()), category);
+            }
+        }
+        for (Tag tag : tagRepository.findAll()) {
+            lookups.tags.put(key(tag.getName()), tag);
+            if (tag.getSlug() != null) {
+                lookups.tags.putIfAbsent(key(tag.getSlug()), tag);
+            }
+        }
+        return lookups;
+    }
+
+    private Category resolveCategory(String name, Lookups lookups, ImportRun run) {
+        return lookups.categories.computeIfAbsent(key(name), k -> {
+            Category category = new Category();
+            category.setName(name);
+            category.setSlug(slugify(name));
+            run.createdCategories++;
+            return categoryRepository.save(category);
+        });
+    }
+
+    private Tag resolveTag(String name, Lookups lookups, ImportRun run) {
+        return lookups.tags.computeIfAbsent(key(name), k -> {
+            Tag tag = new Tag();
+            tag.setName(name);
+            tag.setSlug(slugify(name));
+            run.createdTags++;
+            return tagRepository.save(tag);
+        });
+    }
+
+    private static String key(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static String slugOf(ArticleArchiveRecord record) {
+        if (record.slug() != null && !record.slug().isBlank()) {
+            return record.slug().strip();
+        }
+        return slugify(record.title() + (record.publishedAt() != null ? " " + record.publishedAt().toLocalDate() : ""));
+    }
+
+    /**
+     * 生成slug，无法转换为ASCII的标题使用内容摘要作为后缀保证唯一
+     */
+    static String slugify(String text) {
+        String ascii = Normalizer.normalize(text, Normalizer.Form.NFKD)
+            .replaceAll("\\p{M}", "")
+            .toLowerCase(Locale.ROOT)
+            .replaceAll("[^a-z0-9]+", "-")
+            .replaceAll("(^-+|-+$)", "");
+        boolean lossy = text.codePoints().anyMatch(c -> c > 0x7f && Character.isLetterOrDigit(c));
+        if (!lossy && !ascii.isEmpty()) {
+            return truncate(ascii, SLUG_MAX_LENGTH);
+        }
+        String suffix = shortHash(text);
+        String prefix = ascii.isEmpty() ? "post" : truncate(ascii, SLUG_MAX_LENGTH - suffix.length() - 1);
+        return prefix + "-" + suffix;
+    }
+
+    private static String shortHash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 5);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private record ChunkResult(int inserted, int skipped, int invalid) {
+    }
+
+    private static final class Lookups {
+        private final Map<String, Category> categories = new HashMap<>();
+        private final Map<String, Tag> tags = new HashMap<>();
+    }
+
+    /**
+     * 单次导入的累计状态
+     */
+    private static final class ImportRun {
+        private ImportCheckpoint checkpoint;
+        private long read;
+        private long inserted;
+        private long skipped;
+        private long invalid;
+        private int createdCategories;
+        private int createdTags;
+        private int chunks;
+        private final List<String> errors = new ArrayList<>();
+
+        private ImportRun(ImportCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+        }
+
+        private void error(String message) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(message);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.myblog.service.bulk;
+
+/**
+ * 批量导入导出的归档格式
+ */
+public enum BulkFormat {
+
+    /** 每行一个JSON对象，导出时整体gzip压缩，导入时自动识别gzip */
+    NDJSON("application/gzip", "articles.ndjson.gz"),
+
+    /** ZIP压缩包，每篇文章为一个带front matter的Markdown文件 */
+    MARKDOWN("application/zip", "articles.zip");
+
+    private final String contentType;
+    private final String fileName;
+
+    BulkFormat(String contentType, String fileName) {
+        this.contentType = contentType;
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+}
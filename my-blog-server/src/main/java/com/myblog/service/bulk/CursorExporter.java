@@ -0,0 +1,123 @@
+package com.myblog.service.bulk;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 流式游标导出
+ * 在只读事务中打开仓库的流式查询，逐行交给写出方并立即从持久化上下文中移除，内存占用与行数无关。
+ * 写出失败（通常是客户端断开）时取消正在执行的查询：MySQL流式结果集关闭前需要读完剩余行，
+ * 先取消查询可以让服务端立即停止发送，避免为已断开的请求继续传输整张表。
+ */
+@Slf4j
+@Component
+public class CursorExporter {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+
+    public CursorExporter(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 逐行写出流式查询结果
+     * @param name 导出名称，用于日志
+     * @param query 打开流式查询，在事务内调用
+     * @param sink 写出一行
+     * @return 写出的行数
+     */
+    public <T> long export(String name, Supplier<Stream<T>> query, RowSink<T> sink) {
+        long start = System.nanoTime();
+        active.incrementAndGet();
+        try {
+            Long exported = readOnlyTransaction.execute(status -> drain(name, query, sink));
+            completed.incrementAndGet();
+            log.info("导出 {} 完成: {} 行，耗时 {} ms", name, exported, (System.nanoTime() - start) / 1_000_000);
+            return exported != null ? exported : 0;
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    /**
+     * 获取导出统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("active", active.get());
+        stats.put("completed", completed.get());
+        stats.put("cancelled", cancelled.get());
+        stats.put("rows", rows.get());
+        return stats;
+    }
+
+    private <T> long drain(String name, Supplier<Stream<T>> query, RowSink<T> sink) {
+        long count = 0;
+        Stream<T> stream = query.get();
+        boolean aborted = false;
+        try {
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                sink.write(row);
+                entityManager.detach(row);
+                count++;
+            }
+            return count;
+        } catch (IOException e) {
+            aborted = true;
+            cancelled.incrementAndGet();
+            log.info("导出 {} 在第 {} 行中止，客户端已断开: {}", name, count + 1, e.getMessage());
+            cancelQuery();
+            throw new UncheckedIOException("导出已中止", e);
+        } finally {
+            rows.addAndGet(count);
+            try {
+                stream.close();
+            } catch (RuntimeException e) {
+                if (!aborted) {
+                    throw e;
+                }
+                log.debug("关闭已取消的导出查询: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void cancelQuery() {
+        try {
+            entityManager.unwrap(SharedSessionContractImplementor.class).getJdbcCoordinator().cancelLastQuery();
+        } catch (RuntimeException e) {
+            log.warn("取消导出查询失败，将等待结果集读完后释放连接: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 行写出回调
+     */
+    @FunctionalInterface
+    public interface RowSink<T> {
+        void write(T row) throws IOException;
+    }
+}
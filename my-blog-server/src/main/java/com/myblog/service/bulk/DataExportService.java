@@ -0,0 +1,112 @@
+package com.myblog.service.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myblog.entity.Comment;
+import com.myblog.entity.GuestbookMessage;
+import com.myblog.entity.Image;
+import com.myblog.repository.CommentRepository;
+import com.myblog.repository.GuestbookMessageRepository;
+import com.myblog.repository.ImageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 评论、留言和图片元数据的流式导出服务
+ * 按主键顺序逐行读取并写出CSV或NDJSON，内存占用与行数无关
+ */
+@Service
+@RequiredArgsConstructor
+public class DataExportService {
+
+    private static final List<ExportColumn<Comment>> COMMENT_COLUMNS = List.of(
+        ExportColumn.of("id", Comment::getId),
+        ExportColumn.of("articleId", Comment::getArticleId),
+        ExportColumn.of("parentId", Comment::getParentId),
+        ExportColumn.of("author", Comment::getAuthor),
+        ExportColumn.of("email", Comment::getEmail),
+        ExportColumn.of("website", Comment::getWebsite),
+        ExportColumn.of("content", Comment::getContent),
+        ExportColumn.of("isApproved", Comment::getIsApproved),
+        ExportColumn.of("likeCount", Comment::getLikeCount),
+        ExportColumn.of("ipAddress", Comment::getIpAddress),
+        ExportColumn.of("userAgent", Comment::getUserAgent),
+        ExportColumn.of("createdAt", Comment::getCreatedAt),
+        ExportColumn.of("updatedAt", Comment::getUpdatedAt)
+    );
+
+    private static final List<ExportColumn<GuestbookMessage>> GUESTBOOK_COLUMNS = List.of(
+        ExportColumn.of("id", GuestbookMessage::getId),
+        ExportColumn.of("parentId", GuestbookMessage::getParentId),
+        ExportColumn.of("author", GuestbookMessage::getAuthor),
+        ExportColumn.of("email", GuestbookMessage::getEmail),
+        ExportColumn.of("website", GuestbookMessage::getWebsite),
+        ExportColumn.of("content", GuestbookMessage::getContent),
+        ExportColumn.of("isApproved", GuestbookMessage::getIsApproved),
+        ExportColumn.of("likeCount", GuestbookMessage::getLikeCount),
+        ExportColumn.of("ipAddress", GuestbookMessage::getIpAddress),
+        ExportColumn.of("userAgent", GuestbookMessage::getUserAgent),
+        ExportColumn.of("createdAt", GuestbookMessage::getCreatedAt),
+        ExportColumn.of("updatedAt", GuestbookMessage::getUpdatedAt)
+    );
+
+    /** 不导出服务器文件路径和存储配置 */
+    private static final List<ExportColumn<Image>> IMAGE_COLUMNS = List.of(
+        ExportColumn.of("id", Image::getId),
+        ExportColumn.of("filename", Image::getFilename),
+        ExportColumn.of("originalFilename", Image::getOriginalFilename),
+        ExportColumn.of("url", Image::getUrl),
+        ExportColumn.of("fileSize", Image::getFileSize),
+        ExportColumn.of("contentType", Image::getContentType),
+        ExportColumn.of("extension", Image::getExtension),
+        ExportColumn.of("width", Image::getWidth),
+        ExportColumn.of("height", Image::getHeight),
+        ExportColumn.of("description", Image::getDescription),
+        ExportColumn.of("storageType", Image::getStorageType),
+        ExportColumn.of("uploadedBy", Image::getUploadedBy),
+        ExportColumn.of("createdAt", Image::getCreatedAt),
+        ExportColumn.of("updatedAt", Image::getUpdatedAt)
+    );
+
+    private final CommentRepository commentRepository;
+    private final GuestbookMessageRepository guestbookMessageRepository;
+    private final ImageRepository imageRepository;
+    private final CursorExporter cursorExporter;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 导出全部评论
+     */
+    public long exportComments(RowFormat format, OutputStream out) throws IOException {
+        return export("comments", commentRepository::streamAllForExport, COMMENT_COLUMNS, format, out);
+    }
+
+    /**
+     * 导出全部留言
+     */
+    public long exportGuestbookMessages(RowFormat format, OutputStream out) throws IOException {
+        return export("guestbook", guestbookMessageRepository::streamAllForExport, GUESTBOOK_COLUMNS, format, out);
+    }
+
+    /**
+     * 导出未删除的图片元数据
+     */
+    public long exportImages(RowFormat format, OutputStream out) throws IOException {
+        return export("images", imageRepository::streamAllForExport, IMAGE_COLUMNS, format, out);
+    }
+
+    private <T> long export(String name, Supplier<Stream<T>> query, List<ExportColumn<T>> columns,
+                            RowFormat format, OutputStream out) throws IOException {
+        try (RowWriter<T> writer = RowWriter.open(format, columns, out, objectMapper)) {
+            return cursorExporter.export(name + "." + format.getExtension(), query, writer::write);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.myblog.service.bulk;
+
+import java.util.function.Function;
+
+/**
+ * 导出列定义
+ *
+ * @param name 列名，同时作为CSV表头和NDJSON字段名
+ * @param extractor 从实体取值
+ */
+public record ExportColumn<T>(String name, Function<T, Object> extractor) {
+
+    public static <T> ExportColumn<T> of(String name, Function<T, Object> extractor) {
+        return new ExportColumn<>(name, extractor);
+    }
+}
@@ -0,0 +1,27 @@
+package com.myblog.service.bulk;
+
+import java.time.LocalDateTime;
+
+/**
+ * 导入检查点，每个分块提交后保存，中断后以相同任务ID重新上传同一归档即可从断点继续
+ *
+ * @param jobId 任务ID
+ * @param format 归档格式
+ * @param position 已提交的记录数（含跳过和无效记录），续传时跳过这些记录
+ * @param inserted 累计插入的文章数
+ * @param skipped 累计因slug已存在而跳过的记录数
+ * @param invalid 累计无效记录数
+ * @param updatedAt 最后更新时间
+ */
+public record ImportCheckpoint(String jobId, BulkFormat format, long position, long inserted, long skipped,
+                               long invalid, LocalDateTime updatedAt) {
+
+    static ImportCheckpoint start(String jobId, BulkFormat format) {
+        return new ImportCheckpoint(jobId, format, 0, 0, 0, 0, LocalDateTime.now());
+    }
+
+    ImportCheckpoint advance(long records, long insertedDelta, long skippedDelta, long invalidDelta) {
+        return new ImportCheckpoint(jobId, format, position + records, inserted + insertedDelta,
+            skipped + skippedDelta, invalid + invalidDelta, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,71 @@
+package com.myblog.service.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 导入检查点存储
+ * 每个任务一个JSON文件，先写临时文件再原子替换，进程崩溃时不会留下半个检查点
+ */
+@Component
+public class ImportCheckpointStore {
+
+    private static final Pattern JOB_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+
+    public ImportCheckpointStore(ObjectMapper objectMapper,
+                                 @Value("${blog.bulk.checkpoint-dir:./bulk-checkpoints}") String directory) {
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(directory);
+    }
+
+    public Optional<ImportCheckpoint> load(String jobId) {
+        Path file = fileOf(jobId);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), ImportCheckpoint.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取导入检查点失败: " + jobId, e);
+        }
+    }
+
+    public void save(ImportCheckpoint checkpoint) {
+        Path file = fileOf(checkpoint.jobId());
+        try {
+            Files.createDirectories(directory);
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), checkpoint);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("保存导入检查点失败: " + checkpoint.jobId(), e);
+        }
+    }
+
+    public void delete(String jobId) {
+        try {
+            Files.deleteIfExists(fileOf(jobId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("删除导入检查点失败: " + jobId, e);
+        }
+    }
+
+    private Path fileOf(String jobId) {
+        if (jobId == null || !JOB_ID.matcher(jobId).matches()) {
+            throw new RuntimeException("任务ID只能包含字母、数字、下划线和短横线，且不超过64个字符");
+        }
+        return directory.resolve(jobId + ".json");
+    }
+}
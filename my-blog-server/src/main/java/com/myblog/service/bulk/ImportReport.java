@@ -0,0 +1,24 @@
+package com.myblog.service.bulk;
+
+import java.util.List;
+
+/**
+ * 批量导入报告
+ *
+ * @param jobId 任务ID，未完成时可用于续传
+ * @param completed 是否已完整导入
+ * @param resumedFrom 本次从第几条记录继续
+ * @param read 本次读取的记录数（不含续传跳过的记录）
+ * @param inserted 本次插入的文章数
+ * @param skipped 本次因slug已存在而跳过的记录数
+ * @param invalid 本次无效记录数
+ * @param createdCategories 新建的分类数
+ * @param createdTags 新建的标签数
+ * @param chunks 本次提交的分块数
+ * @param totalMillis 总耗时
+ * @param errors 无效记录及失败原因，最多保留前若干条
+ */
+public record ImportReport(String jobId, boolean completed, long resumedFrom, long read, long inserted, long skipped,
+                           long invalid, int createdCategories, int createdTags, int chunks, long totalMillis,
+                           List<String> errors) {
+}
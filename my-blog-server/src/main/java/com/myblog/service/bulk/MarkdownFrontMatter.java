@@ -0,0 +1,203 @@
+package com.myblog.service.bulk;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Markdown front matter解析与生成
+ * 兼容Hexo、Hugo、Jekyll常用字段：title、slug、summary/description、category/categories、tags、
+ * published/draft、pinned/top、date、created、cover、views、likes
+ */
+final class MarkdownFrontMatter {
+
+    private static final String DELIMITER = "---";
+
+    private MarkdownFrontMatter() {
+    }
+
+    /**
+     * 解析Markdown文件，缺少标题和slug时使用文件名
+     * @param text 文件内容
+     * @param fileName 压缩包内的文件路径
+     * @return 归档记录
+     */
+    static ArticleArchiveRecord parse(String text, String fileName) {
+        String source = text.startsWith("\uFEFF") ? text.substring(1) : text;
+        Map<String, Object> meta = Map.of();
+        String content = source;
+        if (source.startsWith(DELIMITER)) {
+            int headerStart = source.indexOf('\n') + 1;
+            int headerEnd = findClosingDelimiter(source, headerStart);
+            if (headerStart > 0 && headerEnd >= 0) {
+                Object loaded = new Yaml(new SafeConstructor(new LoaderOptions())).load(source.substring(headerStart, headerEnd));
+                if (loaded instanceof Map<?, ?> map) {
+                    meta = new LinkedHashMap<>();
+                    for (Map.Entry<?, ?> entry : map.entrySet()) {
+                        meta.put(String.valueOf(entry.getKey()).toLowerCase(), entry.getValue());
+                    }
+                }
+                int bodyStart = source.indexOf('\n', headerEnd);
+                content = bodyStart < 0 ? "" : source.substring(bodyStart + 1).stripLeading();
+            }
+        }
+
+        String stem = fileStem(fileName);
+        Boolean published = toBoolean(meta.get("published"));
+        if (published == null && meta.containsKey("draft")) {
+            published = !Boolean.TRUE.equals(toBoolean(meta.get("draft")));
+        }
+        Boolean pinned = toBoolean(first(meta, "pinned", "top", "sticky"));
+        LocalDateTime publishedAt = toDateTime(first(meta, "date", "publishedat", "published_at"));
+        LocalDateTime createdAt = toDateTime(first(meta, "created", "createdat", "created_at"));
+        return new ArticleArchiveRecord(
+            firstNonBlank(toText(meta.get("title")), stem),
+            firstNonBlank(toText(meta.get("slug")), stem),
+            toText(first(meta, "summary", "description", "excerpt")),
+            content,
+            toText(first(meta, "cover", "cover_image", "coverimage")),
+            firstOf(toList(first(meta, "category", "categories"))),
+            toList(meta.get("tags")),
+            published != null ? published : Boolean.TRUE,
+            pinned,
+            toInteger(first(meta, "views", "view_count")),
+            toInteger(first(meta, "likes", "like_count")),
+            createdAt != null ? createdAt : publishedAt,
+            publishedAt);
+    }
+
+    /**
+     * 生成带front matter的Markdown文本
+     */
+    static String render(ArticleArchiveRecord record) {
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("title", record.title());
+        putIfPresent(meta, "slug", record.slug());
+        putIfPresent(meta, "summary", record.summary());
+        putIfPresent(meta, "category", record.category());
+        if (record.tags() != null && !record.tags().isEmpty()) {
+            meta.put("tags", record.tags());
+        }
+        meta.put("published", Boolean.TRUE.equals(record.published()));
+        meta.put("pinned", Boolean.TRUE.equals(record.pinned()));
+        putIfPresent(meta, "date", record.publishedAt() != null ? record.publishedAt().toString() : null);
+        putIfPresent(meta, "created", record.createdAt() != null ? record.createdAt().toString() : null);
+        putIfPresent(meta, "cover", record.coverImage());
+        putIfPresent(meta, "views", record.viewCount());
+        putIfPresent(meta, "likes", record.likeCount());
+
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        options.setSplitLines(false);
+        String header = new Yaml(options).dump(meta);
+        return DELIMITER + "\n" + header + DELIMITER + "\n\n" + (record.content() != null ? record.content() : "");
+    }
+
+    private static int findClosingDelimiter(String source, int from) {
+        int lineStart = from;
+        while (lineStart < source.length()) {
+            int lineEnd = source.indexOf('\n', lineStart);
+            String line = (lineEnd < 0 ? source.substring(lineStart) : source.substring(lineStart, lineEnd)).strip();
+            if (DELIMITER.equals(line)) {
+                return lineStart;
+            }
+            if (lineEnd < 0) {
+                break;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return -1;
+    }
+
+    private static String fileStem(String fileName) {
+        String name = fileName.substring(fileName.lastIndexOf('/') + 1);
+        name = name.endsWith(".md") || name.endsWith(".MD") ? name.substring(0, name.length() - 3) : name;
+        // Jekyll文件名带有日期前缀，如2020-01-02-hello-world
+        return name.matches("\\d{4}-\\d{2}-\\d{2}-.+") ? name.substring(11) : name;
+    }
+
+    private static Object first(Map<String, Object> meta, String... keys) {
+        for (String key : keys) {
+            if (meta.get(key) != null) {
+                return meta.get(key);
+            }
+        }
+        return null;
+    }
+
+    private static void putIfPresent(Map<String, Object> meta, String key, Object value) {
+        if (value != null) {
+            meta.put(key, value);
+        }
+    }
+
+    private static String firstNonBlank(String value, String fallback) {
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+
+    private static String firstOf(List<String> values) {
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    private static String toText(Object value) {
+        return value == null ? null : String.valueOf(value).strip();
+    }
+
+    private static Boolean toBoolean(Object value) {
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        return value == null ? null : Boolean.parseBoolean(String.valueOf(value).strip());
+    }
+
+    private static Integer toInteger(Object value) {
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return value == null ? null : Integer.valueOf(String.valueOf(value).strip());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static List<String> toList(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.stream().filter(item -> item != null).map(item -> String.valueOf(item).strip())
+                .filter(item -> !item.isEmpty()).toList();
+        }
+        return Arrays.stream(String.valueOf(value).split(",")).map(String::strip).filter(item -> !item.isEmpty()).toList();
+    }
+
+    /**
+     * 解析时间，YAML时间戳按UTC解析，字符串支持ISO日期和日期时间
+     */
+    private static LocalDateTime toDateTime(Object value) {
+        if (value instanceof Date date) {
+            return LocalDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC);
+        }
+        if (value == null) {
+            return null;
+        }
+        String text = String.valueOf(value).strip().replace(' ', 'T');
+        try {
+            return text.length() <= 10 ? LocalDate.parse(text).atStartOfDay() : LocalDateTime.parse(text);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.myblog.service.bulk;
+
+/**
+ * 表格数据导出格式
+ */
+public enum RowFormat {
+
+    /** 带表头的CSV，UTF-8并带BOM，便于Excel直接打开 */
+    CSV("text/csv;charset=UTF-8", "csv"),
+
+    /** 每行一个JSON对象 */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    RowFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
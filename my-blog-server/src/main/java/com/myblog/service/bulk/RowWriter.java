@@ -0,0 +1,127 @@
+package com.myblog.service.bulk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 表格数据流式写出器
+ * 每行直接写入缓冲的输出流，不在内存中累积；关闭时只刷新缓冲，不关闭底层输出流
+ */
+public abstract class RowWriter<T> implements Closeable {
+
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    protected final List<ExportColumn<T>> columns;
+
+    protected RowWriter(List<ExportColumn<T>> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * 写出一行
+     */
+    public abstract void write(T row) throws IOException;
+
+    /**
+     * 按格式创建写出器，CSV会先写出BOM和表头
+     */
+    public static <T> RowWriter<T> open(RowFormat format, List<ExportColumn<T>> columns, OutputStream out,
+                                        ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvWriter<>(columns, out);
+            case NDJSON -> new NdjsonWriter<>(columns, out, objectMapper);
+        };
+    }
+
+    private static final class CsvWriter<T> extends RowWriter<T> {
+
+        private final Writer writer;
+
+        private CsvWriter(List<ExportColumn<T>> columns, OutputStream out) throws IOException {
+            super(columns);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            writer.write('\uFEFF');
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCell(columns.get(i).name());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(T row) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns.get(i).extractor().apply(row);
+                if (value != null) {
+                    writeCell(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        /**
+         * 按RFC 4180转义：包含逗号、引号或换行时加引号，引号加倍。
+         * 评论等内容来自访客，以=、+、-、@、制表符或回车开头的单元格加单引号前缀，避免在表格软件中被当作公式执行
+         */
+        private void writeCell(String raw) throws IOException {
+            String value = !raw.isEmpty() && "=+-@\t\r".indexOf(raw.charAt(0)) >= 0 ? "'" + raw : raw;
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static final class NdjsonWriter<T> extends RowWriter<T> {
+
+        private final JsonGenerator generator;
+
+        private NdjsonWriter(List<ExportColumn<T>> columns, OutputStream out, ObjectMapper objectMapper) throws IOException {
+            super(columns);
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // 根值之间默认以空格分隔，改为由每行末尾的换行分隔
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(T row) throws IOException {
+            generator.writeStartObject();
+            for (ExportColumn<T> column : columns) {
+                generator.writeFieldName(column.name());
+                generator.writeObject(column.extractor().apply(row));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,502 @@
+package com.myblog.service.draft;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myblog.dto.ArticleDTO;
+import com.myblog.dto.ArticleDraftDTO;
+import com.myblog.entity.ArticleDraft;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
+import com.myblog.repository.ArticleDraftRepository;
+import com.myblog.repository.ArticleRepository;
+import com.myblog.service.ArticleService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 文章草稿自动保存服务
+ * 编辑器的自动保存只合并到内存中的草稿并递增版本号，同一篇文章的连续保存在内存中合并，
+ * 停止编辑一段时间（或持续编辑超过最长延迟）后才把最新状态写入数据库，发布时写回文章。
+ * 写入内存前先追加到崩溃恢复日志，进程异常退出后启动时重放日志补写未落库的草稿。
+ */
+@Slf4j
+@Service
+public class ArticleDraftService {
+
+    private final ArticleDraftRepository draftRepository;
+    private final ArticleRepository articleRepository;
+    private final ArticleService articleService;
+    private final TransactionTemplate transactionTemplate;
+    private final DraftJournal journal;
+    private final long debounceMs;
+    private final long maxDelayMs;
+    private final long sweepMs;
+    private final long idleMs;
+    private final long journalCompactBytes;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Long, DraftState> drafts = new ConcurrentHashMap<>();
+    private final AtomicLong patches = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+
+    public ArticleDraftService(ArticleDraftRepository draftRepository,
+                               ArticleRepository articleRepository,
+                               ArticleService articleService,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${blog.draft.journal-dir:./draft-journal}") String journalDir,
+                               @Value("${blog.draft.journal-sync:true}") boolean journalSync,
+                               @Value("${blog.draft.debounce-ms:3000}") long debounceMs,
+                               @Value("${blog.draft.max-delay-ms:30000}") long maxDelayMs,
+                               @Value("${blog.draft.sweep-ms:1000}") long sweepMs,
+                               @Value("${blog.draft.idle-ms:600000}") long idleMs,
+                               @Value("${blog.draft.journal-compact-bytes:4194304}") long journalCompactBytes) {
+        this.draftRepository = draftRepository;
+        this.articleRepository = articleRepository;
+        this.articleService = articleService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journal = new DraftJournal(Path.of(journalDir), objectMapper, journalSync);
+        this.debounceMs = debounceMs;
+        this.maxDelayMs = Math.max(debounceMs, maxDelayMs);
+        this.sweepMs = Math.max(100, sweepMs);
+        this.idleMs = idleMs;
+        this.journalCompactBytes = journalCompactBytes;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("draft-flush").daemon().factory());
+    }
+
+    /**
+     * 重放上次未落库的草稿，然后启动定时刷新
+     */
+    @PostConstruct
+    public void init() {
+        recover();
+        scheduler.scheduleWithFixedDelay(this::sweepSafely, sweepMs, sweepMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 合并自动保存的补丁
+     * @param articleId 文章ID
+     * @param patch 只包含发生变化的字段，为空的字段保持不变
+     * @return 合并后的草稿版本号
+     */
+    public long patch(Long articleId, ArticleDraftDTO patch) {
+        DraftState state = acquire(articleId);
+        try {
+            long version = state.version + 1;
+            long now = System.currentTimeMillis();
+            if (!state.dirty) {
+                state.firstDirtyAt = now;
+            }
+            // 先标记待写入再追加日志，清空日志时据此判断是否还有未落库的记录
+            state.dirty = true;
+            // 先写日志再修改内存，日志写入失败时本次保存整体失败
+            journal.append(new DraftJournal.Entry(DraftJournal.Entry.PATCH, articleId, version,
+                patch.getTitle(), patch.getSummary(), patch.getContent(), patch.getCoverImage()));
+            state.version = version;
+            state.merge(patch.getTitle(), patch.getSummary(), patch.getContent(), patch.getCoverImage());
+            state.lastPatchAt = now;
+            state.lastAccessAt = now;
+            state.updatedAt = LocalDateTime.now();
+            patches.incrementAndGet();
+            return version;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * 获取文章当前的草稿，包含尚未写入数据库的修改
+     */
+    public ArticleDraftDTO getDraft(Long articleId) {
+        DraftState state = acquire(articleId);
+        try {
+            state.lastAccessAt = System.currentTimeMillis();
+            ArticleDraftDTO dto = new ArticleDraftDTO();
+            dto.setArticleId(articleId);
+            dto.setTitle(state.title);
+            dto.setSummary(state.summary);
+            dto.setContent(state.content);
+            dto.setCoverImage(state.coverImage);
+            dto.setVersion(state.version);
+            dto.setPending(state.dirty);
+            dto.setUpdatedAt(state.updatedAt);
+            return dto;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * 把草稿写回文章并清空草稿
+     * 草稿字段覆盖文章的对应字段后走常规的更新流程，渲染、修订记录和缓存失效与手动保存一致。
+     * @return 更新后的文章
+     */
+    public ArticleDTO publish(Long articleId) {
+        DraftState state = acquire(articleId);
+        try {
+            ArticleDTO article = articleService.getArticleById(articleId);
+            if (state.hasChanges()) {
+                if (state.title != null) {
+                    article.setTitle(state.title);
+                }
+                if (state.summary != null) {
+                    article.setSummary(state.summary);
+                }
+                if (state.content != null) {
+                    article.setContent(state.content);
+                }
+                if (state.coverImage != null) {
+                    article.setCoverImage(state.coverImage);
+                }
+                article = articleService.updateArticle(articleId, article);
+            }
+            clear(articleId, state);
+            return article;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * 文章删除后草稿随外键级联删除，同步丢弃内存中的状态
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getType() == ContentType.ARTICLE && event.getAction() == ChangeAction.DELETED && !event.isBulk()) {
+            DraftState state = drafts.get(event.getId());
+            if (state != null) {
+                evict(event.getId(), state);
+            }
+        }
+    }
+
+    /**
+     * 获取草稿统计
+     */
+    public Map<String, Object> getStats() {
+        long pending = drafts.values().stream().filter(state -> state.dirty).count();
+        long patchCount = patches.get();
+        long flushCount = flushes.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("patches", patchCount);
+        stats.put("flushes", flushCount);
+        // 被合并掉、没有单独写库的保存次数
+        stats.put("coalesced", Math.max(0, patchCount - flushCount));
+        stats.put("recovered", recovered.get());
+        stats.put("resident", drafts.size());
+        stats.put("pending", pending);
+        stats.put("journalBytes", journal.size());
+        stats.put("debounceMs", debounceMs);
+        stats.put("maxDelayMs", maxDelayMs);
+        return stats;
+    }
+
+    /**
+     * 停止时写入全部未落库的草稿
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Map.Entry<Long, DraftState> entry : drafts.entrySet()) {
+            try {
+                flush(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                log.error("停止时写入文章 {} 的草稿失败，将在下次启动时从日志恢复", entry.getKey(), e);
+            }
+        }
+        maintainJournal();
+        journal.close();
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.error("刷新文章草稿失败", e);
+        }
+    }
+
+    /**
+     * 写入到期的草稿，清理长时间未访问的草稿，再整理日志
+     */
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, DraftState> entry : drafts.entrySet()) {
+            DraftState state = entry.getValue();
+            if (state.dirty && (now - state.lastPatchAt >= debounceMs || now - state.firstDirtyAt >= maxDelayMs)) {
+                try {
+                    flush(entry.getKey(), state);
+                } catch (RuntimeException e) {
+                    log.warn("写入文章 {} 的草稿失败，稍后重试: {}", entry.getKey(), e.getMessage());
+                    // 文章已被删除（如批量删除）时丢弃草稿
+                    evict(entry.getKey(), state);
+                }
+            } else if (!state.dirty && now - state.lastAccessAt >= idleMs) {
+                evict(entry.getKey(), state);
+            }
+        }
+        maintainJournal();
+    }
+
+    /**
+     * 把草稿的最新状态写入数据库，写入期间有新的保存则保持待写入状态
+     */
+    private void flush(Long articleId, DraftState state) {
+        Snapshot snapshot;
+        state.lock.lock();
+        try {
+            if (!state.dirty) {
+                return;
+            }
+            snapshot = state.snapshot();
+        } finally {
+            state.lock.unlock();
+        }
+        write(articleId, snapshot);
+        state.lock.lock();
+        try {
+            if (state.version == snapshot.version()) {
+                state.dirty = false;
+            }
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    private void write(Long articleId, Snapshot snapshot) {
+        transactionTemplate.executeWithoutResult(status -> draftRepository.upsert(articleId, snapshot.title(),
+            snapshot.summary(), snapshot.content(), snapshot.coverImage(), snapshot.version(), snapshot.updatedAt()));
+        flushes.incrementAndGet();
+    }
+
+    /**
+     * 所有草稿均已落库时清空日志；否则在日志超过阈值时改写为未落库草稿的快照
+     */
+    private void maintainJournal() {
+        journal.truncateIf(() -> drafts.values().stream().noneMatch(state -> state.dirty));
+        if (journal.size() <= journalCompactBytes) {
+            return;
+        }
+        // 标记之前的记录都已反映在内存中（追加日志和修改内存在同一把草稿锁内完成），
+        // 标记之后的记录原样保留，重放时按版本号跳过已包含在快照中的部分
+        long mark = journal.size();
+        List<DraftJournal.Entry> snapshot = new ArrayList<>();
+        for (Map.Entry<Long, DraftState> entry : drafts.entrySet()) {
+            DraftState state = entry.getValue();
+            state.lock.lock();
+            try {
+                if (state.dirty) {
+                    Snapshot s = state.snapshot();
+                    snapshot.add(new DraftJournal.Entry(DraftJournal.Entry.CLEAR, entry.getKey(), s.version() - 1,
+                        null, null, null, null));
+                    snapshot.add(new DraftJournal.Entry(DraftJournal.Entry.PATCH, entry.getKey(), s.version(),
+                        s.title(), s.summary(), s.content(), s.coverImage()));
+                }
+            } finally {
+                state.lock.unlock();
+            }
+        }
+        journal.rewrite(snapshot, mark);
+    }
+
+    /**
+     * 发布后清空草稿，版本号继续递增，保证之后的保存和乱序写入不会覆盖
+     * 需持有草稿锁
+     */
+    private void clear(Long articleId, DraftState state) {
+        long version = state.version + 1;
+        if (!state.dirty) {
+            state.firstDirtyAt = System.currentTimeMillis();
+        }
+        state.dirty = true;
+        journal.append(new DraftJournal.Entry(DraftJournal.Entry.CLEAR, articleId, version, null, null, null, null));
+        state.version = version;
+        state.title = null;
+        state.summary = null;
+        state.content = null;
+        state.coverImage = null;
+        state.updatedAt = LocalDateTime.now();
+        write(articleId, state.snapshot());
+        state.dirty = false;
+    }
+
+    /**
+     * 重放日志中的记录：按文章分组、按版本号排序后依次合并，写入数据库后清空日志
+     */
+    private void recover() {
+        List<DraftJournal.Entry> entries = journal.readAll();
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<Long, List<DraftJournal.Entry>> byArticle = entries.stream()
+            .collect(Collectors.groupingBy(DraftJournal.Entry::articleId));
+        for (Map.Entry<Long, List<DraftJournal.Entry>> group : byArticle.entrySet()) {
+            Long articleId = group.getKey();
+            if (!articleRepository.existsById(articleId)) {
+                continue;
+            }
+            DraftState state = draftRepository.findById(articleId).map(DraftState::of).orElseGet(DraftState::new);
+            long persisted = state.version;
+            group.getValue().sort(Comparator.comparingLong(DraftJournal.Entry::version));
+            for (DraftJournal.Entry entry : group.getValue()) {
+                if (entry.version() <= state.version) {
+                    continue;
+                }
+                if (DraftJournal.Entry.CLEAR.equals(entry.op())) {
+                    state.title = null;
+                    state.summary = null;
+                    state.content = null;
+                    state.coverImage = null;
+                } else {
+                    state.merge(entry.title(), entry.summary(), entry.content(), entry.coverImage());
+                }
+                state.version = entry.version();
+            }
+            if (state.version > persisted) {
+                state.updatedAt = LocalDateTime.now();
+                write(articleId, state.snapshot());
+                recovered.incrementAndGet();
+            }
+        }
+        journal.rewrite(List.of(), journal.size());
+        log.info("已从草稿日志恢复 {} 篇文章的草稿", recovered.get());
+    }
+
+    /**
+     * 获取并锁定内存中的草稿，拿到锁时草稿已被清理则重新加载
+     */
+    private DraftState acquire(Long articleId) {
+        while (true) {
+            DraftState state = load(articleId);
+            state.lock.lock();
+            if (!state.evicted) {
+                return state;
+            }
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * 从内存中移除已落库的草稿，正在等待锁的保存会重新加载
+     */
+    private void evict(Long articleId, DraftState state) {
+        if (!state.lock.tryLock()) {
+            return;
+        }
+        try {
+            if (!state.dirty || !articleRepository.existsById(articleId)) {
+                state.evicted = true;
+                drafts.remove(articleId, state);
+            }
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * 获取内存中的草稿，首次访问时从数据库加载
+     */
+    private DraftState load(Long articleId) {
+        DraftState state = drafts.get(articleId);
+        if (state != null) {
+            return state;
+        }
+        // 数据库查询放在映射之外，避免在computeIfAbsent中阻塞同一分段的其他文章
+        DraftState loaded = draftRepository.findById(articleId).map(DraftState::of).orElseGet(() -> {
+            if (!articleRepository.existsById(articleId)) {
+                throw new RuntimeException("文章不存在");
+            }
+            return new DraftState();
+        });
+        loaded.lastAccessAt = System.currentTimeMillis();
+        DraftState existing = drafts.putIfAbsent(articleId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * 内存中的草稿状态，字段由自身的锁保护
+     */
+    private static final class DraftState {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private long version;
+        private String title;
+        private String summary;
+        private String content;
+        private String coverImage;
+        private LocalDateTime updatedAt;
+        /** 是否有尚未写入数据库的修改 */
+        private volatile boolean dirty;
+        private long firstDirtyAt;
+        private long lastPatchAt;
+        private volatile long lastAccessAt;
+        /** 已从内存中移除，持有旧引用的调用方需重新加载 */
+        private boolean evicted;
+
+        static DraftState of(ArticleDraft draft) {
+            DraftState state = new DraftState();
+            state.version = draft.getVersion();
+            state.title = draft.getTitle();
+            state.summary = draft.getSummary();
+            state.content = draft.getContent();
+            state.coverImage = draft.getCoverImage();
+            state.updatedAt = draft.getUpdatedAt();
+            return state;
+        }
+
+        void merge(String title, String summary, String content, String coverImage) {
+            if (title != null) {
+                this.title = title;
+            }
+            if (summary != null) {
+                this.summary = summary;
+            }
+            if (content != null) {
+                this.content = content;
+            }
+            if (coverImage != null) {
+                this.coverImage = coverImage;
+            }
+        }
+
+        boolean hasChanges() {
+            return title != null || summary != null || content != null || coverImage != null;
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(version, title, summary, content, coverImage, updatedAt);
+        }
+    }
+
+    private record Snapshot(long version, String title, String summary, String content, String coverImage,
+                            LocalDateTime updatedAt) {
+    }
+}
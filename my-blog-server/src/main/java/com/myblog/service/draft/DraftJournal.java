@@ -0,0 +1,199 @@
+package com.myblog.service.draft;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 草稿崩溃恢复日志
+ * 每次自动保存在写入内存前先追加一行NDJSON，进程异常退出后重启时重放尚未写入数据库的草稿。
+ * 所有草稿都已写入数据库时清空日志；仍有未写入的草稿但日志过大时，改写为每篇草稿一行快照。
+ */
+@Slf4j
+class DraftJournal implements AutoCloseable {
+
+    private static final String FILE_NAME = "drafts.journal";
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final boolean sync;
+    /** 追加和改写都会阻塞在磁盘IO上，使用显式锁避免虚拟线程在synchronized中固定载体线程 */
+    private final ReentrantLock lock = new ReentrantLock();
+    private FileChannel channel;
+
+    DraftJournal(Path dir, ObjectMapper objectMapper, boolean sync) {
+        this.file = dir.resolve(FILE_NAME);
+        this.objectMapper = objectMapper;
+        this.sync = sync;
+        try {
+            Files.createDirectories(dir);
+            this.channel = open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法打开草稿日志: " + file, e);
+        }
+    }
+
+    /**
+     * 读取日志中的全部记录，末尾因崩溃而不完整的行会被忽略
+     */
+    List<Entry> readAll() {
+        List<Entry> entries = new ArrayList<>();
+        lock.lock();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    entries.add(objectMapper.readValue(line, Entry.class));
+                } catch (JsonProcessingException e) {
+                    log.warn("忽略无法解析的草稿日志记录: {}", e.getOriginalMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取草稿日志失败", e);
+        } finally {
+            lock.unlock();
+        }
+        return entries;
+    }
+
+    void append(Entry entry) {
+        byte[] line = line(entry);
+        lock.lock();
+        try {
+            write(channel, line);
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入草稿日志失败", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 在日志锁内判断是否可以清空，清空与追加互斥，避免清掉刚追加的记录
+     * @param canTruncate 在锁内调用，返回true时清空
+     */
+    void truncateIf(BooleanSupplier canTruncate) {
+        lock.lock();
+        try {
+            if (channel.size() > 0 && canTruncate.getAsBoolean()) {
+                channel.truncate(0);
+                if (sync) {
+                    channel.force(true);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("清空草稿日志失败: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 用快照改写日志，先写临时文件再原子替换
+     * @param snapshot 替代mark之前全部记录的快照
+     * @param mark 生成快照前的日志长度，之后追加的记录原样保留
+     */
+    void rewrite(Collection<Entry> snapshot, long mark) {
+        lock.lock();
+        try {
+            Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Entry entry : snapshot) {
+                    write(out, line(entry));
+                }
+                long tail = channel.size() - mark;
+                if (tail > 0) {
+                    try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                        long copied = 0;
+                        while (copied < tail) {
+                            copied += in.transferTo(mark + copied, tail - copied, out);
+                        }
+                    }
+                }
+                out.force(true);
+            }
+            channel.close();
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("改写草稿日志失败", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long size() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("关闭草稿日志失败: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private byte[] line(Entry entry) {
+        try {
+            return (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void write(FileChannel target, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    /**
+     * 日志记录
+     *
+     * @param op patch为合并补丁，clear为草稿已发布或丢弃
+     * @param version 草稿版本号，重放时按版本号排序
+     */
+    record Entry(String op, long articleId, long version, String title, String summary, String content,
+                 String coverImage) {
+
+        static final String PATCH = "patch";
+        static final String CLEAR = "clear";
+    }
+}
@@ -0,0 +1,21 @@
+package com.myblog.service.export;
+
+import java.time.LocalDateTime;
+
+/**
+ * 静态导出构建报告
+ *
+ * @param mode 构建方式：full为全量，incremental为增量
+ * @param artifacts 本次渲染的产物数
+ * @param written 内容发生变化并写入磁盘的产物数
+ * @param unchanged 内容未变化而跳过写入的产物数
+ * @param deleted 删除的过期产物数
+ * @param failed 渲染或写入失败的产物数
+ * @param loadMillis 加载文章数据耗时
+ * @param renderMillis 并行渲染和写入耗时
+ * @param totalMillis 总耗时
+ * @param finishedAt 完成时间
+ */
+public record ExportReport(String mode, int artifacts, int written, int unchanged, int deleted, int failed,
+                           long loadMillis, long renderMillis, long totalMillis, LocalDateTime finishedAt) {
+}
@@ -0,0 +1,146 @@
+package com.myblog.service.export;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myblog.dto.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 静态导出产物写入器
+ * 以原子替换方式写文件，并在清单中记录每个产物的内容摘要，内容未变化的产物不重复写盘。
+ * JSON产物与对应接口的响应格式一致，摘要只按数据部分计算，不受响应时间戳影响。
+ */
+@Slf4j
+final class ExportWriter {
+
+    static final String MANIFEST = "manifest.json";
+
+    private final Path root;
+    private final ObjectMapper objectMapper;
+    private final Map<String, String> manifest = new ConcurrentHashMap<>();
+
+    ExportWriter(Path root, ObjectMapper objectMapper) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.objectMapper = objectMapper;
+        Files.createDirectories(this.root);
+        Path manifestFile = this.root.resolve(MANIFEST);
+        if (Files.exists(manifestFile)) {
+            try {
+                Map<String, Object> saved = objectMapper.readValue(manifestFile.toFile(), new TypeReference<>() {});
+                if (saved.get("artifacts") instanceof Map<?, ?> artifacts) {
+                    artifacts.forEach((path, hash) -> manifest.put(String.valueOf(path), String.valueOf(hash)));
+                }
+            } catch (IOException e) {
+                log.warn("静态导出清单读取失败，将重新生成全部产物: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 写入JSON产物，内容与上次相同时跳过
+     * @return 是否实际写入
+     */
+    boolean writeJson(String path, Object data) throws IOException {
+        String hash = digest(objectMapper.writeValueAsBytes(data));
+        if (isUnchanged(path, hash)) {
+            return false;
+        }
+        write(path, objectMapper.writeValueAsBytes(ApiResponse.success(data)));
+        manifest.put(path, hash);
+        return true;
+    }
+
+    /**
+     * 写入文本产物，内容与上次相同时跳过
+     * @return 是否实际写入
+     */
+    boolean writeText(String path, String text) throws IOException {
+        byte[] content = text.getBytes(StandardCharsets.UTF_8);
+        String hash = digest(content);
+        if (isUnchanged(path, hash)) {
+            return false;
+        }
+        write(path, content);
+        manifest.put(path, hash);
+        return true;
+    }
+
+    /**
+     * 删除产物
+     * @return 产物是否存在
+     */
+    boolean delete(String path) throws IOException {
+        boolean known = manifest.remove(path) != null;
+        return Files.deleteIfExists(resolve(path)) || known;
+    }
+
+    /**
+     * 当前清单中的全部产物路径
+     */
+    Set<String> paths() {
+        return Set.copyOf(manifest.keySet());
+    }
+
+    /**
+     * 保存清单
+     */
+    void saveManifest(ExportReport report) throws IOException {
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("generatedAt", LocalDateTime.now());
+        content.put("lastBuild", report);
+        content.put("artifacts", new TreeMap<>(manifest));
+        write(MANIFEST, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(content));
+    }
+
+    private boolean isUnchanged(String path, String hash) {
+        return hash.equals(manifest.get(path)) && Files.exists(resolve(path));
+    }
+
+    private void write(String path, byte[] content) throws IOException {
+        Path target = resolve(path);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".export-", ".tmp");
+        try {
+            Files.write(temp, content);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path resolve(String path) {
+        Path resolved = root.resolve(path).normalize();
+        if (!resolved.startsWith(root)) {
+            throw new IllegalArgumentException("非法的导出路径: " + path);
+        }
+        return resolved;
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
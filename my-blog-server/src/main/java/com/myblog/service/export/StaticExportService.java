@@ -0,0 +1,586 @@
+package com.myblog.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myblog.dto.ArticleDTO;
+import com.myblog.dto.CategoryDTO;
+import com.myblog.dto.PageResponse;
+import com.myblog.dto.TagDTO;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.service.ArticleService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 静态导出服务
+ * 将已发布文章、分类和标签索引、归档页预渲染为JSON（可选HTML）文件，供反向代理直接返回。
+ * 内存中维护已发布文章的摘要索引，文章变更时只重建受影响的文章页、分类页、标签页、归档页和索引页；
+ * 分类、标签变更及批量变更触发全量构建。渲染在可配置大小的线程池中并行执行。
+ *
+ * 产物目录结构：
+ * articles/{slug}.json、articles/{slug}.html、categories/index.json、categories/{slug}.json、
+ * tags/index.json、tags/{slug}.json、archives/index.json、archives/{yyyy}/{MM}.json、manifest.json
+ */
+@Slf4j
+@Service
+public class StaticExportService {
+
+    private static final int PAGE_SIZE = 200;
+    private static final int REPORT_HISTORY = 20;
+    private static final Comparator<ArticleDTO> NEWEST_FIRST = Comparator
+        .comparing(StaticExportService::publishTime, Comparator.nullsLast(Comparator.reverseOrder()))
+        .thenComparing(ArticleDTO::getId, Comparator.reverseOrder());
+
+    private final ArticleService articleService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Path outputDir;
+    private final boolean html;
+    private final long debounceMs;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService scheduler;
+    /** 构建期间会阻塞在数据库和磁盘IO上，使用显式锁避免虚拟线程在synchronized中固定载体线程 */
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    /** 已发布文章摘要（不含正文、HTML和目录），key为文章ID */
+    private final Map<Long, ArticleDTO> published = new ConcurrentHashMap<>();
+    private final Set<Long> pendingArticles = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean fullRebuildPending = new AtomicBoolean();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Deque<ExportReport> reports = new ArrayDeque<>();
+
+    private ExportWriter writer;
+    /** 摘要索引是否已由全量构建加载 */
+    private boolean indexLoaded;
+
+    public StaticExportService(ArticleService articleService,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${blog.export.enabled:false}") boolean enabled,
+                               @Value("${blog.export.output-dir:./static-export}") String outputDir,
+                               @Value("${blog.export.workers:4}") int workers,
+                               @Value("${blog.export.html:false}") boolean html,
+                               @Value("${blog.export.debounce-ms:1000}") long debounceMs) {
+        this.articleService = articleService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.outputDir = Path.of(outputDir);
+        this.html = html;
+        this.debounceMs = debounceMs;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "static-export-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("static-export-scheduler").daemon().factory());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            fullRebuildPending.set(true);
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * 文章变更提交后增量重建，分类、标签或批量变更时全量重建
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.getType()) {
+            case ARTICLE -> {
+                if (event.isBulk()) {
+                    fullRebuildPending.set(true);
+                } else {
+                    pendingArticles.add(event.getId());
+                }
+            }
+            case CATEGORY, TAG -> fullRebuildPending.set(true);
+            default -> {
+                return;
+            }
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * 全量构建所有产物，并删除不再需要的旧产物
+     * @return 构建报告
+     */
+    public ExportReport rebuildAll() {
+        buildLock.lock();
+        try {
+            return buildAll();
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    /**
+     * 增量构建指定文章影响的产物
+     * @param articleIds 发生变更的文章ID
+     * @return 构建报告
+     */
+    public ExportReport rebuildArticles(Set<Long> articleIds) {
+        buildLock.lock();
+        try {
+            return buildArticles(articleIds);
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private ExportReport buildAll() {
+        ensureInitialized();
+        long start = System.nanoTime();
+        Map<String, Callable<Outcome>> tasks = new LinkedHashMap<>();
+        Map<Long, ArticleDTO> summaries = new LinkedHashMap<>();
+
+        // 分页加载已发布文章详情，文章页直接使用已加载的HTML和目录渲染，无需逐篇再次查询
+        int page = 0;
+        PageResponse<ArticleDTO> result;
+        do {
+            PageRequest pageable = PageRequest.of(page++, PAGE_SIZE, Sort.by("id"));
+            result = readOnlyTransaction.execute(status -> articleService.getPublishedArticleDetails(pageable));
+            for (ArticleDTO article : result.getContent()) {
+                summaries.put(article.getId(), summarize(article));
+                addArticleTasks(tasks, article);
+            }
+        } while (!result.isLast());
+        long loaded = System.nanoTime();
+
+        published.clear();
+        published.putAll(summaries);
+        indexLoaded = true;
+        addIndexTasks(tasks, allCategorySlugs(), allTagSlugs(), allMonths());
+
+        Set<String> stale = new HashSet<>(writer.paths());
+        stale.removeAll(tasks.keySet());
+        stale.forEach(path -> tasks.put(path, () -> delete(path)));
+
+        return finish("full", tasks, start, loaded);
+    }
+
+    private ExportReport buildArticles(Set<Long> articleIds) {
+        ensureInitialized();
+        if (!indexLoaded) {
+            // 增量构建依赖完整的摘要索引，首次构建必须为全量
+            return buildAll();
+        }
+        long start = System.nanoTime();
+        Map<String, Callable<Outcome>> tasks = new LinkedHashMap<>();
+        Set<String> categorySlugs = new HashSet<>();
+        Set<String> tagSlugs = new HashSet<>();
+        Set<String> months = new HashSet<>();
+
+        for (Long id : articleIds) {
+            ArticleDTO before = published.get(id);
+            ArticleDTO after = loadPublished(id);
+            collectDependencies(before, categorySlugs, tagSlugs, months);
+            collectDependencies(after, categorySlugs, tagSlugs, months);
+
+            if (before != null && (after == null || !Objects.equals(before.getSlug(), after.getSlug()))) {
+                String slug = before.getSlug();
+                tasks.put(articlePath(slug, "json"), () -> delete(articlePath(slug, "json")));
+                if (html) {
+                    tasks.put(articlePath(slug, "html"), () -> delete(articlePath(slug, "html")));
+                }
+            }
+            if (after != null) {
+                published.put(id, summarize(after));
+                addArticleTasks(tasks, after);
+            } else {
+                published.remove(id);
+            }
+        }
+        long loaded = System.nanoTime();
+
+        addIndexTasks(tasks, categorySlugs, tagSlugs, months);
+        return finish("incremental", tasks, start, loaded);
+    }
+
+    /**
+     * 获取最近的构建报告
+     * @return 构建报告，最新的在前
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("outputDir", outputDir.toAbsolutePath().normalize().toString());
+        status.put("publishedArticles", published.size());
+        status.put("pendingArticles", pendingArticles.size());
+        synchronized (reports) {
+            status.put("reports", List.copyOf(reports));
+        }
+        return status;
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        try {
+            if (fullRebuildPending.getAndSet(false)) {
+                pendingArticles.clear();
+                rebuildAll();
+                return;
+            }
+            Set<Long> ids = new HashSet<>(pendingArticles);
+            pendingArticles.removeAll(ids);
+            if (!ids.isEmpty()) {
+                rebuildArticles(ids);
+            }
+        } catch (Exception e) {
+            log.error("静态导出构建失败", e);
+        }
+    }
+
+    private void ensureInitialized() {
+        if (writer != null) {
+            return;
+        }
+        try {
+            writer = new ExportWriter(outputDir, objectMapper);
+        } catch (IOException e) {
+            throw new RuntimeException("静态导出目录初始化失败: " + outputDir, e);
+        }
+    }
+
+    private ArticleDTO loadPublished(Long id) {
+        try {
+            ArticleDTO article = readOnlyTransaction.execute(status -> articleService.getArticleById(id));
+            return article != null && Boolean.TRUE.equals(article.getIsPublished()) ? article : null;
+        } catch (RuntimeException e) {
+            // 文章已删除
+            return null;
+        }
+    }
+
+    private void addArticleTasks(Map<String, Callable<Outcome>> tasks, ArticleDTO article) {
+        if (!isSafeSlug(article.getSlug())) {
+            log.warn("文章 {} 的slug不适合作为文件名，跳过静态导出: {}", article.getId(), article.getSlug());
+            return;
+        }
+        tasks.put(articlePath(article.getSlug(), "json"), () -> json(articlePath(article.getSlug(), "json"), article));
+        if (html) {
+            tasks.put(articlePath(article.getSlug(), "html"), () -> text(articlePath(article.getSlug(), "html"), renderHtml(article)));
+        }
+    }
+
+    private void addIndexTasks(Map<String, Callable<Outcome>> tasks,
+                               Set<String> categorySlugs, Set<String> tagSlugs, Set<String> months) {
+        List<ArticleDTO> articles = published.values().stream().sorted(NEWEST_FIRST).toList();
+
+        tasks.put("categories/index.json", () -> json("categories/index.json", categoryIndex(articles)));
+        tasks.put("tags/index.json", () -> json("tags/index.json", tagIndex(articles)));
+        tasks.put("archives/index.json", () -> json("archives/index.json", archiveIndex(articles)));
+
+        for (String slug : categorySlugs) {
+            if (!isSafeSlug(slug)) {
+                continue;
+            }
+            String path = "categories/" + slug + ".json";
+            List<ArticleDTO> matched = articles.stream()
+                .filter(article -> article.getCategory() != null && slug.equals(article.getCategory().getSlug()))
+                .toList();
+            tasks.put(path, () -> matched.isEmpty() ? delete(path)
+                : json(path, listing("category", matched.get(0).getCategory(), matched)));
+        }
+        for (String slug : tagSlugs) {
+            if (!isSafeSlug(slug)) {
+                continue;
+            }
+            String path = "tags/" + slug + ".json";
+            List<ArticleDTO> matched = articles.stream()
+                .filter(article -> findTag(article, slug) != null)
+                .toList();
+            tasks.put(path, () -> matched.isEmpty() ? delete(path)
+                : json(path, listing("tag", findTag(matched.get(0), slug), matched)));
+        }
+        for (String month : months) {
+            String path = "archives/" + month + ".json";
+            List<ArticleDTO> matched = articles.stream()
+                .filter(article -> month.equals(monthOf(article)))
+                .toList();
+            tasks.put(path, () -> matched.isEmpty() ? delete(path) : json(path, listing("month", month, matched)));
+        }
+    }
+
+    private ExportReport finish(String mode, Map<String, Callable<Outcome>> tasks, long start, long loaded) {
+        int written = 0;
+        int unchanged = 0;
+        int deleted = 0;
+        int failed = 0;
+        try {
+            List<Future<Outcome>> futures = workers.invokeAll(tasks.values());
+            for (Future<Outcome> future : futures) {
+                try {
+                    switch (future.get()) {
+                        case WRITTEN -> written++;
+                        case UNCHANGED -> unchanged++;
+                        case DELETED -> deleted++;
+                    }
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.warn("静态导出产物生成失败", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("静态导出构建被中断", e);
+        }
+        long end = System.nanoTime();
+        ExportReport report = new ExportReport(mode, tasks.size(), written, unchanged, deleted, failed,
+            TimeUnit.NANOSECONDS.toMillis(loaded - start), TimeUnit.NANOSECONDS.toMillis(end - loaded),
+            TimeUnit.NANOSECONDS.toMillis(end - start), LocalDateTime.now());
+        try {
+            writer.saveManifest(report);
+        } catch (IOException e) {
+            log.warn("静态导出清单保存失败", e);
+        }
+        synchronized (reports) {
+            reports.addFirst(report);
+            while (reports.size() > REPORT_HISTORY) {
+                reports.removeLast();
+            }
+        }
+        log.info("静态导出{}构建完成: {}", "full".equals(mode) ? "全量" : "增量", report);
+        return report;
+    }
+
+    private Outcome json(String path, Object data) throws IOException {
+        return writer.writeJson(path, data) ? Outcome.WRITTEN : Outcome.UNCHANGED;
+    }
+
+    private Outcome text(String path, String content) throws IOException {
+        return writer.writeText(path, content) ? Outcome.WRITTEN : Outcome.UNCHANGED;
+    }
+
+    private Outcome delete(String path) throws IOException {
+        return writer.delete(path) ? Outcome.DELETED : Outcome.UNCHANGED;
+    }
+
+    private List<Map<String, Object>> categoryIndex(List<ArticleDTO> articles) {
+        Map<String, CategoryDTO> categories = new TreeMap<>();
+        Map<String, Integer> counts = new TreeMap<>();
+        for (ArticleDTO article : articles) {
+            CategoryDTO category = article.getCategory();
+            if (category != null && isSafeSlug(category.getSlug())) {
+                categories.putIfAbsent(category.getSlug(), category);
+                counts.merge(category.getSlug(), 1, Integer::sum);
+            }
+        }
+        return categories.values().stream()
+            .map(category -> indexEntry(category.getName(), category.getSlug(), category.getColor(), counts.get(category.getSlug())))
+            .toList();
+    }
+
+    private List<Map<String, Object>> tagIndex(List<ArticleDTO> articles) {
+        Map<String, TagDTO> tags = new TreeMap<>();
+        Map<String, Integer> counts = new TreeMap<>();
+        for (ArticleDTO article : articles) {
+            if (article.getTags() == null) {
+                continue;
+            }
+            for (TagDTO tag : article.getTags()) {
+                if (isSafeSlug(tag.getSlug())) {
+                    tags.putIfAbsent(tag.getSlug(), tag);
+                    counts.merge(tag.getSlug(), 1, Integer::sum);
+                }
+            }
+        }
+        return tags.values().stream()
+            .map(tag -> indexEntry(tag.getName(), tag.getSlug(), tag.getColor(), counts.get(tag.getSlug())))
+            .toList();
+    }
+
+    private List<Map<String, Object>> archiveIndex(List<ArticleDTO> articles) {
+        Map<String, Integer> counts = new TreeMap<>(Comparator.reverseOrder());
+        articles.stream()
+            .map(StaticExportService::monthOf)
+            .filter(Objects::nonNull)
+            .forEach(month -> counts.merge(month, 1, Integer::sum));
+        return counts.entrySet().stream().map(entry -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("year", Integer.parseInt(entry.getKey().substring(0, 4)));
+            item.put("month", Integer.parseInt(entry.getKey().substring(5)));
+            item.put("articleCount", entry.getValue());
+            return item;
+        }).toList();
+    }
+
+    private Map<String, Object> indexEntry(String name, String slug, String color, Integer count) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("name", name);
+        item.put("slug", slug);
+        item.put("color", color);
+        item.put("articleCount", count);
+        return item;
+    }
+
+    private Map<String, Object> listing(String key, Object owner, List<ArticleDTO> articles) {
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put(key, owner);
+        content.put("articles", articles);
+        return content;
+    }
+
+    /**
+     * 生成文章静态页，正文使用经过白名单过滤的渲染结果；尚未渲染时按纯文本转义输出Markdown原文
+     */
+    private String renderHtml(ArticleDTO article) {
+        String title = HtmlUtils.htmlEscape(article.getTitle() == null ? "" : article.getTitle());
+        String summary = HtmlUtils.htmlEscape(article.getSummary() == null ? "" : article.getSummary());
+        String body = article.getContentHtml() != null ? article.getContentHtml()
+            : "<pre>" + HtmlUtils.htmlEscape(article.getContent() == null ? "" : article.getContent()) + "</pre>";
+        return """
+            <!DOCTYPE html>
+            <html lang="zh-CN">
+            <head>
+            <meta charset="UTF-8">
+            <meta name="viewport" content="width=device-width, initial-scale=1">
+            <title>%s</title>
+            <meta name="description" content="%s">
+            </head>
+            <body>
+            <article>
+            <h1>%s</h1>
+            %s
+            </article>
+            </body>
+            </html>
+            """.formatted(title, summary, title, body);
+    }
+
+    private void collectDependencies(ArticleDTO article, Set<String> categorySlugs, Set<String> tagSlugs, Set<String> months) {
+        if (article == null) {
+            return;
+        }
+        if (article.getCategory() != null && article.getCategory().getSlug() != null) {
+            categorySlugs.add(article.getCategory().getSlug());
+        }
+        if (article.getTags() != null) {
+            article.getTags().stream().map(TagDTO::getSlug).filter(Objects::nonNull).forEach(tagSlugs::add);
+        }
+        String month = monthOf(article);
+        if (month != null) {
+            months.add(month);
+        }
+    }
+
+    private Set<String> allCategorySlugs() {
+        Set<String> slugs = new HashSet<>();
+        published.values().forEach(article -> collectDependencies(article, slugs, new HashSet<>(), new HashSet<>()));
+        return slugs;
+    }
+
+    private Set<String> allTagSlugs() {
+        Set<String> slugs = new HashSet<>();
+        published.values().forEach(article -> collectDependencies(article, new HashSet<>(), slugs, new HashSet<>()));
+        return slugs;
+    }
+
+    private Set<String> allMonths() {
+        Set<String> months = new HashSet<>();
+        published.values().forEach(article -> collectDependencies(article, new HashSet<>(), new HashSet<>(), months));
+        return months;
+    }
+
+    private static TagDTO findTag(ArticleDTO article, String slug) {
+        if (article.getTags() == null) {
+            return null;
+        }
+        return article.getTags().stream().filter(tag -> slug.equals(tag.getSlug())).findFirst().orElse(null);
+    }
+
+    private static ArticleDTO summarize(ArticleDTO article) {
+        ArticleDTO summary = new ArticleDTO();
+        BeanUtils.copyProperties(article, summary, "content", "contentHtml", "toc");
+        return summary;
+    }
+
+    private static LocalDateTime publishTime(ArticleDTO article) {
+        return article.getPublishedAt() != null ? article.getPublishedAt() : article.getCreatedAt();
+    }
+
+    private static String monthOf(ArticleDTO article) {
+        LocalDateTime time = publishTime(article);
+        return time == null ? null : String.format("%04d/%02d", time.getYear(), time.getMonthValue());
+    }
+
+    private static String articlePath(String slug, String extension) {
+        return "articles/" + slug + "." + extension;
+    }
+
+    /**
+     * slug只允许字母、数字、连字符和下划线，避免路径穿越
+     */
+    private static boolean isSafeSlug(String slug) {
+        if (slug == null || slug.isEmpty()) {
+            return false;
+        }
+        return slug.codePoints().allMatch(c -> Character.isLetterOrDigit(c) || c == '-' || c == '_');
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * 单个产物的处理结果
+     */
+    private enum Outcome {
+        WRITTEN, UNCHANGED, DELETED
+    }
+}
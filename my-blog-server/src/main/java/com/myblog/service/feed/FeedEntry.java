@@ -0,0 +1,23 @@
+package com.myblog.service.feed;
+
+import java.time.LocalDateTime;
+
+/**
+ * 站点地图和订阅源中的一篇文章
+ *
+ * @param published 发布时间
+ * @param lastModified 最后更新时间，没有时取发布时间
+ */
+record FeedEntry(long id, String slug, String title, String summary, LocalDateTime published,
+                 LocalDateTime lastModified) {
+
+    /**
+     * 从流式查询的一行构建，列依次为id、slug、title、summary、publishedAt、updatedAt
+     */
+    static FeedEntry of(Object[] row) {
+        LocalDateTime published = (LocalDateTime) row[4];
+        LocalDateTime updated = (LocalDateTime) row[5];
+        return new FeedEntry((Long) row[0], (String) row[1], (String) row[2], (String) row[3], published,
+            updated != null ? updated : published);
+    }
+}
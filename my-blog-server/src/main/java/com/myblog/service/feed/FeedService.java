@@ -0,0 +1,319 @@
+package com.myblog.service.feed;
+
+import com.myblog.dto.ArticleDTO;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
+import com.myblog.repository.ArticleRepository;
+import com.myblog.service.SystemSettingService;
+import com.myblog.service.settings.SettingChangeListener;
+import com.myblog.service.settings.SettingsSnapshot;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * 站点地图和订阅源服务
+ * 按发布时间倒序流式读取已发布文章，一次遍历同时写出站点地图分页和RSS/Atom订阅源，生成的字节常驻内存。
+ * 只有变更涉及已发布文章（发布、取消发布、修改或删除已发布文章）时才在后台防抖重新生成，
+ * 内容未变化的文档保留原ETag和最后修改时间，爬虫和阅读器的条件请求可以直接返回304。
+ */
+@Slf4j
+@Service
+public class FeedService implements SettingChangeListener {
+
+    /** 影响订阅源频道信息的设置项 */
+    private static final Set<String> CHANNEL_SETTINGS = Set.of("site_title", "site_description", "site_author");
+    /** 协议规定单个站点地图文件最多50000个URL */
+    private static final int MAX_SITEMAP_URLS = 50_000;
+    /** 协议规定单个站点地图文件未压缩时不超过50MB，预留结束标签的空间 */
+    private static final int MAX_SITEMAP_BYTES = 50 * 1024 * 1024 - 4096;
+
+    private final ArticleRepository articleRepository;
+    private final SystemSettingService systemSettingService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final String siteUrl;
+    private final int feedSize;
+    private final int sitemapPageSize;
+    private final long debounceMs;
+
+    private final ScheduledExecutorService rebuildScheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("feed-rebuild").daemon().factory());
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicLong generations = new AtomicLong();
+    private final AtomicLong skippedEvents = new AtomicLong();
+
+    private volatile Feeds feeds;
+    private volatile long lastDurationMs;
+
+    public FeedService(ArticleRepository articleRepository,
+                       SystemSettingService systemSettingService,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${blog.feed.site-url:http://localhost:3000}") String siteUrl,
+                       @Value("${blog.feed.size:20}") int feedSize,
+                       @Value("${blog.feed.sitemap-page-size:50000}") int sitemapPageSize,
+                       @Value("${blog.feed.debounce-ms:2000}") long debounceMs) {
+        this.articleRepository = articleRepository;
+        this.systemSettingService = systemSettingService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.siteUrl = siteUrl.endsWith("/") ? siteUrl.substring(0, siteUrl.length() - 1) : siteUrl;
+        this.feedSize = Math.max(1, feedSize);
+        this.sitemapPageSize = Math.max(1, Math.min(sitemapPageSize, MAX_SITEMAP_URLS));
+        this.debounceMs = debounceMs;
+    }
+
+    /**
+     * 获取站点地图，文章数超过单页上限时为站点地图索引
+     */
+    public Document getSitemap() {
+        return current().sitemap();
+    }
+
+    /**
+     * 获取站点地图分页
+     * @param page 页码，从1开始
+     * @return 分页内容，页码超出范围时返回null
+     */
+    public Document getSitemapPage(int page) {
+        List<Document> pages = current().sitemapPages();
+        return page >= 1 && page <= pages.size() ? pages.get(page - 1) : null;
+    }
+
+    /**
+     * 获取RSS 2.0订阅源
+     */
+    public Document getRss() {
+        return current().rss();
+    }
+
+    /**
+     * 获取Atom订阅源
+     */
+    public Document getAtom() {
+        return current().atom();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild();
+    }
+
+    /**
+     * 文章变更提交后判断是否影响已发布文章，只修改草稿时不重新生成
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getType() != ContentType.ARTICLE) {
+            return;
+        }
+        Feeds current = feeds;
+        if (current == null || event.isBulk() || isPublished(event.getPayload()) || current.contains(event.getId())) {
+            requestRebuild();
+        } else {
+            skippedEvents.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onSettingsChanged(SettingsSnapshot previous, SettingsSnapshot current, Set<String> changedKeys) {
+        if (changedKeys.stream().anyMatch(CHANNEL_SETTINGS::contains)) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * 安排一次后台重新生成，防抖时间内的多次变更只生成一次
+     */
+    public void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuildScheduler.schedule(() -> {
+                rebuildPending.set(false);
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    log.error("站点地图和订阅源生成失败，继续使用旧内容", e);
+                }
+            }, debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 获取生成统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Feeds current = feeds;
+        stats.put("articles", current != null ? current.publishedIds().length : 0);
+        stats.put("sitemapPages", current != null ? current.sitemapPages().size() : 0);
+        stats.put("sitemapBytes", current != null
+            ? current.sitemapPages().stream().mapToLong(page -> page.body().length).sum() : 0);
+        stats.put("generations", generations.get());
+        stats.put("skippedEvents", skippedEvents.get());
+        stats.put("lastDurationMs", lastDurationMs);
+        stats.put("builtAt", current != null ? current.builtAt() : null);
+        return stats;
+    }
+
+    private Feeds current() {
+        Feeds current = feeds;
+        if (current == null) {
+            current = rebuild();
+        }
+        return current;
+    }
+
+    private Feeds rebuild() {
+        rebuildLock.lock();
+        try {
+            return doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Feeds doRebuild() {
+        long start = System.nanoTime();
+        List<byte[]> pages = new ArrayList<>();
+        List<LocalDateTime> pageModified = new ArrayList<>();
+        List<FeedEntry> latest = new ArrayList<>(feedSize);
+        LongStream.Builder ids = LongStream.builder();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = articleRepository.streamPublishedForFeed()) {
+                FeedWriter.SitemapPage page = new FeedWriter.SitemapPage();
+                page.url(siteUrl + "/", null);
+                Iterator<Object[]> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    FeedEntry entry = FeedEntry.of(iterator.next());
+                    if (page.urls() >= sitemapPageSize || page.bytes() >= MAX_SITEMAP_BYTES) {
+                        pageModified.add(page.lastModified());
+                        pages.add(page.finish());
+                        page = new FeedWriter.SitemapPage();
+                    }
+                    page.url(FeedWriter.articleUrl(siteUrl, entry.slug()), entry.lastModified());
+                    // 按发布时间倒序读取，前feedSize篇即为订阅源的最新文章
+                    if (latest.size() < feedSize) {
+                        latest.add(entry);
+                    }
+                    ids.add(entry.id());
+                }
+                pageModified.add(page.lastModified());
+                pages.add(page.finish());
+            }
+        });
+
+        Feeds previous = feeds;
+        List<Document> sitemapPages = new ArrayList<>(pages.size());
+        for (int i = 0; i < pages.size(); i++) {
+            Document before = previous != null && i < previous.sitemapPages().size() ? previous.sitemapPages().get(i) : null;
+            sitemapPages.add(Document.of(pages.get(i), before));
+        }
+        Document sitemap;
+        if (sitemapPages.size() == 1) {
+            sitemap = sitemapPages.get(0);
+        } else {
+            List<String> locations = new ArrayList<>(pages.size());
+            for (int i = 1; i <= pages.size(); i++) {
+                locations.add(siteUrl + "/sitemap-" + i + ".xml");
+            }
+            sitemap = Document.of(FeedWriter.sitemapIndex(locations, pageModified),
+                previous != null ? previous.sitemap() : null);
+        }
+
+        LocalDateTime updated = latest.stream().map(FeedEntry::lastModified).filter(Objects::nonNull)
+            .max(Comparator.naturalOrder()).orElse(null);
+        String title = systemSettingService.getSettingValue("site_title", "我的个人博客");
+        String description = systemSettingService.getSettingValue("site_description", title);
+        String author = systemSettingService.getSettingValue("site_author", title);
+        Document rss = Document.of(FeedWriter.rss(new FeedWriter.Channel(siteUrl, siteUrl + "/rss.xml", title,
+            description, author, updated), latest), previous != null ? previous.rss() : null);
+        Document atom = Document.of(FeedWriter.atom(new FeedWriter.Channel(siteUrl, siteUrl + "/atom.xml", title,
+            description, author, updated), latest), previous != null ? previous.atom() : null);
+
+        long[] publishedIds = ids.build().sorted().toArray();
+        Feeds rebuilt = new Feeds(sitemap, List.copyOf(sitemapPages), rss, atom, publishedIds, System.currentTimeMillis());
+        feeds = rebuilt;
+        generations.incrementAndGet();
+        lastDurationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.debug("站点地图和订阅源已生成：文章 {}，站点地图 {} 页，耗时 {} ms", publishedIds.length, pages.size(), lastDurationMs);
+        return rebuilt;
+    }
+
+    private static boolean isPublished(Object payload) {
+        return payload instanceof ArticleDTO article && Boolean.TRUE.equals(article.getIsPublished());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildScheduler.shutdownNow();
+    }
+
+    /**
+     * 一次生成的全部文档
+     * @param publishedIds 已发布文章ID，升序，用于判断变更是否涉及已发布文章
+     */
+    private record Feeds(Document sitemap, List<Document> sitemapPages, Document rss, Document atom,
+                         long[] publishedIds, long builtAt) {
+
+        boolean contains(Long id) {
+            return id != null && Arrays.binarySearch(publishedIds, id) >= 0;
+        }
+    }
+
+    /**
+     * 生成的XML文档
+     * @param body 文档内容
+     * @param etag 基于内容摘要的强ETag
+     * @param lastModified 内容最后一次变化的时间戳（毫秒）
+     */
+    public record Document(byte[] body, String etag, long lastModified) {
+
+        /**
+         * 内容与上次生成相同时沿用上次的文档，保持ETag和最后修改时间不变
+         */
+        static Document of(byte[] body, Document previous) {
+            if (previous != null && Arrays.equals(previous.body(), body)) {
+                return previous;
+            }
+            return new Document(body, "\"" + digest(body) + "\"", System.currentTimeMillis());
+        }
+
+        private static String digest(byte[] content) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+                return HexFormat.of().formatHex(hash, 0, 16);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
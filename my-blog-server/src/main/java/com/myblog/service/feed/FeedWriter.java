@@ -0,0 +1,271 @@
+package com.myblog.service.feed;
+
+import org.springframework.web.util.UriUtils;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 站点地图和订阅源的XML写出
+ * 使用StAX流式写出，站点地图分页逐条追加，不在内存中构建文档树。
+ */
+final class FeedWriter {
+
+    private static final XMLOutputFactory FACTORY = XMLOutputFactory.newFactory();
+    private static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+    private static final DateTimeFormatter RFC_1123 = DateTimeFormatter.RFC_1123_DATE_TIME.withLocale(Locale.ENGLISH);
+    /** Atom要求feed和entry必须有updated，缺少时间时使用固定值保证输出稳定 */
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private FeedWriter() {
+    }
+
+    /**
+     * 订阅源的频道信息
+     * @param siteUrl 站点地址，不以斜杠结尾
+     * @param selfUrl 订阅源自身的地址
+     * @param updated 频道更新时间，取所含文章的最晚更新时间
+     */
+    record Channel(String siteUrl, String selfUrl, String title, String description, String author,
+                   LocalDateTime updated) {
+    }
+
+    /**
+     * 单个站点地图分页，逐条追加URL
+     */
+    static final class SitemapPage {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final XMLStreamWriter xml;
+        private int urls;
+        private LocalDateTime lastModified;
+
+        SitemapPage() {
+            xml = open(out);
+            write(() -> {
+                xml.writeStartDocument("UTF-8", "1.0");
+                xml.writeStartElement("urlset");
+                xml.writeDefaultNamespace(SITEMAP_NS);
+            });
+        }
+
+        void url(String loc, LocalDateTime lastmod) {
+            write(() -> {
+                xml.writeStartElement("url");
+                element(xml, "loc", loc);
+                if (lastmod != null) {
+                    element(xml, "lastmod", w3c(lastmod));
+                }
+                xml.writeEndElement();
+                xml.flush();
+            });
+            urls++;
+            if (lastmod != null && (lastModified == null || lastmod.isAfter(lastModified))) {
+                lastModified = lastmod;
+            }
+        }
+
+        int urls() {
+            return urls;
+        }
+
+        int bytes() {
+            return out.size();
+        }
+
+        LocalDateTime lastModified() {
+            return lastModified;
+        }
+
+        byte[] finish() {
+            write(() -> {
+                xml.writeEndElement();
+                xml.writeEndDocument();
+                xml.close();
+            });
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * 写出站点地图索引
+     * @param locations 各分页的地址
+     * @param lastModified 各分页的最晚更新时间，与locations一一对应
+     */
+    static byte[] sitemapIndex(List<String> locations, List<LocalDateTime> lastModified) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XMLStreamWriter xml = open(out);
+        write(() -> {
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("sitemapindex");
+            xml.writeDefaultNamespace(SITEMAP_NS);
+            for (int i = 0; i < locations.size(); i++) {
+                xml.writeStartElement("sitemap");
+                element(xml, "loc", locations.get(i));
+                if (lastModified.get(i) != null) {
+                    element(xml, "lastmod", w3c(lastModified.get(i)));
+                }
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        });
+        return out.toByteArray();
+    }
+
+    /**
+     * 写出RSS 2.0订阅源
+     */
+    static byte[] rss(Channel channel, List<FeedEntry> entries) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XMLStreamWriter xml = open(out);
+        write(() -> {
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("rss");
+            xml.writeAttribute("version", "2.0");
+            xml.writeNamespace("atom", ATOM_NS);
+            xml.writeStartElement("channel");
+            element(xml, "title", channel.title());
+            element(xml, "link", channel.siteUrl() + "/");
+            element(xml, "description", channel.description());
+            element(xml, "language", "zh-CN");
+            if (channel.updated() != null) {
+                element(xml, "lastBuildDate", rfc1123(channel.updated()));
+            }
+            xml.writeEmptyElement("atom", "link", ATOM_NS);
+            xml.writeAttribute("href", channel.selfUrl());
+            xml.writeAttribute("rel", "self");
+            xml.writeAttribute("type", "application/rss+xml");
+            for (FeedEntry entry : entries) {
+                xml.writeStartElement("item");
+                element(xml, "title", entry.title());
+                element(xml, "link", articleUrl(channel.siteUrl(), entry.slug()));
+                xml.writeStartElement("guid");
+                xml.writeAttribute("isPermaLink", "false");
+                xml.writeCharacters(entryId(entry));
+                xml.writeEndElement();
+                if (entry.summary() != null && !entry.summary().isBlank()) {
+                    element(xml, "description", entry.summary());
+                }
+                if (entry.published() != null) {
+                    element(xml, "pubDate", rfc1123(entry.published()));
+                }
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        });
+        return out.toByteArray();
+    }
+
+    /**
+     * 写出Atom订阅源
+     */
+    static byte[] atom(Channel channel, List<FeedEntry> entries) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XMLStreamWriter xml = open(out);
+        write(() -> {
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("feed");
+            xml.writeDefaultNamespace(ATOM_NS);
+            element(xml, "title", channel.title());
+            element(xml, "subtitle", channel.description());
+            link(xml, channel.siteUrl() + "/", null);
+            link(xml, channel.selfUrl(), "self");
+            element(xml, "id", channel.siteUrl() + "/");
+            element(xml, "updated", w3c(channel.updated() != null ? channel.updated() : EPOCH));
+            xml.writeStartElement("author");
+            element(xml, "name", channel.author());
+            xml.writeEndElement();
+            for (FeedEntry entry : entries) {
+                xml.writeStartElement("entry");
+                element(xml, "title", entry.title());
+                link(xml, articleUrl(channel.siteUrl(), entry.slug()), null);
+                element(xml, "id", entryId(entry));
+                if (entry.published() != null) {
+                    element(xml, "published", w3c(entry.published()));
+                }
+                element(xml, "updated", w3c(entry.lastModified() != null ? entry.lastModified() : EPOCH));
+                if (entry.summary() != null && !entry.summary().isBlank()) {
+                    element(xml, "summary", entry.summary());
+                }
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        });
+        return out.toByteArray();
+    }
+
+    /**
+     * 文章页地址，slug按路径段编码
+     */
+    static String articleUrl(String siteUrl, String slug) {
+        return siteUrl + "/articles/" + UriUtils.encodePathSegment(slug, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 条目的稳定标识，修改slug后阅读器不会把文章当作新条目
+     */
+    private static String entryId(FeedEntry entry) {
+        return "urn:myblog:article:" + entry.id();
+    }
+
+    private static void link(XMLStreamWriter xml, String href, String rel) throws XMLStreamException {
+        xml.writeEmptyElement("link");
+        xml.writeAttribute("href", href);
+        if (rel != null) {
+            xml.writeAttribute("rel", rel);
+        }
+    }
+
+    private static void element(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text != null ? text : "");
+        xml.writeEndElement();
+    }
+
+    private static String w3c(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.SECONDS).atZone(ZoneId.systemDefault())
+            .format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    private static String rfc1123(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).format(RFC_1123);
+    }
+
+    private static XMLStreamWriter open(ByteArrayOutputStream out) {
+        try {
+            return FACTORY.createXMLStreamWriter(out, "UTF-8");
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void write(XmlAction action) {
+        try {
+            action.run();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("写出XML失败", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface XmlAction {
+        void run() throws XMLStreamException;
+    }
+}
@@ -1,25 +1,39 @@
 package com.myblog.service.impl;
 
 import com.myblog.dto.ArticleDTO;
+import com.myblog.dto.ArticleRevisionDTO;
 import com.myblog.dto.CategoryDTO;
 import com.myblog.dto.TagDTO;
 import com.myblog.dto.PageResponse;
 import com.myblog.entity.Article;
 import com.myblog.entity.Category;
 import com.myblog.entity.Tag;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
 import com.myblog.repository.ArticleRepository;
 import com.myblog.repository.CategoryRepository;
 import com.myblog.repository.TagRepository;
 import com.myblog.service.ArticleService;
+import com.myblog.service.CounterService;
+import com.myblog.service.CounterService.ArticleCounterState;
+import com.myblog.service.markdown.ContentRenderService;
+import com.myblog.service.revision.ArticleRevisionService;
+import com.myblog.service.slug.SlugService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -32,12 +46,20 @@ public class ArticleServiceImpl implements ArticleService {
     private final ArticleRepository articleRepository;
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
+    private final CounterService counterService;
+    private final ContentRenderService contentRenderService;
+    private final ArticleRevisionService revisionService;
+    private final SlugService slugService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public ArticleDTO createArticle(ArticleDTO articleDTO) {
         Article article = new Article();
-        BeanUtils.copyProperties(articleDTO, article);
+        // 渲染结果由服务端生成，不接受客户端提交；定时发布通过单独的接口设置
+        BeanUtils.copyProperties(articleDTO, article, "contentHtml", "wordCount", "readingMinutes", "scheduledAt");
+        slugService.claim(ContentType.ARTICLE, article.getSlug(), null);
+        contentRenderService.apply(article);
         
         // 设置分类
         if (articleDTO.getCategory() != null && articleDTO.getCategory().getId() != null) {
@@ -56,7 +78,11 @@ public class ArticleServiceImpl implements ArticleService {
         }
         
         article = articleRepository.save(article);
-        return convertToDTO(article);
+        revisionService.record(article, null, null);
+        counterService.applyArticleChange(ArticleCounterState.NONE, ArticleCounterState.of(article));
+        ArticleDTO result = convertToDetailDTO(article);
+        publishEvent(ChangeAction.CREATED, result.getId(), result);
+        return result;
     }
 
     @Override
@@ -65,7 +91,23 @@ public class ArticleServiceImpl implements ArticleService {
         Article article = articleRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("文章不存在"));
         
-        BeanUtils.copyProperties(articleDTO, article, "id", "createdAt");
+        ArticleCounterState before = ArticleCounterState.of(article);
+        String previousTitle = article.getTitle();
+        String previousContent = article.getContent();
+        String previousSlug = article.getSlug();
+        // 计数字段和渲染结果由服务端维护，不接受客户端覆盖；定时发布通过单独的接口设置
+        BeanUtils.copyProperties(articleDTO, article, "id", "createdAt", "viewCount", "likeCount", "commentCount",
+            "contentHtml", "wordCount", "readingMinutes", "scheduledAt");
+        if (Boolean.TRUE.equals(article.getIsPublished())) {
+            article.setScheduledAt(null);
+        }
+        if (!Objects.equals(article.getSlug(), previousSlug)) {
+            slugService.claim(ContentType.ARTICLE, article.getSlug(), id);
+        }
+        // 正文未变化时沿用已保存的渲染结果
+        if (contentRenderService.needsRender(article, previousContent)) {
+            contentRenderService.apply(article);
+        }
         
         // 设置分类
         if (articleDTO.getCategory() != null && articleDTO.getCategory().getId() != null) {
@@ -84,30 +126,42 @@ public class ArticleServiceImpl implements ArticleService {
         }
         
         article = articleRepository.save(article);
-        return convertToDTO(article);
+        revisionService.record(article, previousTitle, previousContent);
+        slugService.recordChange(ContentType.ARTICLE, id, previousSlug, article.getSlug());
+        counterService.applyArticleChange(before, ArticleCounterState.of(article));
+        ArticleDTO result = convertToDetailDTO(article);
+        publishEvent(ChangeAction.UPDATED, result.getId(), result);
+        return result;
     }
 
     @Override
     @Transactional
     public void deleteArticle(Long id) {
-        if (!articleRepository.existsById(id)) {
-            throw new RuntimeException("文章不存在");
-        }
-        articleRepository.deleteById(id);
+        Article article = articleRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("文章不存在"));
+        ArticleCounterState before = ArticleCounterState.of(article);
+        articleRepository.delete(article);
+        revisionService.deleteRevisions(id);
+        slugService.forget(ContentType.ARTICLE, id);
+        counterService.applyArticleChange(before, ArticleCounterState.NONE);
+        publishEvent(ChangeAction.DELETED, id, null);
     }
 
     @Override
     public ArticleDTO getArticleById(Long id) {
         Article article = articleRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("文章不存在"));
-        return convertToDTO(article);
+        return convertToDetailDTO(article);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ArticleDTO getArticleBySlug(String slug) {
-        Article article = articleRepository.findBySlug(slug)
+        // 已发布文章由别名索引解析后按主键查询，未发布的文章回退到按slug查询
+        Long id = slugService.resolve(ContentType.ARTICLE, slug);
+        Article article = (id != null ? articleRepository.findById(id) : articleRepository.findBySlug(slug))
             .orElseThrow(() -> new RuntimeException("文章不存在"));
-        return convertToDTO(article);
+        return convertToDetailDTO(article);
     }
 
     @Override
@@ -117,36 +171,65 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<ArticleDTO> getPublishedArticles(Pageable pageable) {
         Page<Article> page = articleRepository.findByIsPublishedTrue(pageable);
         return new PageResponse<>(page.map(this::convertToDTO));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public PageResponse<ArticleDTO> getPublishedArticleDetails(Pageable pageable) {
+        Page<Article> page = articleRepository.findByIsPublishedTrue(pageable);
+        return new PageResponse<>(page.map(this::convertToDetailDTO));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public PageResponse<ArticleDTO> getArticlesByCategory(Long categoryId, Pageable pageable) {
         Page<Article> page = articleRepository.findByCategoryIdAndIsPublishedTrue(categoryId, pageable);
         return new PageResponse<>(page.map(this::convertToDTO));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<ArticleDTO> getArticlesByTag(Long tagId, Pageable pageable) {
         Page<Article> page = articleRepository.findByTagIdAndIsPublishedTrue(tagId, pageable);
         return new PageResponse<>(page.map(this::convertToDTO));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<ArticleDTO> searchArticles(String keyword, Pageable pageable) {
         Page<Article> page = articleRepository.searchArticles(keyword, pageable);
         return new PageResponse<>(page.map(this::convertToDTO));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ArticleDTO> getPinnedArticles() {
         List<Article> articles = articleRepository.findByIsPinnedTrueAndIsPublishedTrueOrderByCreatedAtDesc();
         return articles.stream().map(this::convertToDTO).toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<ArticleDTO> getPublishedArticlesByIds(List<Long> ids) {
+        Map<Long, Article> articles = new HashMap<>();
+        articleRepository.findAllById(ids).forEach(article -> articles.put(article.getId(), article));
+        return ids.stream()
+            .map(articles::get)
+            .filter(article -> article != null && Boolean.TRUE.equals(article.getIsPublished()))
+            .map(article -> {
+                ArticleDTO dto = convertToDTO(article);
+                dto.setContent(null);
+                return dto;
+            })
+            .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public PageResponse<ArticleDTO> getPopularArticles(Pageable pageable) {
         Page<Article> page = articleRepository.findByIsPublishedTrueOrderByViewCountDesc(pageable);
         return new PageResponse<>(page.map(this::convertToDTO));
@@ -155,40 +238,84 @@ public class ArticleServiceImpl implements ArticleService {
     @Override
     @Transactional
     public void incrementViewCount(Long id) {
+        if (articleRepository.incrementViewCount(id) == 0) {
+            throw new RuntimeException("文章不存在");
+        }
+    }
+
+    @Override
+    @Transactional
+    public void incrementLikeCount(Long id) {
+        if (articleRepository.incrementLikeCount(id) == 0) {
+            throw new RuntimeException("文章不存在");
+        }
+    }
+
+    @Override
+    @Transactional
+    public ArticleDTO publishArticle(Long id) {
         Article article = articleRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("文章不存在"));
-        article.setViewCount(article.getViewCount() + 1);
-        articleRepository.save(article);
+        return publish(article, LocalDateTime.now());
     }
 
     @Override
     @Transactional
-    public void incrementLikeCount(Long id) {
+    public ArticleDTO unpublishArticle(Long id) {
         Article article = articleRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("文章不存在"));
-        article.setLikeCount(article.getLikeCount() + 1);
-        articleRepository.save(article);
+        ArticleCounterState before = ArticleCounterState.of(article);
+        article.setIsPublished(false);
+        // 取消发布不恢复已执行的定时计划
+        article.setScheduledAt(null);
+        article = articleRepository.save(article);
+        counterService.applyArticleChange(before, ArticleCounterState.of(article));
+        ArticleDTO result = convertToDTO(article);
+        publishEvent(ChangeAction.UNPUBLISHED, result.getId(), result);
+        return result;
     }
 
     @Override
     @Transactional
-    public ArticleDTO publishArticle(Long id) {
+    public ArticleDTO scheduleArticle(Long id, LocalDateTime scheduledAt) {
         Article article = articleRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("文章不存在"));
-        article.setIsPublished(true);
-        article.setPublishedAt(LocalDateTime.now());
+        if (Boolean.TRUE.equals(article.getIsPublished())) {
+            throw new RuntimeException("文章已发布");
+        }
+        if (scheduledAt == null || !scheduledAt.isAfter(LocalDateTime.now())) {
+            throw new RuntimeException("定时发布时间必须晚于当前时间");
+        }
+        // 与数据库DATETIME精度一致，到期时按该值核对计划是否仍然有效
+        article.setScheduledAt(scheduledAt.truncatedTo(ChronoUnit.SECONDS));
         article = articleRepository.save(article);
-        return convertToDTO(article);
+        ArticleDTO result = convertToDTO(article);
+        publishEvent(ChangeAction.UPDATED, result.getId(), result);
+        return result;
     }
 
     @Override
     @Transactional
-    public ArticleDTO unpublishArticle(Long id) {
+    public ArticleDTO cancelSchedule(Long id) {
         Article article = articleRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("文章不存在"));
-        article.setIsPublished(false);
+        article.setScheduledAt(null);
         article = articleRepository.save(article);
-        return convertToDTO(article);
+        ArticleDTO result = convertToDTO(article);
+        publishEvent(ChangeAction.UPDATED, result.getId(), result);
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public ArticleDTO publishScheduledArticle(Long id, LocalDateTime scheduledAt) {
+        Article article = articleRepository.findById(id).orElse(null);
+        if (article == null || Boolean.TRUE.equals(article.getIsPublished())
+                || !scheduledAt.equals(article.getScheduledAt())) {
+            return null;
+        }
+        // 发布时间记为计划时间，停机期间错过的计划补发后仍按计划时间排序
+        return publish(article, scheduledAt);
     }
 
     @Override
@@ -198,7 +325,9 @@ public class ArticleServiceImpl implements ArticleService {
             .orElseThrow(() -> new RuntimeException("文章不存在"));
         article.setIsPinned(true);
         article = articleRepository.save(article);
-        return convertToDTO(article);
+        ArticleDTO result = convertToDTO(article);
+        publishEvent(ChangeAction.UPDATED, result.getId(), result);
+        return result;
     }
 
     @Override
@@ -208,12 +337,56 @@ public class ArticleServiceImpl implements ArticleService {
             .orElseThrow(() -> new RuntimeException("文章不存在"));
         article.setIsPinned(false);
         article = articleRepository.save(article);
-        return convertToDTO(article);
+        ArticleDTO result = convertToDTO(article);
+        publishEvent(ChangeAction.UPDATED, result.getId(), result);
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public ArticleDTO restoreRevision(Long id, int revision) {
+        ArticleRevisionDTO target = revisionService.getRevision(id, revision);
+        ArticleDTO articleDTO = getArticleById(id);
+        articleDTO.setTitle(target.getTitle());
+        articleDTO.setContent(target.getContent());
+        return updateArticle(id, articleDTO);
+    }
+
+    /**
+     * 发布文章并清空定时发布计划，手动发布和定时发布共用
+     */
+    private ArticleDTO publish(Article article, LocalDateTime publishedAt) {
+        ArticleCounterState before = ArticleCounterState.of(article);
+        article.setIsPublished(true);
+        article.setPublishedAt(publishedAt);
+        article.setScheduledAt(null);
+        article = articleRepository.save(article);
+        counterService.applyArticleChange(before, ArticleCounterState.of(article));
+        ArticleDTO result = convertToDTO(article);
+        publishEvent(ChangeAction.PUBLISHED, result.getId(), result);
+        return result;
+    }
+
+    private void publishEvent(ChangeAction action, Long id, ArticleDTO article) {
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.ARTICLE, action, id, id, article));
+    }
+
+    /**
+     * 转换为详情DTO，额外包含渲染后的HTML和目录
+     */
+    private ArticleDTO convertToDetailDTO(Article article) {
+        ArticleDTO dto = convertToDTO(article);
+        dto.setContentHtml(article.getContentHtml());
+        dto.setToc(contentRenderService.readToc(article.getTocJson()));
+        return dto;
     }
 
+    /**
+     * 转换为列表DTO，不含渲染后的HTML和目录
+     */
     private ArticleDTO convertToDTO(Article article) {
         ArticleDTO dto = new ArticleDTO();
-        BeanUtils.copyProperties(article, dto);
+        BeanUtils.copyProperties(article, dto, "contentHtml");
         
         // 转换分类
         if (article.getCategory() != null) {
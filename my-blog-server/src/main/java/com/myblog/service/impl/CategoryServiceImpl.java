@@ -3,16 +3,22 @@ package com.myblog.service.impl;
 import com.myblog.dto.CategoryDTO;
 import com.myblog.dto.PageResponse;
 import com.myblog.entity.Category;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
 import com.myblog.repository.CategoryRepository;
 import com.myblog.service.CategoryService;
+import com.myblog.service.slug.SlugService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * 分类服务实现类
@@ -22,14 +28,19 @@ import java.util.List;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlugService slugService;
 
     @Override
     @Transactional
     public CategoryDTO createCategory(CategoryDTO categoryDTO) {
         Category category = new Category();
-        BeanUtils.copyProperties(categoryDTO, category);
+        BeanUtils.copyProperties(categoryDTO, category, "articleCount");
+        slugService.claim(ContentType.CATEGORY, category.getSlug(), null);
         category = categoryRepository.save(category);
-        return convertToDTO(category);
+        CategoryDTO result = convertToDTO(category);
+        publishEvent(ChangeAction.CREATED, result.getId(), result);
+        return result;
     }
 
     @Override
@@ -38,9 +49,17 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = categoryRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("分类不存在"));
         
-        BeanUtils.copyProperties(categoryDTO, category, "id", "createdAt");
+        String previousSlug = category.getSlug();
+        // 文章数由计数服务维护，不接受客户端覆盖
+        BeanUtils.copyProperties(categoryDTO, category, "id", "createdAt", "articleCount");
+        if (!Objects.equals(category.getSlug(), previousSlug)) {
+            slugService.claim(ContentType.CATEGORY, category.getSlug(), id);
+        }
         category = categoryRepository.save(category);
-        return convertToDTO(category);
+        slugService.recordChange(ContentType.CATEGORY, id, previousSlug, category.getSlug());
+        CategoryDTO result = convertToDTO(category);
+        publishEvent(ChangeAction.UPDATED, result.getId(), result);
+        return result;
     }
 
     @Override
@@ -50,6 +69,8 @@ public class CategoryServiceImpl implements CategoryService {
             throw new RuntimeException("分类不存在");
         }
         categoryRepository.deleteById(id);
+        slugService.forget(ContentType.CATEGORY, id);
+        publishEvent(ChangeAction.DELETED, id, null);
     }
 
     @Override
@@ -60,8 +81,10 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CategoryDTO getCategoryBySlug(String slug) {
-        Category category = categoryRepository.findBySlug(slug)
+        Long id = slugService.resolve(ContentType.CATEGORY, slug);
+        Category category = (id != null ? categoryRepository.findById(id) : categoryRepository.findBySlug(slug))
             .orElseThrow(() -> new RuntimeException("分类不存在"));
         return convertToDTO(category);
     }
@@ -73,17 +96,23 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CategoryDTO> getAllCategories() {
         List<Category> categories = categoryRepository.findAll();
         return categories.stream().map(this::convertToDTO).toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CategoryDTO> getCategoriesWithArticles() {
         List<Category> categories = categoryRepository.findCategoriesWithArticles();
         return categories.stream().map(this::convertToDTO).toList();
     }
 
+    private void publishEvent(ChangeAction action, Long id, CategoryDTO category) {
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentType.CATEGORY, action, id, category));
+    }
+
     private CategoryDTO convertToDTO(Category category) {
         CategoryDTO dto = new CategoryDTO();
         BeanUtils.copyProperties(category, dto);
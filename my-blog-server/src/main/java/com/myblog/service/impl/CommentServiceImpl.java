@@ -1,19 +1,36 @@
 package com.myblog.service.impl;
 
+import com.myblog.config.CacheConfig;
+import com.myblog.dto.BatchModerationRequest;
 import com.myblog.dto.CommentDTO;
 import com.myblog.dto.PageResponse;
 import com.myblog.entity.Comment;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
 import com.myblog.repository.CommentRepository;
 import com.myblog.service.CommentService;
+import com.myblog.service.CounterService;
+import com.myblog.util.BatchUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 评论服务实现类
@@ -23,6 +40,9 @@ import java.util.stream.Collectors;
 public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
+    private final CounterService counterService;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -30,7 +50,13 @@ public class CommentServiceImpl implements CommentService {
         Comment comment = new Comment();
         BeanUtils.copyProperties(commentDTO, comment);
         comment = commentRepository.save(comment);
-        return convertToDTO(comment);
+        if (Boolean.TRUE.equals(comment.getIsApproved())) {
+            counterService.adjustCommentCount(comment.getArticleId(), 1);
+        }
+        evictCommentTree(comment.getArticleId());
+        CommentDTO result = convertToDTO(comment);
+        publishEvent(ChangeAction.CREATED, result);
+        return result;
     }
 
     @Override
@@ -39,18 +65,35 @@ public class CommentServiceImpl implements CommentService {
         Comment comment = commentRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("评论不存在"));
         
+        Long oldArticleId = comment.getArticleId();
+        boolean wasApproved = Boolean.TRUE.equals(comment.getIsApproved());
         BeanUtils.copyProperties(commentDTO, comment, "id", "createdAt");
         comment = commentRepository.save(comment);
-        return convertToDTO(comment);
+        if (wasApproved) {
+            counterService.adjustCommentCount(oldArticleId, -1);
+        }
+        if (Boolean.TRUE.equals(comment.getIsApproved())) {
+            counterService.adjustCommentCount(comment.getArticleId(), 1);
+        }
+        evictCommentTree(oldArticleId);
+        evictCommentTree(comment.getArticleId());
+        CommentDTO result = convertToDTO(comment);
+        publishEvent(ChangeAction.UPDATED, result);
+        return result;
     }
 
     @Override
     @Transactional
     public void deleteComment(Long id) {
-        if (!commentRepository.existsById(id)) {
-            throw new RuntimeException("评论不存在");
-        }
-        commentRepository.deleteById(id);
+        Comment comment = commentRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("评论不存在"));
+        commentRepository.delete(comment);
+        // 子回复由外键级联删除，直接按实际数据重新统计
+        commentRepository.flush();
+        counterService.recountCommentCounts(List.of(comment.getArticleId()));
+        evictCommentTree(comment.getArticleId());
+        eventPublisher.publishEvent(new ContentChangedEvent(
+            ContentType.COMMENT, ChangeAction.DELETED, id, comment.getArticleId(), null));
     }
 
     @Override
@@ -68,7 +111,13 @@ public class CommentServiceImpl implements CommentService {
 
     @Override
     public PageResponse<CommentDTO> getPendingComments(Pageable pageable) {
-        Page<Comment> page = commentRepository.findByIsApprovedFalseOrderByCreatedAtDesc(pageable);
+        Page<Comment> page = commentRepository.findByIsSpamFalseAndIsApprovedFalseOrderByCreatedAtDesc(pageable);
+        return new PageResponse<>(page.map(this::convertToDTO));
+    }
+
+    @Override
+    public PageResponse<CommentDTO> getSpamComments(Pageable pageable) {
+        Page<Comment> page = commentRepository.findByIsSpamTrueAndIsApprovedFalseOrderByCreatedAtDesc(pageable);
         return new PageResponse<>(page.map(this::convertToDTO));
     }
 
@@ -77,9 +126,17 @@ public class CommentServiceImpl implements CommentService {
     public CommentDTO approveComment(Long id) {
         Comment comment = commentRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("评论不存在"));
+        boolean wasApproved = Boolean.TRUE.equals(comment.getIsApproved());
         comment.setIsApproved(true);
+        comment.setIsSpam(false);
         comment = commentRepository.save(comment);
-        return convertToDTO(comment);
+        if (!wasApproved) {
+            counterService.adjustCommentCount(comment.getArticleId(), 1);
+        }
+        evictCommentTree(comment.getArticleId());
+        CommentDTO result = convertToDTO(comment);
+        publishEvent(ChangeAction.APPROVED, result);
+        return result;
     }
 
     @Override
@@ -87,9 +144,16 @@ public class CommentServiceImpl implements CommentService {
     public CommentDTO rejectComment(Long id) {
         Comment comment = commentRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("评论不存在"));
+        boolean wasApproved = Boolean.TRUE.equals(comment.getIsApproved());
         comment.setIsApproved(false);
         comment = commentRepository.save(comment);
-        return convertToDTO(comment);
+        if (wasApproved) {
+            counterService.adjustCommentCount(comment.getArticleId(), -1);
+        }
+        evictCommentTree(comment.getArticleId());
+        CommentDTO result = convertToDTO(comment);
+        publishEvent(ChangeAction.REJECTED, result);
+        return result;
     }
 
     @Override
@@ -102,11 +166,193 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CommentDTO> getCommentReplies(Long parentId) {
         List<Comment> replies = commentRepository.findByParentIdOrderByCreatedAtAsc(parentId);
         return replies.stream().map(this::convertToDTO).toList();
     }
 
+    @Override
+    public List<CommentDTO> getCommentTree(Long articleId, Integer maxDepth, Integer maxChildren) {
+        Cache cache = cacheManager.getCache(CacheConfig.COMMENT_TREE_CACHE);
+        List<CommentDTO> tree = cache != null
+            ? cache.get(articleId, () -> buildCommentTree(articleId))
+            : buildCommentTree(articleId);
+        if (maxDepth == null && maxChildren == null) {
+            return tree;
+        }
+        // 缓存中的完整评论树是共享对象，裁剪时复制节点而不修改原树
+        return pruneCommentTree(tree, 1, maxDepth, maxChildren);
+    }
+
+    @Override
+    @Transactional
+    public int approveComments(Collection<Long> ids) {
+        return updateApproval(ids, true);
+    }
+
+    @Override
+    @Transactional
+    public int rejectComments(Collection<Long> ids) {
+        return updateApproval(ids, false);
+    }
+
+    /**
+     * 垃圾评论本就未审核、不对外展示，标记后评论数和评论树都不变，因此不清除缓存也不发布事件
+     */
+    @Override
+    @Transactional
+    public int markCommentsSpam(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int marked = 0;
+        for (List<Long> chunk : BatchUtils.partition(Set.copyOf(ids), BatchUtils.DEFAULT_CHUNK_SIZE)) {
+            marked += commentRepository.markSpamByIdIn(chunk, now);
+        }
+        return marked;
+    }
+
+    @Override
+    @Transactional
+    public int deleteComments(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> articleIds = findArticleIds(ids);
+        int deleted = 0;
+        for (List<Long> chunk : BatchUtils.partition(Set.copyOf(ids), BatchUtils.DEFAULT_CHUNK_SIZE)) {
+            deleted += commentRepository.deleteByIdIn(chunk);
+        }
+        afterBulkChange(articleIds, ChangeAction.DELETED);
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public int batchModerateComments(BatchModerationRequest.Action action, BatchModerationRequest request) {
+        List<Long> ids;
+        if (request.hasIds()) {
+            ids = request.getIds();
+        } else if (request.hasFilter()) {
+            ids = commentRepository.findIdsByFilter(request.getArticleId(), request.getIpAddress(),
+                request.getEmail(), request.getKeyword(), request.getIsApproved(),
+                request.getCreatedAfter(), request.getCreatedBefore());
+        } else {
+            throw new RuntimeException("请提供评论ID列表或筛选条件");
+        }
+        return switch (action) {
+            case APPROVE -> approveComments(ids);
+            case REJECT -> rejectComments(ids);
+            case DELETE -> deleteComments(ids);
+        };
+    }
+
+    private int updateApproval(Collection<Long> ids, boolean approved) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> articleIds = findArticleIds(ids);
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (List<Long> chunk : BatchUtils.partition(Set.copyOf(ids), BatchUtils.DEFAULT_CHUNK_SIZE)) {
+            updated += commentRepository.updateApprovalByIdIn(chunk, approved, now);
+        }
+        afterBulkChange(articleIds, approved ? ChangeAction.APPROVED : ChangeAction.REJECTED);
+        return updated;
+    }
+
+    private List<Long> findArticleIds(Collection<Long> ids) {
+        List<Long> articleIds = new ArrayList<>();
+        for (List<Long> chunk : BatchUtils.partition(Set.copyOf(ids), BatchUtils.DEFAULT_CHUNK_SIZE)) {
+            articleIds.addAll(commentRepository.findArticleIdsByIdIn(chunk));
+        }
+        return articleIds.stream().distinct().toList();
+    }
+
+    /**
+     * 批量变更后按文章重新统计评论数、清除评论树缓存并发布事件
+     */
+    private void afterBulkChange(List<Long> articleIds, ChangeAction action) {
+        counterService.recountCommentCounts(articleIds);
+        for (Long articleId : articleIds) {
+            evictCommentTree(articleId);
+            eventPublisher.publishEvent(new ContentChangedEvent(ContentType.COMMENT, action, null, articleId, null));
+        }
+    }
+
+    private void publishEvent(ChangeAction action, CommentDTO comment) {
+        eventPublisher.publishEvent(new ContentChangedEvent(
+            ContentType.COMMENT, action, comment.getId(), comment.getArticleId(), comment));
+    }
+
+    /**
+     * 一次查询取出文章的全部已审核评论，并在内存中按parentId组装评论树。
+     * 评论树匿名可读且会进入共享缓存，节点只保留公开字段
+     */
+    private List<CommentDTO> buildCommentTree(Long articleId) {
+        List<Comment> comments = commentRepository.findByArticleIdAndIsApprovedTrueOrderByCreatedAtAsc(articleId);
+        Map<Long, CommentDTO> nodes = new HashMap<>(comments.size() * 2);
+        for (Comment comment : comments) {
+            CommentDTO dto = CommentDTO.publicView(convertToDTO(comment));
+            dto.setReplies(new ArrayList<>());
+            nodes.put(dto.getId(), dto);
+        }
+
+        List<CommentDTO> roots = new ArrayList<>();
+        for (Comment comment : comments) {
+            CommentDTO dto = nodes.get(comment.getId());
+            if (comment.getParentId() == null) {
+                roots.add(dto);
+                continue;
+            }
+            // 父评论未审核或已删除时，整条回复链不对外展示
+            CommentDTO parent = nodes.get(comment.getParentId());
+            if (parent != null) {
+                parent.getReplies().add(dto);
+            }
+        }
+        nodes.values().forEach(dto -> dto.setReplyCount(dto.getReplies().size()));
+        return List.copyOf(roots);
+    }
+
+    private List<CommentDTO> pruneCommentTree(List<CommentDTO> nodes, int depth, Integer maxDepth, Integer maxChildren) {
+        int limit = maxChildren != null && depth > 1 ? Math.max(0, Math.min(maxChildren, nodes.size())) : nodes.size();
+        List<CommentDTO> result = new ArrayList<>(limit);
+        for (CommentDTO node : nodes.subList(0, limit)) {
+            CommentDTO copy = new CommentDTO();
+            BeanUtils.copyProperties(node, copy, "replies");
+            if (maxDepth == null || depth < maxDepth) {
+                copy.setReplies(pruneCommentTree(node.getReplies(), depth + 1, maxDepth, maxChildren));
+            } else {
+                copy.setReplies(List.of());
+            }
+            result.add(copy);
+        }
+        return result;
+    }
+
+    /**
+     * 事务提交后清除文章评论树缓存，避免并发读取在提交前重新填充旧数据
+     */
+    private void evictCommentTree(Long articleId) {
+        Cache cache = cacheManager.getCache(CacheConfig.COMMENT_TREE_CACHE);
+        if (cache == null || articleId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(articleId);
+                }
+            });
+        } else {
+            cache.evict(articleId);
+        }
+    }
+
     private CommentDTO convertToDTO(Comment comment) {
         CommentDTO dto = new CommentDTO();
         BeanUtils.copyProperties(comment, dto);
@@ -1,18 +1,26 @@
 package com.myblog.service.impl;
 
+import com.myblog.dto.BatchModerationRequest;
 import com.myblog.dto.FriendLinkDTO;
 import com.myblog.dto.PageResponse;
 import com.myblog.entity.FriendLink;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
 import com.myblog.repository.FriendLinkRepository;
 import com.myblog.service.FriendLinkService;
+import com.myblog.util.BatchUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -23,6 +31,7 @@ import java.util.stream.Collectors;
 public class FriendLinkServiceImpl implements FriendLinkService {
 
     private final FriendLinkRepository friendLinkRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -30,7 +39,9 @@ public class FriendLinkServiceImpl implements FriendLinkService {
         FriendLink friendLink = new FriendLink();
         BeanUtils.copyProperties(friendLinkDTO, friendLink);
         friendLink = friendLinkRepository.save(friendLink);
-        return convertToDTO(friendLink);
+        FriendLinkDTO result = convertToDTO(friendLink);
+        publishEvent(ChangeAction.CREATED, result.getId(), result);
+        return result;
     }
 
     @Override
@@ -41,7 +52,9 @@ public class FriendLinkServiceImpl implements FriendLinkService {
         
         BeanUtils.copyProperties(friendLinkDTO, friendLink, "id", "createdAt");
         friendLink = friendLinkRepository.save(friendLink);
-        return convertToDTO(friendLink);
+        FriendLinkDTO result = convertToDTO(friendLink);
+        publishEvent(ChangeAction.UPDATED, result.getId(), result);
+        return result;
     }
 
     @Override
@@ -51,6 +64,7 @@ public class FriendLinkServiceImpl implements FriendLinkService {
             throw new RuntimeException("友链不存在");
         }
         friendLinkRepository.deleteById(id);
+        publishEvent(ChangeAction.DELETED, id, null);
     }
 
     @Override
@@ -67,6 +81,7 @@ public class FriendLinkServiceImpl implements FriendLinkService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<FriendLinkDTO> getApprovedFriendLinks() {
         List<FriendLink> friendLinks = friendLinkRepository.findByIsApprovedTrueOrderBySortOrderAsc();
         return friendLinks.stream().map(this::convertToDTO).toList();
@@ -85,7 +100,9 @@ public class FriendLinkServiceImpl implements FriendLinkService {
             .orElseThrow(() -> new RuntimeException("友链不存在"));
         friendLink.setIsApproved(true);
         friendLink = friendLinkRepository.save(friendLink);
-        return convertToDTO(friendLink);
+        FriendLinkDTO result = convertToDTO(friendLink);
+        publishEvent(ChangeAction.APPROVED, result.getId(), result);
+        return result;
     }
 
     @Override
@@ -95,7 +112,9 @@ public class FriendLinkServiceImpl implements FriendLinkService {
             .orElseThrow(() -> new RuntimeException("友链不存在"));
         friendLink.setIsApproved(false);
         friendLink = friendLinkRepository.save(friendLink);
-        return convertToDTO(friendLink);
+        FriendLinkDTO result = convertToDTO(friendLink);
+        publishEvent(ChangeAction.REJECTED, result.getId(), result);
+        return result;
     }
 
     @Override
@@ -107,6 +126,43 @@ public class FriendLinkServiceImpl implements FriendLinkService {
         friendLinkRepository.save(friendLink);
     }
 
+    @Override
+    @Transactional
+    public int batchModerateFriendLinks(BatchModerationRequest.Action action, BatchModerationRequest request) {
+        List<Long> ids;
+        if (request.hasIds()) {
+            ids = request.getIds();
+        } else if (request.hasFilter()) {
+            ids = friendLinkRepository.findIdsByFilter(request.getEmail(), request.getKeyword(),
+                request.getIsApproved(), request.getCreatedAfter(), request.getCreatedBefore());
+        } else {
+            throw new RuntimeException("请提供友链ID列表或筛选条件");
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int affected = 0;
+        for (List<Long> chunk : BatchUtils.partition(Set.copyOf(ids), BatchUtils.DEFAULT_CHUNK_SIZE)) {
+            affected += switch (action) {
+                case APPROVE -> friendLinkRepository.updateApprovalByIdIn(chunk, true, now);
+                case REJECT -> friendLinkRepository.updateApprovalByIdIn(chunk, false, now);
+                case DELETE -> friendLinkRepository.deleteByIdIn(chunk);
+            };
+        }
+        ChangeAction changeAction = switch (action) {
+            case APPROVE -> ChangeAction.APPROVED;
+            case REJECT -> ChangeAction.REJECTED;
+            case DELETE -> ChangeAction.DELETED;
+        };
+        eventPublisher.publishEvent(ContentChangedEvent.bulk(ContentType.FRIEND_LINK, changeAction));
+        return affected;
+    }
+
+    private void publishEvent(ChangeAction action, Long id, FriendLinkDTO friendLink) {
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentType.FRIEND_LINK, action, id, friendLink));
+    }
+
     private FriendLinkDTO convertToDTO(FriendLink friendLink) {
         FriendLinkDTO dto = new FriendLinkDTO();
         BeanUtils.copyProperties(friendLink, dto);
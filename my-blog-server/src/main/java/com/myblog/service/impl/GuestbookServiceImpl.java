@@ -1,19 +1,27 @@
 package com.myblog.service.impl;
 
+import com.myblog.dto.BatchModerationRequest;
 import com.myblog.dto.GuestbookMessageDTO;
 import com.myblog.dto.PageResponse;
 import com.myblog.entity.GuestbookMessage;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
 import com.myblog.repository.GuestbookMessageRepository;
 import com.myblog.service.GuestbookService;
+import com.myblog.util.BatchUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * 留言板服务实现类
@@ -23,6 +31,7 @@ import java.util.stream.Collectors;
 public class GuestbookServiceImpl implements GuestbookService {
 
     private final GuestbookMessageRepository guestbookMessageRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -30,7 +39,9 @@ public class GuestbookServiceImpl implements GuestbookService {
         GuestbookMessage message = new GuestbookMessage();
         BeanUtils.copyProperties(messageDTO, message);
         message = guestbookMessageRepository.save(message);
-        return convertToDTO(message);
+        GuestbookMessageDTO result = convertToDTO(message);
+        publishEvent(ChangeAction.CREATED, result);
+        return result;
     }
 
     @Override
@@ -41,7 +52,9 @@ public class GuestbookServiceImpl implements GuestbookService {
         
         BeanUtils.copyProperties(messageDTO, message, "id", "createdAt");
         message = guestbookMessageRepository.save(message);
-        return convertToDTO(message);
+        GuestbookMessageDTO result = convertToDTO(message);
+        publishEvent(ChangeAction.UPDATED, result);
+        return result;
     }
 
     @Override
@@ -51,6 +64,7 @@ public class GuestbookServiceImpl implements GuestbookService {
             throw new RuntimeException("留言不存在");
         }
         guestbookMessageRepository.deleteById(id);
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentType.GUESTBOOK_MESSAGE, ChangeAction.DELETED, id, null));
     }
 
     @Override
@@ -67,6 +81,7 @@ public class GuestbookServiceImpl implements GuestbookService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<GuestbookMessageDTO> getApprovedMessages(Pageable pageable) {
         Page<GuestbookMessage> page = guestbookMessageRepository.findByIsApprovedTrueOrderByCreatedAtDesc(pageable);
         return new PageResponse<>(page.map(this::convertToDTO));
@@ -74,7 +89,13 @@ public class GuestbookServiceImpl implements GuestbookService {
 
     @Override
     public PageResponse<GuestbookMessageDTO> getPendingMessages(Pageable pageable) {
-        Page<GuestbookMessage> page = guestbookMessageRepository.findByIsApprovedFalseOrderByCreatedAtDesc(pageable);
+        Page<GuestbookMessage> page = guestbookMessageRepository.findByIsSpamFalseAndIsApprovedFalseOrderByCreatedAtDesc(pageable);
+        return new PageResponse<>(page.map(this::convertToDTO));
+    }
+
+    @Override
+    public PageResponse<GuestbookMessageDTO> getSpamMessages(Pageable pageable) {
+        Page<GuestbookMessage> page = guestbookMessageRepository.findByIsSpamTrueAndIsApprovedFalseOrderByCreatedAtDesc(pageable);
         return new PageResponse<>(page.map(this::convertToDTO));
     }
 
@@ -84,8 +105,11 @@ public class GuestbookServiceImpl implements GuestbookService {
         GuestbookMessage message = guestbookMessageRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("留言不存在"));
         message.setIsApproved(true);
+        message.setIsSpam(false);
         message = guestbookMessageRepository.save(message);
-        return convertToDTO(message);
+        GuestbookMessageDTO result = convertToDTO(message);
+        publishEvent(ChangeAction.APPROVED, result);
+        return result;
     }
 
     @Override
@@ -95,7 +119,9 @@ public class GuestbookServiceImpl implements GuestbookService {
             .orElseThrow(() -> new RuntimeException("留言不存在"));
         message.setIsApproved(false);
         message = guestbookMessageRepository.save(message);
-        return convertToDTO(message);
+        GuestbookMessageDTO result = convertToDTO(message);
+        publishEvent(ChangeAction.REJECTED, result);
+        return result;
     }
 
     @Override
@@ -108,11 +134,92 @@ public class GuestbookServiceImpl implements GuestbookService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<GuestbookMessageDTO> getMessageReplies(Long parentId) {
         List<GuestbookMessage> replies = guestbookMessageRepository.findByParentIdOrderByCreatedAtAsc(parentId);
         return replies.stream().map(this::convertToDTO).toList();
     }
 
+    @Override
+    @Transactional
+    public int approveMessages(Collection<Long> ids) {
+        return updateApproval(ids, true);
+    }
+
+    @Override
+    @Transactional
+    public int rejectMessages(Collection<Long> ids) {
+        return updateApproval(ids, false);
+    }
+
+    /**
+     * 垃圾留言本就未审核、不对外展示，标记后公开数据不变，因此不发布事件
+     */
+    @Override
+    @Transactional
+    public int markMessagesSpam(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int marked = 0;
+        for (List<Long> chunk : BatchUtils.partition(Set.copyOf(ids), BatchUtils.DEFAULT_CHUNK_SIZE)) {
+            marked += guestbookMessageRepository.markSpamByIdIn(chunk, now);
+        }
+        return marked;
+    }
+
+    @Override
+    @Transactional
+    public int deleteMessages(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = 0;
+        for (List<Long> chunk : BatchUtils.partition(Set.copyOf(ids), BatchUtils.DEFAULT_CHUNK_SIZE)) {
+            deleted += guestbookMessageRepository.deleteByIdIn(chunk);
+        }
+        eventPublisher.publishEvent(ContentChangedEvent.bulk(ContentType.GUESTBOOK_MESSAGE, ChangeAction.DELETED));
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public int batchModerateMessages(BatchModerationRequest.Action action, BatchModerationRequest request) {
+        List<Long> ids;
+        if (request.hasIds()) {
+            ids = request.getIds();
+        } else if (request.hasFilter()) {
+            ids = guestbookMessageRepository.findIdsByFilter(request.getIpAddress(), request.getEmail(),
+                request.getKeyword(), request.getIsApproved(), request.getCreatedAfter(), request.getCreatedBefore());
+        } else {
+            throw new RuntimeException("请提供留言ID列表或筛选条件");
+        }
+        return switch (action) {
+            case APPROVE -> approveMessages(ids);
+            case REJECT -> rejectMessages(ids);
+            case DELETE -> deleteMessages(ids);
+        };
+    }
+
+    private int updateApproval(Collection<Long> ids, boolean approved) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (List<Long> chunk : BatchUtils.partition(Set.copyOf(ids), BatchUtils.DEFAULT_CHUNK_SIZE)) {
+            updated += guestbookMessageRepository.updateApprovalByIdIn(chunk, approved, now);
+        }
+        eventPublisher.publishEvent(ContentChangedEvent.bulk(ContentType.GUESTBOOK_MESSAGE,
+            approved ? ChangeAction.APPROVED : ChangeAction.REJECTED));
+        return updated;
+    }
+
+    private void publishEvent(ChangeAction action, GuestbookMessageDTO message) {
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentType.GUESTBOOK_MESSAGE, action, message.getId(), message));
+    }
+
     private GuestbookMessageDTO convertToDTO(GuestbookMessage message) {
         GuestbookMessageDTO dto = new GuestbookMessageDTO();
         BeanUtils.copyProperties(message, dto);
@@ -2,23 +2,63 @@ package com.myblog.service.impl;
 
 import com.myblog.dto.SystemSettingDTO;
 import com.myblog.entity.SystemSetting;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
 import com.myblog.repository.SystemSettingRepository;
 import com.myblog.service.SystemSettingService;
+import com.myblog.service.settings.SettingChangeListener;
+import com.myblog.service.settings.SettingsSnapshot;
+import com.myblog.util.BatchUtils;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 系统设置服务实现类
+ * 读操作全部由内存中的不可变快照提供，写操作提交后重建快照并通知监听器
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SystemSettingServiceImpl implements SystemSettingService {
 
+    /** 按key唯一约束插入或更新设置 */
+    private static final String UPSERT_SQL =
+        "INSERT INTO system_settings (`key`, `value`, description, setting_type, is_public, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE `value` = VALUES(`value`), description = VALUES(description), " +
+        "setting_type = VALUES(setting_type), is_public = VALUES(is_public), updated_at = VALUES(updated_at)";
+
     private final SystemSettingRepository systemSettingRepository;
+    private final ObjectProvider<SettingChangeListener> changeListeners;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 当前设置快照，首次访问或启动完成时加载 */
+    private volatile SettingsSnapshot snapshot;
+    /** 重新加载时会查询数据库，使用显式锁避免虚拟线程在synchronized中固定载体线程 */
+    private final ReentrantLock reloadLock = new ReentrantLock();
 
     @Override
     @Transactional
@@ -26,7 +66,9 @@ public class SystemSettingServiceImpl implements SystemSettingService {
         SystemSetting setting = new SystemSetting();
         BeanUtils.copyProperties(settingDTO, setting);
         setting = systemSettingRepository.save(setting);
-        return convertToDTO(setting);
+        SystemSettingDTO result = convertToDTO(setting);
+        afterChange(ChangeAction.CREATED, result.getId(), result);
+        return result;
     }
 
     @Override
@@ -37,7 +79,9 @@ public class SystemSettingServiceImpl implements SystemSettingService {
         
         BeanUtils.copyProperties(settingDTO, setting, "id", "createdAt");
         setting = systemSettingRepository.save(setting);
-        return convertToDTO(setting);
+        SystemSettingDTO result = convertToDTO(setting);
+        afterChange(ChangeAction.UPDATED, id, result);
+        return result;
     }
 
     @Override
@@ -47,62 +91,184 @@ public class SystemSettingServiceImpl implements SystemSettingService {
             throw new RuntimeException("系统设置不存在");
         }
         systemSettingRepository.deleteById(id);
+        afterChange(ChangeAction.DELETED, id, null);
     }
 
     @Override
     public SystemSettingDTO getSettingById(Long id) {
-        SystemSetting setting = systemSettingRepository.findById(id)
+        return getSnapshot().findById(id)
             .orElseThrow(() -> new RuntimeException("系统设置不存在"));
-        return convertToDTO(setting);
     }
 
     @Override
     public SystemSettingDTO getSettingByKey(String key) {
-        SystemSetting setting = systemSettingRepository.findByKey(key)
+        return getSnapshot().find(key)
             .orElseThrow(() -> new RuntimeException("系统设置不存在"));
-        return convertToDTO(setting);
     }
 
     @Override
     public List<SystemSettingDTO> getAllSettings() {
-        List<SystemSetting> settings = systemSettingRepository.findAll();
-        return settings.stream().map(this::convertToDTO).toList();
+        return getSnapshot().all();
     }
 
     @Override
     public List<SystemSettingDTO> getPublicSettings() {
-        List<SystemSetting> settings = systemSettingRepository.findByIsPublicTrue();
-        return settings.stream().map(this::convertToDTO).toList();
+        return getSnapshot().publicSettings();
     }
 
     @Override
     public List<SystemSettingDTO> getSettingsByType(String settingType) {
-        List<SystemSetting> settings = systemSettingRepository.findBySettingType(settingType);
-        return settings.stream().map(this::convertToDTO).toList();
+        return getSnapshot().byType(settingType);
     }
 
     @Override
     @Transactional
     public void updateSettings(List<SystemSettingDTO> settings) {
+        if (settings == null || settings.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>();
+        Set<String> keys = new HashSet<>();
         for (SystemSettingDTO settingDTO : settings) {
             if (settingDTO.getId() != null) {
-                SystemSetting setting = systemSettingRepository.findById(settingDTO.getId())
-                    .orElseThrow(() -> new RuntimeException("系统设置不存在"));
+                ids.add(settingDTO.getId());
+            } else if (settingDTO.getKey() != null) {
+                keys.add(settingDTO.getKey());
+            } else {
+                throw new RuntimeException("系统设置键名不能为空");
+            }
+        }
+
+        // 一次查询加载所有涉及的设置，已存在的设置通过脏检查批量更新，值未变化的行不产生SQL
+        Map<Long, SystemSetting> existingById = new HashMap<>();
+        Map<String, SystemSetting> existingByKey = new HashMap<>();
+        for (SystemSetting setting : systemSettingRepository.findByIdInOrKeyIn(ids, keys)) {
+            existingById.put(setting.getId(), setting);
+            existingByKey.put(setting.getKey(), setting);
+        }
+        Map<String, SystemSettingDTO> inserts = new LinkedHashMap<>();
+        for (SystemSettingDTO settingDTO : settings) {
+            SystemSetting setting = settingDTO.getId() != null
+                ? existingById.get(settingDTO.getId())
+                : existingByKey.get(settingDTO.getKey());
+            if (setting != null) {
                 BeanUtils.copyProperties(settingDTO, setting, "id", "createdAt");
-                systemSettingRepository.save(setting);
+            } else if (settingDTO.getId() != null) {
+                throw new RuntimeException("系统设置不存在");
             } else {
-                SystemSetting setting = new SystemSetting();
-                BeanUtils.copyProperties(settingDTO, setting);
-                systemSettingRepository.save(setting);
+                inserts.put(settingDTO.getKey(), settingDTO);
             }
         }
+        systemSettingRepository.flush();
+
+        // 新键名按key唯一约束插入或更新，并发创建同名设置时不会失败
+        if (!inserts.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(UPSERT_SQL, inserts.values(), BatchUtils.DEFAULT_CHUNK_SIZE, (ps, dto) -> {
+                ps.setString(1, dto.getKey());
+                ps.setString(2, dto.getValue());
+                ps.setString(3, dto.getDescription());
+                ps.setString(4, dto.getSettingType() != null ? dto.getSettingType() : "string");
+                ps.setBoolean(5, Boolean.TRUE.equals(dto.getIsPublic()));
+                ps.setTimestamp(6, now);
+                ps.setTimestamp(7, now);
+            });
+        }
+        afterChange(ChangeAction.UPDATED, null, null);
     }
 
     @Override
     public String getSettingValue(String key, String defaultValue) {
-        return systemSettingRepository.findByKey(key)
-            .map(SystemSetting::getValue)
-            .orElse(defaultValue);
+        return getSnapshot().getString(key, defaultValue);
+    }
+
+    @Override
+    public long getLongValue(String key, long defaultValue) {
+        return getSnapshot().getLong(key, defaultValue);
+    }
+
+    @Override
+    public boolean getBooleanValue(String key, boolean defaultValue) {
+        return getSnapshot().getBoolean(key, defaultValue);
+    }
+
+    @Override
+    public List<String> getListValue(String key) {
+        return getSnapshot().getList(key);
+    }
+
+    @Override
+    public SettingsSnapshot getSnapshot() {
+        SettingsSnapshot current = snapshot;
+        if (current == null) {
+            reload();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    /**
+     * 启动完成后预加载快照，并定期重新加载以同步其他节点的修改
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${blog.settings.refresh-interval-ms:300000}",
+               fixedDelayString = "${blog.settings.refresh-interval-ms:300000}")
+    public void refreshSnapshot() {
+        reload();
+    }
+
+    /**
+     * 重新加载全部设置并原子替换快照，内容无变化时保留原快照
+     */
+    private void reload() {
+        reloadLock.lock();
+        try {
+            doReload();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void doReload() {
+        SettingsSnapshot previous = snapshot;
+        List<SystemSettingDTO> settings = systemSettingRepository.findAll().stream().map(this::convertToDTO).toList();
+        SettingsSnapshot current = SettingsSnapshot.of(settings, previous == null ? 1 : previous.getVersion() + 1);
+        if (previous == null) {
+            snapshot = current;
+            log.info("已加载 {} 项系统设置", current.size());
+            return;
+        }
+        Set<String> changedKeys = current.changedKeys(previous);
+        if (changedKeys.isEmpty()) {
+            return;
+        }
+        snapshot = current;
+        log.info("系统设置快照已更新至版本 {}，变更项: {}", current.getVersion(), changedKeys);
+        changeListeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onSettingsChanged(previous, current, changedKeys);
+            } catch (Exception e) {
+                log.error("系统设置变更监听器 {} 执行失败", listener.getClass().getSimpleName(), e);
+            }
+        });
+    }
+
+    /**
+     * 事务提交后重建快照，回滚时保持原快照不变
+     */
+    private void afterChange(ChangeAction action, Long id, SystemSettingDTO setting) {
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentType.SYSTEM_SETTING, action, id, setting));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
     }
 
     private SystemSettingDTO convertToDTO(SystemSetting setting) {
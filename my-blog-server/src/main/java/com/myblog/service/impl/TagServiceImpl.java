@@ -3,16 +3,22 @@ package com.myblog.service.impl;
 import com.myblog.dto.TagDTO;
 import com.myblog.dto.PageResponse;
 import com.myblog.entity.Tag;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
 import com.myblog.repository.TagRepository;
 import com.myblog.service.TagService;
+import com.myblog.service.slug.SlugService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -23,14 +29,19 @@ import java.util.stream.Collectors;
 public class TagServiceImpl implements TagService {
 
     private final TagRepository tagRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlugService slugService;
 
     @Override
     @Transactional
     public TagDTO createTag(TagDTO tagDTO) {
         Tag tag = new Tag();
-        BeanUtils.copyProperties(tagDTO, tag);
+        BeanUtils.copyProperties(tagDTO, tag, "articleCount");
+        slugService.claim(ContentType.TAG, tag.getSlug(), null);
         tag = tagRepository.save(tag);
-        return convertToDTO(tag);
+        TagDTO result = convertToDTO(tag);
+        publishEvent(ChangeAction.CREATED, result.getId(), result);
+        return result;
     }
 
     @Override
@@ -39,9 +50,17 @@ public class TagServiceImpl implements TagService {
         Tag tag = tagRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("标签不存在"));
         
-        BeanUtils.copyProperties(tagDTO, tag, "id", "createdAt");
+        String previousSlug = tag.getSlug();
+        // 文章数由计数服务维护，不接受客户端覆盖
+        BeanUtils.copyProperties(tagDTO, tag, "id", "createdAt", "articleCount");
+        if (!Objects.equals(tag.getSlug(), previousSlug)) {
+            slugService.claim(ContentType.TAG, tag.getSlug(), id);
+        }
         tag = tagRepository.save(tag);
-        return convertToDTO(tag);
+        slugService.recordChange(ContentType.TAG, id, previousSlug, tag.getSlug());
+        TagDTO result = convertToDTO(tag);
+        publishEvent(ChangeAction.UPDATED, result.getId(), result);
+        return result;
     }
 
     @Override
@@ -51,6 +70,8 @@ public class TagServiceImpl implements TagService {
             throw new RuntimeException("标签不存在");
         }
         tagRepository.deleteById(id);
+        slugService.forget(ContentType.TAG, id);
+        publishEvent(ChangeAction.DELETED, id, null);
     }
 
     @Override
@@ -61,8 +82,10 @@ public class TagServiceImpl implements TagService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TagDTO getTagBySlug(String slug) {
-        Tag tag = tagRepository.findBySlug(slug)
+        Long id = slugService.resolve(ContentType.TAG, slug);
+        Tag tag = (id != null ? tagRepository.findById(id) : tagRepository.findBySlug(slug))
             .orElseThrow(() -> new RuntimeException("标签不存在"));
         return convertToDTO(tag);
     }
@@ -74,23 +97,30 @@ public class TagServiceImpl implements TagService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TagDTO> getAllTags() {
         List<Tag> tags = tagRepository.findAll();
         return tags.stream().map(this::convertToDTO).toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TagDTO> getTagsWithArticles() {
         List<Tag> tags = tagRepository.findTagsWithArticles();
         return tags.stream().map(this::convertToDTO).toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TagDTO> getPopularTags() {
         List<Tag> tags = tagRepository.findPopularTags();
         return tags.stream().map(this::convertToDTO).toList();
     }
 
+    private void publishEvent(ChangeAction action, Long id, TagDTO tag) {
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentType.TAG, action, id, tag));
+    }
+
     private TagDTO convertToDTO(Tag tag) {
         TagDTO dto = new TagDTO();
         BeanUtils.copyProperties(tag, dto);
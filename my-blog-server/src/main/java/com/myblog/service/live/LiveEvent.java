@@ -0,0 +1,21 @@
+package com.myblog.service.live;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 推送给订阅者的一条消息
+ * 数据在发布时序列化一次，所有订阅者共享同一份JSON字符串
+ *
+ * @param sequence 全局递增序号，作为SSE事件ID
+ * @param name 事件名称，为null时表示心跳注释
+ * @param data 已序列化的JSON数据
+ */
+record LiveEvent(long sequence, String name, String data) {
+
+    SseEmitter.SseEventBuilder toSseEvent() {
+        if (name == null) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        return SseEmitter.event().id(Long.toString(sequence)).name(name).data(data);
+    }
+}
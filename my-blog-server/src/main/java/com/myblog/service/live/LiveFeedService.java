@@ -0,0 +1,254 @@
+package com.myblog.service.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myblog.dto.CommentDTO;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 评论与留言实时推送服务
+ * 订阅内容变更事件，在事务提交后推送到文章评论频道和后台审核频道，替代前端轮询。
+ * 每条消息只序列化一次，发布方仅向各订阅者的有界缓冲区入队，实际网络写由订阅者各自的虚拟线程完成。
+ * 公开的文章频道和后台审核频道分别限制连接数，公开连接占满时不影响管理员订阅审核频道。
+ */
+@Slf4j
+@Service
+public class LiveFeedService {
+
+    /** 后台审核频道，接收所有评论和留言变更 */
+    public static final String MODERATION_CHANNEL = "moderation";
+
+    private static final String ARTICLE_CHANNEL_PREFIX = "article:";
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final int maxModerationSubscribers;
+
+    private final Map<String, Set<LiveSubscriber>> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicInteger moderationSubscriberCount = new AtomicInteger();
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong fannedOut = new AtomicLong();
+    private final AtomicLong fanOutNanos = new AtomicLong();
+    private final AtomicLong maxFanOutNanos = new AtomicLong();
+    private final AtomicLong closedDelivered = new AtomicLong();
+    private final AtomicLong closedDropped = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public LiveFeedService(ObjectMapper objectMapper,
+                           @Value("${blog.live.timeout-ms:1800000}") long timeoutMs,
+                           @Value("${blog.live.buffer-size:64}") int bufferSize,
+                           @Value("${blog.live.max-subscribers:10000}") int maxSubscribers,
+                           @Value("${blog.live.max-moderation-subscribers:100}") int maxModerationSubscribers) {
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.maxModerationSubscribers = maxModerationSubscribers;
+    }
+
+    /**
+     * 订阅文章评论频道，只推送已审核的评论
+     * @param articleId 文章ID
+     * @return SSE连接
+     */
+    public SseEmitter subscribeArticle(Long articleId) {
+        return subscribe(ARTICLE_CHANNEL_PREFIX + articleId);
+    }
+
+    /**
+     * 订阅后台审核频道
+     * @return SSE连接
+     */
+    public SseEmitter subscribeModeration() {
+        return subscribe(MODERATION_CHANNEL);
+    }
+
+    /**
+     * 事务提交后将评论和留言变更推送到对应频道
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getType() != ContentType.COMMENT && event.getType() != ContentType.GUESTBOOK_MESSAGE) {
+            return;
+        }
+        String name = event.getType() == ContentType.COMMENT ? "comment" : "guestbook";
+        publish(MODERATION_CHANNEL, name, message(event, event.getPayload()));
+
+        if (event.getType() == ContentType.COMMENT && event.getArticleId() != null) {
+            publishToArticle(event);
+        }
+    }
+
+    /**
+     * 定时发送心跳，防止代理断开空闲连接，同时及时清理已断开的订阅者
+     */
+    @Scheduled(fixedDelayString = "${blog.live.heartbeat-ms:25000}")
+    public void heartbeat() {
+        LiveEvent event = new LiveEvent(0, null, null);
+        channels.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(event)));
+    }
+
+    /**
+     * 获取推送统计，用于评估扇出开销
+     * @return 统计数据
+     */
+    public Map<String, Object> getStats() {
+        long delivered = closedDelivered.get();
+        long dropped = closedDropped.get();
+        for (Set<LiveSubscriber> subscribers : channels.values()) {
+            for (LiveSubscriber subscriber : subscribers) {
+                delivered += subscriber.getDelivered();
+                dropped += subscriber.getDropped();
+            }
+        }
+        long publishedCount = published.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscriberCount.get() + moderationSubscriberCount.get());
+        stats.put("moderationSubscribers", moderationSubscriberCount.get());
+        stats.put("channels", channels.size());
+        stats.put("published", publishedCount);
+        stats.put("fannedOut", fannedOut.get());
+        stats.put("delivered", delivered);
+        stats.put("dropped", dropped);
+        stats.put("rejectedSubscriptions", rejected.get());
+        stats.put("avgFanOutMicros", publishedCount == 0 ? 0 : fanOutNanos.get() / publishedCount / 1000);
+        stats.put("maxFanOutMicros", maxFanOutNanos.get() / 1000);
+        return stats;
+    }
+
+    private void publishToArticle(ContentChangedEvent event) {
+        String channel = ARTICLE_CHANNEL_PREFIX + event.getArticleId();
+        if (!channels.containsKey(channel)) {
+            return;
+        }
+        if (event.isBulk()) {
+            // 批量审核无法逐条推送，通知前端重新拉取评论树
+            publish(channel, "refresh", message(event, null));
+            return;
+        }
+        boolean visible = event.getPayload() instanceof CommentDTO comment && Boolean.TRUE.equals(comment.getIsApproved());
+        if (visible && event.getAction() != ChangeAction.DELETED) {
+            publish(channel, "comment", message(event, CommentDTO.publicView((CommentDTO) event.getPayload())));
+        } else if (event.getAction() != ChangeAction.CREATED) {
+            publish(channel, "comment-removed", message(event, null));
+        }
+    }
+
+    private SseEmitter subscribe(String channel) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        AtomicInteger count = countOf(channel);
+        if (count.incrementAndGet() > limitOf(channel)) {
+            count.decrementAndGet();
+            rejected.incrementAndGet();
+            try {
+                emitter.send(SseEmitter.event().name("error").data("实时连接数已达上限").reconnectTime(60_000));
+            } catch (IOException ignored) {
+                // 连接已断开
+            }
+            emitter.complete();
+            return emitter;
+        }
+
+        LiveSubscriber subscriber = new LiveSubscriber(subscriberIds.incrementAndGet(), channel, emitter,
+            bufferSize, this::unregister);
+        // 在compute内加入，与unregister移除空频道互斥，不会加入已被移除的集合
+        channels.compute(channel, (key, subscribers) -> {
+            Set<LiveSubscriber> result = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.offer(new LiveEvent(sequence.get(), "connected", "{\"channel\":\"" + channel + "\"}"));
+        subscriber.start();
+        return emitter;
+    }
+
+    private void unregister(LiveSubscriber subscriber) {
+        channels.computeIfPresent(subscriber.getChannel(), (key, subscribers) -> {
+            if (subscribers.remove(subscriber)) {
+                countOf(key).decrementAndGet();
+                closedDelivered.addAndGet(subscriber.getDelivered());
+                closedDropped.addAndGet(subscriber.getDropped());
+            }
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private AtomicInteger countOf(String channel) {
+        return MODERATION_CHANNEL.equals(channel) ? moderationSubscriberCount : subscriberCount;
+    }
+
+    private int limitOf(String channel) {
+        return MODERATION_CHANNEL.equals(channel) ? maxModerationSubscribers : maxSubscribers;
+    }
+
+    private void publish(String channel, String name, Map<String, Object> message) {
+        Set<LiveSubscriber> subscribers = channels.get(channel);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            log.warn("实时推送消息序列化失败: {}", message, e);
+            return;
+        }
+        LiveEvent event = new LiveEvent(sequence.incrementAndGet(), name, data);
+        int count = 0;
+        for (LiveSubscriber subscriber : subscribers) {
+            subscriber.offer(event);
+            count++;
+        }
+        long elapsed = System.nanoTime() - start;
+        published.incrementAndGet();
+        fannedOut.addAndGet(count);
+        fanOutNanos.addAndGet(elapsed);
+        maxFanOutNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    private Map<String, Object> message(ContentChangedEvent event, Object data) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("action", event.getAction());
+        message.put("id", event.getId());
+        message.put("articleId", event.getArticleId());
+        message.put("data", data);
+        return message;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<LiveSubscriber> all = new ArrayList<>();
+        channels.values().forEach(all::addAll);
+        all.forEach(LiveSubscriber::close);
+    }
+}
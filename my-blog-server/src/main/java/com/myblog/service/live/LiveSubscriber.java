@@ -0,0 +1,103 @@
+package com.myblog.service.live;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 实时推送订阅者
+ * 每个订阅者持有一个有界缓冲区和一个虚拟线程：发布方只负责入队，从不阻塞在网络写上；
+ * 缓冲区已满时丢弃最旧的消息，保证慢连接不会拖慢其他订阅者。
+ */
+@Slf4j
+final class LiveSubscriber {
+
+    @Getter
+    private final long id;
+    @Getter
+    private final String channel;
+    private final SseEmitter emitter;
+    private final LinkedBlockingDeque<LiveEvent> buffer;
+    private final Consumer<LiveSubscriber> onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private volatile Thread drainer;
+
+    LiveSubscriber(long id, String channel, SseEmitter emitter, int bufferSize, Consumer<LiveSubscriber> onClose) {
+        this.id = id;
+        this.channel = channel;
+        this.emitter = emitter;
+        this.buffer = new LinkedBlockingDeque<>(bufferSize);
+        this.onClose = onClose;
+    }
+
+    /**
+     * 启动发送线程
+     */
+    void start() {
+        drainer = Thread.ofVirtual().name("live-" + channel + "-" + id).start(this::drain);
+    }
+
+    /**
+     * 投递消息，缓冲区已满时丢弃最旧的消息
+     * @param event 消息
+     */
+    void offer(LiveEvent event) {
+        while (!buffer.offerLast(event)) {
+            if (buffer.pollFirst() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 关闭订阅，可重复调用
+     */
+    void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = drainer;
+        if (thread != null && thread != Thread.currentThread()) {
+            thread.interrupt();
+        }
+        try {
+            emitter.complete();
+        } catch (Exception ignored) {
+            // 连接已断开
+        }
+        buffer.clear();
+        onClose.accept(this);
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+
+    long getDelivered() {
+        return delivered.get();
+    }
+
+    private void drain() {
+        try {
+            while (!closed.get()) {
+                LiveEvent event = buffer.take();
+                emitter.send(event.toSseEvent());
+                delivered.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("实时推送连接 {}#{} 已断开: {}", channel, id, e.getMessage());
+        } finally {
+            close();
+        }
+    }
+}
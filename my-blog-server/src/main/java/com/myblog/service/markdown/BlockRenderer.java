@@ -0,0 +1,687 @@
+package com.myblog.service.markdown;
+
+import com.myblog.dto.TocEntryDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 块级元素渲染
+ * 逐行扫描Markdown，识别标题、代码块、引用、列表、表格、分割线、HTML块和段落，
+ * 引用和列表项的内容递归渲染，嵌套超过MAX_DEPTH层的引用和列表按普通段落处理。
+ * 需要逐字符重复的结构（分割线、表格分隔行）用循环识别，不用带分组重复的正则，避免长行导致栈溢出。
+ * 同一次渲染内收集目录和字数统计，实例不可复用。
+ */
+final class BlockRenderer {
+
+    private static final Pattern ATX_HEADING = Pattern.compile("^(#{1,6})(?:[ \\t]+(.*?))?(?:[ \\t]+#+)?[ \\t]*$");
+    private static final Pattern SETEXT_UNDERLINE = Pattern.compile("^(=+|-+)[ \\t]*$");
+    private static final Pattern FENCE = Pattern.compile("^(`{3,}|~{3,})[ \\t]*([^`\\s]*)?.*$");
+    private static final Pattern BULLET = Pattern.compile("^([-+*])(?:([ \\t]+)(.*)|$)");
+    private static final Pattern ORDERED = Pattern.compile("^(\\d{1,9})([.)])(?:([ \\t]+)(.*)|$)");
+    private static final Pattern TASK = Pattern.compile("^\\[([ xX])\\][ \\t]+");
+    private static final Pattern HTML_BLOCK = Pattern.compile("^(?:<!--|</?([A-Za-z][A-Za-z0-9]*)(?:[\\s/>]|$))");
+    private static final Set<String> BLOCK_TAGS = Set.of(
+        "address", "article", "aside", "blockquote", "details", "div", "dl", "dd", "dt", "figcaption", "figure",
+        "footer", "h1", "h2", "h3", "h4", "h5", "h6", "header", "hr", "li", "nav", "ol", "p", "pre", "section",
+        "summary", "table", "tbody", "td", "tfoot", "th", "thead", "tr", "ul");
+    /** 引用和列表的最大嵌套层数 */
+    static final int MAX_DEPTH = 32;
+
+    private final StringBuilder out;
+    private final List<TocEntryDTO> toc = new ArrayList<>();
+    private final Map<String, Integer> anchors = new HashMap<>();
+    private int cjkChars;
+    private int latinWords;
+    private int codeLines;
+
+    BlockRenderer(int capacity) {
+        this.out = new StringBuilder(capacity);
+    }
+
+    String html() {
+        return out.toString();
+    }
+
+    List<TocEntryDTO> toc() {
+        return toc;
+    }
+
+    int cjkChars() {
+        return cjkChars;
+    }
+
+    int latinWords() {
+        return latinWords;
+    }
+
+    int codeLines() {
+        return codeLines;
+    }
+
+    void render(String markdown) {
+        String normalized = markdown.replace("\r\n", "\n").replace('\r', '\n');
+        String[] raw = normalized.split("\n", -1);
+        List<String> lines = new ArrayList<>(raw.length);
+        for (String line : raw) {
+            lines.add(expandTabs(line));
+        }
+        renderBlocks(lines, false, 0);
+    }
+
+    /**
+     * 渲染一组行，tight为true时段落不包裹p标签（紧凑列表项）
+     * @param depth 当前所在引用和列表的嵌套层数
+     */
+    private void renderBlocks(List<String> lines, boolean tight, int depth) {
+        int i = 0;
+        int n = lines.size();
+        while (i < n) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                i++;
+                continue;
+            }
+            int indent = indentOf(line);
+            if (indent >= 4) {
+                i = indentedCode(lines, i);
+                continue;
+            }
+            String content = line.substring(indent);
+
+            Matcher fence = FENCE.matcher(content);
+            if (fence.matches() && !(fence.group(1).charAt(0) == '`' && content.indexOf('`', fence.group(1).length()) >= 0)) {
+                i = fencedCode(lines, i, indent, fence.group(1), fence.group(2));
+                continue;
+            }
+            Matcher heading = ATX_HEADING.matcher(content);
+            if (heading.matches()) {
+                heading(heading.group(1).length(), heading.group(2) == null ? "" : heading.group(2));
+                i++;
+                continue;
+            }
+            if (isThematicBreak(content)) {
+                out.append("<hr />\n");
+                i++;
+                continue;
+            }
+            boolean nestable = depth < MAX_DEPTH;
+            if (nestable && content.startsWith(">")) {
+                i = blockquote(lines, i, depth);
+                continue;
+            }
+            if (nestable && (BULLET.matcher(content).lookingAt() || ORDERED.matcher(content).lookingAt())) {
+                i = list(lines, i, depth);
+                continue;
+            }
+            if (isHtmlBlock(content)) {
+                i = htmlBlock(lines, i);
+                continue;
+            }
+            if (i + 1 < n && content.indexOf('|') >= 0 && isTableDelimiter(lines.get(i + 1).strip())) {
+                int end = table(lines, i);
+                if (end > i) {
+                    i = end;
+                    continue;
+                }
+            }
+            i = paragraph(lines, i, tight);
+        }
+    }
+
+    private int indentedCode(List<String> lines, int start) {
+        int end = start;
+        int lastContent = start;
+        while (end < lines.size() && (lines.get(end).isBlank() || indentOf(lines.get(end)) >= 4)) {
+            if (!lines.get(end).isBlank()) {
+                lastContent = end;
+            }
+            end++;
+        }
+        StringBuilder code = new StringBuilder();
+        for (int i = start; i <= lastContent; i++) {
+            String line = lines.get(i);
+            code.append(line.length() >= 4 ? line.substring(4) : "").append('\n');
+        }
+        codeBlock(code, null, lastContent - start + 1);
+        return lastContent + 1;
+    }
+
+    private int fencedCode(List<String> lines, int start, int indent, String marker, String info) {
+        StringBuilder code = new StringBuilder();
+        int i = start + 1;
+        int count = 0;
+        while (i < lines.size()) {
+            String line = lines.get(i);
+            String stripped = line.strip();
+            if (indentOf(line) < 4 && stripped.length() >= marker.length()
+                && InlineRenderer.runLength(stripped, 0, marker.charAt(0)) == stripped.length()) {
+                i++;
+                break;
+            }
+            // 去掉与开始围栏相同的缩进
+            int remove = Math.min(indent, indentOf(line));
+            code.append(line, remove, line.length()).append('\n');
+            count++;
+            i++;
+        }
+        codeBlock(code, info == null || info.isEmpty() ? null : info, count);
+        return i;
+    }
+
+    private void codeBlock(CharSequence code, String language, int lines) {
+        codeLines += lines;
+        out.append("<pre><code");
+        if (language != null) {
+            out.append(" class=\"language-");
+            InlineRenderer.escape(language.toLowerCase(Locale.ROOT), out);
+            out.append('"');
+        }
+        out.append('>');
+        InlineRenderer.escape(code, out);
+        out.append("</code></pre>\n");
+    }
+
+    private void heading(int level, String text) {
+        String html = inline(text.strip());
+        String plain = InlineRenderer.plainText(html);
+        String id = anchor(plain);
+        toc.add(new TocEntryDTO(level, id, plain));
+        out.append("<h").append(level).append(" id=\"").append(id).append("\">")
+            .append(html).append("</h").append(level).append(">\n");
+    }
+
+    /**
+     * 引用块：去掉每行的'>'前缀后递归渲染，允许段落的惰性续行
+     */
+    private int blockquote(List<String> lines, int start, int depth) {
+        List<String> inner = new ArrayList<>();
+        int i = start;
+        boolean previousBlank = false;
+        while (i < lines.size()) {
+            String line = lines.get(i);
+            int indent = indentOf(line);
+            if (indent < 4 && line.length() > indent && line.charAt(indent) == '>') {
+                String rest = line.substring(indent + 1);
+                inner.add(rest.startsWith(" ") ? rest.substring(1) : rest);
+                previousBlank = rest.isBlank();
+            } else if (!line.isBlank() && !previousBlank && !inner.isEmpty() && !startsBlock(line)) {
+                inner.add(line);
+            } else {
+                break;
+            }
+            i++;
+        }
+        out.append("<blockquote>\n");
+        renderBlocks(inner, false, depth + 1);
+        out.append("</blockquote>\n");
+        return i;
+    }
+
+    /**
+     * 列表：按列表项拆分，每项内容去掉内容缩进后递归渲染。
+     * 项之间或项内部存在空行时为松散列表，段落包裹p标签。
+     */
+    private int list(List<String> lines, int start, int depth) {
+        ListMarker first = ListMarker.parse(lines.get(start));
+        List<List<String>> items = new ArrayList<>();
+        List<Boolean> tasks = new ArrayList<>();
+        List<Boolean> checked = new ArrayList<>();
+        boolean loose = false;
+
+        int i = start;
+        ListMarker marker = first;
+        while (marker != null && marker.sameListAs(first)) {
+            List<String> item = new ArrayList<>();
+            String firstLine = marker.content();
+            Matcher task = TASK.matcher(firstLine);
+            boolean isTask = task.lookingAt();
+            tasks.add(isTask);
+            checked.add(isTask && !task.group(1).isBlank());
+            item.add(isTask ? firstLine.substring(task.end()) : firstLine);
+            i++;
+
+            boolean blankPending = false;
+            while (i < lines.size()) {
+                String line = lines.get(i);
+                if (line.isBlank()) {
+                    blankPending = true;
+                    item.add("");
+                    i++;
+                    continue;
+                }
+                int indent = indentOf(line);
+                if (indent >= marker.contentIndent()) {
+                    if (blankPending) {
+                        loose = true;
+                    }
+                    blankPending = false;
+                    item.add(line.substring(marker.contentIndent()));
+                    i++;
+                } else if (!blankPending && ListMarker.parse(line) == null && !startsBlock(line)) {
+                    // 段落惰性续行
+                    item.add(line.strip());
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            while (!item.isEmpty() && item.get(item.size() - 1).isBlank()) {
+                item.remove(item.size() - 1);
+            }
+            items.add(item);
+
+            marker = i < lines.size() ? ListMarker.parse(lines.get(i)) : null;
+            if (blankPending && marker != null && marker.sameListAs(first)) {
+                loose = true;
+            }
+        }
+
+        String tag = first.ordered() ? "ol" : "ul";
+        out.append('<').append(tag);
+        if (first.ordered() && first.start() != 1) {
+            out.append(" start=\"").append(first.start()).append('"');
+        }
+        out.append(">\n");
+        for (int k = 0; k < items.size(); k++) {
+            if (tasks.get(k)) {
+                out.append("<li class=\"task-list-item\"><input type=\"checkbox\" disabled=\"\"");
+                if (checked.get(k)) {
+                    out.append(" checked=\"\"");
+                }
+                out.append(" /> ");
+            } else {
+                out.append("<li>");
+            }
+            renderBlocks(items.get(k), !loose, depth + 1);
+            trimTrailingNewline();
+            out.append("</li>\n");
+        }
+        out.append("</").append(tag).append(">\n");
+        return i;
+    }
+
+    /**
+     * GFM表格，分隔行决定列数和对齐方式
+     */
+    private int table(List<String> lines, int start) {
+        List<String> header = splitRow(lines.get(start));
+        List<String> delimiter = splitRow(lines.get(start + 1));
+        if (header.size() != delimiter.size()) {
+            return start;
+        }
+        String[] aligns = new String[delimiter.size()];
+        for (int c = 0; c < aligns.length; c++) {
+            String cell = delimiter.get(c).strip();
+            boolean left = cell.startsWith(":");
+            boolean right = cell.endsWith(":");
+            aligns[c] = left && right ? "center" : right ? "right" : left ? "left" : null;
+        }
+
+        out.append("<table>\n<thead>\n");
+        tableRow(header, aligns, "th");
+        out.append("</thead>\n");
+        int i = start + 2;
+        boolean body = false;
+        while (i < lines.size() && !lines.get(i).isBlank() && lines.get(i).indexOf('|') >= 0 && !startsBlock(lines.get(i))) {
+            if (!body) {
+                out.append("<tbody>\n");
+                body = true;
+            }
+            tableRow(splitRow(lines.get(i)), aligns, "td");
+            i++;
+        }
+        if (body) {
+            out.append("</tbody>\n");
+        }
+        out.append("</table>\n");
+        return i;
+    }
+
+    private void tableRow(List<String> cells, String[] aligns, String tag) {
+        out.append("<tr>\n");
+        for (int c = 0; c < aligns.length; c++) {
+            out.append('<').append(tag);
+            if (aligns[c] != null) {
+                out.append(" align=\"").append(aligns[c]).append('"');
+            }
+            out.append('>');
+            if (c < cells.size()) {
+                out.append(inline(cells.get(c).strip()));
+            }
+            out.append("</").append(tag).append(">\n");
+        }
+        out.append("</tr>\n");
+    }
+
+    /**
+     * 按未转义且不在代码片段中的竖线拆分单元格，首尾竖线可省略
+     */
+    private static List<String> splitRow(String line) {
+        String row = line.strip();
+        if (row.startsWith("|")) {
+            row = row.substring(1);
+        }
+        if (row.endsWith("|") && !row.endsWith("\\|")) {
+            row = row.substring(0, row.length() - 1);
+        }
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean inCode = false;
+        for (int i = 0; i < row.length(); i++) {
+            char c = row.charAt(i);
+            if (c == '\\' && i + 1 < row.length() && row.charAt(i + 1) == '|') {
+                cell.append('|');
+                i++;
+            } else if (c == '`') {
+                inCode = !inCode;
+                cell.append(c);
+            } else if (c == '|' && !inCode) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    /**
+     * HTML块原样输出到空行为止，由渲染器统一过滤
+     */
+    private int htmlBlock(List<String> lines, int start) {
+        int i = start;
+        while (i < lines.size() && !lines.get(i).isBlank()) {
+            out.append(lines.get(i)).append('\n');
+            i++;
+        }
+        return i;
+    }
+
+    private int paragraph(List<String> lines, int start, boolean tight) {
+        StringBuilder text = new StringBuilder();
+        int i = start;
+        while (i < lines.size()) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                break;
+            }
+            // 段落后的===或---下划线为Setext标题，优先于分割线
+            if (i > start && indentOf(line) < 4) {
+                Matcher underline = SETEXT_UNDERLINE.matcher(line.strip());
+                if (underline.matches()) {
+                    heading(underline.group(1).charAt(0) == '=' ? 1 : 2, text.toString());
+                    return i + 1;
+                }
+            }
+            if (i > start && startsBlock(line)) {
+                break;
+            }
+            if (i > start && line.strip().indexOf('|') >= 0 && i + 1 < lines.size()
+                && isTableDelimiter(lines.get(i + 1).strip())) {
+                break;
+            }
+            if (!text.isEmpty()) {
+                text.append('\n');
+            }
+            text.append(line.stripLeading());
+            i++;
+        }
+        String html = inline(stripTrailing(text));
+        if (tight) {
+            out.append(html).append('\n');
+        } else {
+            out.append("<p>").append(html).append("</p>\n");
+        }
+        return i;
+    }
+
+    /**
+     * 能打断段落的块起始行
+     */
+    private static boolean startsBlock(String line) {
+        int indent = indentOf(line);
+        if (indent >= 4) {
+            return false;
+        }
+        String content = line.substring(indent);
+        if (content.startsWith(">") || isThematicBreak(content)
+            || ATX_HEADING.matcher(content).matches() || FENCE.matcher(content).matches()
+            || isHtmlBlock(content)) {
+            return true;
+        }
+        // 有序列表只有从1开始才能打断段落，避免正文中的"2024. "被误判
+        Matcher bullet = BULLET.matcher(content);
+        if (bullet.lookingAt() && bullet.group(3) != null && !bullet.group(3).isBlank()) {
+            return true;
+        }
+        Matcher ordered = ORDERED.matcher(content);
+        return ordered.lookingAt() && "1".equals(ordered.group(1)) && ordered.group(4) != null && !ordered.group(4).isBlank();
+    }
+
+    /**
+     * 分割线：同一种标记字符*、-或_出现至少3次，其间只能有空格和制表符
+     */
+    static boolean isThematicBreak(String content) {
+        if (content.isEmpty()) {
+            return false;
+        }
+        char marker = content.charAt(0);
+        if (marker != '*' && marker != '-' && marker != '_') {
+            return false;
+        }
+        int count = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c == marker) {
+                count++;
+            } else if (c != ' ' && c != '\t') {
+                return false;
+            }
+        }
+        return count >= 3;
+    }
+
+    /**
+     * 表格分隔行：竖线分隔的若干单元格，每格为可带冒号的连字符，首尾竖线可省略
+     * @param row 已去掉首尾空白的行
+     */
+    static boolean isTableDelimiter(String row) {
+        int n = row.length();
+        int i = 0;
+        if (i < n && row.charAt(i) == '|') {
+            i++;
+        }
+        while (true) {
+            i = skipBlanks(row, i);
+            if (i < n && row.charAt(i) == ':') {
+                i++;
+            }
+            int dashes = InlineRenderer.runLength(row, i, '-');
+            if (dashes == 0) {
+                return false;
+            }
+            i += dashes;
+            if (i < n && row.charAt(i) == ':') {
+                i++;
+            }
+            i = skipBlanks(row, i);
+            if (i == n) {
+                return true;
+            }
+            if (row.charAt(i) != '|') {
+                return false;
+            }
+            i = skipBlanks(row, i + 1);
+            if (i == n) {
+                return true;
+            }
+        }
+    }
+
+    private static int skipBlanks(String text, int from) {
+        int i = from;
+        while (i < text.length() && (text.charAt(i) == ' ' || text.charAt(i) == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isHtmlBlock(String content) {
+        Matcher matcher = HTML_BLOCK.matcher(content);
+        if (!matcher.lookingAt()) {
+            return false;
+        }
+        return matcher.group(1) == null || BLOCK_TAGS.contains(matcher.group(1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 渲染行内内容并累计字数
+     */
+    private String inline(String text) {
+        String html = InlineRenderer.render(text);
+        count(InlineRenderer.plainText(html));
+        return html;
+    }
+
+    /**
+     * 中日韩字符逐字计数，其他文字按连续的字母数字计为一个单词
+     */
+    private void count(String text) {
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isCjk(codePoint)) {
+                cjkChars++;
+                inWord = false;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                if (!inWord) {
+                    latinWords++;
+                    inWord = true;
+                }
+            } else if (codePoint != '\'' && codePoint != '-') {
+                inWord = false;
+            }
+        }
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN || script == Character.UnicodeScript.HIRAGANA
+            || script == Character.UnicodeScript.KATAKANA || script == Character.UnicodeScript.HANGUL;
+    }
+
+    /**
+     * 由标题文本生成锚点：小写，保留字母、数字、连字符和下划线，空白转为连字符，重复时追加序号
+     */
+    private String anchor(String text) {
+        StringBuilder id = new StringBuilder(text.length());
+        text.toLowerCase(Locale.ROOT).codePoints().forEach(codePoint -> {
+            if (Character.isLetterOrDigit(codePoint) || codePoint == '-' || codePoint == '_') {
+                id.appendCodePoint(codePoint);
+            } else if (Character.isWhitespace(codePoint)) {
+                id.append('-');
+            }
+        });
+        String base = id.isEmpty() ? "section" : id.toString();
+        int seen = anchors.merge(base, 1, Integer::sum) - 1;
+        if (seen == 0) {
+            return base;
+        }
+        String candidate = base + "-" + seen;
+        while (anchors.containsKey(candidate)) {
+            candidate = base + "-" + (++seen);
+        }
+        anchors.put(candidate, 1);
+        return candidate;
+    }
+
+    private void trimTrailingNewline() {
+        int length = out.length();
+        if (length > 0 && out.charAt(length - 1) == '\n') {
+            out.setLength(length - 1);
+        }
+    }
+
+    private static String stripTrailing(StringBuilder text) {
+        int end = text.length();
+        while (end > 0 && (text.charAt(end - 1) == ' ' || text.charAt(end - 1) == '\t')) {
+            end--;
+        }
+        return text.substring(0, end);
+    }
+
+    private static int indentOf(String line) {
+        int indent = 0;
+        while (indent < line.length() && line.charAt(indent) == ' ') {
+            indent++;
+        }
+        return indent;
+    }
+
+    private static String expandTabs(String line) {
+        if (line.indexOf('\t') < 0) {
+            return line;
+        }
+        StringBuilder expanded = new StringBuilder(line.length() + 8);
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\t') {
+                expanded.append(" ".repeat(4 - expanded.length() % 4));
+            } else {
+                expanded.append(c);
+            }
+        }
+        return expanded.toString();
+    }
+
+    /**
+     * 列表项标记
+     * @param contentIndent 列表项内容相对行首的缩进，后续行达到该缩进才属于该项
+     */
+    private record ListMarker(boolean ordered, char delimiter, int start, int contentIndent, String content) {
+
+        static ListMarker parse(String line) {
+            int indent = indentOf(line);
+            if (indent >= 4) {
+                return null;
+            }
+            String rest = line.substring(indent);
+            if (isThematicBreak(rest)) {
+                return null;
+            }
+            Matcher bullet = BULLET.matcher(rest);
+            if (bullet.lookingAt()) {
+                return of(false, bullet.group(1).charAt(0), 1, indent + 1, bullet.group(2), bullet.group(3));
+            }
+            Matcher ordered = ORDERED.matcher(rest);
+            if (ordered.lookingAt()) {
+                return of(true, ordered.group(2).charAt(0), Integer.parseInt(ordered.group(1)),
+                    indent + ordered.group(1).length() + 1, ordered.group(3), ordered.group(4));
+            }
+            return null;
+        }
+
+        private static ListMarker of(boolean ordered, char delimiter, int start, int markerEnd, String spacing, String content) {
+            if (spacing == null || content == null || content.isBlank()) {
+                return new ListMarker(ordered, delimiter, start, markerEnd + 1, "");
+            }
+            // 标记后超过4个空格时内容视为缩进代码，内容缩进只算1个空格
+            int gap = spacing.length() > 4 ? 1 : spacing.length();
+            String text = spacing.length() > 4 ? spacing.substring(1) + content : content;
+            return new ListMarker(ordered, delimiter, start, markerEnd + gap, text);
+        }
+
+        boolean sameListAs(ListMarker other) {
+            return ordered == other.ordered && delimiter == other.delimiter;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.myblog.service.markdown;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myblog.dto.TocEntryDTO;
+import com.myblog.entity.Article;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
+import com.myblog.repository.ArticleRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 文章正文渲染服务
+ * 文章创建、更新时在同一事务内渲染正文，结果与文章一起保存；
+ * 启动后以及批量导入后，在后台按主键分批补齐渲染结果缺失或渲染版本过旧的文章，
+ * 个别文章渲染失败时跳过该文章继续补齐其余文章。
+ */
+@Slf4j
+@Service
+public class ContentRenderService {
+
+    private static final TypeReference<List<TocEntryDTO>> TOC_TYPE = new TypeReference<>() {
+    };
+
+    private final MarkdownRenderer renderer;
+    private final ArticleRepository articleRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long debounceMs;
+    private final ScheduledExecutorService scheduler;
+    private final ReentrantLock backfillLock = new ReentrantLock();
+    private final AtomicBoolean backfillScheduled = new AtomicBoolean();
+    private final AtomicLong rendered = new AtomicLong();
+    private final AtomicLong renderNanos = new AtomicLong();
+    private final AtomicLong backfilled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public ContentRenderService(MarkdownRenderer renderer,
+                                ArticleRepository articleRepository,
+                                ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${blog.render.batch-size:100}") int batchSize,
+                                @Value("${blog.render.debounce-ms:2000}") long debounceMs) {
+        this.renderer = renderer;
+        this.articleRepository = articleRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.debounceMs = debounceMs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("content-render").daemon().factory());
+    }
+
+    /**
+     * 渲染文章正文并写入实体的渲染字段，由调用方负责保存
+     * @param article 文章实体
+     */
+    public void apply(Article article) {
+        RenderedContent content = render(article.getContent());
+        article.setContentHtml(content.html());
+        article.setTocJson(writeToc(content.toc()));
+        article.setWordCount(content.wordCount());
+        article.setReadingMinutes(content.readingMinutes());
+        article.setRenderVersion(MarkdownRenderer.VERSION);
+    }
+
+    /**
+     * 判断文章是否需要重新渲染：正文发生变化，或渲染结果缺失、版本过旧
+     * @param article 已更新正文的文章实体
+     * @param previousContent 更新前的正文
+     */
+    public boolean needsRender(Article article, String previousContent) {
+        return !Objects.equals(article.getContent(), previousContent)
+            || article.getRenderVersion() == null
+            || article.getRenderVersion() < MarkdownRenderer.VERSION;
+    }
+
+    /**
+     * 解析保存的目录JSON
+     * @return 目录条目，为空或格式错误时返回空列表
+     */
+    public List<TocEntryDTO> readToc(String json) {
+        if (json == null || json.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, TOC_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("文章目录解析失败: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleBackfill();
+    }
+
+    /**
+     * 批量导入直接写库不经过渲染，提交后补齐
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getType() == ContentType.ARTICLE && event.isBulk()) {
+            scheduleBackfill();
+        }
+    }
+
+    /**
+     * 补齐渲染结果缺失或版本过旧的文章
+     * @return 本次渲染的文章数
+     */
+    public int backfill() {
+        backfillLock.lock();
+        try {
+            long start = System.nanoTime();
+            int total = 0;
+            long afterId = 0;
+            List<Object[]> batch;
+            do {
+                long cursor = afterId;
+                batch = articleRepository.findRenderBacklog(MarkdownRenderer.VERSION, cursor, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                List<Object[]> rows = batch;
+                Integer updated = transactionTemplate.execute(status -> {
+                    int count = 0;
+                    for (Object[] row : rows) {
+                        RenderedContent content = tryRender((Long) row[0], (String) row[1]);
+                        if (content != null) {
+                            // 读取正文后文章已按当前版本重新渲染时不更新
+                            count += articleRepository.updateRendered((Long) row[0], content.html(),
+                                writeToc(content.toc()), content.wordCount(), content.readingMinutes(),
+                                MarkdownRenderer.VERSION);
+                        }
+                    }
+                    return count;
+                });
+                total += updated == null ? 0 : updated;
+                afterId = (Long) batch.get(batch.size() - 1)[0];
+            } while (batch.size() == batchSize);
+
+            if (total > 0) {
+                backfilled.addAndGet(total);
+                log.info("已补齐 {} 篇文章的渲染结果，耗时 {} ms", total, (System.nanoTime() - start) / 1_000_000);
+                // 通知响应缓存、静态导出等订阅方文章详情已变化
+                eventPublisher.publishEvent(ContentChangedEvent.bulk(ContentType.ARTICLE, ChangeAction.UPDATED));
+            }
+            return total;
+        } finally {
+            backfillLock.unlock();
+        }
+    }
+
+    /**
+     * 获取渲染统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("renderVersion", MarkdownRenderer.VERSION);
+        stats.put("rendered", rendered.get());
+        stats.put("backfilled", backfilled.get());
+        stats.put("failed", failed.get());
+        long count = rendered.get();
+        stats.put("avgRenderMillis", count == 0 ? 0 : renderNanos.get() / count / 1_000_000.0);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private RenderedContent render(String markdown) {
+        long start = System.nanoTime();
+        RenderedContent content = renderer.render(markdown);
+        renderNanos.addAndGet(System.nanoTime() - start);
+        rendered.incrementAndGet();
+        return content;
+    }
+
+    /**
+     * 补齐时渲染单篇文章，渲染失败（包括栈溢出）时返回null
+     */
+    private RenderedContent tryRender(Long id, String markdown) {
+        try {
+            return render(markdown);
+        } catch (RuntimeException | StackOverflowError e) {
+            failed.incrementAndGet();
+            log.warn("文章 {} 渲染失败，已跳过: {}", id, e.toString());
+            return null;
+        }
+    }
+
+    private String writeToc(List<TocEntryDTO> toc) {
+        try {
+            return objectMapper.writeValueAsString(toc);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("文章目录序列化失败", e);
+        }
+    }
+
+    private void scheduleBackfill() {
+        if (backfillScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                backfillScheduled.set(false);
+                try {
+                    backfill();
+                } catch (RuntimeException | StackOverflowError e) {
+                    log.error("补齐文章渲染结果失败", e);
+                }
+            }, debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,489 @@
+package com.myblog.service.markdown;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 行内元素渲染
+ * 支持反斜杠转义、代码、强调、加粗、删除线、内联链接和图片、尖括号自动链接、裸URL、内联HTML和硬换行。
+ * 不支持引用式链接定义。输出中的内联HTML原样保留，由渲染器最后统一过滤。
+ * 强调和链接文本递归渲染，嵌套超过MAX_DEPTH层时按普通文本输出；内联HTML标签逐字符扫描，
+ * 不用带分组重复的正则，避免大量属性或超长输入导致栈溢出。
+ */
+final class InlineRenderer {
+
+    private static final String PUNCTUATION = "!\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~";
+    private static final Pattern ENTITY = Pattern.compile(
+        "&(?:#[0-9]{1,7}|#[xX][0-9a-fA-F]{1,6}|[A-Za-z][A-Za-z0-9]{1,31});");
+    private static final Pattern AUTOLINK = Pattern.compile("<([A-Za-z][A-Za-z0-9+.-]{1,31}:[^\\s<>]*)>");
+    private static final Pattern EMAIL_AUTOLINK = Pattern.compile(
+        "<([A-Za-z0-9.!#$%&'*+/=?^_`{|}~-]+@[A-Za-z0-9](?:[A-Za-z0-9-]{0,61}[A-Za-z0-9])?"
+            + "(?:\\.[A-Za-z0-9](?:[A-Za-z0-9-]{0,61}[A-Za-z0-9])?)*)>");
+    private static final Pattern BARE_URL = Pattern.compile("https?://[^\\s<]*[^\\s<?!.,:;*_~)'\"]");
+    /** 邮箱地址的最大长度，同时限制邮箱自动链接正则的匹配范围 */
+    private static final int MAX_EMAIL_LENGTH = 254;
+    /** 强调和链接的最大嵌套层数 */
+    static final int MAX_DEPTH = 32;
+
+    private InlineRenderer() {
+    }
+
+    static String render(String text) {
+        StringBuilder out = new StringBuilder(text.length() + 16);
+        render(text, out);
+        return out.toString();
+    }
+
+    static void render(String text, StringBuilder out) {
+        render(text, out, 0);
+    }
+
+    /**
+     * @param depth 当前所在强调和链接的嵌套层数
+     */
+    private static void render(String text, StringBuilder out, int depth) {
+        boolean nestable = depth < MAX_DEPTH;
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            char c = text.charAt(i);
+            int end = -1;
+            switch (c) {
+                case '\\' -> {
+                    if (i + 1 < n && text.charAt(i + 1) == '\n') {
+                        out.append("<br />\n");
+                        end = i + 2;
+                    } else if (i + 1 < n && PUNCTUATION.indexOf(text.charAt(i + 1)) >= 0) {
+                        escape(text.charAt(i + 1), out);
+                        end = i + 2;
+                    }
+                }
+                case '`' -> end = codeSpan(text, i, out);
+                case '!' -> end = nestable && i + 1 < n && text.charAt(i + 1) == '['
+                    ? link(text, i + 1, out, true, depth) : -1;
+                case '[' -> end = nestable ? link(text, i, out, false, depth) : -1;
+                case '<' -> end = angle(text, i, out);
+                case '*', '_', '~' -> end = nestable ? emphasis(text, i, out, depth) : -1;
+                case '&' -> {
+                    Matcher matcher = ENTITY.matcher(text).region(i, n);
+                    if (matcher.lookingAt()) {
+                        out.append(matcher.group());
+                        end = matcher.end();
+                    }
+                }
+                case ' ' -> end = spaces(text, i, out);
+                case 'h' -> end = bareUrl(text, i, out);
+                default -> {
+                }
+            }
+            if (end < 0) {
+                escape(c, out);
+                end = i + 1;
+            }
+            i = end;
+        }
+    }
+
+    /**
+     * 去除HTML标签并还原常用实体，得到纯文本
+     */
+    static String plainText(String html) {
+        StringBuilder text = new StringBuilder(html.length());
+        boolean inTag = false;
+        for (int i = 0; i < html.length(); i++) {
+            char c = html.charAt(i);
+            if (c == '<') {
+                inTag = true;
+            } else if (c == '>' && inTag) {
+                inTag = false;
+            } else if (!inTag) {
+                text.append(c);
+            }
+        }
+        return text.toString().replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+            .replace("&#39;", "'").replace("&amp;", "&").strip();
+    }
+
+    static void escape(CharSequence text, StringBuilder out) {
+        for (int i = 0; i < text.length(); i++) {
+            escape(text.charAt(i), out);
+        }
+    }
+
+    static void escape(char c, StringBuilder out) {
+        switch (c) {
+            case '&' -> out.append("&amp;");
+            case '<' -> out.append("&lt;");
+            case '>' -> out.append("&gt;");
+            case '"' -> out.append("&quot;");
+            default -> out.append(c);
+        }
+    }
+
+    private static int codeSpan(String text, int start, StringBuilder out) {
+        int run = runLength(text, start, '`');
+        int search = start + run;
+        while (search < text.length()) {
+            int close = text.indexOf('`', search);
+            if (close < 0) {
+                break;
+            }
+            int closeRun = runLength(text, close, '`');
+            if (closeRun == run) {
+                String code = text.substring(start + run, close).replace('\n', ' ');
+                if (code.length() >= 2 && code.charAt(0) == ' ' && code.charAt(code.length() - 1) == ' ' && !code.isBlank()) {
+                    code = code.substring(1, code.length() - 1);
+                }
+                out.append("<code>");
+                escape(code, out);
+                out.append("</code>");
+                return close + run;
+            }
+            search = close + closeRun;
+        }
+        out.append(text, start, start + run);
+        return start + run;
+    }
+
+    /**
+     * 解析 [文本](地址 "标题") 和 ![说明](地址 "标题")
+     * @param start '['的位置
+     * @return 解析结束位置，不是合法链接时返回-1
+     */
+    private static int link(String text, int start, StringBuilder out, boolean image, int depth) {
+        int labelEnd = matchingBracket(text, start);
+        if (labelEnd < 0 || labelEnd + 1 >= text.length() || text.charAt(labelEnd + 1) != '(') {
+            return -1;
+        }
+        int n = text.length();
+        int i = skipSpaces(text, labelEnd + 2);
+        String destination;
+        if (i < n && text.charAt(i) == '<') {
+            int close = text.indexOf('>', i + 1);
+            if (close < 0) {
+                return -1;
+            }
+            destination = text.substring(i + 1, close);
+            i = close + 1;
+        } else {
+            int destStart = i;
+            int parens = 0;
+            while (i < n) {
+                char c = text.charAt(i);
+                if (c == '\\' && i + 1 < n) {
+                    i += 2;
+                    continue;
+                }
+                if (Character.isWhitespace(c) || (c == ')' && parens == 0)) {
+                    break;
+                }
+                if (c == '(') {
+                    parens++;
+                } else if (c == ')') {
+                    parens--;
+                }
+                i++;
+            }
+            destination = text.substring(destStart, i);
+        }
+        i = skipSpaces(text, i);
+        String title = null;
+        if (i < n && (text.charAt(i) == '"' || text.charAt(i) == '\'' || text.charAt(i) == '(')) {
+            char open = text.charAt(i);
+            char close = open == '(' ? ')' : open;
+            int titleEnd = text.indexOf(close, i + 1);
+            if (titleEnd < 0) {
+                return -1;
+            }
+            title = text.substring(i + 1, titleEnd);
+            i = skipSpaces(text, titleEnd + 1);
+        }
+        if (i >= n || text.charAt(i) != ')') {
+            return -1;
+        }
+
+        String label = text.substring(start + 1, labelEnd);
+        String url = unescapeBackslashes(destination).replace(" ", "%20");
+        if (image) {
+            out.append("<img src=\"");
+            escape(url, out);
+            out.append("\" alt=\"");
+            StringBuilder alt = new StringBuilder(label.length());
+            render(label, alt, depth + 1);
+            escape(plainText(alt.toString()), out);
+            out.append('"');
+            appendTitle(title, out);
+            out.append(" />");
+        } else {
+            out.append("<a href=\"");
+            escape(url, out);
+            out.append('"');
+            appendTitle(title, out);
+            appendExternalTarget(url, out);
+            out.append('>');
+            render(label, out, depth + 1);
+            out.append("</a>");
+        }
+        return i + 1;
+    }
+
+    private static int angle(String text, int start, StringBuilder out) {
+        Matcher autolink = AUTOLINK.matcher(text).region(start, text.length());
+        if (autolink.lookingAt()) {
+            appendLink(autolink.group(1), autolink.group(1), out);
+            return autolink.end();
+        }
+        Matcher email = EMAIL_AUTOLINK.matcher(text).region(start, Math.min(text.length(), start + MAX_EMAIL_LENGTH + 2));
+        if (email.lookingAt()) {
+            appendLink("mailto:" + email.group(1), email.group(1), out);
+            return email.end();
+        }
+        int end = htmlTag(text, start);
+        if (end > 0) {
+            out.append(text, start, end);
+        }
+        return end;
+    }
+
+    /**
+     * 识别内联HTML标签或注释：开始或结束标签名、可选的属性（值可带引号或不带引号）、可选的自闭合斜杠
+     * @param start '<'的位置
+     * @return 标签结束后的位置，不是合法标签时返回-1
+     */
+    static int htmlTag(String text, int start) {
+        int n = text.length();
+        if (text.startsWith("<!--", start)) {
+            int close = text.indexOf("-->", start + 4);
+            return close < 0 ? -1 : close + 3;
+        }
+        int i = start + 1;
+        if (i < n && text.charAt(i) == '/') {
+            i++;
+        }
+        if (i >= n || !isAsciiLetter(text.charAt(i))) {
+            return -1;
+        }
+        while (i < n && (isAsciiLetterOrDigit(text.charAt(i)) || text.charAt(i) == '-')) {
+            i++;
+        }
+        while (true) {
+            int nameStart = skipSpaces(text, i);
+            if (nameStart == i || nameStart >= n || !isAttributeNameStart(text.charAt(nameStart))) {
+                i = nameStart;
+                break;
+            }
+            i = nameStart + 1;
+            while (i < n && (isAttributeNameStart(text.charAt(i)) || Character.isDigit(text.charAt(i))
+                || text.charAt(i) == '.' || text.charAt(i) == '-')) {
+                i++;
+            }
+            int equals = skipSpaces(text, i);
+            if (equals >= n || text.charAt(equals) != '=') {
+                continue;
+            }
+            int valueStart = skipSpaces(text, equals + 1);
+            if (valueStart >= n) {
+                return -1;
+            }
+            char quote = text.charAt(valueStart);
+            if (quote == '"' || quote == '\'') {
+                int close = text.indexOf(quote, valueStart + 1);
+                if (close < 0) {
+                    return -1;
+                }
+                i = close + 1;
+            } else {
+                i = valueStart;
+                while (i < n && !Character.isWhitespace(text.charAt(i)) && "\"'=<>`".indexOf(text.charAt(i)) < 0) {
+                    i++;
+                }
+                if (i == valueStart) {
+                    return -1;
+                }
+            }
+        }
+        if (i < n && text.charAt(i) == '/') {
+            i++;
+        }
+        return i < n && text.charAt(i) == '>' ? i + 1 : -1;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isAttributeNameStart(char c) {
+        return isAsciiLetter(c) || c == '_' || c == ':';
+    }
+
+    /**
+     * 强调（*或_）、加粗（**或__）和删除线（~~）
+     */
+    private static int emphasis(String text, int start, StringBuilder out, int depth) {
+        char marker = text.charAt(start);
+        int run = runLength(text, start, marker);
+        if (marker == '~' && run != 2) {
+            return -1;
+        }
+        int delimiter = marker == '~' ? 2 : Math.min(run, 2);
+        int contentStart = start + delimiter;
+        if (contentStart >= text.length() || Character.isWhitespace(text.charAt(contentStart))) {
+            return -1;
+        }
+        // 单词内部的下划线不作为强调，如snake_case_name
+        if (marker == '_' && start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            return -1;
+        }
+        int close = findCloser(text, contentStart, marker, delimiter);
+        if (close < 0) {
+            return -1;
+        }
+        String tag = marker == '~' ? "del" : delimiter == 2 ? "strong" : "em";
+        out.append('<').append(tag).append('>');
+        render(text.substring(contentStart, close), out, depth + 1);
+        out.append("</").append(tag).append('>');
+        return close + delimiter;
+    }
+
+    /**
+     * 查找结束分隔符，跳过代码片段；结束分隔符前不能是空白，长度需与开始分隔符一致或不少于3
+     */
+    private static int findCloser(String text, int from, char marker, int delimiter) {
+        int i = from;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '`') {
+                int run = runLength(text, i, '`');
+                int close = text.indexOf("`".repeat(run), i + run);
+                i = close < 0 ? i + run : close + run;
+                continue;
+            }
+            if (c == marker) {
+                int run = runLength(text, i, marker);
+                boolean closes = !Character.isWhitespace(text.charAt(i - 1))
+                    && (run == delimiter || run >= 3)
+                    && (marker != '_' || i + run >= text.length() || !Character.isLetterOrDigit(text.charAt(i + run)));
+                if (closes && i > from) {
+                    return i + run - delimiter;
+                }
+                i += run;
+                continue;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * 行尾两个及以上空格为硬换行
+     */
+    private static int spaces(String text, int start, StringBuilder out) {
+        int end = start;
+        while (end < text.length() && text.charAt(end) == ' ') {
+            end++;
+        }
+        if (end < text.length() && text.charAt(end) == '\n' && end - start >= 2) {
+            out.append("<br />\n");
+            return end + 1;
+        }
+        out.append(text, start, end);
+        return end;
+    }
+
+    private static int bareUrl(String text, int start, StringBuilder out) {
+        if (start > 0 && (Character.isLetterOrDigit(text.charAt(start - 1)) || text.charAt(start - 1) == '/')) {
+            return -1;
+        }
+        if (!text.startsWith("http://", start) && !text.startsWith("https://", start)) {
+            return -1;
+        }
+        Matcher matcher = BARE_URL.matcher(text).region(start, text.length());
+        if (!matcher.lookingAt()) {
+            return -1;
+        }
+        appendLink(matcher.group(), matcher.group(), out);
+        return matcher.end();
+    }
+
+    private static void appendLink(String href, String label, StringBuilder out) {
+        out.append("<a href=\"");
+        escape(href, out);
+        out.append('"');
+        appendExternalTarget(href, out);
+        out.append('>');
+        escape(label, out);
+        out.append("</a>");
+    }
+
+    private static void appendTitle(String title, StringBuilder out) {
+        if (title != null) {
+            out.append(" title=\"");
+            escape(title, out);
+            out.append('"');
+        }
+    }
+
+    private static void appendExternalTarget(String url, StringBuilder out) {
+        if (url.startsWith("http://") || url.startsWith("https://")) {
+            out.append(" target=\"_blank\" rel=\"noopener noreferrer\"");
+        }
+    }
+
+    private static int matchingBracket(String text, int open) {
+        int depth = 0;
+        for (int i = open; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '`') {
+                int run = runLength(text, i, '`');
+                int close = text.indexOf("`".repeat(run), i + run);
+                i = (close < 0 ? i + run : close + run) - 1;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String unescapeBackslashes(String text) {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length() && PUNCTUATION.indexOf(text.charAt(i + 1)) >= 0) {
+                c = text.charAt(++i);
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+    private static int skipSpaces(String text, int from) {
+        int i = from;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    static int runLength(String text, int start, char c) {
+        int end = start;
+        while (end < text.length() && text.charAt(end) == c) {
+            end++;
+        }
+        return end - start;
+    }
+}
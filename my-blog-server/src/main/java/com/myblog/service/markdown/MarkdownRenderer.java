@@ -0,0 +1,67 @@
+package com.myblog.service.markdown;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.safety.Safelist;
+import org.springframework.stereotype.Component;
+
+/**
+ * Markdown渲染器
+ * 将文章正文渲染为经过白名单过滤的HTML，同时生成目录、字数和预计阅读时长。
+ * 渲染结果随文章持久化，渲染规则变化时递增VERSION，启动后由ContentRenderService重新渲染旧版本文章。
+ */
+@Component
+public class MarkdownRenderer {
+
+    /** 渲染规则版本 */
+    public static final int VERSION = 2;
+
+    /** 每分钟阅读的中日韩字符数 */
+    private static final double CJK_CHARS_PER_MINUTE = 400;
+    /** 每分钟阅读的英文单词数 */
+    private static final double LATIN_WORDS_PER_MINUTE = 200;
+    /** 每分钟阅读的代码行数 */
+    private static final double CODE_LINES_PER_MINUTE = 60;
+
+    /** 过滤时用于解析相对链接的占位地址，preserveRelativeLinks保证输出中仍为相对地址 */
+    private static final String BASE_URI = "https://blog.invalid/";
+
+    private final Safelist safelist = Safelist.relaxed()
+        .addTags("del", "s", "hr", "input", "details", "summary", "kbd", "mark", "figure", "figcaption")
+        .addAttributes("h1", "id")
+        .addAttributes("h2", "id")
+        .addAttributes("h3", "id")
+        .addAttributes("h4", "id")
+        .addAttributes("h5", "id")
+        .addAttributes("h6", "id")
+        .addAttributes("code", "class")
+        .addAttributes("li", "class")
+        .addAttributes("span", "class")
+        .addAttributes("th", "align")
+        .addAttributes("td", "align")
+        .addAttributes("a", "target", "rel")
+        .addAttributes("input", "type", "checked", "disabled")
+        .addAttributes("details", "open")
+        .preserveRelativeLinks(true);
+
+    private final Document.OutputSettings outputSettings = new Document.OutputSettings().prettyPrint(false);
+
+    /**
+     * 渲染Markdown
+     * @param markdown 文章正文，为空时返回空结果
+     */
+    public RenderedContent render(String markdown) {
+        if (markdown == null || markdown.isBlank()) {
+            return RenderedContent.EMPTY;
+        }
+        BlockRenderer renderer = new BlockRenderer(markdown.length() + markdown.length() / 4);
+        renderer.render(markdown);
+        String html = Jsoup.clean(renderer.html(), BASE_URI, safelist, outputSettings);
+
+        double minutes = renderer.cjkChars() / CJK_CHARS_PER_MINUTE
+            + renderer.latinWords() / LATIN_WORDS_PER_MINUTE
+            + renderer.codeLines() / CODE_LINES_PER_MINUTE;
+        int readingMinutes = Math.max(1, (int) Math.ceil(minutes));
+        return new RenderedContent(html, renderer.toc(), renderer.cjkChars() + renderer.latinWords(), readingMinutes);
+    }
+}
@@ -0,0 +1,18 @@
+package com.myblog.service.markdown;
+
+import com.myblog.dto.TocEntryDTO;
+
+import java.util.List;
+
+/**
+ * Markdown渲染结果
+ *
+ * @param html 经过白名单过滤的HTML
+ * @param toc 目录
+ * @param wordCount 字数：中日韩字符按字计，其他文字按词计，不含代码
+ * @param readingMinutes 预计阅读分钟数，至少为1
+ */
+public record RenderedContent(String html, List<TocEntryDTO> toc, int wordCount, int readingMinutes) {
+
+    public static final RenderedContent EMPTY = new RenderedContent("", List.of(), 0, 0);
+}
@@ -0,0 +1,38 @@
+package com.myblog.service.moderation;
+
+import com.myblog.event.ContentType;
+import com.myblog.repository.CommentRepository;
+import com.myblog.repository.GuestbookMessageRepository;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 作者历史检测阶段
+ * 同一邮箱已有内容通过审核时加分为正常；邮箱由提交者自行填写且会随已通过内容一并可见，
+ * 因此与无外链等同样可伪造的信号相加也达不到自动通过阈值，只用于抵消其他阶段的误判
+ */
+@Component
+@Order(5)
+public class ApprovedAuthorStage implements ModerationStage {
+
+    private final CommentRepository commentRepository;
+    private final GuestbookMessageRepository guestbookMessageRepository;
+
+    public ApprovedAuthorStage(CommentRepository commentRepository,
+                               GuestbookMessageRepository guestbookMessageRepository) {
+        this.commentRepository = commentRepository;
+        this.guestbookMessageRepository = guestbookMessageRepository;
+    }
+
+    @Override
+    public int evaluate(ModerationSubject subject) {
+        String email = subject.getEmail();
+        if (email == null || email.isBlank()) {
+            return 0;
+        }
+        boolean approvedBefore = subject.getType() == ContentType.COMMENT
+            ? commentRepository.existsByEmailAndIsApprovedTrue(email)
+            : guestbookMessageRepository.existsByEmailAndIsApprovedTrue(email);
+        return approvedBefore ? -2 : 0;
+    }
+}
@@ -0,0 +1,80 @@
+package com.myblog.service.moderation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 重复内容检测阶段
+ * 对归一化后的正文计算指纹，窗口期内多次出现相同指纹视为灌水；
+ * “谢谢分享”这类短回复本身就容易重复，归一化后短于min-length的内容不参与检测
+ */
+@Component
+@Order(3)
+public class DuplicateContentStage implements ModerationStage {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final SlidingWindowCounter<Long> fingerprints;
+    private final int minLength;
+
+    public DuplicateContentStage(@Value("${blog.moderation.duplicate-window-minutes:60}") long windowMinutes,
+                                 @Value("${blog.moderation.duplicate-min-length:15}") int minLength) {
+        this.fingerprints = new SlidingWindowCounter<>(windowMinutes * 60_000L);
+        this.minLength = minLength;
+    }
+
+    @Override
+    public int evaluate(ModerationSubject subject) {
+        if (normalizedLength(subject.getContent()) < minLength) {
+            return 0;
+        }
+        long fingerprint = fingerprint(subject.getContent());
+        int occurrences = fingerprints.record(fingerprint, subject.getSubmittedAt());
+        if (occurrences >= 3) {
+            return 10;
+        }
+        return occurrences == 2 ? 5 : 0;
+    }
+
+    @Override
+    public void evictExpired(long now) {
+        fingerprints.evictExpired(now);
+    }
+
+    /**
+     * 忽略空白和标点后的字符数
+     */
+    static int normalizedLength(String content) {
+        if (content == null) {
+            return 0;
+        }
+        int length = 0;
+        for (int i = 0; i < content.length(); i++) {
+            if (Character.isLetterOrDigit(content.charAt(i))) {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 忽略大小写、空白和标点，计算64位FNV-1a指纹
+     */
+    static long fingerprint(String content) {
+        long hash = FNV_OFFSET;
+        if (content == null) {
+            return hash;
+        }
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                continue;
+            }
+            hash ^= Character.toLowerCase(c);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
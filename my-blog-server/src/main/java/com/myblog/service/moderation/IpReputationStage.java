@@ -0,0 +1,57 @@
+package com.myblog.service.moderation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * IP信誉检测阶段
+ * 基于内存滑动窗口统计同一IP的提交频率和近期被判定为垃圾内容的次数
+ */
+@Component
+@Order(4)
+public class IpReputationStage implements ModerationStage {
+
+    private final SlidingWindowCounter<String> submissions;
+    private final SlidingWindowCounter<String> spamHits;
+    private final int burstThreshold;
+
+    public IpReputationStage(@Value("${blog.moderation.ip-window-minutes:10}") long windowMinutes,
+                             @Value("${blog.moderation.ip-burst-threshold:5}") int burstThreshold) {
+        this.submissions = new SlidingWindowCounter<>(windowMinutes * 60_000L);
+        // 垃圾内容记录保留更久，使信誉恢复慢于频率限制
+        this.spamHits = new SlidingWindowCounter<>(windowMinutes * 6 * 60_000L);
+        this.burstThreshold = burstThreshold;
+    }
+
+    @Override
+    public int evaluate(ModerationSubject subject) {
+        String ip = subject.getIpAddress();
+        if (ip == null || ip.isBlank()) {
+            return 0;
+        }
+        long now = subject.getSubmittedAt();
+        int score = 0;
+        int recent = submissions.record(ip, now);
+        if (recent > burstThreshold * 3) {
+            score += 10;
+        } else if (recent > burstThreshold) {
+            score += 4;
+        }
+        score += Math.min(spamHits.count(ip, now) * 3, 9);
+        return score;
+    }
+
+    @Override
+    public void onVerdict(ModerationSubject subject, ModerationVerdict verdict) {
+        if (verdict == ModerationVerdict.SPAM && subject.getIpAddress() != null) {
+            spamHits.record(subject.getIpAddress(), subject.getSubmittedAt());
+        }
+    }
+
+    @Override
+    public void evictExpired(long now) {
+        submissions.evictExpired(now);
+        spamHits.evictExpired(now);
+    }
+}
@@ -0,0 +1,49 @@
+package com.myblog.service.moderation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 链接数量检测阶段
+ * 不含链接的内容略微加分为正常，单凭这一项不足以自动通过；链接过多的内容视为推广
+ */
+@Component
+@Order(2)
+public class LinkCountStage implements ModerationStage {
+
+    private static final Pattern LINK_PATTERN = Pattern.compile("(?i)(https?://|www\\.|\\[url)");
+
+    private final int maxLinks;
+
+    public LinkCountStage(@Value("${blog.moderation.max-links:2}") int maxLinks) {
+        this.maxLinks = maxLinks;
+    }
+
+    @Override
+    public int evaluate(ModerationSubject subject) {
+        int links = countLinks(subject.getContent());
+        if (links == 0) {
+            return -1;
+        }
+        if (links <= maxLinks) {
+            return 0;
+        }
+        return 4 + 2 * (links - maxLinks);
+    }
+
+    private int countLinks(String content) {
+        if (content == null) {
+            return 0;
+        }
+        Matcher matcher = LINK_PATTERN.matcher(content);
+        int count = 0;
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+}
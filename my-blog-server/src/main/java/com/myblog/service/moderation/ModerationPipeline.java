@@ -0,0 +1,225 @@
+package com.myblog.service.moderation;
+
+import com.myblog.dto.CommentDTO;
+import com.myblog.dto.GuestbookMessageDTO;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
+import com.myblog.service.CommentService;
+import com.myblog.service.GuestbookService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 评论与留言异步审核流水线
+ * 新提交的未审核内容在事务提交后进入有界线程池，依次经过各审核阶段打分；
+ * 结论按微批次统一落库：正常内容直接通过；垃圾内容标记为垃圾并移出待审核队列，不做删除，
+ * 管理员可在垃圾列表中复查并通过误判的内容，结论落库前已被手动通过的内容不会被标记；
+ * 无法判定的内容保留在待审核队列。
+ * 线程池队列已满时直接放弃自动审核，内容仍由人工处理，不会阻塞提交请求。
+ */
+@Slf4j
+@Service
+public class ModerationPipeline {
+
+    private final List<ModerationStage> stages;
+    private final CommentService commentService;
+    private final GuestbookService guestbookService;
+    private final ThreadPoolExecutor executor;
+
+    private final boolean enabled;
+    private final int spamThreshold;
+    private final int hamThreshold;
+    private final int batchSize;
+
+    /** 已得出结论、等待批量落库的内容 */
+    private final Queue<Decision> decisions = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong approved = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong unsure = new AtomicLong();
+
+    public ModerationPipeline(List<ModerationStage> stages,
+                              CommentService commentService,
+                              GuestbookService guestbookService,
+                              @Value("${blog.moderation.enabled:true}") boolean enabled,
+                              @Value("${blog.moderation.workers:2}") int workers,
+                              @Value("${blog.moderation.queue-capacity:1000}") int queueCapacity,
+                              @Value("${blog.moderation.spam-threshold:10}") int spamThreshold,
+                              @Value("${blog.moderation.ham-threshold:-4}") int hamThreshold,
+                              @Value("${blog.moderation.batch-size:200}") int batchSize) {
+        this.stages = stages;
+        this.commentService = commentService;
+        this.guestbookService = guestbookService;
+        this.enabled = enabled;
+        this.spamThreshold = spamThreshold;
+        this.hamThreshold = hamThreshold;
+        this.batchSize = batchSize;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "moderation-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            (runnable, pool) -> dropped.incrementAndGet());
+    }
+
+    /**
+     * 监听评论和留言的新建事件，事务提交后提交自动审核
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (!enabled || event.getAction() != ChangeAction.CREATED) {
+            return;
+        }
+        if (event.getPayload() instanceof CommentDTO comment && !Boolean.TRUE.equals(comment.getIsApproved())) {
+            submit(ModerationSubject.of(comment));
+        } else if (event.getPayload() instanceof GuestbookMessageDTO message
+            && !Boolean.TRUE.equals(message.getIsApproved())) {
+            submit(ModerationSubject.of(message));
+        }
+    }
+
+    /**
+     * 提交待审核内容，队列已满时放弃自动审核
+     * @param subject 待审核内容
+     */
+    public void submit(ModerationSubject subject) {
+        submitted.incrementAndGet();
+        executor.execute(() -> moderate(subject));
+    }
+
+    private void moderate(ModerationSubject subject) {
+        try {
+            int score = 0;
+            for (ModerationStage stage : stages) {
+                score += stage.evaluate(subject);
+                // 已确定为垃圾内容时无需继续评估
+                if (score >= spamThreshold) {
+                    break;
+                }
+            }
+            ModerationVerdict verdict = score >= spamThreshold ? ModerationVerdict.SPAM
+                : score <= hamThreshold ? ModerationVerdict.HAM
+                : ModerationVerdict.UNSURE;
+            for (ModerationStage stage : stages) {
+                stage.onVerdict(subject, verdict);
+            }
+            switch (verdict) {
+                case HAM, SPAM -> decisions.add(new Decision(subject.getType(), subject.getId(), verdict));
+                case UNSURE -> unsure.incrementAndGet();
+            }
+            log.debug("自动审核 {}#{} 得分 {}，结论 {}", subject.getType(), subject.getId(), score, verdict);
+        } catch (Exception e) {
+            log.warn("自动审核 {}#{} 失败，保留人工审核", subject.getType(), subject.getId(), e);
+        }
+    }
+
+    /**
+     * 按微批次批量通过正常内容、标记垃圾内容
+     */
+    @Scheduled(fixedDelayString = "${blog.moderation.flush-interval-ms:2000}")
+    public void flushDecisions() {
+        List<Decision> batch;
+        while (!(batch = drain()).isEmpty()) {
+            Map<ContentType, List<Long>> hams = new LinkedHashMap<>();
+            Map<ContentType, List<Long>> spams = new LinkedHashMap<>();
+            for (Decision decision : batch) {
+                Map<ContentType, List<Long>> target = decision.verdict() == ModerationVerdict.HAM ? hams : spams;
+                target.computeIfAbsent(decision.type(), type -> new ArrayList<>()).add(decision.id());
+            }
+            try {
+                approved.addAndGet(approve(hams));
+                rejected.addAndGet(markSpam(spams));
+            } catch (Exception e) {
+                log.error("自动审核结论落库失败，共 {} 条内容保留人工审核", batch.size(), e);
+            }
+        }
+        long now = System.currentTimeMillis();
+        stages.forEach(stage -> stage.evictExpired(now));
+    }
+
+    /**
+     * 获取流水线运行统计
+     * @return 统计数据
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("submitted", submitted.get());
+        stats.put("dropped", dropped.get());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("pendingDecisions", decisions.size());
+        stats.put("autoApproved", approved.get());
+        stats.put("autoMarkedSpam", rejected.get());
+        stats.put("unsure", unsure.get());
+        return stats;
+    }
+
+    private List<Decision> drain() {
+        List<Decision> batch = new ArrayList<>(batchSize);
+        Decision decision;
+        while (batch.size() < batchSize && (decision = decisions.poll()) != null) {
+            batch.add(decision);
+        }
+        return batch;
+    }
+
+    private int approve(Map<ContentType, List<Long>> idsByType) {
+        int affected = 0;
+        for (Map.Entry<ContentType, List<Long>> entry : idsByType.entrySet()) {
+            List<Long> ids = entry.getValue();
+            affected += entry.getKey() == ContentType.COMMENT
+                ? commentService.approveComments(ids) : guestbookService.approveMessages(ids);
+        }
+        return affected;
+    }
+
+    private int markSpam(Map<ContentType, List<Long>> idsByType) {
+        int affected = 0;
+        for (Map.Entry<ContentType, List<Long>> entry : idsByType.entrySet()) {
+            List<Long> ids = entry.getValue();
+            affected += entry.getKey() == ContentType.COMMENT
+                ? commentService.markCommentsSpam(ids) : guestbookService.markMessagesSpam(ids);
+        }
+        return affected;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushDecisions();
+    }
+
+    /**
+     * 待落库的单条结论
+     */
+    private record Decision(ContentType type, Long id, ModerationVerdict verdict) {
+    }
+}
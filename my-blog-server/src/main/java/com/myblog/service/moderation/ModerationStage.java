@@ -0,0 +1,31 @@
+package com.myblog.service.moderation;
+
+/**
+ * 自动审核阶段
+ * 每个阶段为内容打出一个分值，正分表示更像垃圾内容，负分表示更像正常内容，
+ * 各阶段分值累加后由审核流水线给出最终结论
+ */
+public interface ModerationStage {
+
+    /**
+     * 评估待审核内容
+     * @param subject 待审核内容
+     * @return 本阶段分值
+     */
+    int evaluate(ModerationSubject subject);
+
+    /**
+     * 最终结论确定后的回调，用于积累信誉等状态
+     * @param subject 待审核内容
+     * @param verdict 最终结论
+     */
+    default void onVerdict(ModerationSubject subject, ModerationVerdict verdict) {
+    }
+
+    /**
+     * 清理过期的内部状态，由审核流水线定期调用
+     * @param now 当前时间（毫秒时间戳）
+     */
+    default void evictExpired(long now) {
+    }
+}
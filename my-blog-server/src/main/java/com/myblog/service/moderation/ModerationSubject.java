@@ -0,0 +1,74 @@
+package com.myblog.service.moderation;
+
+import com.myblog.dto.CommentDTO;
+import com.myblog.dto.GuestbookMessageDTO;
+import com.myblog.event.ContentType;
+import lombok.Data;
+
+/**
+ * 待审核内容
+ * 统一封装评论和留言中参与自动审核的字段
+ */
+@Data
+public class ModerationSubject {
+
+    /** 内容类型，评论或留言 */
+    private ContentType type;
+
+    /** 内容ID */
+    private Long id;
+
+    /** 所属文章ID，仅评论有值 */
+    private Long articleId;
+
+    /** 作者姓名 */
+    private String author;
+
+    /** 作者邮箱 */
+    private String email;
+
+    /** 作者网站 */
+    private String website;
+
+    /** 内容正文 */
+    private String content;
+
+    /** 提交者IP地址 */
+    private String ipAddress;
+
+    /** 提交时间（毫秒时间戳） */
+    private long submittedAt;
+
+    /**
+     * 从评论创建待审核内容
+     */
+    public static ModerationSubject of(CommentDTO comment) {
+        ModerationSubject subject = new ModerationSubject();
+        subject.setType(ContentType.COMMENT);
+        subject.setId(comment.getId());
+        subject.setArticleId(comment.getArticleId());
+        subject.setAuthor(comment.getAuthor());
+        subject.setEmail(comment.getEmail());
+        subject.setWebsite(comment.getWebsite());
+        subject.setContent(comment.getContent());
+        subject.setIpAddress(comment.getIpAddress());
+        subject.setSubmittedAt(System.currentTimeMillis());
+        return subject;
+    }
+
+    /**
+     * 从留言创建待审核内容
+     */
+    public static ModerationSubject of(GuestbookMessageDTO message) {
+        ModerationSubject subject = new ModerationSubject();
+        subject.setType(ContentType.GUESTBOOK_MESSAGE);
+        subject.setId(message.getId());
+        subject.setAuthor(message.getAuthor());
+        subject.setEmail(message.getEmail());
+        subject.setWebsite(message.getWebsite());
+        subject.setContent(message.getContent());
+        subject.setIpAddress(message.getIpAddress());
+        subject.setSubmittedAt(System.currentTimeMillis());
+        return subject;
+    }
+}
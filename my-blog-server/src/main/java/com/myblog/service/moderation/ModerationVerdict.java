@@ -0,0 +1,16 @@
+package com.myblog.service.moderation;
+
+/**
+ * 自动审核结论
+ */
+public enum ModerationVerdict {
+
+    /** 正常内容，自动通过 */
+    HAM,
+
+    /** 垃圾内容，保持未审核并标记为垃圾，移出待审核队列 */
+    SPAM,
+
+    /** 无法判定，保留在待审核队列中由人工处理 */
+    UNSURE
+}
@@ -0,0 +1,63 @@
+package com.myblog.service.moderation;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * 内存滑动窗口计数器
+ * 按key记录事件时间戳，只统计窗口期内的事件，过期数据在访问和清理时移除
+ *
+ * @param <K> 计数key类型
+ */
+public class SlidingWindowCounter<K> {
+
+    private final long windowMillis;
+
+    private final Map<K, Deque<Long>> events = new ConcurrentHashMap<>();
+
+    public SlidingWindowCounter(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * 记录一次事件并返回记录后窗口内的事件数
+     */
+    public int record(K key, long now) {
+        Deque<Long> timestamps = events.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+        timestamps.addLast(now);
+        return trim(timestamps, now);
+    }
+
+    /**
+     * 返回窗口内的事件数
+     */
+    public int count(K key, long now) {
+        Deque<Long> timestamps = events.get(key);
+        return timestamps == null ? 0 : trim(timestamps, now);
+    }
+
+    /**
+     * 清理所有过期事件，并移除已无事件的key
+     */
+    public void evictExpired(long now) {
+        events.entrySet().removeIf(entry -> trim(entry.getValue(), now) == 0);
+    }
+
+    /**
+     * 当前跟踪的key数量
+     */
+    public int size() {
+        return events.size();
+    }
+
+    private int trim(Deque<Long> timestamps, long now) {
+        long threshold = now - windowMillis;
+        Long head;
+        while ((head = timestamps.peekFirst()) != null && head < threshold) {
+            timestamps.pollFirst();
+        }
+        return timestamps.size();
+    }
+}
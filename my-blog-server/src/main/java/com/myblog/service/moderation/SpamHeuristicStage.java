@@ -0,0 +1,87 @@
+package com.myblog.service.moderation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 垃圾内容启发式检测阶段
+ * 根据敏感关键词、重复字符和全大写等特征打分
+ */
+@Component
+@Order(1)
+public class SpamHeuristicStage implements ModerationStage {
+
+    /** 每命中一个关键词的分值 */
+    private static final int KEYWORD_SCORE = 6;
+
+    /** 连续重复字符达到该长度视为灌水 */
+    private static final int REPEATED_CHAR_RUN = 8;
+
+    private final List<String> spamKeywords;
+
+    public SpamHeuristicStage(@Value("${blog.moderation.spam-keywords:}") List<String> spamKeywords) {
+        this.spamKeywords = spamKeywords.stream()
+            .map(String::trim)
+            .filter(keyword -> !keyword.isEmpty())
+            .map(keyword -> keyword.toLowerCase(Locale.ROOT))
+            .toList();
+    }
+
+    @Override
+    public int evaluate(ModerationSubject subject) {
+        String content = subject.getContent();
+        if (content == null || content.isBlank()) {
+            return 10;
+        }
+
+        int score = 0;
+        String text = (content + " " + nullToEmpty(subject.getAuthor()) + " " + nullToEmpty(subject.getWebsite()))
+            .toLowerCase(Locale.ROOT);
+        for (String keyword : spamKeywords) {
+            if (text.contains(keyword)) {
+                score += KEYWORD_SCORE;
+            }
+        }
+        if (hasRepeatedRun(content)) {
+            score += 3;
+        }
+        if (isShouting(content)) {
+            score += 2;
+        }
+        return score;
+    }
+
+    private boolean hasRepeatedRun(String content) {
+        int run = 1;
+        for (int i = 1; i < content.length(); i++) {
+            run = content.charAt(i) == content.charAt(i - 1) ? run + 1 : 1;
+            if (run >= REPEATED_CHAR_RUN) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isShouting(String content) {
+        int letters = 0;
+        int upper = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                letters++;
+                upper++;
+            } else if (c >= 'a' && c <= 'z') {
+                letters++;
+            }
+        }
+        return letters >= 20 && upper * 10 >= letters * 8;
+    }
+
+    private String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,148 @@
+package com.myblog.service.related;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * 文章内容的MinHash签名
+ * 正文和标题切分为词项：拉丁字母和数字按单词切分并转为小写，汉字按相邻两字切分，
+ * 每个哈希函数取所有词项哈希的最小值，两篇文章签名中相同位置相等的比例近似于词项集合的Jaccard相似度。
+ */
+final class ContentSignature {
+
+    /** 签名长度，估计误差约为 1/sqrt(SIZE) */
+    static final int SIZE = 64;
+    /** LSH分段数，每段 SIZE / BANDS 个哈希值完全相同的两篇文章互为候选 */
+    static final int BANDS = 16;
+    private static final int ROWS = SIZE / BANDS;
+    private static final long[] SEEDS = new long[SIZE];
+    private static final Set<String> STOP_WORDS = Set.of(
+        "the", "and", "of", "to", "in", "is", "it", "for", "on", "with", "as", "be", "this", "that", "are",
+        "or", "an", "by", "at", "from", "we", "you", "can", "not", "if", "but", "will", "use", "http", "https", "www"
+    );
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < SIZE; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private ContentSignature() {
+    }
+
+    /**
+     * 计算签名
+     * @return 签名，没有任何词项时返回null
+     */
+    static int[] of(String title, String content) {
+        long[] minimums = new long[SIZE];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        int terms = accumulate(title, minimums) + accumulate(content, minimums);
+        if (terms == 0) {
+            return null;
+        }
+        int[] signature = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            signature[i] = (int) (minimums[i] >>> 32);
+        }
+        return signature;
+    }
+
+    /**
+     * 估计两个签名对应词项集合的Jaccard相似度
+     */
+    static double similarity(int[] a, int[] b) {
+        if (a == null || b == null) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIZE;
+    }
+
+    /**
+     * 计算签名各分段的LSH桶键，高位为分段序号
+     */
+    static long[] bands(int[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long h = band;
+            for (int row = 0; row < ROWS; row++) {
+                h = mix(h * 31 + signature[band * ROWS + row]);
+            }
+            keys[band] = ((long) band << 56) | (h >>> 8);
+        }
+        return keys;
+    }
+
+    /**
+     * 切分词项并更新各哈希函数的最小值
+     * @return 词项数
+     */
+    private static int accumulate(String text, long[] minimums) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int terms = 0;
+        StringBuilder word = new StringBuilder();
+        int previousHan = -1;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HAN) {
+                terms += flush(word, minimums);
+                if (previousHan >= 0) {
+                    update(((long) previousHan << 32) | codePoint, minimums);
+                    terms++;
+                }
+                previousHan = codePoint;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                word.appendCodePoint(Character.toLowerCase(codePoint));
+                previousHan = -1;
+            } else {
+                terms += flush(word, minimums);
+                previousHan = -1;
+            }
+        }
+        return terms + flush(word, minimums);
+    }
+
+    private static int flush(StringBuilder word, long[] minimums) {
+        if (word.isEmpty()) {
+            return 0;
+        }
+        String term = word.toString();
+        word.setLength(0);
+        if (term.length() < 2 || STOP_WORDS.contains(term)) {
+            return 0;
+        }
+        update(term.hashCode() ^ ((long) term.length() << 40), minimums);
+        return 1;
+    }
+
+    private static void update(long term, long[] minimums) {
+        long base = mix(term);
+        for (int i = 0; i < SIZE; i++) {
+            long h = mix(base ^ SEEDS[i]);
+            if (h < minimums[i]) {
+                minimums[i] = h;
+            }
+        }
+    }
+
+    /**
+     * SplitMix64的混合函数
+     */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
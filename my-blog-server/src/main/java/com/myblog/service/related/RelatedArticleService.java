@@ -0,0 +1,495 @@
+package com.myblog.service.related;
+
+import com.myblog.dto.ArticleDTO;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
+import com.myblog.repository.ArticleRepository;
+import com.myblog.service.ArticleService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+
+/**
+ * 相关文章推荐服务
+ * 为每篇已发布文章预先计算相关文章列表：相似度为标签集合的Jaccard相似度与正文MinHash相似度的加权和，
+ * 候选文章来自共享标签的文章和MinHash分段（LSH）落入同一桶的文章，避免两两比较全部文章。
+ * 启动后和批量变更后在fork/join线程池中并行全量计算；单篇文章变更提交后，合并短时间内的变更，
+ * 只重新计算变更文章及其新旧候选文章的列表。查询时直接从内存中的映射取出文章ID，再按主键回表。
+ */
+@Slf4j
+@Service
+public class RelatedArticleService {
+
+    /** 并行计算时每个子任务处理的文章数 */
+    private static final int SPLIT_THRESHOLD = 32;
+    private static final long[] NO_TAGS = new long[0];
+
+    private final ArticleRepository articleRepository;
+    private final ArticleService articleService;
+    private final int maxNeighbors;
+    private final double tagWeight;
+    private final double minScore;
+    private final int maxTagPostings;
+    private final int batchSize;
+    private final long debounceMs;
+    private final ForkJoinPool pool;
+    private final ScheduledExecutorService scheduler;
+
+    /** 以下索引只在持有updateLock时读写 */
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private Map<Long, Features> features = new HashMap<>();
+    private Map<Long, Set<Long>> tagPostings = new HashMap<>();
+    private Map<Long, Set<Long>> bandBuckets = new HashMap<>();
+    /** 查询只读取该映射，不需要加锁 */
+    private volatile Map<Long, Neighbors> neighbors = new ConcurrentHashMap<>();
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean updateScheduled = new AtomicBoolean();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final AtomicLong rebuilds = new AtomicLong();
+    private final AtomicLong incrementalUpdates = new AtomicLong();
+    private final AtomicLong recomputed = new AtomicLong();
+    private final AtomicLong candidatesScored = new AtomicLong();
+    private volatile long lastRebuildMillis;
+    private volatile long lastUpdateMillis;
+
+    public RelatedArticleService(ArticleRepository articleRepository,
+                                 ArticleService articleService,
+                                 @Value("${blog.related.max-neighbors:10}") int maxNeighbors,
+                                 @Value("${blog.related.tag-weight:0.6}") double tagWeight,
+                                 @Value("${blog.related.min-score:0.05}") double minScore,
+                                 @Value("${blog.related.max-tag-postings:1000}") int maxTagPostings,
+                                 @Value("${blog.related.batch-size:200}") int batchSize,
+                                 @Value("${blog.related.debounce-ms:2000}") long debounceMs,
+                                 @Value("${blog.related.parallelism:0}") int parallelism) {
+        this.articleRepository = articleRepository;
+        this.articleService = articleService;
+        this.maxNeighbors = Math.max(1, maxNeighbors);
+        this.tagWeight = Math.min(1, Math.max(0, tagWeight));
+        this.minScore = minScore;
+        this.maxTagPostings = maxTagPostings;
+        this.batchSize = Math.max(1, batchSize);
+        this.debounceMs = debounceMs;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("related-articles").daemon().factory());
+    }
+
+    /**
+     * 获取相关文章
+     * @param articleId 文章ID
+     * @param size 最多返回的数量，不超过预先计算的数量
+     * @return 按相似度从高到低排列的已发布文章，不含正文
+     */
+    public List<ArticleDTO> getRelatedArticles(Long articleId, int size) {
+        Neighbors list = neighbors.get(articleId);
+        if (list == null || size <= 0) {
+            return List.of();
+        }
+        int count = Math.min(size, list.ids().length);
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(list.ids()[i]);
+        }
+        return articleService.getPublishedArticlesByIds(ids);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    /**
+     * 单篇文章变更提交后合并处理，批量变更和标签删除后全量重建
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getType() == ContentType.ARTICLE) {
+            if (event.isBulk()) {
+                scheduleRebuild();
+            } else {
+                pending.add(event.getId());
+                scheduleUpdate();
+            }
+        } else if (event.getType() == ContentType.TAG && event.getAction() == ChangeAction.DELETED) {
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * 定期全量重建，修正漏掉的事件
+     */
+    @Scheduled(initialDelayString = "${blog.related.reconcile-ms:21600000}",
+               fixedDelayString = "${blog.related.reconcile-ms:21600000}")
+    public void reconcile() {
+        scheduleRebuild();
+    }
+
+    /**
+     * 全量重建全部已发布文章的相关文章列表
+     * @return 已发布文章数
+     */
+    public int rebuild() {
+        updateLock.lock();
+        try {
+            long start = System.nanoTime();
+            Map<Long, long[]> tags = groupTags(articleRepository.findPublishedTagPairs());
+            Map<Long, Features> loaded = new HashMap<>();
+            long afterId = 0;
+            List<Object[]> batch;
+            do {
+                batch = articleRepository.findRelatedSource(afterId, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                loaded.putAll(extract(batch, tags));
+                afterId = (Long) batch.get(batch.size() - 1)[0];
+            } while (batch.size() == batchSize);
+
+            features = loaded;
+            tagPostings = new HashMap<>();
+            bandBuckets = new HashMap<>();
+            loaded.forEach(this::index);
+            Map<Long, Neighbors> computed = new ConcurrentHashMap<>();
+            computeAll(loaded.keySet(), computed);
+            neighbors = computed;
+
+            rebuilds.incrementAndGet();
+            lastRebuildMillis = (System.nanoTime() - start) / 1_000_000;
+            log.info("相关文章已重建，共 {} 篇文章，耗时 {} ms", loaded.size(), lastRebuildMillis);
+            return loaded.size();
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 增量更新：重新提取变更文章的特征，并重新计算变更文章及其新旧候选文章的列表
+     * @param ids 变更的文章ID
+     */
+    public void update(Set<Long> ids) {
+        updateLock.lock();
+        try {
+            long start = System.nanoTime();
+            Map<Long, Features> loaded = extract(articleRepository.findRelatedSourceByIds(ids),
+                groupTags(articleRepository.findPublishedTagPairsByIds(ids)));
+            Set<Long> affected = new HashSet<>();
+            for (Long id : ids) {
+                Features previous = features.get(id);
+                Features current = loaded.get(id);
+                if (previous != null && previous.sameAs(current)) {
+                    continue;
+                }
+                affected.add(id);
+                if (previous != null) {
+                    affected.addAll(candidates(id, previous));
+                    unindex(id, previous);
+                    features.remove(id);
+                }
+                if (current != null) {
+                    features.put(id, current);
+                    index(id, current);
+                    affected.addAll(candidates(id, current));
+                }
+            }
+            Map<Long, Neighbors> lists = neighbors;
+            affected.removeIf(id -> {
+                if (!features.containsKey(id)) {
+                    lists.remove(id);
+                    return true;
+                }
+                return false;
+            });
+            computeAll(affected, lists);
+
+            incrementalUpdates.incrementAndGet();
+            lastUpdateMillis = (System.nanoTime() - start) / 1_000_000;
+            log.debug("相关文章增量更新：{} 篇变更，重新计算 {} 篇，耗时 {} ms", ids.size(), affected.size(), lastUpdateMillis);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 获取推荐统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<Long, Neighbors> snapshot = neighbors;
+        stats.put("articles", snapshot.size());
+        stats.put("edges", snapshot.values().stream().mapToLong(list -> list.ids().length).sum());
+        stats.put("rebuilds", rebuilds.get());
+        stats.put("lastRebuildMillis", lastRebuildMillis);
+        stats.put("incrementalUpdates", incrementalUpdates.get());
+        stats.put("lastUpdateMillis", lastUpdateMillis);
+        long lists = recomputed.get();
+        stats.put("avgCandidates", lists == 0 ? 0 : (double) candidatesScored.get() / lists);
+        stats.put("parallelism", pool.getParallelism());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                rebuildScheduled.set(false);
+                // 全量重建覆盖此前积压的单篇变更
+                pending.clear();
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("重建相关文章失败", e);
+                }
+            }, debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void scheduleUpdate() {
+        if (updateScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                updateScheduled.set(false);
+                Set<Long> ids = new HashSet<>(pending);
+                pending.removeAll(ids);
+                if (ids.isEmpty()) {
+                    return;
+                }
+                try {
+                    update(ids);
+                } catch (RuntimeException e) {
+                    log.error("更新相关文章失败，稍后全量重建", e);
+                    scheduleRebuild();
+                }
+            }, debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 在fork/join线程池中并行计算一组文章的相关文章列表
+     */
+    private void computeAll(Set<Long> ids, Map<Long, Neighbors> target) {
+        long[] targets = ids.stream().mapToLong(Long::longValue).toArray();
+        pool.invoke(new RangeTask(0, targets.length, index -> {
+            long id = targets[index];
+            target.put(id, compute(id));
+        }));
+    }
+
+    /**
+     * 计算单篇文章的相关文章：对全部候选打分，保留分数最高的若干篇
+     * 只读取索引，由持有updateLock的线程在fork/join任务中调用
+     */
+    private Neighbors compute(long id) {
+        Features self = features.get(id);
+        Set<Long> candidates = candidates(id, self);
+        long[] topIds = new long[maxNeighbors];
+        float[] topScores = new float[maxNeighbors];
+        int size = 0;
+        for (Long candidate : candidates) {
+            Features other = features.get(candidate);
+            if (other == null) {
+                continue;
+            }
+            float score = (float) (tagWeight * jaccard(self.tags(), other.tags())
+                + (1 - tagWeight) * ContentSignature.similarity(self.signature(), other.signature()));
+            if (score < minScore || (size == maxNeighbors && !ranksBefore(score, candidate, topScores[size - 1], topIds[size - 1]))) {
+                continue;
+            }
+            // 插入排序，列表很短
+            int position = size == maxNeighbors ? size - 1 : size++;
+            while (position > 0 && ranksBefore(score, candidate, topScores[position - 1], topIds[position - 1])) {
+                topIds[position] = topIds[position - 1];
+                topScores[position] = topScores[position - 1];
+                position--;
+            }
+            topIds[position] = candidate;
+            topScores[position] = score;
+        }
+        recomputed.incrementAndGet();
+        candidatesScored.addAndGet(candidates.size());
+        return new Neighbors(Arrays.copyOf(topIds, size), Arrays.copyOf(topScores, size));
+    }
+
+    /**
+     * 分数相同时较新（ID较大）的文章排在前面
+     */
+    private static boolean ranksBefore(float score, long id, float otherScore, long otherId) {
+        return score > otherScore || (score == otherScore && id > otherId);
+    }
+
+    /**
+     * 候选文章：共享标签的文章（跳过文章数过多的标签）和任一MinHash分段相同的文章
+     */
+    private Set<Long> candidates(long id, Features self) {
+        Set<Long> result = new HashSet<>();
+        for (long tag : self.tags()) {
+            Set<Long> posting = tagPostings.get(tag);
+            if (posting != null && posting.size() <= maxTagPostings) {
+                result.addAll(posting);
+            }
+        }
+        for (long band : self.bands()) {
+            Set<Long> bucket = bandBuckets.get(band);
+            if (bucket != null) {
+                result.addAll(bucket);
+            }
+        }
+        result.remove(id);
+        return result;
+    }
+
+    private void index(Long id, Features value) {
+        for (long tag : value.tags()) {
+            tagPostings.computeIfAbsent(tag, key -> new HashSet<>()).add(id);
+        }
+        for (long band : value.bands()) {
+            bandBuckets.computeIfAbsent(band, key -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void unindex(Long id, Features value) {
+        for (long tag : value.tags()) {
+            removeFrom(tagPostings, tag, id);
+        }
+        for (long band : value.bands()) {
+            removeFrom(bandBuckets, band, id);
+        }
+    }
+
+    private static void removeFrom(Map<Long, Set<Long>> index, long key, Long id) {
+        Set<Long> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 并行计算一批文章的特征，正文用完即丢弃
+     */
+    private Map<Long, Features> extract(List<Object[]> rows, Map<Long, long[]> tags) {
+        Features[] extracted = new Features[rows.size()];
+        pool.invoke(new RangeTask(0, rows.size(), index -> {
+            Object[] row = rows.get(index);
+            int[] signature = ContentSignature.of((String) row[1], (String) row[2]);
+            extracted[index] = new Features(tags.getOrDefault((Long) row[0], NO_TAGS), signature,
+                signature == null ? new long[0] : ContentSignature.bands(signature));
+        }));
+        Map<Long, Features> result = new HashMap<>();
+        for (int i = 0; i < extracted.length; i++) {
+            result.put((Long) rows.get(i)[0], extracted[i]);
+        }
+        return result;
+    }
+
+    private static Map<Long, long[]> groupTags(List<Object[]> pairs) {
+        Map<Long, List<Long>> grouped = new HashMap<>();
+        for (Object[] row : pairs) {
+            grouped.computeIfAbsent((Long) row[0], key -> new ArrayList<>()).add((Long) row[1]);
+        }
+        Map<Long, long[]> result = new HashMap<>();
+        grouped.forEach((id, tagIds) -> result.put(id, tagIds.stream().mapToLong(Long::longValue).sorted().toArray()));
+        return result;
+    }
+
+    /**
+     * 两个有序标签数组的Jaccard相似度
+     */
+    private static double jaccard(long[] a, long[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return 0;
+        }
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (a.length + b.length - common);
+    }
+
+    /**
+     * 文章特征：有序标签ID、正文MinHash签名（无词项时为null）及其LSH桶键
+     */
+    private record Features(long[] tags, int[] signature, long[] bands) {
+
+        boolean sameAs(Features other) {
+            return other != null && Arrays.equals(tags, other.tags) && Arrays.equals(signature, other.signature);
+        }
+    }
+
+    /**
+     * 相关文章列表，按分数从高到低排列
+     */
+    private record Neighbors(long[] ids, float[] scores) {
+    }
+
+    /**
+     * 将下标区间对半拆分，直到不超过阈值后顺序执行
+     */
+    private static final class RangeTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        RangeTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    body.accept(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, middle, body), new RangeTask(middle, to, body));
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.myblog.service.revision;
+
+import com.myblog.dto.ArticleRevisionDTO;
+import com.myblog.dto.PageResponse;
+import com.myblog.entity.Article;
+import com.myblog.entity.ArticleRevision;
+import com.myblog.repository.ArticleRevisionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 文章修订服务
+ * 文章每次保存时记录一条修订：正文相对上一修订计算增量并压缩存储，每隔固定数量的修订写入一个完整关键帧。
+ * 重建任意修订只需读取最近的关键帧和之后不超过关键帧间隔数量的增量。
+ */
+@Slf4j
+@Service
+public class ArticleRevisionService {
+
+    private final ArticleRevisionRepository revisionRepository;
+    private final int keyframeInterval;
+
+    public ArticleRevisionService(ArticleRevisionRepository revisionRepository,
+                                  @Value("${blog.revision.keyframe-interval:20}") int keyframeInterval) {
+        this.revisionRepository = revisionRepository;
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+    }
+
+    /**
+     * 记录文章保存后的修订，需在保存文章的事务内调用
+     * @param article 已保存的文章
+     * @param previousTitle 保存前的标题，新建文章传null
+     * @param previousContent 保存前的正文，新建文章传null
+     */
+    @Transactional
+    public void record(Article article, String previousTitle, String previousContent) {
+        ArticleRevision latest = revisionRepository.findTopByArticleIdOrderByRevisionDesc(article.getId()).orElse(null);
+        if (latest == null && previousContent != null) {
+            // 修订功能上线前已存在的文章，先把修改前的版本作为基线
+            latest = save(article.getId(), 1, previousTitle, previousContent, null, null);
+        }
+        String content = Objects.requireNonNullElse(article.getContent(), "");
+        String hash = sha256(content);
+        if (latest != null && latest.getContentHash().equals(hash) && Objects.equals(latest.getTitle(), article.getTitle())) {
+            return;
+        }
+        int revision = latest == null ? 1 : latest.getRevision() + 1;
+        // 只有最新修订与保存前的正文一致时才能以其为基准计算增量，否则（如被批量导入覆盖）写入关键帧
+        String base = latest != null && previousContent != null && latest.getContentHash().equals(sha256(previousContent))
+            ? previousContent : null;
+        save(article.getId(), revision, article.getTitle(), content, base, latest);
+    }
+
+    /**
+     * 分页获取文章的修订列表，不含正文
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<ArticleRevisionDTO> getRevisions(Long articleId, Pageable pageable) {
+        Page<ArticleRevision> page = revisionRepository.findByArticleIdOrderByRevisionDesc(articleId, pageable);
+        return new PageResponse<>(page.map(revision -> convertToDTO(revision, null)));
+    }
+
+    /**
+     * 获取指定修订，包含重建后的正文
+     */
+    @Transactional(readOnly = true)
+    public ArticleRevisionDTO getRevision(Long articleId, int revision) {
+        ArticleRevision target = revisionRepository.findByArticleIdAndRevision(articleId, revision)
+            .orElseThrow(() -> new RuntimeException("修订不存在"));
+        return convertToDTO(target, reconstruct(target));
+    }
+
+    /**
+     * 比较两个修订的正文
+     * @return 统一格式的差异块
+     */
+    @Transactional(readOnly = true)
+    public List<DiffHunk> diff(Long articleId, int from, int to) {
+        return LineDiff.diff(getRevision(articleId, from).getContent(), getRevision(articleId, to).getContent());
+    }
+
+    /**
+     * 统计文章修订的存储占用，并与完整保存每个版本对比
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStorageStats(Long articleId) {
+        Object[] row = revisionRepository.summarizeStorage(articleId).get(0);
+        long stored = ((Number) row[2]).longValue();
+        long full = ((Number) row[3]).longValue();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("revisions", ((Number) row[0]).longValue());
+        stats.put("keyframes", ((Number) row[1]).longValue());
+        stats.put("keyframeInterval", keyframeInterval);
+        stats.put("storedBytes", stored);
+        stats.put("fullCopyBytes", full);
+        stats.put("ratio", full == 0 ? 0 : (double) stored / full);
+        return stats;
+    }
+
+    /**
+     * 删除文章的全部修订
+     */
+    @Transactional
+    public void deleteRevisions(Long articleId) {
+        revisionRepository.deleteByArticleId(articleId);
+    }
+
+    /**
+     * 从关键帧开始依次应用增量，重建修订的正文
+     */
+    private String reconstruct(ArticleRevision target) {
+        List<ArticleRevision> chain = target.getIsKeyframe()
+            ? List.of(target)
+            : revisionRepository.findByArticleIdAndRevisionBetweenOrderByRevisionAsc(
+                target.getArticleId(), target.getKeyframeRevision(), target.getRevision());
+        if (chain.isEmpty() || !chain.get(0).getIsKeyframe()
+            || chain.get(chain.size() - 1).getRevision().intValue() != target.getRevision()) {
+            throw new RuntimeException("修订链不完整");
+        }
+        String content = DeltaCodec.decodeFull(chain.get(0).getPayload());
+        for (ArticleRevision revision : chain.subList(1, chain.size())) {
+            content = revision.getIsKeyframe()
+                ? DeltaCodec.decodeFull(revision.getPayload())
+                : DeltaCodec.applyDelta(content, revision.getPayload());
+        }
+        if (!sha256(content).equals(target.getContentHash())) {
+            log.error("文章 {} 的修订 {} 重建结果校验失败", target.getArticleId(), target.getRevision());
+            throw new RuntimeException("修订数据校验失败");
+        }
+        return content;
+    }
+
+    /**
+     * 保存修订，达到关键帧间隔、没有可用基准或增量不比完整内容小时写入关键帧
+     */
+    private ArticleRevision save(Long articleId, int number, String title, String content,
+                                 String base, ArticleRevision previous) {
+        byte[] payload = null;
+        boolean keyframe = base == null || previous == null || number - previous.getKeyframeRevision() >= keyframeInterval;
+        if (!keyframe) {
+            payload = DeltaCodec.encodeDelta(base, content);
+        }
+        byte[] full = null;
+        if (keyframe || payload.length >= content.length() / 2) {
+            full = DeltaCodec.encodeFull(content);
+        }
+        if (full != null && (keyframe || full.length <= payload.length)) {
+            payload = full;
+            keyframe = true;
+        }
+
+        ArticleRevision revision = new ArticleRevision();
+        revision.setArticleId(articleId);
+        revision.setRevision(number);
+        revision.setIsKeyframe(keyframe);
+        revision.setKeyframeRevision(keyframe ? number : previous.getKeyframeRevision());
+        revision.setTitle(title);
+        revision.setPayload(payload);
+        revision.setStoredBytes(payload.length);
+        revision.setContentLength(content.getBytes(StandardCharsets.UTF_8).length);
+        revision.setContentHash(sha256(content));
+        return revisionRepository.save(revision);
+    }
+
+    private ArticleRevisionDTO convertToDTO(ArticleRevision revision, String content) {
+        ArticleRevisionDTO dto = new ArticleRevisionDTO();
+        dto.setRevision(revision.getRevision());
+        dto.setTitle(revision.getTitle());
+        dto.setIsKeyframe(revision.getIsKeyframe());
+        dto.setContentLength(revision.getContentLength());
+        dto.setStoredBytes(revision.getStoredBytes());
+        dto.setContent(content);
+        dto.setCreatedAt(revision.getCreatedAt());
+        return dto;
+    }
+
+    private static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.myblog.service.revision;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 修订内容编码
+ * 关键帧为压缩后的完整正文；增量为相对上一修订的复制/插入指令序列，再整体压缩。
+ * 增量计算方式与xdelta类似：将基准按固定大小分块建立哈希索引，用滚动哈希扫描目标，
+ * 命中后向前后扩展为最长匹配并输出复制指令，未命中的字节累积为插入指令。
+ *
+ * 增量格式（压缩前）：varint(目标长度)，随后为若干指令：
+ * 0x00 varint(基准偏移) varint(长度) 表示复制；0x01 varint(长度) 字节 表示插入。
+ */
+public final class DeltaCodec {
+
+    /** 匹配块大小，过小会产生大量短复制指令，过大则漏掉短的未修改片段 */
+    private static final int BLOCK = 16;
+    private static final int PRIME = 31;
+    private static final int PRIME_POW = pow(PRIME, BLOCK - 1);
+    private static final byte OP_COPY = 0;
+    private static final byte OP_INSERT = 1;
+
+    private DeltaCodec() {
+    }
+
+    /**
+     * 编码关键帧
+     */
+    public static byte[] encodeFull(String content) {
+        return deflate(bytes(content));
+    }
+
+    /**
+     * 解码关键帧
+     */
+    public static String decodeFull(byte[] payload) {
+        return new String(inflate(payload), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 计算从base到target的增量
+     */
+    public static byte[] encodeDelta(String base, String target) {
+        byte[] source = bytes(base);
+        byte[] dest = bytes(target);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, dest.length / 8));
+        writeVarint(out, dest.length);
+
+        BlockIndex index = new BlockIndex(source);
+        int literalStart = 0;
+        int i = 0;
+        int hash = dest.length >= BLOCK ? hash(dest, 0) : 0;
+        while (i + BLOCK <= dest.length) {
+            int match = index.find(hash, dest, i);
+            if (match >= 0) {
+                // 向前扩展到尚未输出的插入区域，向后扩展到不再相同为止
+                int start = i;
+                int sourceStart = match;
+                while (start > literalStart && sourceStart > 0 && dest[start - 1] == source[sourceStart - 1]) {
+                    start--;
+                    sourceStart--;
+                }
+                int end = i + BLOCK;
+                int sourceEnd = match + BLOCK;
+                while (end < dest.length && sourceEnd < source.length && dest[end] == source[sourceEnd]) {
+                    end++;
+                    sourceEnd++;
+                }
+                writeInsert(out, dest, literalStart, start);
+                out.write(OP_COPY);
+                writeVarint(out, sourceStart);
+                writeVarint(out, end - start);
+                literalStart = end;
+                i = end;
+                if (i + BLOCK <= dest.length) {
+                    hash = hash(dest, i);
+                }
+                continue;
+            }
+            if (i + BLOCK < dest.length) {
+                hash = (hash - dest[i] * PRIME_POW) * PRIME + dest[i + BLOCK];
+            }
+            i++;
+        }
+        writeInsert(out, dest, literalStart, dest.length);
+        return deflate(out.toByteArray());
+    }
+
+    /**
+     * 将增量应用到base上，得到目标内容
+     */
+    public static String applyDelta(String base, byte[] delta) {
+        byte[] source = bytes(base);
+        byte[] ops = inflate(delta);
+        int[] position = {0};
+        int length = readVarint(ops, position);
+        byte[] dest = new byte[length];
+        int written = 0;
+        while (position[0] < ops.length) {
+            byte op = ops[position[0]++];
+            if (op == OP_COPY) {
+                int offset = readVarint(ops, position);
+                int count = readVarint(ops, position);
+                System.arraycopy(source, offset, dest, written, count);
+                written += count;
+            } else if (op == OP_INSERT) {
+                int count = readVarint(ops, position);
+                System.arraycopy(ops, position[0], dest, written, count);
+                position[0] += count;
+                written += count;
+            } else {
+                throw new IllegalStateException("无效的增量指令: " + op);
+            }
+        }
+        if (written != length) {
+            throw new IllegalStateException("增量长度不匹配: " + written + " != " + length);
+        }
+        return new String(dest, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInsert(ByteArrayOutputStream out, byte[] dest, int from, int to) {
+        if (to > from) {
+            out.write(OP_INSERT);
+            writeVarint(out, to - from);
+            out.write(dest, from, to - from);
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.write((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.write(remaining);
+    }
+
+    private static int readVarint(byte[] in, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in[position[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static int hash(byte[] data, int offset) {
+        int h = 0;
+        for (int k = 0; k < BLOCK; k++) {
+            h = h * PRIME + data[offset + k];
+        }
+        return h;
+    }
+
+    private static int pow(int base, int exponent) {
+        int result = 1;
+        for (int k = 0; k < exponent; k++) {
+            result *= base;
+        }
+        return result;
+    }
+
+    private static byte[] bytes(String content) {
+        return content == null ? new byte[0] : content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                // 空内容的压缩流第一次调用即结束且不产生输出，不能视为截断
+                if (count == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("修订数据不完整");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("修订数据损坏", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 基准内容的分块哈希索引，开放寻址，每个哈希槽保存最先出现的块位置
+     */
+    private static final class BlockIndex {
+
+        private final byte[] source;
+        private final int[] hashes;
+        private final int[] positions;
+        private final int mask;
+
+        BlockIndex(byte[] source) {
+            this.source = source;
+            int blocks = source.length / BLOCK;
+            int capacity = Integer.highestOneBit(Math.max(16, blocks * 2)) << 1;
+            this.hashes = new int[capacity];
+            this.positions = new int[capacity];
+            this.mask = capacity - 1;
+            Arrays.fill(positions, -1);
+            for (int offset = 0; offset + BLOCK <= source.length; offset += BLOCK) {
+                int h = hash(source, offset);
+                int slot = mix(h) & mask;
+                while (positions[slot] >= 0 && hashes[slot] != h) {
+                    slot = (slot + 1) & mask;
+                }
+                if (positions[slot] < 0) {
+                    hashes[slot] = h;
+                    positions[slot] = offset;
+                }
+            }
+        }
+
+        /**
+         * 查找与dest[offset, offset+BLOCK)内容相同的基准块位置
+         */
+        int find(int h, byte[] dest, int offset) {
+            int slot = mix(h) & mask;
+            while (positions[slot] >= 0) {
+                if (hashes[slot] == h && Arrays.equals(source, positions[slot], positions[slot] + BLOCK,
+                    dest, offset, offset + BLOCK)) {
+                    return positions[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static int mix(int h) {
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.myblog.service.revision;
+
+import java.util.List;
+
+/**
+ * 统一格式差异块
+ *
+ * @param oldStart 旧版本起始行号（从1开始）
+ * @param oldLines 旧版本行数
+ * @param newStart 新版本起始行号（从1开始）
+ * @param newLines 新版本行数
+ * @param lines 差异行，前缀' '为上下文，'-'为删除，'+'为新增
+ */
+public record DiffHunk(int oldStart, int oldLines, int newStart, int newLines, List<String> lines) {
+}
@@ -0,0 +1,144 @@
+package com.myblog.service.revision;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按行比较两个版本的正文，输出带上下文的统一格式差异块
+ * 先去掉相同的首尾行，中间部分用最长公共子序列求解；中间部分过大时整体视为替换，避免占用过多内存。
+ */
+final class LineDiff {
+
+    private static final int CONTEXT = 3;
+    /** 最长公共子序列矩阵的最大单元数 */
+    private static final long MAX_CELLS = 1_000_000;
+
+    private LineDiff() {
+    }
+
+    static List<DiffHunk> diff(String oldText, String newText) {
+        String[] a = split(oldText);
+        String[] b = split(newText);
+        int prefix = 0;
+        while (prefix < a.length && prefix < b.length && a[prefix].equals(b[prefix])) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.length - prefix && suffix < b.length - prefix
+            && a[a.length - 1 - suffix].equals(b[b.length - 1 - suffix])) {
+            suffix++;
+        }
+
+        List<Edit> edits = new ArrayList<>(a.length + b.length);
+        for (int i = 0; i < prefix; i++) {
+            edits.add(new Edit(' ', a[i]));
+        }
+        middle(a, prefix, a.length - suffix, b, prefix, b.length - suffix, edits);
+        for (int i = a.length - suffix; i < a.length; i++) {
+            edits.add(new Edit(' ', a[i]));
+        }
+        return hunks(edits);
+    }
+
+    private static void middle(String[] a, int aStart, int aEnd, String[] b, int bStart, int bEnd, List<Edit> edits) {
+        int n = aEnd - aStart;
+        int m = bEnd - bStart;
+        if ((long) n * m > MAX_CELLS) {
+            for (int i = aStart; i < aEnd; i++) {
+                edits.add(new Edit('-', a[i]));
+            }
+            for (int j = bStart; j < bEnd; j++) {
+                edits.add(new Edit('+', b[j]));
+            }
+            return;
+        }
+        // lcs[i][j]为a[i..]与b[j..]的最长公共子序列长度
+        int[][] lcs = new int[n + 1][m + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            for (int j = m - 1; j >= 0; j--) {
+                lcs[i][j] = a[aStart + i].equals(b[bStart + j])
+                    ? lcs[i + 1][j + 1] + 1
+                    : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+            }
+        }
+        int i = 0;
+        int j = 0;
+        while (i < n || j < m) {
+            if (i < n && j < m && a[aStart + i].equals(b[bStart + j])) {
+                edits.add(new Edit(' ', a[aStart + i]));
+                i++;
+                j++;
+            } else if (i < n && (j == m || lcs[i + 1][j] >= lcs[i][j + 1])) {
+                // 删除与新增等价时先输出删除，与统一格式的惯例一致
+                edits.add(new Edit('-', a[aStart + i]));
+                i++;
+            } else {
+                edits.add(new Edit('+', b[bStart + j]));
+                j++;
+            }
+        }
+    }
+
+    private static List<DiffHunk> hunks(List<Edit> edits) {
+        List<DiffHunk> hunks = new ArrayList<>();
+        int k = 0;
+        int oldLine = 1;
+        int newLine = 1;
+        while (k < edits.size()) {
+            if (edits.get(k).op() == ' ') {
+                k++;
+                oldLine++;
+                newLine++;
+                continue;
+            }
+            // 以当前变更为起点，向前带上下文，向后合并间隔不超过2倍上下文的变更
+            int context = Math.min(CONTEXT, countEqualBefore(edits, k));
+            int start = k - context;
+            int oldStart = oldLine - context;
+            int newStart = newLine - context;
+            int end = k;
+            int lastChange = k;
+            while (end < edits.size() && end - lastChange <= 2 * CONTEXT) {
+                if (edits.get(end).op() != ' ') {
+                    lastChange = end;
+                }
+                end++;
+            }
+            end = Math.min(edits.size(), lastChange + 1 + CONTEXT);
+
+            List<String> lines = new ArrayList<>(end - start);
+            int oldCount = 0;
+            int newCount = 0;
+            for (int e = start; e < end; e++) {
+                Edit edit = edits.get(e);
+                lines.add(edit.op() + edit.line());
+                if (edit.op() != '+') {
+                    oldCount++;
+                }
+                if (edit.op() != '-') {
+                    newCount++;
+                }
+            }
+            hunks.add(new DiffHunk(oldStart, oldCount, newStart, newCount, lines));
+            oldLine = oldStart + oldCount;
+            newLine = newStart + newCount;
+            k = end;
+        }
+        return hunks;
+    }
+
+    private static int countEqualBefore(List<Edit> edits, int index) {
+        int count = 0;
+        for (int e = index - 1; e >= 0 && edits.get(e).op() == ' '; e--) {
+            count++;
+        }
+        return count;
+    }
+
+    private static String[] split(String text) {
+        return text == null || text.isEmpty() ? new String[0] : text.split("\n", -1);
+    }
+
+    private record Edit(char op, String line) {
+    }
+}
@@ -0,0 +1,289 @@
+package com.myblog.service.schedule;
+
+import com.myblog.dto.ArticleDTO;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
+import com.myblog.repository.ArticleRepository;
+import com.myblog.service.ArticleService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 定时发布队列
+ * 启动时从数据库加载一次尚未发布的定时计划，之后只根据文章变更事件增删队列，运行期间不扫描文章表。
+ * 单个工作线程等待最早到期的计划，到期后通过 {@link ArticleService#publishScheduledArticle} 走正常发布流程，
+ * 发布事件照常触发缓存失效、归档、订阅源等后续处理。
+ * 到期时间按墙上时钟计算，每次最多等待 max-wait-ms 后重新读取时钟，系统时间被调整后最多延迟该时长；
+ * 停机期间错过的计划在启动后立即补发。
+ */
+@Slf4j
+@Service
+public class ScheduledPublishService {
+
+    private final ArticleService articleService;
+    private final ArticleRepository articleRepository;
+    private final long maxWaitMs;
+    private final long retryMs;
+
+    /** 队列和索引只在持有锁时访问，锁同时用于唤醒工作线程 */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final TreeSet<Schedule> queue = new TreeSet<>();
+    private final Map<Long, Schedule> pending = new HashMap<>();
+    /** 进行中的重新加载各自记录期间收到的变更（值为null表示取消），替换队列后重放，避免被加载前读取的快照覆盖 */
+    private final Set<Map<Long, LocalDateTime>> reloadBuffers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong stale = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long lastLatenessMs;
+    private volatile Thread worker;
+
+    public ScheduledPublishService(ArticleService articleService,
+                                   ArticleRepository articleRepository,
+                                   @Value("${blog.schedule.max-wait-ms:1000}") long maxWaitMs,
+                                   @Value("${blog.schedule.retry-ms:30000}") long retryMs) {
+        this.articleService = articleService;
+        this.articleRepository = articleRepository;
+        this.maxWaitMs = Math.max(1, maxWaitMs);
+        this.retryMs = retryMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+        worker = Thread.ofPlatform().name("scheduled-publish").daemon().start(this::runLoop);
+    }
+
+    /**
+     * 文章变更提交后同步队列：未发布且设置了计划的文章入队，其余情况移出队列
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getType() != ContentType.ARTICLE) {
+            return;
+        }
+        if (event.isBulk()) {
+            reload();
+            return;
+        }
+        if (event.getAction() == ChangeAction.DELETED) {
+            cancel(event.getId());
+        } else if (event.getPayload() instanceof ArticleDTO article) {
+            if (!Boolean.TRUE.equals(article.getIsPublished()) && article.getScheduledAt() != null) {
+                schedule(article.getId(), article.getScheduledAt());
+            } else {
+                cancel(article.getId());
+            }
+        }
+    }
+
+    /**
+     * 从数据库重新加载全部定时计划，启动时和批量变更后调用
+     */
+    public void reload() {
+        Map<Long, LocalDateTime> buffer = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            reloadBuffers.add(buffer);
+        } finally {
+            lock.unlock();
+        }
+        List<Object[]> rows = null;
+        int loaded;
+        try {
+            rows = articleRepository.findPendingSchedules();
+        } finally {
+            lock.lock();
+            try {
+                reloadBuffers.remove(buffer);
+                if (rows != null) {
+                    queue.clear();
+                    pending.clear();
+                    for (Object[] row : rows) {
+                        add(Schedule.of((Long) row[0], (LocalDateTime) row[1]));
+                    }
+                    buffer.forEach((id, scheduledAt) -> {
+                        remove(id);
+                        if (scheduledAt != null) {
+                            add(Schedule.of(id, scheduledAt));
+                        }
+                    });
+                    changed.signalAll();
+                }
+                loaded = pending.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+        log.info("定时发布队列已加载 {} 篇文章", loaded);
+    }
+
+    /**
+     * 获取定时发布统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            stats.put("pending", pending.size());
+            stats.put("nextScheduledAt", queue.isEmpty() ? null : queue.first().scheduledAt());
+        } finally {
+            lock.unlock();
+        }
+        stats.put("published", published.get());
+        stats.put("stale", stale.get());
+        stats.put("failed", failed.get());
+        stats.put("lastLatenessMs", lastLatenessMs);
+        return stats;
+    }
+
+    private void schedule(Long id, LocalDateTime scheduledAt) {
+        lock.lock();
+        try {
+            reloadBuffers.forEach(buffer -> buffer.put(id, scheduledAt));
+            Schedule current = pending.get(id);
+            if (current != null && current.scheduledAt().equals(scheduledAt)) {
+                return;
+            }
+            remove(id);
+            add(Schedule.of(id, scheduledAt));
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cancel(Long id) {
+        lock.lock();
+        try {
+            reloadBuffers.forEach(buffer -> buffer.put(id, null));
+            if (remove(id)) {
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(Schedule schedule) {
+        queue.add(schedule);
+        pending.put(schedule.id(), schedule);
+    }
+
+    private boolean remove(Long id) {
+        Schedule removed = pending.remove(id);
+        return removed != null && queue.remove(removed);
+    }
+
+    private void runLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Schedule due;
+            lock.lock();
+            try {
+                if (queue.isEmpty()) {
+                    changed.await();
+                    continue;
+                }
+                long delay = queue.first().dueAt() - System.currentTimeMillis();
+                if (delay > 0) {
+                    // 定时等待按单调时钟计时，分段等待以便发现系统时间的调整
+                    changed.await(Math.min(delay, maxWaitMs), TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                due = queue.pollFirst();
+                pending.remove(due.id());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            fire(due);
+        }
+    }
+
+    private void fire(Schedule due) {
+        try {
+            ArticleDTO result = articleService.publishScheduledArticle(due.id(), due.scheduledAt());
+            if (result == null) {
+                // 到期前计划已取消或修改，对应的事件可能尚未送达
+                stale.incrementAndGet();
+                log.debug("文章 {} 的定时计划 {} 已失效，跳过", due.id(), due.scheduledAt());
+                return;
+            }
+            published.incrementAndGet();
+            lastLatenessMs = System.currentTimeMillis() - due.scheduledEpochMs();
+            log.info("定时发布文章 {}，计划时间 {}，延迟 {} ms", due.id(), due.scheduledAt(), lastLatenessMs);
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.warn("定时发布文章 {} 失败，{} ms 后重试: {}", due.id(), retryMs, e.getMessage());
+            lock.lock();
+            try {
+                // 重试等待期间计划被修改时以新计划为准
+                if (!pending.containsKey(due.id())) {
+                    add(new Schedule(System.currentTimeMillis() + retryMs, due.id(), due.scheduledAt()));
+                    changed.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    /**
+     * 一条定时计划
+     * @param dueAt 到期时间戳（毫秒），失败重试时晚于计划时间
+     * @param scheduledAt 文章的计划发布时间，发布时用于核对计划是否仍然有效
+     */
+    private record Schedule(long dueAt, long id, LocalDateTime scheduledAt) implements Comparable<Schedule> {
+
+        static Schedule of(long id, LocalDateTime scheduledAt) {
+            return new Schedule(toEpochMs(scheduledAt), id, scheduledAt);
+        }
+
+        long scheduledEpochMs() {
+            return toEpochMs(scheduledAt);
+        }
+
+        private static long toEpochMs(LocalDateTime time) {
+            return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+
+        @Override
+        public int compareTo(Schedule other) {
+            int byTime = Long.compare(dueAt, other.dueAt);
+            return byTime != 0 ? byTime : Long.compare(id, other.id);
+        }
+    }
+}
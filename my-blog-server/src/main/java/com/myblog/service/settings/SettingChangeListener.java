@@ -0,0 +1,18 @@
+package com.myblog.service.settings;
+
+import java.util.Set;
+
+/**
+ * 系统设置变更监听器
+ * 实现该接口的Bean会在设置快照切换后被回调，无需轮询设置表
+ */
+public interface SettingChangeListener {
+
+    /**
+     * 设置快照已切换
+     * @param previous 切换前的快照
+     * @param current 切换后的快照
+     * @param changedKeys 新增、修改或删除的设置键名
+     */
+    void onSettingsChanged(SettingsSnapshot previous, SettingsSnapshot current, Set<String> changedKeys);
+}
@@ -0,0 +1,199 @@
+package com.myblog.service.settings;
+
+import com.myblog.dto.SystemSettingDTO;
+import org.springframework.beans.BeanUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 系统设置不可变快照
+ * 启动时及每次设置变更后整体重建并原子替换，读操作无锁且不访问数据库。
+ * 构建时按settingType和值一次性解析出数值、布尔和列表形式，类型化读取无需重复解析。
+ */
+public final class SettingsSnapshot {
+
+    /** 尚未加载任何设置时的空快照 */
+    public static final SettingsSnapshot EMPTY = new SettingsSnapshot(0, Map.of());
+
+    private final long version;
+    private final Map<String, Entry> entries;
+    private final Map<Long, Entry> entriesById;
+
+    private SettingsSnapshot(long version, Map<String, Entry> entries) {
+        this.version = version;
+        this.entries = entries;
+        Map<Long, Entry> byId = new HashMap<>();
+        entries.values().forEach(entry -> {
+            if (entry.setting().getId() != null) {
+                byId.put(entry.setting().getId(), entry);
+            }
+        });
+        this.entriesById = Map.copyOf(byId);
+    }
+
+    /**
+     * 由设置列表构建快照，传入的DTO会被复制，之后对其修改不影响快照
+     * @param settings 全部设置
+     * @param version 快照版本号
+     * @return 快照
+     */
+    public static SettingsSnapshot of(Collection<SystemSettingDTO> settings, long version) {
+        Map<String, Entry> entries = new HashMap<>();
+        for (SystemSettingDTO setting : settings) {
+            if (setting.getKey() != null) {
+                entries.put(setting.getKey(), Entry.of(copy(setting)));
+            }
+        }
+        return new SettingsSnapshot(version, Map.copyOf(entries));
+    }
+
+    /**
+     * 快照版本号，每次重建递增
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    public Optional<SystemSettingDTO> find(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? Optional.empty() : Optional.of(copy(entry.setting()));
+    }
+
+    public Optional<SystemSettingDTO> findById(Long id) {
+        Entry entry = entriesById.get(id);
+        return entry == null ? Optional.empty() : Optional.of(copy(entry.setting()));
+    }
+
+    public List<SystemSettingDTO> all() {
+        return entries.values().stream()
+            .map(Entry::setting)
+            .sorted(Comparator.comparing(SystemSettingDTO::getKey))
+            .map(SettingsSnapshot::copy)
+            .toList();
+    }
+
+    public List<SystemSettingDTO> publicSettings() {
+        return all().stream().filter(setting -> Boolean.TRUE.equals(setting.getIsPublic())).toList();
+    }
+
+    public List<SystemSettingDTO> byType(String settingType) {
+        return all().stream().filter(setting -> Objects.equals(settingType, setting.getSettingType())).toList();
+    }
+
+    public String getString(String key, String defaultValue) {
+        Entry entry = entries.get(key);
+        return entry == null || entry.setting().getValue() == null ? defaultValue : entry.setting().getValue();
+    }
+
+    public long getLong(String key, long defaultValue) {
+        Entry entry = entries.get(key);
+        return entry == null || entry.longValue() == null ? defaultValue : entry.longValue();
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.longValue() == null
+            || entry.longValue() < Integer.MIN_VALUE || entry.longValue() > Integer.MAX_VALUE) {
+            return defaultValue;
+        }
+        return entry.longValue().intValue();
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Entry entry = entries.get(key);
+        return entry == null || entry.booleanValue() == null ? defaultValue : entry.booleanValue();
+    }
+
+    /**
+     * 以逗号分隔的列表形式读取设置，不存在时返回空列表
+     */
+    public List<String> getList(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? List.of() : entry.listValue();
+    }
+
+    /**
+     * 按settingType解析后的值：number为Long，boolean为Boolean，其他类型为原始字符串
+     */
+    public Object getTypedValue(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.typedValue();
+    }
+
+    /**
+     * 计算与另一个快照相比发生变化的键名
+     * @param other 另一个快照
+     * @return 新增、修改或删除的键名
+     */
+    public Set<String> changedKeys(SettingsSnapshot other) {
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            Entry otherEntry = other.entries.get(entry.getKey());
+            if (otherEntry == null || !entry.getValue().setting().equals(otherEntry.setting())) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String key : other.entries.keySet()) {
+            if (!entries.containsKey(key)) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
+    private static SystemSettingDTO copy(SystemSettingDTO source) {
+        SystemSettingDTO target = new SystemSettingDTO();
+        BeanUtils.copyProperties(source, target);
+        return target;
+    }
+
+    /**
+     * 单个设置项及其预解析的各种形式
+     */
+    private record Entry(SystemSettingDTO setting, Long longValue, Boolean booleanValue,
+                         List<String> listValue, Object typedValue) {
+
+        static Entry of(SystemSettingDTO setting) {
+            String value = setting.getValue() == null ? null : setting.getValue().trim();
+            Long longValue = parseLong(value);
+            Boolean booleanValue = "true".equalsIgnoreCase(value) ? Boolean.TRUE
+                : "false".equalsIgnoreCase(value) ? Boolean.FALSE : null;
+            List<String> listValue = value == null || value.isEmpty() ? List.of()
+                : Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty()).toList();
+            Object typedValue = switch (setting.getSettingType() == null ? "string" : setting.getSettingType()) {
+                case "number" -> longValue;
+                case "boolean" -> booleanValue;
+                default -> setting.getValue();
+            };
+            return new Entry(setting, longValue, booleanValue, listValue, typedValue);
+        }
+
+        private static Long parseLong(String value) {
+            if (value == null || value.isEmpty()) {
+                return null;
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.myblog.service.slug;
+
+import com.myblog.dto.ArticleDTO;
+import com.myblog.dto.CategoryDTO;
+import com.myblog.dto.TagDTO;
+import com.myblog.entity.SlugHistory;
+import com.myblog.event.ChangeAction;
+import com.myblog.event.ContentChangedEvent;
+import com.myblog.event.ContentType;
+import com.myblog.repository.ArticleRepository;
+import com.myblog.repository.CategoryRepository;
+import com.myblog.repository.SlugHistoryRepository;
+import com.myblog.repository.TagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 别名解析服务
+ * 在内存中维护已发布文章、分类、标签的 别名 -> ID 不可变映射，以及旧别名的重定向表，
+ * 按别名访问时不再查询slug列，旧别名直接返回永久重定向。
+ * 写入提交后按变更事件复制并替换对应类型的映射；写入前检测别名冲突并维护别名历史。
+ */
+@Slf4j
+@Service
+public class SlugService {
+
+    private final ArticleRepository articleRepository;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final SlugHistoryRepository historyRepository;
+
+    /** 写入方之间互斥，读取方只读取不可变快照 */
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Map<ContentType, SlugTable> tables = Map.of();
+    private volatile boolean loaded;
+    /** 进行中的重建各自记录期间收到的变更，替换映射后按顺序重放，避免被重建前读取的快照覆盖 */
+    private final Set<List<SlugChange>> reloadBuffers = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong redirects = new AtomicLong();
+
+    public SlugService(ArticleRepository articleRepository,
+                       CategoryRepository categoryRepository,
+                       TagRepository tagRepository,
+                       SlugHistoryRepository historyRepository) {
+        this.articleRepository = articleRepository;
+        this.categoryRepository = categoryRepository;
+        this.tagRepository = tagRepository;
+        this.historyRepository = historyRepository;
+    }
+
+    /**
+     * 解析当前别名
+     * @param type 内容类型：ARTICLE、CATEGORY或TAG
+     * @return 内容ID，不在索引中（如未发布的文章）时返回null，由调用方回退到数据库查询
+     */
+    public Long resolve(ContentType type, String slug) {
+        Long id = table(type).ids().get(slug);
+        (id != null ? hits : misses).incrementAndGet();
+        return id;
+    }
+
+    /**
+     * 查找旧别名应重定向到的当前别名
+     * @return 当前别名，不是旧别名或目标已不可访问时返回null
+     */
+    public String redirectTarget(ContentType type, String slug) {
+        SlugTable table = table(type);
+        if (table.ids().containsKey(slug)) {
+            return null;
+        }
+        Long targetId = table.redirects().get(slug);
+        String target = targetId == null ? null : table.slugs().get(targetId);
+        if (target != null) {
+            redirects.incrementAndGet();
+        }
+        return target;
+    }
+
+    /**
+     * 写入前检测别名冲突，需在保存内容的事务内调用
+     * 别名已被同类型的其他内容使用时抛出异常；别名曾是某个内容的旧别名时删除该历史记录，由新内容接管
+     * @param ownerId 写入的内容ID，新建时传null
+     */
+    @Transactional
+    public void claim(ContentType type, String slug, Long ownerId) {
+        if (slug == null || slug.isBlank()) {
+            return;
+        }
+        List<Long> owners = switch (type) {
+            case ARTICLE -> articleRepository.findIdsBySlug(slug);
+            case CATEGORY -> categoryRepository.findIdsBySlug(slug);
+            case TAG -> tagRepository.findIdsBySlug(slug);
+            default -> throw new IllegalArgumentException("不支持的内容类型: " + type);
+        };
+        if (owners.stream().anyMatch(id -> !id.equals(ownerId))) {
+            throw new RuntimeException(label(type) + "别名已被使用: " + slug);
+        }
+        if (historyRepository.deleteBySlug(type, slug) > 0) {
+            log.info("{}别名 {} 已被重新使用，删除其重定向记录", label(type), slug);
+        }
+    }
+
+    /**
+     * 别名变化后记录旧别名，需在保存内容的事务内调用
+     */
+    @Transactional
+    public void recordChange(ContentType type, Long id, String previousSlug, String currentSlug) {
+        if (previousSlug == null || previousSlug.isBlank() || previousSlug.equals(currentSlug)) {
+            return;
+        }
+        historyRepository.deleteBySlug(type, previousSlug);
+        SlugHistory history = new SlugHistory();
+        history.setContentType(type);
+        history.setOldSlug(previousSlug);
+        history.setTargetId(id);
+        historyRepository.save(history);
+    }
+
+    /**
+     * 删除内容的全部旧别名，需在删除内容的事务内调用
+     */
+    @Transactional
+    public void forget(ContentType type, Long id) {
+        historyRepository.deleteByTarget(type, id);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * 写入提交后更新对应类型的映射，批量变更时整体重建
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        ContentType type = event.getType();
+        if (type != ContentType.ARTICLE && type != ContentType.CATEGORY && type != ContentType.TAG) {
+            return;
+        }
+        if (event.isBulk()) {
+            reload();
+            return;
+        }
+        Long id = event.getId();
+        String slug = event.getAction() == ChangeAction.DELETED ? null : visibleSlug(event.getPayload());
+        List<SlugHistory> history = event.getAction() == ChangeAction.DELETED
+            ? List.of() : historyRepository.findByContentTypeAndTargetId(type, id);
+        SlugChange change = new SlugChange(type, id, slug, history);
+        writeLock.lock();
+        try {
+            reloadBuffers.forEach(buffer -> buffer.add(change));
+            if (loaded) {
+                tables = apply(tables, List.of(change));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 从数据库重建全部映射
+     */
+    public void reload() {
+        List<SlugChange> buffer = new ArrayList<>();
+        writeLock.lock();
+        try {
+            reloadBuffers.add(buffer);
+        } finally {
+            writeLock.unlock();
+        }
+        Map<ContentType, SlugTable> rebuilt = null;
+        try {
+            rebuilt = loadTables();
+        } finally {
+            writeLock.lock();
+            try {
+                reloadBuffers.remove(buffer);
+                if (rebuilt != null) {
+                    tables = apply(rebuilt, buffer);
+                    loaded = true;
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        log.debug("别名索引已重建：文章 {}，分类 {}，标签 {}，旧别名 {}", rebuilt.get(ContentType.ARTICLE).ids().size(),
+            rebuilt.get(ContentType.CATEGORY).ids().size(), rebuilt.get(ContentType.TAG).ids().size(),
+            rebuilt.values().stream().mapToInt(table -> table.redirects().size()).sum());
+    }
+
+    private Map<ContentType, SlugTable> loadTables() {
+        Map<ContentType, SlugTable> rebuilt = new EnumMap<>(ContentType.class);
+        rebuilt.put(ContentType.ARTICLE, SlugTable.of(articleRepository.findPublishedSlugs()));
+        rebuilt.put(ContentType.CATEGORY, SlugTable.of(categoryRepository.findAllSlugs()));
+        rebuilt.put(ContentType.TAG, SlugTable.of(tagRepository.findAllSlugs()));
+        Map<ContentType, Map<String, Long>> history = new EnumMap<>(ContentType.class);
+        for (SlugHistory entry : historyRepository.findAll()) {
+            history.computeIfAbsent(entry.getContentType(), key -> new HashMap<>()).put(entry.getOldSlug(), entry.getTargetId());
+        }
+        history.forEach((type, entries) -> rebuilt.computeIfPresent(type, (key, table) -> table.withRedirects(entries)));
+        return rebuilt;
+    }
+
+    /**
+     * 在映射副本上按顺序应用变更，返回新的不可变映射
+     */
+    private static Map<ContentType, SlugTable> apply(Map<ContentType, SlugTable> current, List<SlugChange> changes) {
+        Map<ContentType, SlugTable> updated = new EnumMap<>(ContentType.class);
+        updated.putAll(current);
+        for (SlugChange change : changes) {
+            updated.put(change.type(), updated.getOrDefault(change.type(), SlugTable.EMPTY)
+                .with(change.id(), change.slug(), change.history()));
+        }
+        return Map.copyOf(updated);
+    }
+
+    /**
+     * 获取别名解析统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<ContentType, SlugTable> snapshot = tables;
+        snapshot.forEach((type, table) -> stats.put(type.name().toLowerCase() + "Slugs", table.ids().size()));
+        stats.put("redirectSlugs", snapshot.values().stream().mapToInt(table -> table.redirects().size()).sum());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("redirects", redirects.get());
+        return stats;
+    }
+
+    private SlugTable table(ContentType type) {
+        if (!loaded) {
+            reload();
+        }
+        return tables.getOrDefault(type, SlugTable.EMPTY);
+    }
+
+    /**
+     * 事件中内容对外可见时的别名，未发布的文章不进入索引
+     */
+    private static String visibleSlug(Object payload) {
+        if (payload instanceof ArticleDTO article) {
+            return Boolean.TRUE.equals(article.getIsPublished()) ? article.getSlug() : null;
+        }
+        if (payload instanceof CategoryDTO category) {
+            return category.getSlug();
+        }
+        if (payload instanceof TagDTO tag) {
+            return tag.getSlug();
+        }
+        return null;
+    }
+
+    private static String label(ContentType type) {
+        return switch (type) {
+            case ARTICLE -> "文章";
+            case CATEGORY -> "分类";
+            case TAG -> "标签";
+            default -> type.name();
+        };
+    }
+
+    /**
+     * 一次内容变更对映射的修改
+     * @param slug 当前别名，为null表示内容已删除或不可见
+     * @param history 指向该内容的全部旧别名
+     */
+    private record SlugChange(ContentType type, Long id, String slug, List<SlugHistory> history) {
+    }
+
+    /**
+     * 单个内容类型的不可变映射
+     *
+     * @param ids 当前别名 -> ID
+     * @param slugs ID -> 当前别名
+     * @param redirects 旧别名 -> ID
+     */
+    private record SlugTable(Map<String, Long> ids, Map<Long, String> slugs, Map<String, Long> redirects) {
+
+        static final SlugTable EMPTY = new SlugTable(Map.of(), Map.of(), Map.of());
+
+        static SlugTable of(List<Object[]> rows) {
+            Map<String, Long> ids = new HashMap<>();
+            Map<Long, String> slugs = new HashMap<>();
+            for (Object[] row : rows) {
+                ids.put((String) row[1], (Long) row[0]);
+                slugs.put((Long) row[0], (String) row[1]);
+            }
+            return new SlugTable(Map.copyOf(ids), Map.copyOf(slugs), Map.of());
+        }
+
+        SlugTable withRedirects(Map<String, Long> entries) {
+            return new SlugTable(ids, slugs, Map.copyOf(entries));
+        }
+
+        /**
+         * 复制并替换一个内容的当前别名和旧别名
+         * @param slug 当前别名，为null表示内容已删除或不可见
+         * @param history 指向该内容的全部旧别名
+         */
+        SlugTable with(Long id, String slug, List<SlugHistory> history) {
+            Map<String, Long> newIds = new HashMap<>(ids);
+            Map<Long, String> newSlugs = new HashMap<>(slugs);
+            String previous = newSlugs.remove(id);
+            if (previous != null) {
+                newIds.remove(previous, id);
+            }
+            if (slug != null) {
+                newIds.put(slug, id);
+                newSlugs.put(id, slug);
+            }
+            Map<String, Long> newRedirects = new HashMap<>(redirects);
+            newRedirects.values().removeIf(id::equals);
+            if (slug != null) {
+                // 被重新使用的旧别名已在写入时删除历史记录
+                newRedirects.remove(slug);
+            }
+            history.forEach(entry -> newRedirects.put(entry.getOldSlug(), id));
+            return new SlugTable(Map.copyOf(newIds), Map.copyOf(newSlugs), Map.copyOf(newRedirects));
+        }
+    }
+}
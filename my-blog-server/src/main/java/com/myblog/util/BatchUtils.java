@@ -0,0 +1,32 @@
+package com.myblog.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 批处理工具类
+ */
+public final class BatchUtils {
+
+    /** 批量SQL默认分块大小，避免IN列表过长 */
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private BatchUtils() {
+    }
+
+    /**
+     * 将集合按固定大小切分为多个分块
+     * @param items 原始集合
+     * @param size 分块大小
+     * @return 分块列表
+     */
+    public static <T> List<List<T>> partition(Collection<T> items, int size) {
+        List<T> source = items instanceof List<T> list ? list : new ArrayList<>(items);
+        List<List<T>> chunks = new ArrayList<>((source.size() + size - 1) / size);
+        for (int start = 0; start < source.size(); start += size) {
+            chunks.add(source.subList(start, Math.min(start + size, source.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,12 @@
+-- 文章正文渲染结果
+-- 正文在创建、更新时由服务端渲染为HTML并提取目录、字数和阅读时长，客户端无需再解析Markdown。
+-- 已有文章的render_version为空，应用启动后由后台任务分批补齐。
+
+ALTER TABLE articles
+    ADD COLUMN content_html MEDIUMTEXT AFTER content,
+    ADD COLUMN content_toc TEXT AFTER content_html,
+    ADD COLUMN word_count INT AFTER content_toc,
+    ADD COLUMN reading_minutes INT AFTER word_count,
+    ADD COLUMN render_version INT AFTER reading_minutes,
+    -- findRenderBacklog
+    ADD INDEX idx_articles_render_version (render_version);
@@ -0,0 +1,20 @@
+-- 文章修订表
+-- 每次保存文章记录一条修订，payload为压缩后的完整正文（关键帧）或相对上一修订的压缩增量，
+-- 重建修订时从keyframe_revision开始依次应用增量
+
+CREATE TABLE IF NOT EXISTS article_revisions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    article_id BIGINT NOT NULL,
+    revision INT NOT NULL,
+    is_keyframe BOOLEAN NOT NULL,
+    keyframe_revision INT NOT NULL,
+    title VARCHAR(200),
+    payload MEDIUMBLOB NOT NULL,
+    stored_bytes INT NOT NULL,
+    content_length INT NOT NULL,
+    content_hash CHAR(64) NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- findTopByArticleIdOrderByRevisionDesc、findByArticleIdAndRevision、修订链范围查询
+    UNIQUE INDEX uk_article_revisions_article_revision (article_id, revision),
+    FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE
+);
@@ -0,0 +1,14 @@
+-- 文章草稿表
+-- 编辑器自动保存的草稿，每篇文章一行；字段为空表示未修改，全部为空表示没有待发布的草稿。
+-- version单调递增，写入时只接受更新的版本，防止崩溃恢复或乱序刷新覆盖较新的草稿
+
+CREATE TABLE IF NOT EXISTS article_drafts (
+    article_id BIGINT PRIMARY KEY,
+    title VARCHAR(200),
+    summary VARCHAR(500),
+    content TEXT,
+    cover_image VARCHAR(500),
+    version BIGINT NOT NULL,
+    updated_at DATETIME,
+    FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE
+);
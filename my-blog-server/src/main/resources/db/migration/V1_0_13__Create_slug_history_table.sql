@@ -0,0 +1,14 @@
+-- 别名历史表
+-- 文章、分类、标签修改别名后保留旧别名，访问旧别名时重定向到当前别名；
+-- 旧别名被其他内容重新使用时删除对应记录
+
+CREATE TABLE IF NOT EXISTS slug_history (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    content_type VARCHAR(20) NOT NULL,
+    old_slug VARCHAR(200) NOT NULL,
+    target_id BIGINT NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE INDEX uk_slug_history_type_slug (content_type, old_slug),
+    -- findByContentTypeAndTargetId、内容删除时清理
+    INDEX idx_slug_history_type_target (content_type, target_id)
+);
@@ -0,0 +1,8 @@
+-- 文章定时发布
+-- scheduled_at为未发布文章的计划发布时间，到期后由应用内的定时队列走正常发布流程发布并清空该字段。
+-- 应用启动时按该索引加载待发布的文章，运行期间不再扫描文章表。
+
+ALTER TABLE articles
+    ADD COLUMN scheduled_at DATETIME AFTER published_at,
+    -- findPendingSchedules
+    ADD INDEX idx_articles_scheduled_at (scheduled_at);
@@ -0,0 +1,12 @@
+-- 自动审核判定的垃圾评论和留言
+-- is_spam为true的内容保持未审核，不出现在待审核队列中；管理员通过审核时清除该标记。
+
+ALTER TABLE comments
+    ADD COLUMN is_spam BOOLEAN NOT NULL DEFAULT FALSE AFTER is_approved,
+    -- getPendingComments、getSpamComments
+    ADD INDEX idx_comments_spam_approved_created (is_spam, is_approved, created_at);
+
+ALTER TABLE guestbook_messages
+    ADD COLUMN is_spam BOOLEAN NOT NULL DEFAULT FALSE AFTER is_approved,
+    -- getPendingMessages、getSpamMessages
+    ADD INDEX idx_guestbook_spam_approved_created (is_spam, is_approved, created_at);
@@ -0,0 +1,82 @@
+-- 按仓库查询模式补充二级索引
+-- 每个索引对应 repository 包中的一组派生查询或 @Query，等值条件列在前，范围/排序列在后
+
+-- 文章slug改为唯一索引前，为重复的slug追加文章ID后缀，保留ID最小的一篇
+UPDATE articles a
+JOIN (SELECT slug, MIN(id) AS keep_id FROM articles WHERE slug IS NOT NULL GROUP BY slug HAVING COUNT(*) > 1) d
+    ON a.slug = d.slug AND a.id <> d.keep_id
+SET a.slug = CONCAT(LEFT(a.slug, 80), '-', a.id);
+
+-- 文章表
+ALTER TABLE articles
+    -- findBySlug
+    ADD UNIQUE INDEX uk_articles_slug (slug),
+    -- findByIsPublishedTrue（按publishedAt排序）、findByYearAndMonth、countByIsPublished
+    ADD INDEX idx_articles_published_published_at (is_published, published_at),
+    -- findByIsPublishedTrue（按createdAt排序）
+    ADD INDEX idx_articles_published_created_at (is_published, created_at),
+    -- findByIsPublishedTrueOrderByViewCountDesc
+    ADD INDEX idx_articles_published_view_count (is_published, view_count),
+    -- findByCategoryIdAndIsPublishedTrue、分类文章数对账
+    ADD INDEX idx_articles_category_published (category_id, is_published, published_at),
+    -- findByIsPinnedTrueAndIsPublishedTrueOrderByCreatedAtDesc、countByIsPinned
+    ADD INDEX idx_articles_pinned_published (is_pinned, is_published, created_at),
+    -- countByCreatedAtBetween
+    ADD INDEX idx_articles_created_at (created_at),
+    -- findByTitle
+    ADD INDEX idx_articles_title (title);
+
+-- 文章标签关联表：主键为(article_id, tag_id)，按标签查文章需要反向索引
+-- findByTagIdAndIsPublishedTrue、标签文章数对账
+ALTER TABLE article_tags
+    ADD INDEX idx_article_tags_tag (tag_id, article_id);
+
+-- 评论表
+ALTER TABLE comments
+    -- findByArticleIdAndIsApprovedTrueOrderByCreatedAt*、countByArticleIdAndIsApprovedTrue、
+    -- findByArticleIdOrderByCreatedAtDesc（前缀）、文章评论数对账
+    ADD INDEX idx_comments_article_approved_created (article_id, is_approved, created_at),
+    -- findByParentIdOrderByCreatedAtAsc
+    ADD INDEX idx_comments_parent_created (parent_id, created_at),
+    -- findByIsApprovedFalseOrderByCreatedAtDesc、countByIsApproved*
+    ADD INDEX idx_comments_approved_created (is_approved, created_at),
+    -- countByCreatedAtBetween、按时间范围批量审核
+    ADD INDEX idx_comments_created_at (created_at),
+    -- 按IP、邮箱批量审核
+    ADD INDEX idx_comments_ip_address (ip_address),
+    ADD INDEX idx_comments_email (email);
+
+-- 留言表
+ALTER TABLE guestbook_messages
+    -- findByIsApproved*OrderByCreatedAtDesc、countByIsApproved*
+    ADD INDEX idx_guestbook_approved_created (is_approved, created_at),
+    -- findByParentIdOrderByCreatedAtAsc
+    ADD INDEX idx_guestbook_parent_created (parent_id, created_at),
+    -- countByCreatedAtBetween、按时间范围批量审核
+    ADD INDEX idx_guestbook_created_at (created_at),
+    -- 按IP、邮箱批量审核
+    ADD INDEX idx_guestbook_ip_address (ip_address),
+    ADD INDEX idx_guestbook_email (email);
+
+-- 友链表
+ALTER TABLE friend_links
+    -- findByIsApprovedTrueOrderBySortOrderAsc、countByIsApproved*
+    ADD INDEX idx_friend_links_approved_sort (is_approved, sort_order),
+    -- findByIsApprovedFalseOrderByCreatedAtDesc
+    ADD INDEX idx_friend_links_approved_created (is_approved, created_at),
+    -- countByCreatedAtBetween
+    ADD INDEX idx_friend_links_created_at (created_at),
+    -- 按邮箱批量审核
+    ADD INDEX idx_friend_links_email (email);
+
+-- 分类表：findBySlug、findByName、findCategoriesWithArticles
+ALTER TABLE categories
+    ADD INDEX idx_categories_slug (slug),
+    ADD INDEX idx_categories_name (name),
+    ADD INDEX idx_categories_article_count (article_count);
+
+-- 标签表：findBySlug、findByName、findTagsWithArticles、findPopularTags
+ALTER TABLE tags
+    ADD INDEX idx_tags_slug (slug),
+    ADD INDEX idx_tags_name (name),
+    ADD INDEX idx_tags_article_count (article_count);
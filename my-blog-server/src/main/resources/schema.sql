@@ -27,7 +27,10 @@ CREATE TABLE IF NOT EXISTS categories (
     color VARCHAR(7),
     article_count INT DEFAULT 0,
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_categories_slug (slug),
+    INDEX idx_categories_name (name),
+    INDEX idx_categories_article_count (article_count)
 );
 
 -- 创建标签表
@@ -38,7 +41,10 @@ CREATE TABLE IF NOT EXISTS tags (
     color VARCHAR(7),
     article_count INT DEFAULT 0,
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_tags_slug (slug),
+    INDEX idx_tags_name (name),
+    INDEX idx_tags_article_count (article_count)
 );
 
 -- 创建文章表
@@ -47,6 +53,11 @@ CREATE TABLE IF NOT EXISTS articles (
     title VARCHAR(200) NOT NULL,
     summary VARCHAR(500),
     content TEXT,
+    content_html MEDIUMTEXT,
+    content_toc TEXT,
+    word_count INT,
+    reading_minutes INT,
+    render_version INT,
     slug VARCHAR(100),
     cover_image VARCHAR(500),
     is_published BOOLEAN DEFAULT FALSE,
@@ -56,8 +67,19 @@ CREATE TABLE IF NOT EXISTS articles (
     comment_count INT DEFAULT 0,
     category_id BIGINT,
     published_at DATETIME,
+    scheduled_at DATETIME,
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE INDEX uk_articles_slug (slug),
+    INDEX idx_articles_published_published_at (is_published, published_at),
+    INDEX idx_articles_published_created_at (is_published, created_at),
+    INDEX idx_articles_published_view_count (is_published, view_count),
+    INDEX idx_articles_category_published (category_id, is_published, published_at),
+    INDEX idx_articles_pinned_published (is_pinned, is_published, created_at),
+    INDEX idx_articles_created_at (created_at),
+    INDEX idx_articles_title (title),
+    INDEX idx_articles_render_version (render_version),
+    INDEX idx_articles_scheduled_at (scheduled_at),
     FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE SET NULL
 );
 
@@ -66,10 +88,51 @@ CREATE TABLE IF NOT EXISTS article_tags (
     article_id BIGINT NOT NULL,
     tag_id BIGINT NOT NULL,
     PRIMARY KEY (article_id, tag_id),
+    INDEX idx_article_tags_tag (tag_id, article_id),
     FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE,
     FOREIGN KEY (tag_id) REFERENCES tags(id) ON DELETE CASCADE
 );
 
+-- 创建文章修订表
+CREATE TABLE IF NOT EXISTS article_revisions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    article_id BIGINT NOT NULL,
+    revision INT NOT NULL,
+    is_keyframe BOOLEAN NOT NULL,
+    keyframe_revision INT NOT NULL,
+    title VARCHAR(200),
+    payload MEDIUMBLOB NOT NULL,
+    stored_bytes INT NOT NULL,
+    content_length INT NOT NULL,
+    content_hash CHAR(64) NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE INDEX uk_article_revisions_article_revision (article_id, revision),
+    FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE
+);
+
+-- 创建文章草稿表
+CREATE TABLE IF NOT EXISTS article_drafts (
+    article_id BIGINT PRIMARY KEY,
+    title VARCHAR(200),
+    summary VARCHAR(500),
+    content TEXT,
+    cover_image VARCHAR(500),
+    version BIGINT NOT NULL,
+    updated_at DATETIME,
+    FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE
+);
+
+-- 创建别名历史表
+CREATE TABLE IF NOT EXISTS slug_history (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    content_type VARCHAR(20) NOT NULL,
+    old_slug VARCHAR(200) NOT NULL,
+    target_id BIGINT NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE INDEX uk_slug_history_type_slug (content_type, old_slug),
+    INDEX idx_slug_history_type_target (content_type, target_id)
+);
+
 -- 创建评论表
 CREATE TABLE IF NOT EXISTS comments (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -80,11 +143,19 @@ CREATE TABLE IF NOT EXISTS comments (
     content TEXT NOT NULL,
     parent_id BIGINT,
     is_approved BOOLEAN DEFAULT FALSE,
+    is_spam BOOLEAN NOT NULL DEFAULT FALSE,
     like_count INT DEFAULT 0,
     ip_address VARCHAR(45),
     user_agent VARCHAR(500),
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_comments_article_approved_created (article_id, is_approved, created_at),
+    INDEX idx_comments_parent_created (parent_id, created_at),
+    INDEX idx_comments_approved_created (is_approved, created_at),
+    INDEX idx_comments_spam_approved_created (is_spam, is_approved, created_at),
+    INDEX idx_comments_created_at (created_at),
+    INDEX idx_comments_ip_address (ip_address),
+    INDEX idx_comments_email (email),
     FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE,
     FOREIGN KEY (parent_id) REFERENCES comments(id) ON DELETE CASCADE
 );
@@ -101,7 +172,11 @@ CREATE TABLE IF NOT EXISTS friend_links (
     click_count INT DEFAULT 0,
     email VARCHAR(100),
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_friend_links_approved_sort (is_approved, sort_order),
+    INDEX idx_friend_links_approved_created (is_approved, created_at),
+    INDEX idx_friend_links_created_at (created_at),
+    INDEX idx_friend_links_email (email)
 );
 
 -- 创建留言板表
@@ -113,11 +188,18 @@ CREATE TABLE IF NOT EXISTS guestbook_messages (
     content TEXT NOT NULL,
     parent_id BIGINT,
     is_approved BOOLEAN DEFAULT FALSE,
+    is_spam BOOLEAN NOT NULL DEFAULT FALSE,
     like_count INT DEFAULT 0,
     ip_address VARCHAR(45),
     user_agent VARCHAR(500),
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_guestbook_approved_created (is_approved, created_at),
+    INDEX idx_guestbook_spam_approved_created (is_spam, is_approved, created_at),
+    INDEX idx_guestbook_parent_created (parent_id, created_at),
+    INDEX idx_guestbook_created_at (created_at),
+    INDEX idx_guestbook_ip_address (ip_address),
+    INDEX idx_guestbook_email (email),
     FOREIGN KEY (parent_id) REFERENCES guestbook_messages(id) ON DELETE CASCADE
 );
 
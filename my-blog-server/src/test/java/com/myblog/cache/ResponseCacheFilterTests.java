@@ -0,0 +1,33 @@
+package com.myblog.cache;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 响应缓存过滤器的Accept-Encoding协商测试
+ */
+class ResponseCacheFilterTests {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "gzip", "GZIP", "gzip, deflate, br", "br;q=1.0, gzip;q=0.8", "gzip ; q = 0.5",
+        "*", "*;q=0.1", "br, *", "gzip;q=0.5, *;q=0", "gzip;q=0, gzip;q=1"
+    })
+    void acceptsGzip(String acceptEncoding) {
+        assertTrue(ResponseCacheFilter.acceptsGzip(acceptEncoding));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {
+        "identity", "br, deflate", "gzip;q=0", "gzip;q=0.0", "gzip;Q=0", "*;q=0",
+        "*, gzip;q=0", "gzip;q=0, *", "br, gzip;q=0, *;q=1", "gzip;q=abc", "x-gzip-foo"
+    })
+    void rejectsGzip(String acceptEncoding) {
+        assertFalse(ResponseCacheFilter.acceptsGzip(acceptEncoding));
+    }
+}
@@ -0,0 +1,375 @@
+package com.myblog.repository;
+
+import com.myblog.event.ContentType;
+import com.myblog.service.markdown.MarkdownRenderer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * 仓库查询执行计划测试
+ * 调用repository包中各仓库的真实方法，记录实际执行的SQL和绑定参数后逐条EXPLAIN，
+ * 任何一张表出现全表扫描（type为ALL）即失败。
+ * 测试前按表写入足够多、分布有选择性的数据并更新统计信息，避免优化器因表太小而放弃索引；
+ * 数据以query-plan-为前缀，测试结束后删除。修改数据的方法在回滚的事务中调用。
+ * 本身就要读取全部或大部分行的方法不在检查范围内：streamAllForExport、streamPublishedForFeed、
+ * findPublishedTimeline、findPublishedSlugs、findPublishedTagPairs、findAllSlugs、count、sum*、
+ * reconcile*，以及按关键字模糊匹配的searchArticles和findIdsByFilter(keyword)。
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTests {
+
+    private static final String PREFIX = "query-plan-";
+    private static final String EMAIL_DOMAIN = "@query-plan.test";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+    private static final int CATEGORIES = 500;
+    private static final int TAGS = 2000;
+    private static final int ARTICLES = 3000;
+    private static final int REVISED_ARTICLES = 600;
+    private static final int REVISIONS_PER_ARTICLE = 5;
+    private static final int SLUG_HISTORY = 2000;
+    private static final int COMMENTS = 12000;
+    private static final int GUESTBOOK_MESSAGES = 4000;
+    private static final int FRIEND_LINKS = 1000;
+    private static final int AUTHORS = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ArticleRepository articleRepository;
+    @Autowired
+    private ArticleBatchRepository articleBatchRepository;
+    @Autowired
+    private ArticleRevisionRepository revisionRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private SlugHistoryRepository slugHistoryRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private GuestbookMessageRepository guestbookRepository;
+    @Autowired
+    private FriendLinkRepository friendLinkRepository;
+
+    private List<Long> articleIds;
+    private List<Long> categoryIds;
+    private List<Long> tagIds;
+    private List<Long> commentIds;
+    private List<Long> messageIds;
+    private List<Long> friendLinkIds;
+
+    /**
+     * 包装数据源以记录实际执行的语句
+     */
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        static BeanPostProcessor statementRecordingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? StatementRecorder.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        cleanup();
+        batch("INSERT INTO categories (name, slug, article_count) VALUES (?, ?, ?)", CATEGORIES,
+            i -> new Object[]{PREFIX + "category-" + i, PREFIX + "category-" + i, i % 50 == 0 ? 15 : 0});
+        categoryIds = ids("categories", "slug");
+        batch("INSERT INTO tags (name, slug, article_count) VALUES (?, ?, ?)", TAGS,
+            i -> new Object[]{PREFIX + "tag-" + i, PREFIX + "tag-" + i, i % 50 == 0 ? 5 : 0});
+        tagIds = ids("tags", "slug");
+
+        // 一半已发布，1%置顶，2%设置定时发布，1%渲染结果缺失，创建时间分布在约三年内
+        batch("INSERT INTO articles (title, content, slug, is_published, is_pinned, view_count, category_id, " +
+              "render_version, created_at, published_at, scheduled_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", ARTICLES,
+            i -> {
+                boolean published = i % 2 == 0;
+                LocalDateTime createdAt = EPOCH.plusHours(i * 9L);
+                return new Object[]{PREFIX + "article-" + i, "正文 " + i, PREFIX + "article-" + i, published,
+                    i % 100 == 0, i % 997, categoryIds.get(i % CATEGORIES),
+                    i % 100 == 1 ? null : MarkdownRenderer.VERSION, createdAt,
+                    published ? createdAt.plusDays(1) : null,
+                    !published && i % 50 == 1 ? LocalDateTime.now().plusYears(1) : null};
+            });
+        articleIds = ids("articles", "slug");
+        // 每篇文章3个连续的标签
+        batch("INSERT INTO article_tags (article_id, tag_id) VALUES (?, ?)", ARTICLES * 3,
+            i -> new Object[]{articleIds.get(i / 3), tagIds.get(i % TAGS)});
+        batch("INSERT INTO article_revisions (article_id, revision, is_keyframe, keyframe_revision, payload, " +
+              "stored_bytes, content_length, content_hash) VALUES (?, ?, ?, 1, ?, 1, 1, ?)",
+            REVISED_ARTICLES * REVISIONS_PER_ARTICLE,
+            i -> new Object[]{articleIds.get(i / REVISIONS_PER_ARTICLE), i % REVISIONS_PER_ARTICLE + 1,
+                i % REVISIONS_PER_ARTICLE == 0, new byte[]{0}, "0".repeat(64)});
+        batch("INSERT INTO slug_history (content_type, old_slug, target_id) VALUES (?, ?, ?)", SLUG_HISTORY,
+            i -> new Object[]{ContentType.ARTICLE.name(), PREFIX + "old-" + i, articleIds.get(i % ARTICLES)});
+
+        // 80%已审核，未审核的一半判定为垃圾内容，评论者和IP各约1000个，创建时间同样分布在约三年内
+        batch("INSERT INTO comments (article_id, email, content, is_approved, is_spam, ip_address, created_at) " +
+              "VALUES (?, ?, ?, ?, ?, ?, ?)", COMMENTS,
+            i -> new Object[]{articleIds.get(i % ARTICLES), email(i), "评论 " + i, i % 5 != 0, i % 10 == 0, ip(i),
+                EPOCH.plusHours(i * 2L)});
+        commentIds = jdbcTemplate.queryForList("SELECT id FROM comments WHERE email LIKE ? ORDER BY id",
+            Long.class, "%" + EMAIL_DOMAIN);
+        batch("INSERT INTO guestbook_messages (email, content, is_approved, is_spam, ip_address, created_at) " +
+              "VALUES (?, ?, ?, ?, ?, ?)", GUESTBOOK_MESSAGES,
+            i -> new Object[]{email(i), "留言 " + i, i % 5 != 0, i % 10 == 0, ip(i), EPOCH.plusHours(i * 6L)});
+        messageIds = jdbcTemplate.queryForList("SELECT id FROM guestbook_messages WHERE email LIKE ? ORDER BY id",
+            Long.class, "%" + EMAIL_DOMAIN);
+        // 10%已通过审核
+        batch("INSERT INTO friend_links (name, url, email, is_approved, sort_order, created_at) " +
+              "VALUES (?, ?, ?, ?, ?, ?)", FRIEND_LINKS,
+            i -> new Object[]{PREFIX + "link-" + i, "https://" + PREFIX + i + ".test", email(i), i % 10 == 0, i,
+                EPOCH.plusDays(i)});
+        friendLinkIds = jdbcTemplate.queryForList("SELECT id FROM friend_links WHERE email LIKE ? ORDER BY id",
+            Long.class, "%" + EMAIL_DOMAIN);
+
+        jdbcTemplate.queryForList("ANALYZE TABLE categories, tags, articles, article_tags, article_revisions, " +
+                                  "slug_history, comments, guestbook_messages, friend_links");
+    }
+
+    @AfterAll
+    void cleanup() {
+        // 评论、标签关联、修订历史随文章级联删除
+        jdbcTemplate.update("DELETE FROM articles WHERE slug LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM categories WHERE slug LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM tags WHERE slug LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM slug_history WHERE old_slug LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM guestbook_messages WHERE email LIKE ?", "%" + EMAIL_DOMAIN);
+        jdbcTemplate.update("DELETE FROM friend_links WHERE email LIKE ?", "%" + EMAIL_DOMAIN);
+    }
+
+    Stream<QueryCase> queries() {
+        LocalDateTime monthStart = LocalDateTime.of(2022, 6, 1, 0, 0);
+        return Stream.of(
+            // ArticleRepository
+            new QueryCase("Article.findByTitle", () -> articleRepository.findByTitle(PREFIX + "article-10")),
+            new QueryCase("Article.findBySlug", () -> articleRepository.findBySlug(PREFIX + "article-10")),
+            new QueryCase("Article.findIdsBySlug", () -> articleRepository.findIdsBySlug(PREFIX + "article-10")),
+            new QueryCase("Article.findByIsPublishedTrue", () -> articleRepository.findByIsPublishedTrue(
+                PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "publishedAt")))),
+            new QueryCase("Article.findByCategoryIdAndIsPublishedTrue", () -> articleRepository.findByCategoryIdAndIsPublishedTrue(
+                categoryIds.get(10), PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "publishedAt")))),
+            new QueryCase("Article.findByTagIdAndIsPublishedTrue", () -> articleRepository.findByTagIdAndIsPublishedTrue(
+                tagIds.get(30), PageRequest.of(0, 1))),
+            new QueryCase("Article.findByIsPinnedTrueAndIsPublishedTrueOrderByCreatedAtDesc",
+                () -> articleRepository.findByIsPinnedTrueAndIsPublishedTrueOrderByCreatedAtDesc()),
+            new QueryCase("Article.findByIsPublishedTrueOrderByViewCountDesc",
+                () -> articleRepository.findByIsPublishedTrueOrderByViewCountDesc(PageRequest.of(1, 10))),
+            new QueryCase("Article.countByIsPublishedTrue", () -> articleRepository.countByIsPublishedTrue()),
+            new QueryCase("Article.countByIsPinned", () -> articleRepository.countByIsPinned(true)),
+            new QueryCase("Article.findByYearAndMonth", () -> articleRepository.findByYearAndMonth(2022, 6)),
+            new QueryCase("Article.findRelatedSource",
+                () -> articleRepository.findRelatedSource(articleIds.get(ARTICLES - 100), PageRequest.of(0, 200))),
+            new QueryCase("Article.findRelatedSourceByIds",
+                () -> articleRepository.findRelatedSourceByIds(articleIds.subList(0, 20))),
+            new QueryCase("Article.findPublishedTagPairsByIds",
+                () -> articleRepository.findPublishedTagPairsByIds(articleIds.subList(0, 20))),
+            new QueryCase("Article.countByCreatedAtBetween",
+                () -> articleRepository.countByCreatedAtBetween(monthStart, monthStart.plusMonths(1))),
+            new QueryCase("Article.findRenderBacklog",
+                () -> articleRepository.findRenderBacklog(MarkdownRenderer.VERSION, 0, PageRequest.of(0, 100))),
+            new QueryCase("Article.findPendingSchedules", () -> articleRepository.findPendingSchedules()),
+            new QueryCase("Article.incrementViewCount", () -> articleRepository.incrementViewCount(articleIds.get(10))),
+            new QueryCase("Article.incrementLikeCount", () -> articleRepository.incrementLikeCount(articleIds.get(10))),
+            new QueryCase("Article.adjustCommentCount", () -> articleRepository.adjustCommentCount(articleIds.get(10), 1)),
+            new QueryCase("Article.recountCommentCount",
+                () -> articleRepository.recountCommentCount(articleIds.subList(0, 20))),
+            new QueryCase("Article.updateRendered", () -> articleRepository.updateRendered(
+                articleIds.get(1), "<p>正文</p>", "[]", 2, 1, MarkdownRenderer.VERSION)),
+            new QueryCase("ArticleBatch.findIdsBySlugs", () -> articleBatchRepository.findIdsBySlugs(
+                List.of(PREFIX + "article-10", PREFIX + "article-11"))),
+            // ArticleRevisionRepository
+            new QueryCase("ArticleRevision.findTopByArticleIdOrderByRevisionDesc",
+                () -> revisionRepository.findTopByArticleIdOrderByRevisionDesc(articleIds.get(10))),
+            new QueryCase("ArticleRevision.findByArticleIdAndRevision",
+                () -> revisionRepository.findByArticleIdAndRevision(articleIds.get(10), 3)),
+            new QueryCase("ArticleRevision.findByArticleIdAndRevisionBetweenOrderByRevisionAsc",
+                () -> revisionRepository.findByArticleIdAndRevisionBetweenOrderByRevisionAsc(articleIds.get(10), 1, 4)),
+            new QueryCase("ArticleRevision.findByArticleIdOrderByRevisionDesc",
+                () -> revisionRepository.findByArticleIdOrderByRevisionDesc(articleIds.get(10), PageRequest.of(1, 2))),
+            new QueryCase("ArticleRevision.summarizeStorage", () -> revisionRepository.summarizeStorage(articleIds.get(10))),
+            new QueryCase("ArticleRevision.deleteByArticleId", () -> revisionRepository.deleteByArticleId(articleIds.get(10))),
+            // SlugHistoryRepository
+            new QueryCase("SlugHistory.findByContentTypeAndTargetId",
+                () -> slugHistoryRepository.findByContentTypeAndTargetId(ContentType.ARTICLE, articleIds.get(10))),
+            new QueryCase("SlugHistory.deleteBySlug",
+                () -> slugHistoryRepository.deleteBySlug(ContentType.ARTICLE, PREFIX + "old-10")),
+            new QueryCase("SlugHistory.deleteByTarget",
+                () -> slugHistoryRepository.deleteByTarget(ContentType.ARTICLE, articleIds.get(10))),
+            // CategoryRepository / TagRepository
+            new QueryCase("Category.findByName", () -> categoryRepository.findByName(PREFIX + "category-10")),
+            new QueryCase("Category.findBySlug", () -> categoryRepository.findBySlug(PREFIX + "category-10")),
+            new QueryCase("Category.findIdsBySlug", () -> categoryRepository.findIdsBySlug(PREFIX + "category-10")),
+            new QueryCase("Category.findCategoriesWithArticles", () -> categoryRepository.findCategoriesWithArticles()),
+            new QueryCase("Category.adjustArticleCount",
+                () -> categoryRepository.adjustArticleCount(categoryIds.subList(0, 2), 1)),
+            new QueryCase("Tag.findByName", () -> tagRepository.findByName(PREFIX + "tag-10")),
+            new QueryCase("Tag.findBySlug", () -> tagRepository.findBySlug(PREFIX + "tag-10")),
+            new QueryCase("Tag.findIdsBySlug", () -> tagRepository.findIdsBySlug(PREFIX + "tag-10")),
+            new QueryCase("Tag.findTagsWithArticles", () -> tagRepository.findTagsWithArticles()),
+            new QueryCase("Tag.findPopularTags", () -> tagRepository.findPopularTags()),
+            new QueryCase("Tag.adjustArticleCount", () -> tagRepository.adjustArticleCount(tagIds.subList(0, 2), 1)),
+            // CommentRepository
+            new QueryCase("Comment.findByArticleIdAndIsApprovedTrueOrderByCreatedAtDesc",
+                () -> commentRepository.findByArticleIdAndIsApprovedTrueOrderByCreatedAtDesc(articleIds.get(10), PageRequest.of(1, 1))),
+            new QueryCase("Comment.findByArticleIdOrderByCreatedAtDesc",
+                () -> commentRepository.findByArticleIdOrderByCreatedAtDesc(articleIds.get(10))),
+            new QueryCase("Comment.findByParentIdOrderByCreatedAtAsc",
+                () -> commentRepository.findByParentIdOrderByCreatedAtAsc(commentIds.get(10))),
+            new QueryCase("Comment.findByArticleIdAndIsApprovedTrueOrderByCreatedAtAsc",
+                () -> commentRepository.findByArticleIdAndIsApprovedTrueOrderByCreatedAtAsc(articleIds.get(10))),
+            new QueryCase("Comment.findByIsSpamFalseAndIsApprovedFalseOrderByCreatedAtDesc",
+                () -> commentRepository.findByIsSpamFalseAndIsApprovedFalseOrderByCreatedAtDesc(PageRequest.of(1, 20))),
+            new QueryCase("Comment.findByIsSpamTrueAndIsApprovedFalseOrderByCreatedAtDesc",
+                () -> commentRepository.findByIsSpamTrueAndIsApprovedFalseOrderByCreatedAtDesc(PageRequest.of(1, 20))),
+            new QueryCase("Comment.countByArticleIdAndIsApprovedTrue",
+                () -> commentRepository.countByArticleIdAndIsApprovedTrue(articleIds.get(10))),
+            new QueryCase("Comment.countByIsSpamFalseAndIsApprovedFalse",
+                () -> commentRepository.countByIsSpamFalseAndIsApprovedFalse()),
+            new QueryCase("Comment.markSpamByIdIn",
+                () -> commentRepository.markSpamByIdIn(commentIds.subList(0, 20), LocalDateTime.now())),
+            new QueryCase("Comment.existsByEmailAndIsApprovedTrue",
+                () -> commentRepository.existsByEmailAndIsApprovedTrue(email(10))),
+            new QueryCase("Comment.countByCreatedAtBetween",
+                () -> commentRepository.countByCreatedAtBetween(monthStart, monthStart.plusMonths(1))),
+            new QueryCase("Comment.findArticleIdsByIdIn", () -> commentRepository.findArticleIdsByIdIn(commentIds.subList(0, 20))),
+            new QueryCase("Comment.updateApprovalByIdIn", () -> commentRepository.updateApprovalByIdIn(
+                commentIds.subList(0, 20), true, LocalDateTime.now())),
+            new QueryCase("Comment.deleteByIdIn", () -> commentRepository.deleteByIdIn(commentIds.subList(0, 20))),
+            new QueryCase("Comment.findIdsByFilter(article)",
+                () -> commentRepository.findIdsByFilter(articleIds.get(10), null, null, null, null, null, null)),
+            new QueryCase("Comment.findIdsByFilter(ip)",
+                () -> commentRepository.findIdsByFilter(null, ip(10), null, null, null, null, null)),
+            new QueryCase("Comment.findIdsByFilter(email)",
+                () -> commentRepository.findIdsByFilter(null, null, email(10), null, false, null, null)),
+            // GuestbookMessageRepository
+            new QueryCase("Guestbook.findByIsApprovedTrueOrderByCreatedAtDesc",
+                () -> guestbookRepository.findByIsApprovedTrueOrderByCreatedAtDesc(PageRequest.of(1, 20))),
+            new QueryCase("Guestbook.findByIsSpamFalseAndIsApprovedFalseOrderByCreatedAtDesc",
+                () -> guestbookRepository.findByIsSpamFalseAndIsApprovedFalseOrderByCreatedAtDesc(PageRequest.of(1, 20))),
+            new QueryCase("Guestbook.findByIsSpamTrueAndIsApprovedFalseOrderByCreatedAtDesc",
+                () -> guestbookRepository.findByIsSpamTrueAndIsApprovedFalseOrderByCreatedAtDesc(PageRequest.of(1, 20))),
+            new QueryCase("Guestbook.findByParentIdOrderByCreatedAtAsc",
+                () -> guestbookRepository.findByParentIdOrderByCreatedAtAsc(messageIds.get(10))),
+            new QueryCase("Guestbook.countByIsSpamFalseAndIsApprovedFalse",
+                () -> guestbookRepository.countByIsSpamFalseAndIsApprovedFalse()),
+            new QueryCase("Guestbook.markSpamByIdIn",
+                () -> guestbookRepository.markSpamByIdIn(messageIds.subList(0, 20), LocalDateTime.now())),
+            new QueryCase("Guestbook.existsByEmailAndIsApprovedTrue",
+                () -> guestbookRepository.existsByEmailAndIsApprovedTrue(email(10))),
+            new QueryCase("Guestbook.countByCreatedAtBetween",
+                () -> guestbookRepository.countByCreatedAtBetween(monthStart, monthStart.plusMonths(1))),
+            new QueryCase("Guestbook.updateApprovalByIdIn", () -> guestbookRepository.updateApprovalByIdIn(
+                messageIds.subList(0, 20), true, LocalDateTime.now())),
+            new QueryCase("Guestbook.deleteByIdIn", () -> guestbookRepository.deleteByIdIn(messageIds.subList(0, 20))),
+            new QueryCase("Guestbook.findIdsByFilter(ip)",
+                () -> guestbookRepository.findIdsByFilter(ip(10), null, null, null, null, null)),
+            new QueryCase("Guestbook.findIdsByFilter(email)",
+                () -> guestbookRepository.findIdsByFilter(null, email(10), null, true, null, null)),
+            // FriendLinkRepository
+            new QueryCase("FriendLink.findByIsApprovedTrueOrderBySortOrderAsc",
+                () -> friendLinkRepository.findByIsApprovedTrueOrderBySortOrderAsc()),
+            new QueryCase("FriendLink.findByIsApprovedFalseOrderByCreatedAtDesc",
+                () -> friendLinkRepository.findByIsApprovedFalseOrderByCreatedAtDesc(PageRequest.of(1, 20))),
+            new QueryCase("FriendLink.countByIsApprovedTrue", () -> friendLinkRepository.countByIsApprovedTrue()),
+            new QueryCase("FriendLink.countByCreatedAtBetween",
+                () -> friendLinkRepository.countByCreatedAtBetween(monthStart, monthStart.plusMonths(1))),
+            new QueryCase("FriendLink.findIdsByFilter(email)",
+                () -> friendLinkRepository.findIdsByFilter(email(10), null, null, null, null)),
+            new QueryCase("FriendLink.updateApprovalByIdIn", () -> friendLinkRepository.updateApprovalByIdIn(
+                friendLinkIds.subList(0, 20), true, LocalDateTime.now())),
+            new QueryCase("FriendLink.deleteByIdIn", () -> friendLinkRepository.deleteByIdIn(friendLinkIds.subList(0, 20)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void queryDoesNotScanFullTable(QueryCase query) {
+        List<StatementRecorder.Recorded> statements = StatementRecorder.record(() ->
+            transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                query.invocation().run();
+            }));
+        List<StatementRecorder.Recorded> explained = statements.stream().filter(RepositoryQueryPlanTests::explainable).toList();
+        assertFalse(explained.isEmpty(), () -> query.name() + " 没有执行任何查询: " + statements);
+
+        for (StatementRecorder.Recorded statement : explained) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + statement.sql(),
+                statement.params().toArray());
+            for (Map<String, Object> row : plan) {
+                String table = String.valueOf(row.get("table"));
+                // <derivedN>、<subqueryN>等临时结果不是物理表
+                boolean fullScan = "ALL".equals(row.get("type")) && !table.startsWith("<");
+                assertFalse(fullScan, () -> query.name() + " 对表 " + table + " 执行了全表扫描: " + statement + " " + row);
+            }
+        }
+    }
+
+    private static boolean explainable(StatementRecorder.Recorded statement) {
+        String sql = statement.sql().stripLeading().toLowerCase(Locale.ROOT);
+        return sql.startsWith("select") || sql.startsWith("update") || sql.startsWith("delete");
+    }
+
+    private void batch(String sql, int count, IntFunction<Object[]> row) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(row.apply(i));
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+
+    private List<Long> ids(String table, String column) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE " + column + " LIKE ? ORDER BY id",
+            Long.class, PREFIX + "%");
+    }
+
+    private static String email(int i) {
+        return "author" + i % AUTHORS + EMAIL_DOMAIN;
+    }
+
+    private static String ip(int i) {
+        return "10.250." + i % AUTHORS / 250 + "." + i % 250;
+    }
+
+    record QueryCase(String name, Runnable invocation) {
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.myblog.repository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * 测试用的JDBC语句记录器
+ * 包装数据源，在 {@link #record} 期间记录当前线程实际执行的SQL和绑定参数，
+ * 覆盖Hibernate生成的语句和直接使用JdbcTemplate的语句。
+ */
+final class StatementRecorder {
+
+    private static final ThreadLocal<List<Recorded>> RECORDING = new ThreadLocal<>();
+
+    private StatementRecorder() {
+    }
+
+    /**
+     * 执行操作并返回期间在当前线程执行的语句，按执行顺序排列
+     */
+    static List<Recorded> record(Runnable action) {
+        List<Recorded> statements = new ArrayList<>();
+        RECORDING.set(statements);
+        try {
+            action.run();
+        } finally {
+            RECORDING.remove();
+        }
+        return statements;
+    }
+
+    static DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, new Interceptor() {
+            @Override
+            public Object after(Method method, Object[] args, Object result) {
+                return result instanceof Connection connection && method.getName().equals("getConnection")
+                    ? wrap(connection) : result;
+            }
+        });
+    }
+
+    private static Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, new Interceptor() {
+            @Override
+            public Object after(Method method, Object[] args, Object result) {
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    return wrap(statement, (String) args[0]);
+                }
+                if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                    return wrap(statement);
+                }
+                return result;
+            }
+        });
+    }
+
+    private static PreparedStatement wrap(PreparedStatement statement, String sql) {
+        TreeMap<Integer, Object> params = new TreeMap<>();
+        return proxy(PreparedStatement.class, statement, new Interceptor() {
+            @Override
+            public void before(Method method, Object[] args) {
+                String name = method.getName();
+                if (name.equals("clearParameters")) {
+                    params.clear();
+                } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    params.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                    add(sql, new ArrayList<>(params.values()));
+                }
+            }
+        });
+    }
+
+    private static Statement wrap(Statement statement) {
+        return proxy(Statement.class, statement, new Interceptor() {
+            @Override
+            public void before(Method method, Object[] args) {
+                if (method.getName().startsWith("execute") && args != null && args.length > 0 && args[0] instanceof String sql) {
+                    add(sql, List.of());
+                }
+            }
+        });
+    }
+
+    private static void add(String sql, List<Object> params) {
+        List<Recorded> statements = RECORDING.get();
+        if (statements != null) {
+            statements.add(new Recorded(sql, params));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            interceptor.before(method, args);
+            try {
+                return interceptor.after(method, args, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private interface Interceptor {
+
+        default void before(Method method, Object[] args) {
+        }
+
+        default Object after(Method method, Object[] args, Object result) {
+            return result;
+        }
+    }
+
+    /**
+     * 一条实际执行的语句
+     * @param params 按占位符顺序排列的绑定参数
+     */
+    record Recorded(String sql, List<Object> params) {
+
+        @Override
+        public String toString() {
+            return sql + " " + params;
+        }
+    }
+}
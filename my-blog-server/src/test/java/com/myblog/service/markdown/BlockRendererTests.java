@@ -0,0 +1,110 @@
+package com.myblog.service.markdown;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 块级元素渲染测试
+ */
+class BlockRendererTests {
+
+    private static BlockRenderer render(String markdown) {
+        BlockRenderer renderer = new BlockRenderer(markdown.length());
+        renderer.render(markdown);
+        return renderer;
+    }
+
+    private static String html(String markdown) {
+        return render(markdown).html();
+    }
+
+    @Test
+    void rendersHeadingsWithUniqueAnchors() {
+        BlockRenderer renderer = render("# Hello World\n\n## 简介 ##\n\nIntro\n---\n\n# Hello World");
+        assertEquals("<h1 id=\"hello-world\">Hello World</h1>\n"
+            + "<h2 id=\"简介\">简介</h2>\n"
+            + "<h2 id=\"intro\">Intro</h2>\n"
+            + "<h1 id=\"hello-world-1\">Hello World</h1>\n", renderer.html());
+        assertEquals(4, renderer.toc().size());
+        assertEquals("hello-world-1", renderer.toc().get(3).id());
+    }
+
+    @Test
+    void rendersCodeBlocks() {
+        assertEquals("<pre><code class=\"language-java\">int a = 1 &lt; 2;\n</code></pre>\n",
+            html("```Java\nint a = 1 < 2;\n```"));
+        assertEquals("<pre><code>code\n</code></pre>\n", html("    code"));
+        assertEquals(2, render("```\na\nb\n```").codeLines());
+    }
+
+    @Test
+    void rendersListsAndTasks() {
+        assertEquals("<ul>\n<li>a</li>\n<li>b</li>\n</ul>\n", html("- a\n- b"));
+        assertEquals("<ol start=\"3\">\n<li><p>a</p></li>\n<li><p>b</p></li>\n</ol>\n", html("3. a\n\n4. b"));
+        assertEquals("<ul>\n<li class=\"task-list-item\"><input type=\"checkbox\" disabled=\"\" checked=\"\" /> done</li>\n"
+            + "<li class=\"task-list-item\"><input type=\"checkbox\" disabled=\"\" /> todo</li>\n</ul>\n",
+            html("- [x] done\n- [ ] todo"));
+        assertEquals("<ul>\n<li>a\n<ul>\n<li>b</li>\n</ul></li>\n</ul>\n", html("- a\n  - b"));
+    }
+
+    @Test
+    void rendersBlockquotesWithLazyContinuation() {
+        assertEquals("<blockquote>\n<p>a\nb</p>\n</blockquote>\n", html("> a\nb"));
+    }
+
+    @Test
+    void rendersTables() {
+        assertEquals("<table>\n<thead>\n<tr>\n<th align=\"left\">a</th>\n<th align=\"right\">b</th>\n</tr>\n</thead>\n"
+            + "<tbody>\n<tr>\n<td align=\"left\">1</td>\n<td align=\"right\">x|y</td>\n</tr>\n</tbody>\n</table>\n",
+            html("| a | b |\n|:--|--:|\n| 1 | x\\|y |"));
+    }
+
+    @Test
+    void recognizesThematicBreaks() {
+        assertTrue(BlockRenderer.isThematicBreak("***"));
+        assertTrue(BlockRenderer.isThematicBreak("- - -"));
+        assertTrue(BlockRenderer.isThematicBreak("_\t_ _  "));
+        assertFalse(BlockRenderer.isThematicBreak("**"));
+        assertFalse(BlockRenderer.isThematicBreak("*-*"));
+        assertFalse(BlockRenderer.isThematicBreak("---a"));
+        assertEquals("<p>a</p>\n<hr />\n<p>b</p>\n", html("a\n\n* * *\nb"));
+    }
+
+    @Test
+    void recognizesTableDelimiters() {
+        assertTrue(BlockRenderer.isTableDelimiter("|---|:-:|"));
+        assertTrue(BlockRenderer.isTableDelimiter("--- | ---"));
+        assertTrue(BlockRenderer.isTableDelimiter(":--"));
+        assertFalse(BlockRenderer.isTableDelimiter("|"));
+        assertFalse(BlockRenderer.isTableDelimiter("|--|x|"));
+        assertFalse(BlockRenderer.isTableDelimiter("| :: |"));
+    }
+
+    @Test
+    void countsWords() {
+        BlockRenderer renderer = render("你好世界 hello world");
+        assertEquals(4, renderer.cjkChars());
+        assertEquals(2, renderer.latinWords());
+    }
+
+    @Test
+    @Timeout(10)
+    void longRepeatedLinesDoNotOverflow() {
+        assertEquals("<hr />\n", html("* ".repeat(50_000)));
+        assertEquals("<hr />\n", html("-".repeat(50_000)));
+        assertTrue(BlockRenderer.isTableDelimiter("|-".repeat(50_000) + "|"));
+    }
+
+    @Test
+    @Timeout(10)
+    void deepNestingFallsBackToParagraph() {
+        String quotes = html(">".repeat(10_000) + " x");
+        assertEquals(BlockRenderer.MAX_DEPTH, quotes.split("<blockquote>", -1).length - 1);
+        String lists = html("- ".repeat(10_000) + "x");
+        assertEquals(BlockRenderer.MAX_DEPTH, lists.split("<ul>", -1).length - 1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.myblog.service.markdown;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 行内元素渲染测试
+ */
+class InlineRendererTests {
+
+    @Test
+    void rendersEmphasisStrongAndStrikethrough() {
+        assertEquals("<em>a</em> <strong>b</strong> <del>c</del>", InlineRenderer.render("*a* **b** ~~c~~"));
+        assertEquals("snake_case_name", InlineRenderer.render("snake_case_name"));
+    }
+
+    @Test
+    void rendersCodeSpanWithoutInlineMarkup() {
+        assertEquals("<code>*a* &lt;b&gt;</code>", InlineRenderer.render("`*a* <b>`"));
+    }
+
+    @Test
+    void rendersLinksAndImages() {
+        assertEquals("<a href=\"/about\" title=\"关于\">关于<em>我</em></a>",
+            InlineRenderer.render("[关于*我*](/about \"关于\")"));
+        assertEquals("<a href=\"https://example.com\" target=\"_blank\" rel=\"noopener noreferrer\">x</a>",
+            InlineRenderer.render("[x](https://example.com)"));
+        assertEquals("<img src=\"/a%20b.png\" alt=\"图 1\" />", InlineRenderer.render("![图 *1*](</a b.png>)"));
+    }
+
+    @Test
+    void rendersAutolinks() {
+        assertEquals("<a href=\"mailto:a@example.com\">a@example.com</a>", InlineRenderer.render("<a@example.com>"));
+        assertEquals("见 <a href=\"https://example.com/a\" target=\"_blank\" rel=\"noopener noreferrer\">"
+            + "https://example.com/a</a>.", InlineRenderer.render("见 https://example.com/a."));
+    }
+
+    @Test
+    void escapesHtmlSpecialCharacters() {
+        assertEquals("a &lt; b &amp;&amp; c &gt; d", InlineRenderer.render("a < b && c > d"));
+        assertEquals("&amp; &copy; *", InlineRenderer.render("&amp; &copy; \\*"));
+    }
+
+    @Test
+    void keepsInlineHtmlTagsForSanitizer() {
+        assertEquals("<kbd>Ctrl</kbd>", InlineRenderer.render("<kbd>Ctrl</kbd>"));
+        assertEquals("<span class=\"x\" data-a='1' hidden/>", InlineRenderer.render("<span class=\"x\" data-a='1' hidden/>"));
+        assertEquals("<!-- note -->", InlineRenderer.render("<!-- note -->"));
+        assertEquals("&lt;a b=&quot;1&gt;", InlineRenderer.render("<a b=\"1>"));
+    }
+
+    @Test
+    void recognizesHtmlTagBoundaries() {
+        assertEquals(11, InlineRenderer.htmlTag("<a href=x/>", 0));
+        assertEquals(-1, InlineRenderer.htmlTag("<1a>", 0));
+        assertEquals(-1, InlineRenderer.htmlTag("<a =x>", 0));
+        assertEquals(6, InlineRenderer.htmlTag("</div>", 0));
+    }
+
+    @Test
+    void rendersHardLineBreaks() {
+        assertEquals("a<br />\nb", InlineRenderer.render("a  \nb"));
+        assertEquals("a<br />\nb", InlineRenderer.render("a\\\nb"));
+    }
+
+    @Test
+    @Timeout(10)
+    void deepNestingFallsBackToText() {
+        String nested = "*".repeat(20_000) + "x" + "*".repeat(20_000);
+        assertTrue(InlineRenderer.render(nested).contains("x"));
+        String links = "[".repeat(20_000) + "x" + "](u)".repeat(20_000);
+        assertTrue(InlineRenderer.render(links).contains("x"));
+    }
+
+    @Test
+    @Timeout(10)
+    void longTagsAndEmailsDoNotOverflow() {
+        String tag = "<a" + " b=1".repeat(50_000) + ">";
+        assertEquals(tag, InlineRenderer.render(tag));
+        String email = "<a@" + "b.".repeat(50_000) + "c>";
+        assertTrue(InlineRenderer.render(email).startsWith("&lt;a@"));
+    }
+}
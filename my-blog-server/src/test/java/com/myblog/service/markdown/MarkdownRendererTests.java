@@ -0,0 +1,59 @@
+package com.myblog.service.markdown;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Markdown渲染器测试
+ */
+class MarkdownRendererTests {
+
+    private final MarkdownRenderer renderer = new MarkdownRenderer();
+
+    @Test
+    void blankContentRendersEmpty() {
+        assertSame(RenderedContent.EMPTY, renderer.render(null));
+        assertSame(RenderedContent.EMPTY, renderer.render(" \n\t"));
+    }
+
+    @Test
+    void removesUnsafeHtml() {
+        String html = renderer.render("<script>alert(1)</script>\n\n<div onclick=\"x()\">a</div>\n\n"
+            + "[x](javascript:alert(1)) <img src=x onerror=alert(1)>").html();
+        assertFalse(html.contains("<script"));
+        assertFalse(html.contains("onclick"));
+        assertFalse(html.contains("onerror"));
+        assertFalse(html.contains("javascript:"));
+    }
+
+    @Test
+    void keepsWhitelistedMarkup() {
+        String html = renderer.render("## 标题\n\n- [x] a\n\n```java\nx\n```\n\n[链接](/a)").html();
+        assertTrue(html.contains("<h2 id=\"标题\">标题</h2>"));
+        assertTrue(html.contains("<input type=\"checkbox\" disabled checked>"));
+        assertTrue(html.contains("<code class=\"language-java\">"));
+        assertTrue(html.contains("<a href=\"/a\">链接</a>"));
+    }
+
+    @Test
+    void computesTocWordCountAndReadingTime() {
+        RenderedContent content = renderer.render("# 一\n\n" + "字".repeat(800) + "\n\n## two words");
+        assertEquals(2, content.toc().size());
+        assertEquals(803, content.wordCount());
+        assertEquals(3, content.readingMinutes());
+        assertEquals(1, renderer.render("a").readingMinutes());
+    }
+
+    @Test
+    @Timeout(20)
+    void pathologicalInputRenders() {
+        String markdown = "* ".repeat(20_000) + "\n\n" + ">".repeat(5_000) + " x\n\n"
+            + "*".repeat(20_000) + "x" + "*".repeat(20_000) + "\n\n<a" + " b=1".repeat(20_000) + ">";
+        assertTrue(renderer.render(markdown).html().startsWith("<hr>"));
+    }
+}
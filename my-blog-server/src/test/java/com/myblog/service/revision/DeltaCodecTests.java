@@ -0,0 +1,100 @@
+package com.myblog.service.revision;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 修订内容编码测试
+ */
+class DeltaCodecTests {
+
+    private static final String ARTICLE = "# 标题\n\n" + "这是一段用于测试增量编码的正文，包含中文和 English words。\n".repeat(50)
+        + "```java\nSystem.out.println(\"hello\");\n```\n";
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "a", "短文本", "line1\nline2\n"})
+    void keyframeRoundTrip(String content) {
+        assertEquals(content, DeltaCodec.decodeFull(DeltaCodec.encodeFull(content)));
+    }
+
+    @Test
+    void largeKeyframeRoundTrip() {
+        String content = ARTICLE.repeat(200);
+        assertEquals(content, DeltaCodec.decodeFull(DeltaCodec.encodeFull(content)));
+    }
+
+    @Test
+    void nullKeyframeDecodesAsEmpty() {
+        assertEquals("", DeltaCodec.decodeFull(DeltaCodec.encodeFull(null)));
+    }
+
+    @Test
+    void deltaRoundTripForTypicalEdits() {
+        assertDelta("", "");
+        assertDelta("", ARTICLE);
+        assertDelta(ARTICLE, "");
+        assertDelta(ARTICLE, ARTICLE);
+        assertDelta(ARTICLE, "前言\n" + ARTICLE);
+        assertDelta(ARTICLE, ARTICLE + "\n后记");
+        assertDelta(ARTICLE, ARTICLE.replace("English", "Chinese"));
+        assertDelta(ARTICLE, ARTICLE.substring(0, ARTICLE.length() / 2) + "插入" + ARTICLE.substring(ARTICLE.length() / 2));
+        assertDelta("short", "shorter");
+    }
+
+    @Test
+    void deltaIsSmallerThanKeyframeForSmallEdits() {
+        String edited = ARTICLE.replace("# 标题", "# 新标题");
+        assertTrue(DeltaCodec.encodeDelta(ARTICLE, edited).length < DeltaCodec.encodeFull(edited).length);
+    }
+
+    @Test
+    void deltaRoundTripForRandomEdits() {
+        Random random = new Random(42);
+        String base = ARTICLE;
+        for (int round = 0; round < 200; round++) {
+            String target = mutate(base, random);
+            assertDelta(base, target);
+            base = target;
+        }
+    }
+
+    @Test
+    void truncatedPayloadIsRejected() {
+        byte[] payload = DeltaCodec.encodeFull(ARTICLE);
+        byte[] truncated = Arrays.copyOf(payload, payload.length / 2);
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> DeltaCodec.decodeFull(truncated));
+        assertEquals("修订数据不完整", e.getMessage());
+    }
+
+    @Test
+    void corruptPayloadIsRejected() {
+        assertThrows(IllegalStateException.class, () -> DeltaCodec.decodeFull(new byte[]{1, 2, 3, 4}));
+    }
+
+    private static void assertDelta(String base, String target) {
+        assertEquals(target, DeltaCodec.applyDelta(base, DeltaCodec.encodeDelta(base, target)));
+    }
+
+    /**
+     * 随机插入、删除或替换一段文本
+     */
+    private static String mutate(String text, Random random) {
+        int at = text.isEmpty() ? 0 : random.nextInt(text.length());
+        int length = Math.min(text.length() - at, random.nextInt(40));
+        String fragment = random.ints(random.nextInt(40), 0x4e00, 0x4e80)
+            .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append).toString();
+        return switch (random.nextInt(3)) {
+            case 0 -> text.substring(0, at) + fragment + text.substring(at);
+            case 1 -> text.substring(0, at) + text.substring(at + length);
+            default -> text.substring(0, at) + fragment + text.substring(at + length);
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package com.myblog.service.revision;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 行差异测试：把差异块应用到旧版本上应得到新版本
+ */
+class LineDiffTests {
+
+    @Test
+    void identicalTextHasNoHunks() {
+        assertTrue(LineDiff.diff("a\nb", "a\nb").isEmpty());
+        assertTrue(LineDiff.diff("", "").isEmpty());
+    }
+
+    @Test
+    void singleChangeWithContext() {
+        String oldText = "1\n2\n3\n4\n5\n6\n7\n8\n9";
+        String newText = "1\n2\n3\n4\nfive\n6\n7\n8\n9";
+        List<DiffHunk> hunks = LineDiff.diff(oldText, newText);
+        assertEquals(1, hunks.size());
+        DiffHunk hunk = hunks.get(0);
+        assertEquals(2, hunk.oldStart());
+        assertEquals(7, hunk.oldLines());
+        assertEquals(2, hunk.newStart());
+        assertEquals(7, hunk.newLines());
+        assertEquals(List.of(" 2", " 3", " 4", "-5", "+five", " 6", " 7", " 8"), hunk.lines());
+    }
+
+    @Test
+    void distantChangesProduceSeparateHunks() {
+        StringBuilder oldText = new StringBuilder();
+        for (int i = 1; i <= 30; i++) {
+            oldText.append(i).append('\n');
+        }
+        String newText = oldText.toString().replace("\n2\n", "\ntwo\n").replace("\n28\n", "\n");
+        assertEquals(2, LineDiff.diff(oldText.toString(), newText).size());
+        assertRoundTrip(oldText.toString(), newText);
+    }
+
+    @Test
+    void roundTripForTypicalEdits() {
+        assertRoundTrip("", "a\nb");
+        assertRoundTrip("a\nb", "");
+        assertRoundTrip("a\nb\nc", "x\na\nb\nc");
+        assertRoundTrip("a\nb\nc", "a\nb\nc\nx");
+        assertRoundTrip("a\nb\nc\n", "a\nc\n");
+        assertRoundTrip("a\na\na", "a\nb\na");
+    }
+
+    @Test
+    void roundTripForRandomEdits() {
+        Random random = new Random(7);
+        for (int round = 0; round < 300; round++) {
+            String oldText = randomLines(random, random.nextInt(40));
+            String newText = mutate(oldText, random);
+            assertRoundTrip(oldText, newText);
+        }
+    }
+
+    @Test
+    void largeRewriteFallsBackToReplacement() {
+        String oldText = randomLines(new Random(1), 1500);
+        String newText = randomLines(new Random(2), 1500);
+        assertRoundTrip(oldText, newText);
+    }
+
+    private static void assertRoundTrip(String oldText, String newText) {
+        assertEquals(lines(newText), apply(lines(oldText), LineDiff.diff(oldText, newText)));
+    }
+
+    /**
+     * 按统一格式差异块修补旧版本，校验上下文行和删除行与旧版本一致
+     */
+    private static List<String> apply(List<String> oldLines, List<DiffHunk> hunks) {
+        List<String> result = new ArrayList<>();
+        int next = 0;
+        for (DiffHunk hunk : hunks) {
+            int start = hunk.oldLines() == 0 && hunk.oldStart() == 0 ? 0 : hunk.oldStart() - 1;
+            assertTrue(start >= next, "差异块重叠或乱序");
+            result.addAll(oldLines.subList(next, start));
+            assertEquals(result.size() + 1, hunk.newStart() == 0 ? 1 : hunk.newStart());
+            next = start;
+            for (String line : hunk.lines()) {
+                char op = line.charAt(0);
+                String text = line.substring(1);
+                if (op == '+') {
+                    result.add(text);
+                } else {
+                    assertEquals(oldLines.get(next), text);
+                    next++;
+                    if (op == ' ') {
+                        result.add(text);
+                    }
+                }
+            }
+        }
+        result.addAll(oldLines.subList(next, oldLines.size()));
+        return result;
+    }
+
+    private static List<String> lines(String text) {
+        return text.isEmpty() ? List.of() : Arrays.asList(text.split("\n", -1));
+    }
+
+    private static String randomLines(Random random, int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add("line " + random.nextInt(10));
+        }
+        return String.join("\n", lines);
+    }
+
+    private static String mutate(String text, Random random) {
+        List<String> lines = new ArrayList<>(lines(text));
+        int edits = 1 + random.nextInt(5);
+        for (int k = 0; k < edits; k++) {
+            int at = lines.isEmpty() ? 0 : random.nextInt(lines.size());
+            switch (random.nextInt(3)) {
+                case 0 -> lines.add(at, "new " + random.nextInt(100));
+                case 1 -> {
+                    if (!lines.isEmpty()) {
+                        lines.remove(at);
+                    }
+                }
+                default -> {
+                    if (!lines.isEmpty()) {
+                        lines.set(at, "changed " + random.nextInt(100));
+                    }
+                }
+            }
+        }
+        return String.join("\n", lines);
+    }
+}
@@ -1,7 +1,18 @@
 import type {NextConfig} from "next";
 
+const apiUrl = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080/api';
+
 const nextConfig: NextConfig = {
     turbopack: {},
+    // 站点地图和订阅源由后端预先生成，按站点根路径对外提供
+    async rewrites() {
+        return [
+            {source: '/sitemap.xml', destination: `${apiUrl}/sitemap.xml`},
+            {source: '/sitemap-:page.xml', destination: `${apiUrl}/sitemap-:page.xml`},
+            {source: '/rss.xml', destination: `${apiUrl}/rss.xml`},
+            {source: '/atom.xml', destination: `${apiUrl}/atom.xml`},
+        ];
+    },
     images: {
         remotePatterns: [
             {
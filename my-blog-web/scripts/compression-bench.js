@@ -0,0 +1,98 @@
+/**
+ * 响应压缩基准脚本
+ *
+ * 分别以不压缩和 gzip 方式反复请求文章详情接口，统计传输字节数与平均耗时，
+ * 最后输出服务端 /dashboard/response-cache 中的节省字节数和均摊到每次命中的压缩耗时。
+ *
+ * 运行方式: node scripts/compression-bench.js
+ * 可选环境变量: API_URL, ARTICLE_SLUG, REQUESTS, ADMIN_USERNAME, ADMIN_PASSWORD
+ */
+
+const http = require('http');
+
+const API_URL = (process.env.NEXT_PUBLIC_API_URL || process.env.API_URL || 'http://localhost:8080') + '/api';
+const ARTICLE_SLUG = process.env.ARTICLE_SLUG || 'hello-world';
+const REQUESTS = Number(process.env.REQUESTS || 500);
+const ADMIN = {
+  username: process.env.ADMIN_USERNAME || 'admin',
+  password: process.env.ADMIN_PASSWORD || 'admin123',
+};
+
+/**
+ * 使用 http 模块请求，保留原始压缩字节以统计实际传输大小
+ */
+function request(path, encoding) {
+  return new Promise((resolve, reject) => {
+    const start = process.hrtime.bigint();
+    const headers = encoding ? { 'Accept-Encoding': encoding } : {};
+    http
+      .get(`${API_URL}${path}`, { headers }, (response) => {
+        let bytes = 0;
+        response.on('data', (chunk) => (bytes += chunk.length));
+        response.on('end', () =>
+          resolve({
+            status: response.statusCode,
+            bytes,
+            encoding: response.headers['content-encoding'] || 'identity',
+            cache: response.headers['x-cache'] || '-',
+            micros: Number(process.hrtime.bigint() - start) / 1000,
+          })
+        );
+      })
+      .on('error', reject);
+  });
+}
+
+async function run(label, encoding) {
+  const path = `/articles/slug/${encodeURIComponent(ARTICLE_SLUG)}`;
+  let bytes = 0;
+  let micros = 0;
+  let hits = 0;
+  let last;
+  for (let i = 0; i < REQUESTS; i++) {
+    last = await request(path, encoding);
+    if (last.status !== 200) {
+      throw new Error(`请求失败: HTTP ${last.status}`);
+    }
+    bytes += last.bytes;
+    micros += last.micros;
+    if (last.cache === 'HIT') hits++;
+  }
+  console.log(
+    `${label.padEnd(10)} 编码=${last.encoding.padEnd(8)} 单次=${(bytes / REQUESTS).toFixed(0)}B ` +
+      `平均耗时=${(micros / REQUESTS).toFixed(0)}µs 缓存命中=${hits}/${REQUESTS}`
+  );
+  return bytes / REQUESTS;
+}
+
+async function login() {
+  const response = await fetch(`${API_URL}/auth/login`, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json' },
+    body: JSON.stringify(ADMIN),
+  });
+  const body = await response.json();
+  if (!body.data?.token) {
+    throw new Error(`登录失败: ${JSON.stringify(body)}`);
+  }
+  return body.data.token;
+}
+
+async function main() {
+  console.log(`目标: ${API_URL}/articles/slug/${ARTICLE_SLUG}，每种编码 ${REQUESTS} 次请求`);
+  const identity = await run('不压缩', null);
+  const gzip = await run('gzip', 'gzip, deflate, br');
+  console.log(`每次请求节省 ${(identity - gzip).toFixed(0)}B（压缩后为原始大小的 ${((gzip / identity) * 100).toFixed(1)}%）`);
+
+  const token = await login();
+  const response = await fetch(`${API_URL}/dashboard/response-cache`, {
+    headers: { Authorization: `Bearer ${token}` },
+  });
+  const stats = (await response.json()).data;
+  console.log('服务端缓存统计:', stats);
+}
+
+main().catch((error) => {
+  console.error(error);
+  process.exit(1);
+});
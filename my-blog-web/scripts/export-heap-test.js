@@ -0,0 +1,118 @@
+/**
+ * 流式导出内存验证脚本
+ *
+ * 依次下载评论、留言、图片元数据和文章归档导出，下载过程中每隔一段时间采样服务端堆内存，
+ * 输出行数、字节数、耗时和堆内存峰值。在数据量相差很大的库上分别运行，堆内存峰值应基本一致。
+ * 设置 ABORT_AFTER_BYTES 后每个导出在收到该字节数时主动断开，用于验证服务端会中止查询，
+ * 结束时输出服务端 /data-export/stats 中的 cancelled 计数。
+ *
+ * 服务端需以 prod 配置启动以暴露 /actuator/metrics。
+ * 运行方式: node scripts/export-heap-test.js
+ * 可选环境变量: API_URL, FORMAT, ABORT_AFTER_BYTES, SAMPLE_MS, ADMIN_USERNAME, ADMIN_PASSWORD
+ */
+
+const API_URL = (process.env.NEXT_PUBLIC_API_URL || process.env.API_URL || 'http://localhost:8080') + '/api';
+const FORMAT = process.env.FORMAT || 'csv';
+const ABORT_AFTER_BYTES = Number(process.env.ABORT_AFTER_BYTES || 0);
+const SAMPLE_MS = Number(process.env.SAMPLE_MS || 200);
+const ADMIN = {
+  username: process.env.ADMIN_USERNAME || 'admin',
+  password: process.env.ADMIN_PASSWORD || 'admin123',
+};
+
+const EXPORTS = [
+  `/data-export/comments?format=${FORMAT}`,
+  `/data-export/guestbook?format=${FORMAT}`,
+  `/data-export/images?format=${FORMAT}`,
+  '/articles/bulk/export?format=ndjson',
+];
+
+async function login() {
+  const response = await fetch(`${API_URL}/auth/login`, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json' },
+    body: JSON.stringify(ADMIN),
+  });
+  const body = await response.json();
+  if (!body.data?.token) {
+    throw new Error(`登录失败: ${JSON.stringify(body)}`);
+  }
+  return body.data.token;
+}
+
+async function heapUsed(headers) {
+  const response = await fetch(`${API_URL}/actuator/metrics/jvm.memory.used?tag=area:heap`, { headers });
+  if (!response.ok) return NaN;
+  const body = await response.json();
+  return body.measurements?.[0]?.value ?? NaN;
+}
+
+async function runExport(path, headers) {
+  const controller = new AbortController();
+  const baseline = await heapUsed(headers);
+  let peak = baseline;
+  const sampler = setInterval(async () => {
+    const value = await heapUsed(headers);
+    if (value > peak) peak = value;
+  }, SAMPLE_MS);
+
+  const start = performance.now();
+  let bytes = 0;
+  let lines = 0;
+  let aborted = false;
+  try {
+    const response = await fetch(`${API_URL}${path}`, { headers, signal: controller.signal });
+    if (!response.ok) {
+      throw new Error(`${path} 返回 ${response.status}`);
+    }
+    for await (const chunk of response.body) {
+      bytes += chunk.length;
+      for (const byte of chunk) {
+        if (byte === 10) lines++;
+      }
+      if (ABORT_AFTER_BYTES > 0 && bytes >= ABORT_AFTER_BYTES) {
+        aborted = true;
+        controller.abort();
+        break;
+      }
+    }
+  } catch (error) {
+    if (!aborted) throw error;
+  } finally {
+    clearInterval(sampler);
+  }
+
+  return {
+    path: path.split('?')[0],
+    lines,
+    mb: bytes / 1024 / 1024,
+    seconds: (performance.now() - start) / 1000,
+    baselineMb: baseline / 1024 / 1024,
+    peakMb: peak / 1024 / 1024,
+    aborted,
+  };
+}
+
+async function main() {
+  const token = await login();
+  const headers = { Authorization: `Bearer ${token}` };
+  console.log('| 导出 | 行数 | 大小(MB) | 耗时(s) | 开始时堆(MB) | 堆峰值(MB) | 主动断开 |');
+  console.log('| --- | --- | --- | --- | --- | --- | --- |');
+  for (const path of EXPORTS) {
+    const r = await runExport(path, headers);
+    console.log(
+      `| ${r.path} | ${r.lines} | ${r.mb.toFixed(1)} | ${r.seconds.toFixed(1)} | ` +
+        `${r.baselineMb.toFixed(0)} | ${r.peakMb.toFixed(0)} | ${r.aborted ? '是' : '否'} |`
+    );
+  }
+
+  // 等待服务端处理断开后的取消
+  await new Promise((resolve) => setTimeout(resolve, 1000));
+  const response = await fetch(`${API_URL}/data-export/stats`, { headers });
+  console.log('服务端导出统计:', JSON.stringify((await response.json()).data));
+}
+
+main().catch((error) => {
+  console.error(error);
+  process.exit(1);
+});
@@ -0,0 +1,111 @@
+/**
+ * 平台线程 / 虚拟线程模式对比压测脚本
+ *
+ * 以逐级增加的并发请求一组不走响应缓存的阻塞型接口（数据库搜索，以及可选的外部URL元数据抓取），
+ * 每个并发梯度输出吞吐量、延迟分位数和错误数，最后附上服务端 /dashboard/virtual-threads 的固定与舱壁统计。
+ * 分别在两种模式下运行，将输出的 Markdown 表格行合并即为对比报告。
+ *
+ * 运行方式: MODE=virtual node scripts/load-test.js
+ * 可选环境变量: API_URL, MODE, LEVELS, DURATION_SECONDS, KEYWORD, SLOW_URL, ADMIN_USERNAME, ADMIN_PASSWORD
+ */
+
+const API_URL = (process.env.NEXT_PUBLIC_API_URL || process.env.API_URL || 'http://localhost:8080') + '/api';
+const MODE = process.env.MODE || 'unknown';
+const LEVELS = (process.env.LEVELS || '50,200,800,2000').split(',').map(Number);
+const DURATION_SECONDS = Number(process.env.DURATION_SECONDS || 20);
+const KEYWORD = process.env.KEYWORD || 'java';
+const SLOW_URL = process.env.SLOW_URL || '';
+const ADMIN = {
+  username: process.env.ADMIN_USERNAME || 'admin',
+  password: process.env.ADMIN_PASSWORD || 'admin123',
+};
+
+async function login() {
+  const response = await fetch(`${API_URL}/auth/login`, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json' },
+    body: JSON.stringify(ADMIN),
+  });
+  const body = await response.json();
+  if (!body.data?.token) {
+    throw new Error(`登录失败: ${JSON.stringify(body)}`);
+  }
+  return body.data.token;
+}
+
+function targets(token) {
+  const list = [{ path: `/articles/search?keyword=${encodeURIComponent(KEYWORD)}&page=0&size=10` }];
+  if (SLOW_URL) {
+    list.push({
+      path: `/url-metadata/fetch?url=${encodeURIComponent(SLOW_URL)}`,
+      headers: { Authorization: `Bearer ${token}` },
+    });
+  }
+  return list;
+}
+
+function percentile(sorted, p) {
+  if (sorted.length === 0) return 0;
+  return sorted[Math.min(sorted.length - 1, Math.floor((sorted.length * p) / 100))];
+}
+
+async function runLevel(concurrency, endpoints) {
+  const deadline = Date.now() + DURATION_SECONDS * 1000;
+  const latencies = [];
+  let errors = 0;
+  let index = 0;
+
+  async function worker() {
+    while (Date.now() < deadline) {
+      const target = endpoints[index++ % endpoints.length];
+      const start = performance.now();
+      try {
+        const response = await fetch(`${API_URL}${target.path}`, { headers: target.headers });
+        await response.arrayBuffer();
+        if (response.ok) {
+          latencies.push(performance.now() - start);
+        } else {
+          errors++;
+        }
+      } catch {
+        errors++;
+      }
+    }
+  }
+
+  await Promise.all(Array.from({ length: concurrency }, worker));
+  latencies.sort((a, b) => a - b);
+  return {
+    concurrency,
+    throughput: latencies.length / DURATION_SECONDS,
+    p50: percentile(latencies, 50),
+    p95: percentile(latencies, 95),
+    p99: percentile(latencies, 99),
+    errors,
+  };
+}
+
+async function main() {
+  const token = await login();
+  const endpoints = targets(token);
+  console.log(`模式: ${MODE}，接口: ${endpoints.map((e) => e.path.split('?')[0]).join(', ')}，每级 ${DURATION_SECONDS}s`);
+  console.log('| 模式 | 并发 | 吞吐量(req/s) | p50(ms) | p95(ms) | p99(ms) | 错误数 |');
+  console.log('| --- | --- | --- | --- | --- | --- | --- |');
+  for (const level of LEVELS) {
+    const r = await runLevel(level, endpoints);
+    console.log(
+      `| ${MODE} | ${r.concurrency} | ${r.throughput.toFixed(1)} | ${r.p50.toFixed(1)} | ` +
+        `${r.p95.toFixed(1)} | ${r.p99.toFixed(1)} | ${r.errors} |`
+    );
+  }
+
+  const response = await fetch(`${API_URL}/dashboard/virtual-threads`, {
+    headers: { Authorization: `Bearer ${token}` },
+  });
+  console.log('服务端虚拟线程统计:', JSON.stringify((await response.json()).data, null, 2));
+}
+
+main().catch((error) => {
+  console.error(error);
+  process.exit(1);
+});
@@ -0,0 +1,138 @@
+/**
+ * SSE 实时推送扇出压测脚本
+ *
+ * 建立大量空闲的文章评论订阅连接，然后逐条发布评论，统计每条消息到达全部连接的延迟，
+ * 最后输出服务端 /live/stats 中的扇出耗时与丢弃数量。
+ *
+ * 运行方式: node scripts/sse-load-test.js
+ * 可选环境变量: API_URL, ARTICLE_ID, CONNECTIONS, MESSAGES, ADMIN_USERNAME, ADMIN_PASSWORD
+ */
+
+const API_URL = (process.env.NEXT_PUBLIC_API_URL || process.env.API_URL || 'http://localhost:8080') + '/api';
+const ARTICLE_ID = Number(process.env.ARTICLE_ID || 1);
+const CONNECTIONS = Number(process.env.CONNECTIONS || 2000);
+const MESSAGES = Number(process.env.MESSAGES || 20);
+const ADMIN = {
+  username: process.env.ADMIN_USERNAME || 'admin',
+  password: process.env.ADMIN_PASSWORD || 'admin123',
+};
+
+const received = new Map();
+let connected = 0;
+let failed = 0;
+
+async function login() {
+  const response = await fetch(`${API_URL}/auth/login`, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json' },
+    body: JSON.stringify(ADMIN),
+  });
+  const body = await response.json();
+  if (!body.data?.token) {
+    throw new Error(`登录失败: ${JSON.stringify(body)}`);
+  }
+  return body.data.token;
+}
+
+async function openConnection(index, controller) {
+  try {
+    const response = await fetch(`${API_URL}/live/articles/${ARTICLE_ID}/comments`, {
+      headers: { Accept: 'text/event-stream' },
+      signal: controller.signal,
+    });
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    connected++;
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) break;
+      buffer += decoder.decode(value, { stream: true });
+      let separator;
+      while ((separator = buffer.indexOf('\n\n')) >= 0) {
+        const frame = buffer.slice(0, separator);
+        buffer = buffer.slice(separator + 2);
+        const event = /^event:(.*)$/m.exec(frame)?.[1];
+        const data = /^data:(.*)$/m.exec(frame)?.[1];
+        if (event === 'comment' && data) {
+          const id = JSON.parse(data).id;
+          const timings = received.get(id);
+          if (timings) timings.push(Date.now());
+        }
+      }
+    }
+  } catch (error) {
+    if (error.name !== 'AbortError') {
+      failed++;
+      if (failed <= 5) console.error(`连接 ${index} 失败:`, error.message);
+    }
+  }
+}
+
+async function publishComment(token, seq) {
+  const headers = { 'Content-Type': 'application/json', Authorization: `Bearer ${token}` };
+  const created = await fetch(`${API_URL}/comments`, {
+    method: 'POST',
+    headers,
+    body: JSON.stringify({
+      articleId: ARTICLE_ID,
+      author: 'load-test',
+      email: 'load-test@example.com',
+      content: `SSE 压测评论 #${seq} ${Date.now()}`,
+    }),
+  }).then((r) => r.json());
+  const id = created.data.id;
+  received.set(id, []);
+  const sentAt = Date.now();
+  await fetch(`${API_URL}/comments/${id}/approve`, { method: 'POST', headers });
+  return { id, sentAt, headers };
+}
+
+function percentile(values, p) {
+  if (values.length === 0) return 0;
+  const sorted = [...values].sort((a, b) => a - b);
+  return sorted[Math.min(sorted.length - 1, Math.floor((p / 100) * sorted.length))];
+}
+
+async function main() {
+  const token = await login();
+  const controller = new AbortController();
+  console.log(`建立 ${CONNECTIONS} 个订阅连接...`);
+  for (let i = 0; i < CONNECTIONS; i++) {
+    openConnection(i, controller);
+  }
+  while (connected + failed < CONNECTIONS) {
+    await new Promise((resolve) => setTimeout(resolve, 200));
+  }
+  console.log(`已连接 ${connected}，失败 ${failed}`);
+
+  const published = [];
+  for (let i = 0; i < MESSAGES; i++) {
+    published.push(await publishComment(token, i));
+    await new Promise((resolve) => setTimeout(resolve, 100));
+  }
+  await new Promise((resolve) => setTimeout(resolve, 3000));
+
+  const latencies = [];
+  let delivered = 0;
+  for (const { id, sentAt, headers } of published) {
+    const timings = received.get(id);
+    delivered += timings.length;
+    timings.forEach((t) => latencies.push(t - sentAt));
+    await fetch(`${API_URL}/comments/${id}`, { method: 'DELETE', headers });
+  }
+
+  const stats = await fetch(`${API_URL}/live/stats`, {
+    headers: { Authorization: `Bearer ${token}` },
+  }).then((r) => r.json());
+  controller.abort();
+
+  console.log(`投递 ${delivered}/${published.length * connected} 条消息`);
+  console.log(`端到端延迟 p50=${percentile(latencies, 50)}ms p95=${percentile(latencies, 95)}ms p99=${percentile(latencies, 99)}ms`);
+  console.log('服务端统计:', stats.data);
+}
+
+main().catch((error) => {
+  console.error(error);
+  process.exit(1);
+});
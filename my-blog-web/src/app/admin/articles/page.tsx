@@ -283,6 +283,11 @@ export default function ArticlesManagement() {
                           }`}>
                             {article.isPublished ? '已发布' : '草稿'}
                           </span>
+                          {!article.isPublished && article.scheduledAt && (
+                            <span className="px-2 py-1 text-xs bg-blue-100 text-blue-800 rounded-full">
+                              定时 {new Date(article.scheduledAt).toLocaleString('zh-CN')}
+                            </span>
+                          )}
                         </div>
                         
                         <p className="text-gray-600 mb-3 line-clamp-2">{article.summary}</p>
@@ -3,9 +3,11 @@
 import { Suspense, useEffect, useState, use } from 'react';
 import Image from 'next/image';
 import Link from 'next/link';
+import { useRouter } from 'next/navigation';
 import { Calendar, Clock, Eye, Heart, User, ArrowLeft } from 'lucide-react';
 import { formatDate } from '@/lib/utils';
 import { MarkdownRenderer } from '@/components/ui/markdown-renderer';
+import { RenderedContent } from '@/components/ui/rendered-content';
 import { CommentSection } from '@/components/blog/comment-section';
 import { ArticleCard } from '@/components/blog/article-card';
 import { TableOfContents } from '@/components/blog/table-of-contents';
@@ -23,6 +25,7 @@ function MarkdownContent({ content }: { content: string }) {
 export default function ArticleDetailPage({ params }: { params: Promise<{ slug: string }> }) {
   const { config } = useSystemConfig();
   const resolvedParams = use(params);
+  const router = useRouter();
   const [article, setArticle] = useState<Article | null>(null);
   const [relatedArticles, setRelatedArticles] = useState<Article[]>([]);
   const [isLoading, setIsLoading] = useState(true);
@@ -55,23 +58,19 @@ export default function ArticleDetailPage({ params }: { params: Promise<{ slug:
         
         const response = await articleApiService.getArticleBySlug(resolvedParams.slug);
         if (response.code === 200 && response.data) {
+          // 旧别名由服务端301重定向到当前别名，同步更新地址栏
+          if (response.data.slug && response.data.slug !== resolvedParams.slug) {
+            router.replace(`/articles/${response.data.slug}`);
+          }
           setArticle(response.data);
           
           // 增加浏览量
           await articleApiService.incrementViewCount(response.data.id);
           
-          // 获取相关文章（同分类的文章）
-          const relatedResponse = await articleApiService.getArticlesByCategory(
-            parseInt(response.data.category.id), 
-            0, 
-            3
-          );
+          // 获取相关文章（服务端按标签和正文相似度预先计算）
+          const relatedResponse = await articleApiService.getRelatedArticles(response.data.id, 3);
           if (relatedResponse.code === 200 && relatedResponse.data) {
-            // 过滤掉当前文章
-            const filtered = relatedResponse.data.content.filter(
-              item => item.id !== response.data.id
-            );
-            setRelatedArticles(filtered.slice(0, 3));
+            setRelatedArticles(relatedResponse.data);
           }
         } else {
           // 如果API失败，显示示例文章
@@ -185,7 +184,7 @@ export default function ArticleDetailPage({ params }: { params: Promise<{ slug:
     };
 
     fetchArticle();
-  }, [resolvedParams.slug]);
+  }, [resolvedParams.slug, router]);
 
   if (isLoading) {
     return (
@@ -268,6 +267,12 @@ export default function ArticleDetailPage({ params }: { params: Promise<{ slug:
                 <Eye className="h-4 w-4" />
                 <span>{article.viewCount} 次浏览</span>
               </div>
+              {!!article.readingMinutes && (
+                <div className="flex items-center space-x-2">
+                  <Clock className="h-4 w-4" />
+                  <span>约 {article.readingMinutes} 分钟</span>
+                </div>
+              )}
               <button
                 onClick={handleLike}
                 className={`flex items-center space-x-2 hover:text-primary transition-colors ${
@@ -307,7 +312,12 @@ export default function ArticleDetailPage({ params }: { params: Promise<{ slug:
 
           {/* 文章内容 */}
           <div className="prose prose-lg max-w-none dark:prose-invert">
-            <MarkdownContent content={article.content} />
+            {/* 优先使用服务端渲染的HTML，旧数据尚未补齐时回退到客户端解析 */}
+            {article.contentHtml ? (
+              <RenderedContent html={article.contentHtml} />
+            ) : (
+              <MarkdownContent content={article.content} />
+            )}
           </div>
 
           {/* 评论区域 */}
@@ -322,7 +332,7 @@ export default function ArticleDetailPage({ params }: { params: Promise<{ slug:
         <aside className="lg:col-span-1">
           <div className="sticky top-4 space-y-8">
             {/* 目录 */}
-            <TableOfContents content={article.content} />
+            <TableOfContents content={article.content} entries={article.contentHtml ? article.toc : undefined} />
 
             {/* 相关文章 */}
             <div className="bg-card rounded-lg border p-6 sticky top-4">
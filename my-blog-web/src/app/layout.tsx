@@ -20,6 +20,12 @@ export const metadata: Metadata = {
     keywords: ["博客", "技术", "前端", "React", "Next.js", "JavaScript"],
     authors: [{name: "作者"}],
     creator: "作者",
+    alternates: {
+        types: {
+            "application/rss+xml": "/rss.xml",
+            "application/atom+xml": "/atom.xml",
+        },
+    },
     openGraph: {
         type: "website",
         locale: "zh_CN",
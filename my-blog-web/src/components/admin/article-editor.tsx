@@ -13,6 +13,7 @@ import { MarkdownEditor } from '@/components/ui/markdown-editor';
 import { ImageSelector } from './image-selector';
 import Image from 'next/image';
 import type { Image as ImageType } from '@/lib/api/images';
+import { useDraftAutosave } from '@/lib/hooks/use-draft-autosave';
 
 interface ArticleFormData {
   title: string;
@@ -29,6 +30,8 @@ interface ArticleFormData {
 interface ArticleEditorProps {
   article?: ArticleFormData;
   mode: 'create' | 'edit';
+  /** 已保存文章的ID，提供时编辑内容会自动保存为草稿 */
+  articleId?: number;
 }
 
 const categories = [
@@ -45,7 +48,7 @@ const availableTags = [
   'MongoDB', 'MySQL', 'Redis', 'AWS', 'GraphQL', 'REST API'
 ];
 
-export function ArticleEditor({ article, mode }: ArticleEditorProps) {
+export function ArticleEditor({ article, mode, articleId }: ArticleEditorProps) {
   const router = useRouter();
   const [editorType, setEditorType] = useState<'rich' | 'markdown'>('rich');
   const [isSaving, setIsSaving] = useState(false);
@@ -63,6 +66,12 @@ export function ArticleEditor({ article, mode }: ArticleEditorProps) {
     isPinned: false,
     ...article
   });
+  const autosave = useDraftAutosave(articleId, {
+    title: formData.title,
+    summary: formData.excerpt,
+    content: formData.content,
+    coverImage: formData.coverImage,
+  });
 
   // 自动生成 slug
   useEffect(() => {
@@ -155,6 +164,9 @@ export function ArticleEditor({ article, mode }: ArticleEditorProps) {
                 </h1>
                 <p className="text-sm text-muted-foreground">
                   {mode === 'create' ? '写一篇新文章' : '修改文章内容'}
+                  {autosave.status === 'saving' && ' · 自动保存中...'}
+                  {autosave.status === 'saved' && autosave.savedAt && ` · 草稿已保存于 ${autosave.savedAt.toLocaleTimeString()}`}
+                  {autosave.status === 'error' && ' · 自动保存失败'}
                 </p>
               </div>
             </div>
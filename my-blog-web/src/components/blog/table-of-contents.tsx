@@ -3,6 +3,7 @@
 import { useState, useEffect } from 'react';
 import { motion, AnimatePresence } from 'framer-motion';
 import { ChevronDown, ChevronRight } from 'lucide-react';
+import type { TocEntry } from '@/types';
 
 interface TocItem {
   id: string;
@@ -13,33 +14,37 @@ interface TocItem {
 
 interface TableOfContentsProps {
   content: string;
+  /** 服务端提取的目录，提供时不再解析 Markdown */
+  entries?: TocEntry[];
   className?: string;
 }
 
-export function TableOfContents({ content, className }: TableOfContentsProps) {
+export function TableOfContents({ content, entries, className }: TableOfContentsProps) {
   const [tocItems, setTocItems] = useState<TocItem[]>([]);
   const [activeId, setActiveId] = useState<string>('');
   const [expandedItems, setExpandedItems] = useState<Set<string>>(new Set());
 
   // 解析 Markdown 内容生成目录
   useEffect(() => {
-    const generateTocItems = () => {
+    const parseHeadings = (): TocEntry[] => {
       const headings = content.match(/^(#{1,6})\s+(.+)$/gm);
       if (!headings) {
         return [];
       }
-
-      const items: TocItem[] = [];
-      const stack: TocItem[] = [];
-
-      headings.forEach((heading) => {
+      return headings.flatMap((heading) => {
         const match = heading.match(/^(#{1,6})\s+(.+)$/);
-        if (!match) return;
-
-        const level = match[1].length;
+        if (!match) return [];
         const text = match[2].trim();
         const id = text.toLowerCase().replace(/[^\w\s-]/g, '').replace(/\s+/g, '-');
+        return [{ level: match[1].length, id, text }];
+      });
+    };
+
+    const generateTocItems = () => {
+      const items: TocItem[] = [];
+      const stack: TocItem[] = [];
 
+      (entries ?? parseHeadings()).forEach(({ level, id, text }) => {
         const item: TocItem = {
           id,
           text,
@@ -88,7 +93,7 @@ export function TableOfContents({ content, className }: TableOfContentsProps) {
     }, 0);
     
     return () => clearTimeout(timer);
-  }, [content]);
+  }, [content, entries]);
 
   // 监听滚动，更新当前活跃的标题
   useEffect(() => {
@@ -0,0 +1,35 @@
+'use client';
+
+import { useEffect, useRef } from 'react';
+import hljs from '@/lib/highlight';
+
+interface RenderedContentProps {
+  /** 服务端渲染并过滤后的文章HTML */
+  html: string;
+}
+
+/**
+ * 直接输出服务端渲染的文章HTML，挂载后只对代码块做语法高亮，不再解析 Markdown
+ */
+export function RenderedContent({ html }: Readonly<RenderedContentProps>) {
+  const containerRef = useRef<HTMLDivElement>(null);
+
+  useEffect(() => {
+    const container = containerRef.current;
+    if (!container) return;
+    container.querySelectorAll<HTMLElement>('pre code').forEach((block) => {
+      const language = /language-([\w-]+)/.exec(block.className)?.[1];
+      if (language && hljs.getLanguage(language)) {
+        hljs.highlightElement(block);
+      }
+    });
+  }, [html]);
+
+  return (
+    <div
+      ref={containerRef}
+      className="prose prose-slate dark:prose-invert max-w-none [&_h1]:scroll-mt-24 [&_h2]:scroll-mt-24 [&_h3]:scroll-mt-24"
+      dangerouslySetInnerHTML={{ __html: html }}
+    />
+  );
+}
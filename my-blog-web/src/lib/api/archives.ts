@@ -0,0 +1,38 @@
+import { httpClient } from './client';
+import { API_ENDPOINTS } from './config';
+import type { ApiResponse, ArchiveYear, Article, PageResponse } from '@/types';
+
+/**
+ * 归档API服务
+ * 归档时间线和月份文章由服务端内存索引提供，无需拉取全部文章后在前端分组
+ */
+class ArchiveApiService {
+  /**
+   * 获取归档时间线
+   * @returns 按年、月汇总的文章数量
+   */
+  async getArchiveTree(): Promise<ApiResponse<ArchiveYear[]>> {
+    return httpClient.get<ApiResponse<ArchiveYear[]>>(API_ENDPOINTS.ARCHIVES.TREE);
+  }
+
+  /**
+   * 分页获取指定月份的文章
+   * @param year 年份
+   * @param month 月份（1-12）
+   * @param page 页码
+   * @param size 每页大小
+   * @returns 该月文章分页数据，不含正文
+   */
+  async getMonthArticles(
+    year: number,
+    month: number,
+    page: number = 0,
+    size: number = 20
+  ): Promise<ApiResponse<PageResponse<Article>>> {
+    return httpClient.get<ApiResponse<PageResponse<Article>>>(
+      `${API_ENDPOINTS.ARCHIVES.MONTH(year, month)}?page=${page}&size=${size}`
+    );
+  }
+}
+
+export const archiveApiService = new ArchiveApiService();
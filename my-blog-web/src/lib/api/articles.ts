@@ -1,5 +1,5 @@
 import { HttpClient } from './client';
-import { ApiResponse, PageResponse, Article, Category, Tag } from '@/types';
+import { ApiResponse, PageResponse, Article, ArticleDraft, Category, Tag } from '@/types';
 
 /**
  * 文章API服务
@@ -73,6 +73,34 @@ class ArticleApiService {
     return this.httpClient.put<ApiResponse<Article>>(`/articles/${id}`, article);
   }
 
+  /**
+   * 自动保存草稿
+   * @param id 文章ID
+   * @param patch 发生变化的字段
+   * @returns 合并后的草稿版本号
+   */
+  async saveDraft(id: number, patch: ArticleDraft): Promise<ApiResponse<number>> {
+    return this.httpClient.patch<ApiResponse<number>>(`/articles/${id}/draft`, patch);
+  }
+
+  /**
+   * 获取文章草稿
+   * @param id 文章ID
+   * @returns 草稿内容，包含尚未写入数据库的修改
+   */
+  async getDraft(id: number): Promise<ApiResponse<ArticleDraft>> {
+    return this.httpClient.get<ApiResponse<ArticleDraft>>(`/articles/${id}/draft`);
+  }
+
+  /**
+   * 发布草稿
+   * @param id 文章ID
+   * @returns 写回草稿后的文章
+   */
+  async publishDraft(id: number): Promise<ApiResponse<Article>> {
+    return this.httpClient.post<ApiResponse<Article>>(`/articles/${id}/draft/publish`);
+  }
+
   /**
    * 删除文章
    * @param id 文章ID
@@ -100,6 +128,27 @@ class ArticleApiService {
     return this.httpClient.post<ApiResponse<Article>>(`/articles/${id}/unpublish`);
   }
 
+  /**
+   * 定时发布文章
+   * @param id 文章ID
+   * @param scheduledAt 计划发布时间（服务器时区的本地时间，如 2025-01-01T08:00:00）
+   * @returns 设置结果
+   */
+  async scheduleArticle(id: number, scheduledAt: string): Promise<ApiResponse<Article>> {
+    return this.httpClient.post<ApiResponse<Article>>(
+      `/articles/${id}/schedule?scheduledAt=${encodeURIComponent(scheduledAt)}`
+    );
+  }
+
+  /**
+   * 取消定时发布
+   * @param id 文章ID
+   * @returns 取消结果
+   */
+  async cancelSchedule(id: number): Promise<ApiResponse<Article>> {
+    return this.httpClient.delete<ApiResponse<Article>>(`/articles/${id}/schedule`);
+  }
+
   /**
    * 置顶文章
    * @param id 文章ID
@@ -136,6 +185,16 @@ class ArticleApiService {
     return this.httpClient.post<ApiResponse<void>>(`/articles/${id}/like`);
   }
 
+  /**
+   * 获取相关文章
+   * @param id 文章ID
+   * @param size 数量
+   * @returns 按相似度排列的相关文章，不含正文
+   */
+  async getRelatedArticles(id: number, size: number = 5): Promise<ApiResponse<Article[]>> {
+    return this.httpClient.get<ApiResponse<Article[]>>(`/articles/${id}/related?size=${size}`);
+  }
+
   /**
    * 获取最新文章（首页用）
    * @param limit 限制数量
@@ -77,6 +77,21 @@ class CommentApiService {
     );
   }
 
+  /**
+   * 获取被自动审核判定为垃圾内容的评论列表
+   * @param page 页码
+   * @param size 每页大小
+   * @returns 垃圾评论列表
+   */
+  async getSpamComments(
+    page: number = 0,
+    size: number = 10
+  ): Promise<ApiResponse<PageResponse<Comment>>> {
+    return this.httpClient.get<ApiResponse<PageResponse<Comment>>>(
+      `/comments/spam?page=${page}&size=${size}`
+    );
+  }
+
   /**
    * 获取所有评论列表（分页）
    * @param page 页码
@@ -87,6 +87,7 @@ export const API_ENDPOINTS = {
     DELETE: (id: string) => `/comments/${id}`,
     BY_ARTICLE: (articleId: string) => `/comments/article/${articleId}`,
     PENDING: '/comments/pending',
+    SPAM: '/comments/spam',
     APPROVE: (id: string) => `/comments/${id}/approve`,
     REJECT: (id: string) => `/comments/${id}/reject`,
     LIKE: (id: string) => `/comments/${id}/like`,
@@ -135,9 +136,16 @@ export const API_ENDPOINTS = {
     STATS: '/images/stats',
   },
   
+  // 归档
+  ARCHIVES: {
+    TREE: '/archives',
+    MONTH: (year: number, month: number) => `/archives/${year}/${month}`,
+  },
+
   // 公共API
   PUBLIC: {
     STATS: '/api/public/stats',
+    BOOTSTRAP: '/api/public/bootstrap',
   },
   
   // 用户
@@ -102,6 +102,18 @@ class GuestbookApiService {
     );
   }
 
+  /**
+   * 获取被自动审核判定为垃圾内容的留言
+   * @param page 页码
+   * @param size 每页大小
+   * @returns 垃圾留言列表
+   */
+  async getSpamMessages(page: number = 0, size: number = 10): Promise<ApiResponse<PageResponse<GuestbookMessage>>> {
+    return httpClient.get<ApiResponse<PageResponse<GuestbookMessage>>>(
+      `/guestbook/spam?page=${page}&size=${size}`
+    );
+  }
+
   /**
    * 审核通过留言
    * @param id 留言ID
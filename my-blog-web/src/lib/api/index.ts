@@ -12,6 +12,7 @@ export { friendLinkApiService } from './friend-links';
 export { guestbookApiService } from './guestbook';
 export { systemSettingApiService } from './system-settings';
 export { publicApiService } from './public';
+export { archiveApiService } from './archives';
 export { urlMetadataApiService } from './url-metadata';
 export { imageApiService } from './images';
 
@@ -1,5 +1,5 @@
 import { HttpClient } from './client';
-import { ApiResponse } from '@/types';
+import { ApiResponse, Article, Category, Tag, FriendLink, SystemSetting } from '@/types';
 
 /**
  * 博客统计数据类型定义
@@ -25,6 +25,26 @@ export interface BlogStats {
   totalGuestbookMessages: number;
 }
 
+/**
+ * 首页启动数据类型定义
+ */
+export interface BootstrapData {
+  /** 博客统计 */
+  stats: BlogStats;
+  /** 置顶文章 */
+  pinnedArticles: Article[];
+  /** 热门文章 */
+  popularArticles: Article[];
+  /** 有文章的分类 */
+  categories: Category[];
+  /** 热门标签 */
+  tags: Tag[];
+  /** 已审核友链 */
+  friendLinks: FriendLink[];
+  /** 公开系统设置 */
+  settings: SystemSetting[];
+}
+
 /**
  * 公共API服务
  * 提供前端首页所需的公开数据
@@ -39,6 +59,15 @@ class PublicApiService {
   async getBlogStats(): Promise<ApiResponse<BlogStats>> {
     return this.httpClient.get<ApiResponse<BlogStats>>('/api/public/stats');
   }
+
+  /**
+   * 获取首页启动数据，一次请求替代首页首屏的多个接口
+   * 服务端返回ETag，浏览器缓存会自动携带If-None-Match重新验证
+   * @returns 首页启动数据
+   */
+  async getBootstrap(): Promise<ApiResponse<BootstrapData>> {
+    return this.httpClient.get<ApiResponse<BootstrapData>>('/api/public/bootstrap');
+  }
 }
 
 export const publicApiService = new PublicApiService();
@@ -0,0 +1,92 @@
+'use client';
+
+import { useCallback, useEffect, useRef, useState } from 'react';
+import { articleApiService } from '@/lib/api/articles';
+import type { Article, ArticleDraft } from '@/types';
+
+type DraftFields = Required<Pick<ArticleDraft, 'title' | 'summary' | 'content' | 'coverImage'>>;
+
+export type AutosaveStatus = 'idle' | 'saving' | 'saved' | 'error';
+
+const FIELDS: (keyof DraftFields)[] = ['title', 'summary', 'content', 'coverImage'];
+
+/**
+ * 编辑器草稿自动保存
+ * 停止输入一段时间后只提交发生变化的字段，同一时间最多一个请求在途，
+ * 在途期间的修改等请求完成后合并提交；服务端在内存中合并并延迟写库。
+ * @param articleId 文章ID，为空时不自动保存（如新建文章）
+ * @param fields 当前编辑器中的字段
+ * @param delayMs 停止输入后多久提交
+ */
+export function useDraftAutosave(articleId: number | undefined, fields: DraftFields, delayMs: number = 1000) {
+  const [status, setStatus] = useState<AutosaveStatus>('idle');
+  const [version, setVersion] = useState<number | null>(null);
+  const [savedAt, setSavedAt] = useState<Date | null>(null);
+  // 最近一次提交成功的字段，首次渲染的值视为已保存
+  const savedRef = useRef<DraftFields>(fields);
+  const latestRef = useRef<DraftFields>(fields);
+  const inFlightRef = useRef<Promise<void> | null>(null);
+
+  latestRef.current = fields;
+
+  const flush = useCallback(async (): Promise<void> => {
+    if (!articleId) {
+      return;
+    }
+    if (inFlightRef.current) {
+      await inFlightRef.current;
+    }
+    const current = latestRef.current;
+    const patch: ArticleDraft = {};
+    for (const field of FIELDS) {
+      if (current[field] !== savedRef.current[field]) {
+        patch[field] = current[field];
+      }
+    }
+    if (Object.keys(patch).length === 0) {
+      return;
+    }
+
+    setStatus('saving');
+    const request = articleApiService.saveDraft(articleId, patch)
+      .then((response) => {
+        savedRef.current = { ...savedRef.current, ...patch } as DraftFields;
+        setVersion(response.data);
+        setSavedAt(new Date());
+        setStatus('saved');
+      })
+      .catch((error) => {
+        console.error('自动保存草稿失败:', error);
+        setStatus('error');
+      })
+      .finally(() => {
+        inFlightRef.current = null;
+      });
+    inFlightRef.current = request;
+    await request;
+  }, [articleId]);
+
+  useEffect(() => {
+    if (!articleId) {
+      return;
+    }
+    const timer = setTimeout(() => {
+      void flush();
+    }, delayMs);
+    return () => clearTimeout(timer);
+  }, [articleId, delayMs, flush, fields.title, fields.summary, fields.content, fields.coverImage]);
+
+  /**
+   * 提交剩余修改后发布草稿
+   */
+  const publish = useCallback(async (): Promise<Article | null> => {
+    if (!articleId) {
+      return null;
+    }
+    await flush();
+    const response = await articleApiService.publishDraft(articleId);
+    return response.data;
+  }, [articleId, flush]);
+
+  return { status, version, savedAt, flush, publish };
+}
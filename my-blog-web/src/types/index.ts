@@ -11,6 +11,14 @@ export interface Article {
   summary: string;
   /** 文章完整内容（Markdown格式） */
   content: string;
+  /** 服务端渲染并过滤后的正文HTML（仅详情接口返回） */
+  contentHtml?: string;
+  /** 正文目录（仅详情接口返回） */
+  toc?: TocEntry[];
+  /** 正文字数 */
+  wordCount?: number;
+  /** 预计阅读时长（分钟） */
+  readingMinutes?: number;
   /** 文章URL友好的标识符 */
   slug: string;
   /** 文章封面图片URL（可选） */
@@ -35,6 +43,44 @@ export interface Article {
   updatedAt: string;
   /** 文章发布时间 */
   publishedAt?: string;
+  /** 计划发布时间，设置了定时发布的未发布文章才有 */
+  scheduledAt?: string;
+}
+
+/**
+ * 文章草稿类型定义
+ * 自动保存时作为补丁提交，只包含发生变化的字段；返回时为空的字段表示与文章一致
+ */
+export interface ArticleDraft {
+  /** 所属文章ID */
+  articleId?: number;
+  /** 草稿标题 */
+  title?: string;
+  /** 草稿摘要 */
+  summary?: string;
+  /** 草稿正文 */
+  content?: string;
+  /** 草稿封面图片URL */
+  coverImage?: string;
+  /** 草稿版本号 */
+  version?: number;
+  /** 是否还有尚未写入数据库的修改 */
+  pending?: boolean;
+  /** 最后修改时间 */
+  updatedAt?: string;
+}
+
+/**
+ * 文章目录条目类型定义
+ * 按标题在正文中的顺序排列，id与正文HTML中标题的id一致
+ */
+export interface TocEntry {
+  /** 标题级别，1-6 */
+  level: number;
+  /** 标题锚点 */
+  id: string;
+  /** 标题纯文本 */
+  text: string;
 }
 
 /**
@@ -122,6 +168,8 @@ export interface Comment {
   parentId?: number;
   /** 评论是否已审核通过 */
   isApproved: boolean;
+  /** 是否被自动审核判定为垃圾评论 */
+  isSpam?: boolean;
   /** 评论点赞次数 */
   likeCount: number;
   /** 评论者IP地址 */
@@ -190,6 +238,8 @@ export interface GuestbookMessage {
   parentId?: string;
   /** 留言是否已审核通过 */
   isApproved: boolean;
+  /** 是否被自动审核判定为垃圾留言 */
+  isSpam?: boolean;
   /** 留言者IP地址 */
   ipAddress?: string;
   /** 留言者浏览器信息 */
@@ -226,8 +276,23 @@ export interface ArchiveItem {
   year: number;
   /** 归档月份 */
   month: number;
-  /** 该年月下的文章列表 */
-  articles: Article[];
+  /** 该年月下的文章数量 */
+  count: number;
+  /** 该年月下已加载的文章列表，展开月份时按需加载 */
+  articles?: Article[];
+}
+
+/**
+ * 归档年份类型定义
+ * 对应服务端归档时间线接口的返回结构
+ */
+export interface ArchiveYear {
+  /** 归档年份 */
+  year: number;
+  /** 该年文章数量 */
+  count: number;
+  /** 该年有文章的月份，按月份倒序 */
+  months: ArchiveItem[];
 }
 
 /**